@@ -0,0 +1,75 @@
+package com.github.roleplaycauldron.spellbook.effect;
+
+import java.util.List;
+
+/**
+ * Effect whose layers render through {@link LayerRenderer layer renderers} created by
+ * {@link EffectCompiler}.
+ */
+final class CompiledEffectInstance extends EffectInstance {
+
+    private final LayerRenderer[] renderers;
+
+    private final int specializedLayers;
+
+    /**
+     * Creates a compiled effect.
+     *
+     * @param layers            layers of the source effect
+     * @param renderers         renderer of every layer, in layer order
+     * @param specializedLayers number of layers rendered by specialized classes
+     */
+    CompiledEffectInstance(List<EffectLayer> layers, LayerRenderer[] renderers, int specializedLayers) {
+        super(layers);
+        this.renderers = renderers.clone();
+        this.specializedLayers = specializedLayers;
+    }
+
+    /**
+     * Returns the number of layers rendered by specialized classes.
+     *
+     * @return specialized layer count
+     */
+    int specializedLayers() {
+        return specializedLayers;
+    }
+
+    @Override
+    public void sample(EffectContext context, EffectRenderState state) {
+        ShapeContext shapeContext = state.shapeContext(
+                context.step(),
+                context.timeSeconds(),
+                context.origin(),
+                context.target()
+        );
+
+        for (int i = 0; i < renderers.length; i++) {
+            renderers[i].sample(context, state, shapeContext, state.points(i));
+        }
+    }
+
+    @Override
+    public void emit(EffectContext context, EffectRenderState state) {
+        for (int i = 0; i < renderers.length; i++) {
+            renderers[i].emit(context, state, state.points(i));
+        }
+    }
+
+    /**
+     * Renders a layer through the generic {@link EffectLayer} path.
+     *
+     * @param layer layer to render
+     */
+    record GenericLayerRenderer(EffectLayer layer) implements LayerRenderer {
+
+        @Override
+        public void sample(EffectContext context, EffectRenderState state, ShapeContext shapeContext, PointBuffer points) {
+            layer.sample(context, state, shapeContext, points);
+        }
+
+        @Override
+        public void emit(EffectContext context, EffectRenderState state, PointBuffer points) {
+            layer.emit(context, state, points);
+        }
+    }
+}
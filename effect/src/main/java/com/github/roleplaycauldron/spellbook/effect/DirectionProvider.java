@@ -13,6 +13,12 @@ import org.joml.Vector3f;
  * - Generating a fixed directional vector
  * - Producing directions based on relative positions between origin and target in the context
  * - Applying context-based logic like time-dependent direction changes
+ * <p>
+ * Layers ask for the directions of a whole frame at once. Providers whose direction does
+ * not depend on the point declare it through {@link #isUniform()} and are then evaluated
+ * once per frame. Other providers fill a direction channel for all points through
+ * {@link #getDirections(EffectContext, PointBuffer, PointBuffer, Vector3f)}, which
+ * {@link DirectionProviders} overrides with tight loops for its built-in directions.
  */
 @FunctionalInterface
 public interface DirectionProvider {
@@ -26,4 +32,37 @@ public interface DirectionProvider {
      * @param destination reusable destination vector
      */
     void getDirection(float localX, float localY, float localZ, EffectContext context, Vector3f destination);
+
+    /**
+     * Returns whether every point of a frame receives the same direction.
+     * <p>
+     * Uniform providers are asked for the direction of the local origin once per frame,
+     * and that direction is used for every point.
+     *
+     * @return {@code true} if the direction does not depend on the point
+     */
+    default boolean isUniform() {
+        return false;
+    }
+
+    /**
+     * Fills a direction channel with the direction of every point of a frame.
+     * <p>
+     * After the call, the direction of point {@code i} is stored at index {@code i} of the
+     * channel. The default implementation calls
+     * {@link #getDirection(float, float, float, EffectContext, Vector3f)} for every point.
+     *
+     * @param context    effect context
+     * @param points     sampled points of the frame
+     * @param directions reusable direction channel; cleared and resized to the point count
+     * @param scratch    reusable vector for implementations evaluating one point at a time
+     */
+    default void getDirections(EffectContext context, PointBuffer points, PointBuffer directions, Vector3f scratch) {
+        directions.clear();
+        directions.grow(points.size());
+        for (int i = 0; i < points.size(); i++) {
+            getDirection(points.x(i), points.y(i), points.z(i), context, scratch);
+            directions.set(i, scratch.x, scratch.y, scratch.z);
+        }
+    }
 }
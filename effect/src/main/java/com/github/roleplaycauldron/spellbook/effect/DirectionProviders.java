@@ -0,0 +1,176 @@
+package com.github.roleplaycauldron.spellbook.effect;
+
+import org.bukkit.Location;
+import org.joml.Vector3f;
+
+/**
+ * Built-in {@link DirectionProvider direction providers}.
+ * <p>
+ * Uniform directions are computed once per frame. Point-dependent directions fill the
+ * direction channel of a frame in a single loop over the point buffer. None of them
+ * allocate.
+ */
+public final class DirectionProviders {
+
+    private static final float EPSILON = 1e-6f;
+
+    private static final DirectionProvider NONE = constant(0, 0, 0);
+
+    private static final DirectionProvider TOWARD_TARGET = new TowardTarget();
+
+    private static final DirectionProvider RADIAL = new Radial();
+
+    private static final DirectionProvider OUTWARD = new Outward();
+
+    private DirectionProviders() {
+    }
+
+    /**
+     * Returns a provider giving every point the zero direction.
+     *
+     * @return shared zero-direction provider
+     */
+    public static DirectionProvider none() {
+        return NONE;
+    }
+
+    /**
+     * Returns a provider giving every point the same direction.
+     *
+     * @param x x component of the direction
+     * @param y y component of the direction
+     * @param z z component of the direction
+     * @return constant-direction provider
+     */
+    public static DirectionProvider constant(float x, float y, float z) {
+        return new Constant(x, y, z);
+    }
+
+    /**
+     * Returns a provider giving every point the unit direction from the effect origin to
+     * the effect target, or the zero direction if there is no target.
+     *
+     * @return shared toward-target provider
+     */
+    public static DirectionProvider towardTarget() {
+        return TOWARD_TARGET;
+    }
+
+    /**
+     * Returns a provider giving every point the unit direction from the effect origin to
+     * the point, for example to let particles burst out of a sphere. Points at the
+     * origin receive the zero direction.
+     *
+     * @return shared radial provider
+     */
+    public static DirectionProvider radial() {
+        return RADIAL;
+    }
+
+    /**
+     * Returns a provider giving every point the horizontal unit direction away from the
+     * vertical axis through the effect origin, for example to let particles spread out
+     * of rings and helices. Points on the axis receive the zero direction.
+     *
+     * @return shared outward provider
+     */
+    public static DirectionProvider outward() {
+        return OUTWARD;
+    }
+
+    private record Constant(float x, float y, float z) implements DirectionProvider {
+
+        @Override
+        public void getDirection(float localX, float localY, float localZ, EffectContext context, Vector3f destination) {
+            destination.set(x, y, z);
+        }
+
+        @Override
+        public boolean isUniform() {
+            return true;
+        }
+    }
+
+    private static final class TowardTarget implements DirectionProvider {
+
+        @Override
+        public void getDirection(float localX, float localY, float localZ, EffectContext context, Vector3f destination) {
+            Location origin = context.origin();
+            Location target = context.target();
+            if (target == null) {
+                destination.set(0, 0, 0);
+                return;
+            }
+            destination.set(
+                    (float) (target.getX() - origin.getX()),
+                    (float) (target.getY() - origin.getY()),
+                    (float) (target.getZ() - origin.getZ())
+            );
+            if (destination.lengthSquared() > EPSILON) {
+                destination.normalize();
+            }
+        }
+
+        @Override
+        public boolean isUniform() {
+            return true;
+        }
+    }
+
+    private static final class Radial implements DirectionProvider {
+
+        @Override
+        public void getDirection(float localX, float localY, float localZ, EffectContext context, Vector3f destination) {
+            float lengthSquared = localX * localX + localY * localY + localZ * localZ;
+            if (lengthSquared <= EPSILON) {
+                destination.set(0, 0, 0);
+                return;
+            }
+            float inverseLength = 1f / (float) Math.sqrt(lengthSquared);
+            destination.set(localX * inverseLength, localY * inverseLength, localZ * inverseLength);
+        }
+
+        @Override
+        public void getDirections(EffectContext context, PointBuffer points, PointBuffer directions, Vector3f scratch) {
+            int count = points.size();
+            directions.clear();
+            directions.grow(count);
+            for (int i = 0; i < count; i++) {
+                float x = points.x(i);
+                float y = points.y(i);
+                float z = points.z(i);
+                float lengthSquared = x * x + y * y + z * z;
+                float inverseLength = lengthSquared <= EPSILON ? 0f : 1f / (float) Math.sqrt(lengthSquared);
+                directions.set(i, x * inverseLength, y * inverseLength, z * inverseLength);
+            }
+        }
+    }
+
+    private static final class Outward implements DirectionProvider {
+
+        @Override
+        public void getDirection(float localX, float localY, float localZ, EffectContext context, Vector3f destination) {
+            float lengthSquared = localX * localX + localZ * localZ;
+            if (lengthSquared <= EPSILON) {
+                destination.set(0, 0, 0);
+                return;
+            }
+            float inverseLength = 1f / (float) Math.sqrt(lengthSquared);
+            destination.set(localX * inverseLength, 0, localZ * inverseLength);
+        }
+
+        @Override
+        public void getDirections(EffectContext context, PointBuffer points, PointBuffer directions, Vector3f scratch) {
+            int count = points.size();
+            directions.clear();
+            directions.grow(count);
+            for (int i = 0; i < count; i++) {
+                float x = points.x(i);
+                float z = points.z(i);
+                float lengthSquared = x * x + z * z;
+                float inverseLength = lengthSquared <= EPSILON ? 0f : 1f / (float) Math.sqrt(lengthSquared);
+                directions.set(i, x * inverseLength, 0, z * inverseLength);
+            }
+        }
+    }
+}
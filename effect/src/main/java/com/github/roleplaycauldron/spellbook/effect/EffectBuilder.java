@@ -13,6 +13,7 @@ import org.joml.Vector3f;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * A builder class for constructing {@link EffectInstance} objects.
@@ -23,11 +24,13 @@ public class EffectBuilder {
 
     private final List<EffectModifier> modifiers = new ArrayList<>();
 
+    private final List<EffectLayer> layers = new ArrayList<>();
+
     private Shape shape;
 
     private ParticleEmitter particleEmitter;
 
-    private DirectionProvider directionProvider = (localX, localY, localZ, context, destination) -> destination.set(0, 0, 0);
+    private DirectionProvider directionProvider = DirectionProviders.none();
 
     private EffectBuilder() {
     }
@@ -207,12 +210,25 @@ public class EffectBuilder {
     }
 
     /**
-     * Builds the {@link EffectInstance} with the configured settings.
-     * Validates that required components (shape, particleEmitter) are set before building.
+     * Adds an additional layer to the effect. Layers are rendered after the layer
+     * configured directly on this builder, in the order they were added.
      *
-     * @return the {@link EffectInstance} with all configured settings.
+     * @param layer the {@link EffectLayer} to add. Cannot be null.
+     * @return the {@link EffectBuilder} instance
      */
-    public EffectInstance build() {
+    public EffectBuilder layer(EffectLayer layer) {
+        this.layers.add(Objects.requireNonNull(layer, "layer"));
+        return this;
+    }
+
+    /**
+     * Builds a single {@link EffectLayer} from the shape, transforms, modifiers,
+     * particle emitter, and direction provider configured on this builder.
+     * Layers added through {@link #layer(EffectLayer)} are not part of the result.
+     *
+     * @return the {@link EffectLayer} with the configured settings
+     */
+    public EffectLayer buildLayer() {
 
         if (shape == null)
             throw new IllegalStateException("Shape must be set");
@@ -220,7 +236,7 @@ public class EffectBuilder {
         if (particleEmitter == null)
             throw new IllegalStateException("ParticleSpec must be set");
 
-        return new EffectInstance(
+        return new EffectLayer(
                 shape,
                 transforms,
                 modifiers,
@@ -228,4 +244,22 @@ public class EffectBuilder {
                 directionProvider
         );
     }
+
+    /**
+     * Builds the {@link EffectInstance} with the configured settings.
+     * Validates that required components (shape, particleEmitter) are set before building.
+     * When additional layers were added, the shape and particle emitter may be omitted;
+     * the effect then consists of the added layers only.
+     *
+     * @return the {@link EffectInstance} with all configured settings.
+     */
+    public EffectInstance build() {
+        if (layers.isEmpty() || shape != null || particleEmitter != null) {
+            List<EffectLayer> allLayers = new ArrayList<>(layers.size() + 1);
+            allLayers.add(buildLayer());
+            allLayers.addAll(layers);
+            return new EffectInstance(allLayers);
+        }
+        return new EffectInstance(layers);
+    }
 }
@@ -0,0 +1,116 @@
+package com.github.roleplaycauldron.spellbook.effect;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compiles effects into renderers specialized for their concrete components.
+ * <p>
+ * {@link EffectInstance#render(EffectContext, EffectRenderState)} calls shapes, transforms,
+ * modifiers, direction providers, and emitters through shared interface call sites. Once
+ * a server renders many kinds of effects, those call sites see many receiver types and
+ * the JIT stops inlining them. {@link #compile(EffectInstance)} defines one hidden class
+ * per layer, holding the components of the layer in {@code static final} fields with an
+ * unrolled transform and modifier chain. Every hidden class has its own call sites, which
+ * stay monomorphic, and the JIT can fold the constant components into the frame loop.
+ * <p>
+ * Compilation is optional and transparent. Layers with more transforms or modifiers than
+ * the specialized renderer has slots keep the generic render path, and if hidden classes
+ * cannot be defined at all, the effect is returned unchanged. Compiled effects render the
+ * same points as their source and expose the same {@link EffectInstance#layers() layers}.
+ * <p>
+ * Every compiled layer defines a new class, so compile an effect once and reuse the result,
+ * for example when it is loaded into an {@link com.github.roleplaycauldron.spellbook.effect.config.EffectCatalog}.
+ * Hidden classes are unloaded together with the compiled effect.
+ */
+public final class EffectCompiler {
+
+    private EffectCompiler() {
+    }
+
+    /**
+     * Compiles an effect into specialized layer renderers.
+     *
+     * @param effect effect to compile
+     * @return compiled effect, or {@code effect} itself if no layer could be specialized
+     */
+    public static EffectInstance compile(EffectInstance effect) {
+        Objects.requireNonNull(effect, "effect");
+        if (effect instanceof CompiledEffectInstance || !isSupported()) {
+            return effect;
+        }
+
+        List<EffectLayer> layers = effect.layers();
+        LayerRenderer[] renderers = new LayerRenderer[layers.size()];
+        int specialized = 0;
+        for (int i = 0; i < layers.size(); i++) {
+            EffectLayer layer = layers.get(i);
+            LayerRenderer renderer = canSpecialize(layer) ? specialize(layer) : null;
+            if (renderer != null) {
+                specialized++;
+            } else {
+                renderer = new CompiledEffectInstance.GenericLayerRenderer(layer);
+            }
+            renderers[i] = renderer;
+        }
+
+        return specialized == 0 ? effect : new CompiledEffectInstance(layers, renderers, specialized);
+    }
+
+    /**
+     * Returns whether an effect was compiled by this compiler.
+     *
+     * @param effect effect to check
+     * @return {@code true} if at least one layer of the effect renders through a specialized class
+     */
+    public static boolean isCompiled(EffectInstance effect) {
+        return effect instanceof CompiledEffectInstance;
+    }
+
+    /**
+     * Returns whether specialized renderers can be defined in this runtime.
+     *
+     * @return {@code true} if the renderer template is available
+     */
+    public static boolean isSupported() {
+        return Template.BYTES != null;
+    }
+
+    private static boolean canSpecialize(EffectLayer layer) {
+        return layer.transforms().size() <= SpecializedLayerTemplate.TRANSFORM_SLOTS
+                && layer.modifiers().size() <= SpecializedLayerTemplate.MODIFIER_SLOTS;
+    }
+
+    private static LayerRenderer specialize(EffectLayer layer) {
+        try {
+            Class<?> renderer = MethodHandles.lookup()
+                    .defineHiddenClassWithClassData(Template.BYTES, layer, true)
+                    .lookupClass();
+            return (LayerRenderer) renderer.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException exception) {
+            // Fall back to the generic path, e.g. if the runtime rejects the class or a component fails to bind
+            return null;
+        }
+    }
+
+    /**
+     * Lazily loaded bytes of {@link SpecializedLayerTemplate}.
+     */
+    private static final class Template {
+
+        private static final byte[] BYTES = load();
+
+        private static byte[] load() {
+            try (InputStream input = SpecializedLayerTemplate.class.getResourceAsStream(
+                    SpecializedLayerTemplate.class.getSimpleName() + ".class"
+            )) {
+                return input == null ? null : input.readAllBytes();
+            } catch (IOException exception) {
+                return null;
+            }
+        }
+    }
+}
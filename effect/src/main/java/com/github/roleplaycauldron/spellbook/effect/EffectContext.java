@@ -1,5 +1,6 @@
 package com.github.roleplaycauldron.spellbook.effect;
 
+import com.github.roleplaycauldron.spellbook.effect.viewer.ParticleBudget;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
@@ -21,6 +22,8 @@ import java.util.List;
  * @param tick        The server tick count when this context is created or used, allowing
  *                    time-sensitive actions to align with game mechanics.
  * @param timeSeconds The elapsed time in seconds that can be used for time-based calculations.
+ * @param budget      The per-viewer particle budget emitters consult before sending particles.
+ *                    If null, {@link ParticleBudget#unlimited()} is assigned by default.
  */
 public record EffectContext(
         World world,
@@ -29,7 +32,8 @@ public record EffectContext(
         Collection<? extends Player> viewers,
         int step,
         long tick,
-        double timeSeconds
+        double timeSeconds,
+        ParticleBudget budget
 ) {
     /**
      * Initializes the EffectContext record, ensuring that the collection
@@ -45,8 +49,31 @@ public record EffectContext(
      * @param tick        The server tick count when this context is created or used, ensuring
      *                    alignment with game mechanics in time-sensitive actions.
      * @param timeSeconds The elapsed time in seconds used for time-based calculations.
+     * @param budget      The per-viewer particle budget. If null, an unlimited budget is used.
      */
     public EffectContext {
         viewers = viewers == null ? List.of() : viewers;
+        budget = budget == null ? ParticleBudget.unlimited() : budget;
+    }
+
+    /**
+     * Creates an EffectContext without a particle budget.
+     *
+     * @param world       The world in which the effect is being executed.
+     * @param origin      The origin location where the effect starts or is centered.
+     * @param target      The target location the effect is intended to reach or interact with.
+     * @param viewers     A collection of players who can see or are aware of this effect.
+     * @param step        The current step index of the effect process.
+     * @param tick        The server tick count when this context is created or used.
+     * @param timeSeconds The elapsed time in seconds used for time-based calculations.
+     */
+    public EffectContext(World world,
+                         Location origin,
+                         Location target,
+                         Collection<? extends Player> viewers,
+                         int step,
+                         long tick,
+                         double timeSeconds) {
+        this(world, origin, target, viewers, step, tick, timeSeconds, null);
     }
 }
@@ -3,24 +3,18 @@ package com.github.roleplaycauldron.spellbook.effect;
 import com.github.roleplaycauldron.spellbook.effect.emitter.ParticleEmitter;
 import com.github.roleplaycauldron.spellbook.effect.shape.Shape;
 import com.github.roleplaycauldron.spellbook.effect.transform.Transform;
-import org.joml.Vector3f;
 
 import java.util.List;
 
 /**
  * Represents an instance of an effect with its shape, transforms, modifiers, particle emitter, and direction provider.
+ * <p>
+ * An effect consists of one or more {@link EffectLayer layers}. All layers are rendered
+ * in one pass from a shared frame setup.
  */
 public class EffectInstance {
 
-    private final Shape shape;
-
-    private final List<Transform> transforms;
-
-    private final List<EffectModifier> modifiers;
-
-    private final ParticleEmitter particleEmitter;
-
-    private final DirectionProvider directionProvider;
+    private final List<EffectLayer> layers;
 
     /**
      * Creates a new EffectInstance
@@ -36,11 +30,29 @@ public class EffectInstance {
                           List<EffectModifier> modifiers,
                           ParticleEmitter particleEmitter,
                           DirectionProvider directionProvider) {
-        this.shape = shape;
-        this.transforms = List.copyOf(transforms);
-        this.modifiers = List.copyOf(modifiers);
-        this.particleEmitter = particleEmitter;
-        this.directionProvider = directionProvider;
+        this(List.of(new EffectLayer(shape, transforms, modifiers, particleEmitter, directionProvider)));
+    }
+
+    /**
+     * Creates a new layered EffectInstance
+     *
+     * @param layers the layers of the effect in render order; must not be empty
+     * @throws IllegalArgumentException if no layer is given
+     */
+    public EffectInstance(List<EffectLayer> layers) {
+        if (layers.isEmpty()) {
+            throw new IllegalArgumentException("layers must not be empty");
+        }
+        this.layers = List.copyOf(layers);
+    }
+
+    /**
+     * Returns the layers of this effect in render order.
+     *
+     * @return unmodifiable list of layers
+     */
+    public List<EffectLayer> layers() {
+        return layers;
     }
 
     /**
@@ -54,61 +66,50 @@ public class EffectInstance {
 
     /**
      * Renders the effect using caller-owned reusable frame state.
+     * <p>
+     * Each layer writes into its own point buffer of the render state, so the
+     * per-layer outputs of the last frame stay available until the next render.
      *
      * @param context the context to render the effect at
      * @param state   mutable render state owned by the running effect
      */
     public void render(EffectContext context, EffectRenderState state) {
-        PointBuffer points = state.points();
-        points.clear();
-        state.clearScratchBuffers();
+        sample(context, state);
+        emit(context, state);
+    }
+
+    /**
+     * Samples, transforms, and modifies all layers into the point buffers of the render state
+     * without emitting them.
+     *
+     * @param context the context to sample the effect at
+     * @param state   mutable render state owned by the running effect
+     */
+    public void sample(EffectContext context, EffectRenderState state) {
         ShapeContext shapeContext = state.shapeContext(
                 context.step(),
                 context.timeSeconds(),
                 context.origin(),
                 context.target()
         );
-        shape.sample(shapeContext, points);
-
-        for (Transform transform : transforms) {
-            Transform.PreparedTransform prepared = transform.prepare(context);
-            for (int i = 0; i < points.size(); i++) {
-                prepared.apply(points, i);
-            }
-        }
 
-        for (EffectModifier modifier : modifiers) {
-            modifier.apply(points, context);
+        for (int i = 0; i < layers.size(); i++) {
+            layers.get(i).sample(context, state, shapeContext, state.points(i));
         }
+    }
 
-        boolean requiresDirection = particleEmitter.requiresDirection();
-        Vector3f direction = state.direction();
-        double originX = context.origin().getX();
-        double originY = context.origin().getY();
-        double originZ = context.origin().getZ();
-
-        for (int i = 0; i < points.size(); i++) {
-            float localX = points.x(i);
-            float localY = points.y(i);
-            float localZ = points.z(i);
-            if (requiresDirection) {
-                directionProvider.getDirection(localX, localY, localZ, context, direction);
-            } else {
-                direction.set(0, 0, 0);
-            }
-
-            particleEmitter.spawn(
-                    context,
-                    localX,
-                    localY,
-                    localZ,
-                    originX + localX,
-                    originY + localY,
-                    originZ + localZ,
-                    direction.x,
-                    direction.y,
-                    direction.z
-            );
+    /**
+     * Emits the points last sampled into the render state relative to the context origin.
+     * <p>
+     * One sampled frame can be emitted at several origins, which lets identical effects
+     * at many locations share their sampling work.
+     *
+     * @param context the context to emit the effect at
+     * @param state   render state holding the sampled points
+     */
+    public void emit(EffectContext context, EffectRenderState state) {
+        for (int i = 0; i < layers.size(); i++) {
+            layers.get(i).emit(context, state, state.points(i));
         }
     }
 }
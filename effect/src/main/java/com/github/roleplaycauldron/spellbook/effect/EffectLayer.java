@@ -0,0 +1,170 @@
+package com.github.roleplaycauldron.spellbook.effect;
+
+import com.github.roleplaycauldron.spellbook.effect.emitter.ParticleEmitter;
+import com.github.roleplaycauldron.spellbook.effect.shape.Shape;
+import com.github.roleplaycauldron.spellbook.effect.transform.Transform;
+import org.joml.Vector3f;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One shape, transform, modifier, and emitter stack of an {@link EffectInstance}.
+ * <p>
+ * Composite effects such as a ring around a rising helix hold one layer per part.
+ * All layers of an effect are rendered in one pass from the same
+ * {@link EffectContext}, so anchors, viewers, and frame timing are resolved once
+ * per frame regardless of the number of layers.
+ */
+public final class EffectLayer {
+
+    private final Shape shape;
+
+    private final List<Transform> transforms;
+
+    private final List<EffectModifier> modifiers;
+
+    private final ParticleEmitter particleEmitter;
+
+    private final DirectionProvider directionProvider;
+
+    /**
+     * Creates a new EffectLayer
+     *
+     * @param shape             the shape of the layer
+     * @param transforms        the transforms to apply to the layer
+     * @param modifiers         the modifiers to apply to the layer
+     * @param particleEmitter   the particle emitter to use for the layer
+     * @param directionProvider the direction provider to use for the layer
+     */
+    public EffectLayer(Shape shape,
+                       List<Transform> transforms,
+                       List<EffectModifier> modifiers,
+                       ParticleEmitter particleEmitter,
+                       DirectionProvider directionProvider) {
+        this.shape = Objects.requireNonNull(shape, "shape");
+        this.transforms = List.copyOf(transforms);
+        this.modifiers = List.copyOf(modifiers);
+        this.particleEmitter = Objects.requireNonNull(particleEmitter, "particleEmitter");
+        this.directionProvider = Objects.requireNonNull(directionProvider, "directionProvider");
+    }
+
+    /**
+     * Returns the shape of this layer.
+     *
+     * @return the shape
+     */
+    public Shape shape() {
+        return shape;
+    }
+
+    /**
+     * Returns the transforms of this layer in application order.
+     *
+     * @return unmodifiable list of transforms
+     */
+    public List<Transform> transforms() {
+        return transforms;
+    }
+
+    /**
+     * Returns the modifiers of this layer in application order.
+     *
+     * @return unmodifiable list of modifiers
+     */
+    public List<EffectModifier> modifiers() {
+        return modifiers;
+    }
+
+    /**
+     * Returns the particle emitter of this layer.
+     *
+     * @return the particle emitter
+     */
+    public ParticleEmitter particleEmitter() {
+        return particleEmitter;
+    }
+
+    /**
+     * Returns the direction provider of this layer.
+     *
+     * @return the direction provider
+     */
+    public DirectionProvider directionProvider() {
+        return directionProvider;
+    }
+
+    /**
+     * Samples, transforms, and modifies this layer into its frame-local point buffer.
+     *
+     * @param context      the context to sample the layer at
+     * @param state        mutable render state owned by the running effect
+     * @param shapeContext shape context prepared for the current frame
+     * @param points       frame-local output buffer of this layer
+     */
+    void sample(EffectContext context, EffectRenderState state, ShapeContext shapeContext, PointBuffer points) {
+        points.clear();
+        state.clearScratchBuffers();
+        shape.sample(shapeContext.resetScratchScope(), points);
+
+        // Indexed loops keep the frame free of iterator allocations
+        for (int t = 0; t < transforms.size(); t++) {
+            Transform.PreparedTransform prepared = transforms.get(t).prepare(context);
+            for (int i = 0; i < points.size(); i++) {
+                prepared.apply(points, i);
+            }
+        }
+
+        for (int m = 0; m < modifiers.size(); m++) {
+            modifiers.get(m).apply(points, context, state);
+        }
+    }
+
+    /**
+     * Emits previously sampled points of this layer relative to the context origin.
+     *
+     * @param context the context to emit the layer at
+     * @param state   mutable render state owned by the running effect
+     * @param points  sampled output buffer of this layer
+     */
+    void emit(EffectContext context, EffectRenderState state, PointBuffer points) {
+        Vector3f direction = state.direction();
+        // Point-dependent directions are computed for the whole frame before emitting
+        PointBuffer directions = null;
+        if (!particleEmitter.requiresDirection()) {
+            direction.set(0, 0, 0);
+        } else if (directionProvider.isUniform()) {
+            directionProvider.getDirection(0, 0, 0, context, direction);
+        } else {
+            directions = state.directions();
+            directionProvider.getDirections(context, points, directions, direction);
+        }
+        ParticleEmitter emitter = particleEmitter.bind(context, state);
+        double originX = context.origin().getX();
+        double originY = context.origin().getY();
+        double originZ = context.origin().getZ();
+
+        for (int i = 0; i < points.size(); i++) {
+            float localX = points.x(i);
+            float localY = points.y(i);
+            float localZ = points.z(i);
+            if (directions != null) {
+                direction.set(directions.x(i), directions.y(i), directions.z(i));
+            }
+
+            emitter.spawn(
+                    context,
+                    localX,
+                    localY,
+                    localZ,
+                    originX + localX,
+                    originY + localY,
+                    originZ + localZ,
+                    direction.x,
+                    direction.y,
+                    direction.z
+            );
+        }
+        emitter.flush(context);
+    }
+}
@@ -19,4 +19,19 @@ public interface EffectModifier {
      *                as origin, target, step, and elapsed time.
      */
     void apply(PointBuffer points, EffectContext context);
+
+    /**
+     * Applies this modifier within a running effect.
+     * <p>
+     * Layers call this method. Modifiers keeping reusable state across the frames of one
+     * execution, such as block views, override it and keep that state in the render state
+     * instead of the shared modifier. The default ignores the render state.
+     *
+     * @param points  the mutable frame-local point buffer
+     * @param context the effect context of the frame
+     * @param state   the render state of the running effect
+     */
+    default void apply(PointBuffer points, EffectContext context, EffectRenderState state) {
+        apply(points, context);
+    }
 }
@@ -5,13 +5,19 @@ import org.joml.Vector3f;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Reusable mutable scratch state for rendering one running effect execution.
+ * <p>
+ * The state owns one output point buffer per {@link EffectLayer} of the rendered effect.
+ * Shapes and emitters that keep state across frames, such as trails and display
+ * entities, store it here per execution. Executors {@link #release() release} the state
+ * once the execution stops.
  */
 public final class EffectRenderState {
 
-    private final PointBuffer points = new PointBuffer();
+    private final List<PointBuffer> layerPoints = new ArrayList<>();
 
     private final List<PointBuffer> scratchBuffers = new ArrayList<>();
 
@@ -19,11 +25,69 @@ public final class EffectRenderState {
 
     private final Vector3f direction = new Vector3f();
 
-    PointBuffer points() {
-        return points;
+    private final PointBuffer directions = new PointBuffer();
+
+    private long frame;
+
+    /**
+     * Returns state a shape or emitter keeps across the frames of this execution.
+     * <p>
+     * This is the same state as {@link ShapeContext#state(Object, Supplier)}. State
+     * implementing {@link AutoCloseable} is closed when the render state is released.
+     *
+     * @param owner   identity of the state, usually the shape or emitter itself
+     * @param factory creates the state on first use
+     * @param <T>     state type
+     * @return the state of the owner in this render state
+     */
+    public <T> T state(Object owner, Supplier<? extends T> factory) {
+        return shapeContext.state(owner, factory);
+    }
+
+    /**
+     * Returns the number of frames sampled with this render state.
+     * <p>
+     * Every {@link EffectInstance#sample sample} starts a new frame, even at the same
+     * tick. Emitting one sampled frame several times, as instanced executions do, keeps
+     * the frame, so stateful emitters can tell instances of one frame from new frames.
+     *
+     * @return the current frame number, {@code 0} before the first frame
+     */
+    public long frame() {
+        return frame;
+    }
+
+    /**
+     * Closes and forgets state not used by the current frame. Executors call this after
+     * the first frame of a replaced effect, so the state of shapes and emitters the new
+     * effect no longer contains, such as their display entities, does not linger.
+     *
+     * @throws IllegalStateException if closing a state failed
+     */
+    public void releaseUnused() {
+        shapeContext.releaseUnusedStates();
+    }
+
+    /**
+     * Closes and forgets all state kept by shapes and emitters, for example to remove
+     * display entities once the execution stops. The render state can be reused
+     * afterwards and starts without history.
+     *
+     * @throws IllegalStateException if closing a state failed
+     */
+    public void release() {
+        shapeContext.releaseStates();
+    }
+
+    PointBuffer points(int layer) {
+        while (layerPoints.size() <= layer) {
+            layerPoints.add(new PointBuffer());
+        }
+        return layerPoints.get(layer);
     }
 
     ShapeContext shapeContext(int step, double timeSeconds, Location origin, Location target) {
+        shapeContext.frame(++frame);
         return shapeContext.set(step, timeSeconds, origin, target).resetScratchScope();
     }
 
@@ -31,9 +95,13 @@ public final class EffectRenderState {
         return direction;
     }
 
+    PointBuffer directions() {
+        return directions;
+    }
+
     void clearScratchBuffers() {
-        for (PointBuffer scratchBuffer : scratchBuffers) {
-            scratchBuffer.clear();
+        for (int i = 0; i < scratchBuffers.size(); i++) {
+            scratchBuffers.get(i).clear();
         }
     }
 
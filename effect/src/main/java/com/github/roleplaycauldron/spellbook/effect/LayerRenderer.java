@@ -0,0 +1,29 @@
+package com.github.roleplaycauldron.spellbook.effect;
+
+/**
+ * Renders one layer of a compiled effect.
+ * <p>
+ * Implementations are either specialized hidden classes defined by
+ * {@link EffectCompiler}, or the generic path of {@link EffectLayer}.
+ */
+interface LayerRenderer {
+
+    /**
+     * Samples, transforms, and modifies the layer into its frame-local point buffer.
+     *
+     * @param context      the context to sample the layer at
+     * @param state        mutable render state owned by the running effect
+     * @param shapeContext shape context prepared for the current frame
+     * @param points       frame-local output buffer of the layer
+     */
+    void sample(EffectContext context, EffectRenderState state, ShapeContext shapeContext, PointBuffer points);
+
+    /**
+     * Emits previously sampled points of the layer relative to the context origin.
+     *
+     * @param context the context to emit the layer at
+     * @param state   mutable render state owned by the running effect
+     * @param points  sampled output buffer of the layer
+     */
+    void emit(EffectContext context, EffectRenderState state, PointBuffer points);
+}
@@ -106,6 +106,26 @@ public final class PointBuffer {
         size++;
     }
 
+    /**
+     * Appends a region of points whose coordinates are written afterwards.
+     * <p>
+     * The coordinates of the new points are unspecified until they are replaced with
+     * {@link #set(int, float, float, float)}. Disjoint parts of the region may be written
+     * from several threads, as long as the buffer is not resized meanwhile.
+     *
+     * @param count number of points to append
+     * @return index of the first appended point
+     */
+    public int grow(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must be >= 0");
+        }
+        ensureCapacity(size + count);
+        int first = size;
+        size += count;
+        return first;
+    }
+
     /**
      * Appends a copy of the given point to the buffer.
      *
@@ -231,6 +251,21 @@ public final class PointBuffer {
         size--;
     }
 
+    /**
+     * Removes all points at and after the given index while retaining allocated storage.
+     * <p>
+     * Combined with {@link #set(int, float, float, float)}, this allows filtering
+     * points in place in O(n).
+     *
+     * @param newSize number of leading points to keep
+     */
+    public void truncate(int newSize) {
+        if (newSize < 0 || newSize > size) {
+            throw new IndexOutOfBoundsException("newSize " + newSize + " out of bounds for size " + size);
+        }
+        size = newSize;
+    }
+
     /**
      * Swaps two points in the buffer.
      *
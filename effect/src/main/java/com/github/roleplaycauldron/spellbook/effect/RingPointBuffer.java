@@ -0,0 +1,151 @@
+package com.github.roleplaycauldron.spellbook.effect;
+
+/**
+ * Fixed-capacity history of points that overwrites its oldest point when full.
+ * <p>
+ * Appending is O(1) and never shifts or allocates, which makes the buffer suitable for
+ * per-tick position histories such as trails. Coordinates are stored as doubles, so the
+ * buffer can hold world positions without losing precision far from the world origin.
+ * Points are indexed from the oldest ({@code 0}) to the newest ({@code size() - 1}).
+ */
+public final class RingPointBuffer {
+
+    private static final int COMPONENTS = 3;
+
+    private final double[] coordinates;
+
+    private final int capacity;
+
+    private int head;
+
+    private int size;
+
+    private long added;
+
+    /**
+     * Creates an empty ring buffer.
+     *
+     * @param capacity the maximum number of points kept; must be greater than 0
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public RingPointBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        this.capacity = capacity;
+        this.coordinates = new double[capacity * COMPONENTS];
+    }
+
+    /**
+     * Appends a point, overwriting the oldest point if the buffer is full.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param z z coordinate
+     */
+    public void add(double x, double y, double z) {
+        int offset = head * COMPONENTS;
+        coordinates[offset] = x;
+        coordinates[offset + 1] = y;
+        coordinates[offset + 2] = z;
+        head = head + 1 == capacity ? 0 : head + 1;
+        if (size < capacity) {
+            size++;
+        }
+        added++;
+    }
+
+    /**
+     * Removes all points. The sequence numbers of later points continue to increase.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the number of points in the buffer.
+     *
+     * @return point count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of points kept.
+     *
+     * @return capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns whether the buffer has no points.
+     *
+     * @return {@code true} when empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the sequence number of a point, counting every point ever appended.
+     * <p>
+     * A point keeps its sequence number while it ages through the buffer, which makes
+     * it a stable identity for per-point decisions.
+     *
+     * @param index point index, {@code 0} being the oldest point
+     * @return the number of points appended before the point
+     */
+    public long sequence(int index) {
+        checkIndex(index);
+        return added - size + index;
+    }
+
+    /**
+     * Returns the x coordinate of a point.
+     *
+     * @param index point index, {@code 0} being the oldest point
+     * @return x coordinate
+     */
+    public double x(int index) {
+        return coordinates[offset(index)];
+    }
+
+    /**
+     * Returns the y coordinate of a point.
+     *
+     * @param index point index, {@code 0} being the oldest point
+     * @return y coordinate
+     */
+    public double y(int index) {
+        return coordinates[offset(index) + 1];
+    }
+
+    /**
+     * Returns the z coordinate of a point.
+     *
+     * @param index point index, {@code 0} being the oldest point
+     * @return z coordinate
+     */
+    public double z(int index) {
+        return coordinates[offset(index) + 2];
+    }
+
+    private int offset(int index) {
+        checkIndex(index);
+        int slot = head - size + index;
+        if (slot < 0) {
+            slot += capacity;
+        }
+        return slot * COMPONENTS;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+        }
+    }
+}
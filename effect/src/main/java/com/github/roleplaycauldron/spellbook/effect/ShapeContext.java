@@ -3,9 +3,13 @@ package com.github.roleplaycauldron.spellbook.effect;
 import org.bukkit.Location;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 /**
  * Represents the contextual state of a shape used in various computations or simulations.
@@ -16,6 +20,10 @@ public final class ShapeContext {
 
     private final IntFunction<PointBuffer> scratchBuffers;
 
+    private final Map<Object, State> states = new IdentityHashMap<>();
+
+    private long frame;
+
     private int step;
 
     private double timeSeconds;
@@ -87,6 +95,83 @@ public final class ShapeContext {
         return scratchBuffers.apply(scratchOffset + index);
     }
 
+    /**
+     * Returns state a shape keeps across the frames of one running effect.
+     * <p>
+     * Shapes are shared by every execution of an effect, so history such as past
+     * positions must not live in the shape itself. The render state of each execution
+     * keeps one state object per owner, created by the factory on first use. Looking up
+     * existing state does not allocate, as long as the factory is not created per call.
+     *
+     * @param owner   identity of the state, usually the shape itself
+     * @param factory creates the state on first use
+     * @param <T>     state type
+     * @return the state of the owner in this render state
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T state(Object owner, Supplier<? extends T> factory) {
+        State state = states.get(owner);
+        if (state == null) {
+            state = new State(Objects.requireNonNull(factory.get(), "state"));
+            states.put(Objects.requireNonNull(owner, "owner"), state);
+        }
+        state.frame = frame;
+        return (T) state.value;
+    }
+
+    /**
+     * Closes all state implementing {@link AutoCloseable} and forgets all state, so
+     * later frames start without history.
+     *
+     * @throws IllegalStateException if closing a state failed; the remaining state is
+     *                               still closed and forgotten
+     */
+    void releaseStates() {
+        releaseStates(false);
+    }
+
+    /**
+     * Closes and forgets state not looked up during the current frame, such as state of
+     * shapes and emitters of a replaced effect.
+     *
+     * @throws IllegalStateException if closing a state failed; the remaining unused
+     *                               state is still closed and forgotten
+     */
+    void releaseUnusedStates() {
+        releaseStates(true);
+    }
+
+    void frame(long frame) {
+        this.frame = frame;
+    }
+
+    private void releaseStates(boolean unusedOnly) {
+        RuntimeException failure = null;
+        Iterator<State> iterator = states.values().iterator();
+        while (iterator.hasNext()) {
+            State state = iterator.next();
+            if (unusedOnly && state.frame == frame) {
+                continue;
+            }
+            iterator.remove();
+            if (!(state.value instanceof AutoCloseable closeable)) {
+                continue;
+            }
+            try {
+                closeable.close();
+            } catch (Exception exception) {
+                if (failure == null) {
+                    failure = new IllegalStateException("failed to release state", exception);
+                } else {
+                    failure.addSuppressed(exception);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
     /**
      * Reserves lower scratch-buffer indexes for the current compound shape while
      * child shapes are sampled.
@@ -118,6 +203,20 @@ public final class ShapeContext {
         return ownedScratchBuffers.get(index);
     }
 
+    /**
+     * State of one owner and the last frame it was looked up in.
+     */
+    private static final class State {
+
+        private final Object value;
+
+        private long frame;
+
+        private State(Object value) {
+            this.value = value;
+        }
+    }
+
     /**
      * Restores a previous scratch-buffer scope.
      */
@@ -0,0 +1,175 @@
+package com.github.roleplaycauldron.spellbook.effect;
+
+import com.github.roleplaycauldron.spellbook.effect.emitter.ParticleEmitter;
+import com.github.roleplaycauldron.spellbook.effect.shape.Shape;
+import com.github.roleplaycauldron.spellbook.effect.transform.Transform;
+import org.joml.Vector3f;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Bytecode template of specialized layer renderers.
+ * <p>
+ * This class is never loaded as itself. {@link EffectCompiler} defines a hidden copy of
+ * its bytes for every specialized layer and passes the layer components as class data.
+ * The components end up in {@code static final} fields, which the JIT treats as
+ * constants, and every copy has its own call sites and type profiles. The transform
+ * and modifier slots are unrolled, so unused slots fold away and no call site is shared
+ * between effects.
+ * <p>
+ * The template must stay self-contained. Lambdas and nested classes would be bound
+ * to this class instead of the hidden copy.
+ */
+final class SpecializedLayerTemplate implements LayerRenderer {
+
+    /**
+     * Number of transform slots of the template.
+     */
+    static final int TRANSFORM_SLOTS = 4;
+
+    /**
+     * Number of modifier slots of the template.
+     */
+    static final int MODIFIER_SLOTS = 4;
+
+    private static final Shape SHAPE;
+
+    private static final int TRANSFORM_COUNT;
+
+    private static final Transform TRANSFORM_0;
+
+    private static final Transform TRANSFORM_1;
+
+    private static final Transform TRANSFORM_2;
+
+    private static final Transform TRANSFORM_3;
+
+    private static final int MODIFIER_COUNT;
+
+    private static final EffectModifier MODIFIER_0;
+
+    private static final EffectModifier MODIFIER_1;
+
+    private static final EffectModifier MODIFIER_2;
+
+    private static final EffectModifier MODIFIER_3;
+
+    private static final ParticleEmitter EMITTER;
+
+    private static final DirectionProvider DIRECTION_PROVIDER;
+
+    private static final boolean REQUIRES_DIRECTION;
+
+    private static final boolean UNIFORM_DIRECTION;
+
+    static {
+        EffectLayer layer;
+        try {
+            layer = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, EffectLayer.class);
+        } catch (IllegalAccessException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+
+        SHAPE = layer.shape();
+        TRANSFORM_COUNT = layer.transforms().size();
+        TRANSFORM_0 = TRANSFORM_COUNT > 0 ? layer.transforms().get(0) : null;
+        TRANSFORM_1 = TRANSFORM_COUNT > 1 ? layer.transforms().get(1) : null;
+        TRANSFORM_2 = TRANSFORM_COUNT > 2 ? layer.transforms().get(2) : null;
+        TRANSFORM_3 = TRANSFORM_COUNT > 3 ? layer.transforms().get(3) : null;
+        MODIFIER_COUNT = layer.modifiers().size();
+        MODIFIER_0 = MODIFIER_COUNT > 0 ? layer.modifiers().get(0) : null;
+        MODIFIER_1 = MODIFIER_COUNT > 1 ? layer.modifiers().get(1) : null;
+        MODIFIER_2 = MODIFIER_COUNT > 2 ? layer.modifiers().get(2) : null;
+        MODIFIER_3 = MODIFIER_COUNT > 3 ? layer.modifiers().get(3) : null;
+        EMITTER = layer.particleEmitter();
+        DIRECTION_PROVIDER = layer.directionProvider();
+        REQUIRES_DIRECTION = EMITTER.requiresDirection();
+        UNIFORM_DIRECTION = DIRECTION_PROVIDER.isUniform();
+    }
+
+    @Override
+    public void sample(EffectContext context, EffectRenderState state, ShapeContext shapeContext, PointBuffer points) {
+        points.clear();
+        state.clearScratchBuffers();
+        SHAPE.sample(shapeContext.resetScratchScope(), points);
+
+        if (TRANSFORM_COUNT > 0) {
+            Transform.PreparedTransform prepared = TRANSFORM_0.prepare(context);
+            for (int i = 0; i < points.size(); i++) {
+                prepared.apply(points, i);
+            }
+        }
+        if (TRANSFORM_COUNT > 1) {
+            Transform.PreparedTransform prepared = TRANSFORM_1.prepare(context);
+            for (int i = 0; i < points.size(); i++) {
+                prepared.apply(points, i);
+            }
+        }
+        if (TRANSFORM_COUNT > 2) {
+            Transform.PreparedTransform prepared = TRANSFORM_2.prepare(context);
+            for (int i = 0; i < points.size(); i++) {
+                prepared.apply(points, i);
+            }
+        }
+        if (TRANSFORM_COUNT > 3) {
+            Transform.PreparedTransform prepared = TRANSFORM_3.prepare(context);
+            for (int i = 0; i < points.size(); i++) {
+                prepared.apply(points, i);
+            }
+        }
+
+        if (MODIFIER_COUNT > 0) {
+            MODIFIER_0.apply(points, context, state);
+        }
+        if (MODIFIER_COUNT > 1) {
+            MODIFIER_1.apply(points, context, state);
+        }
+        if (MODIFIER_COUNT > 2) {
+            MODIFIER_2.apply(points, context, state);
+        }
+        if (MODIFIER_COUNT > 3) {
+            MODIFIER_3.apply(points, context, state);
+        }
+    }
+
+    @Override
+    public void emit(EffectContext context, EffectRenderState state, PointBuffer points) {
+        Vector3f direction = state.direction();
+        PointBuffer directions = state.directions();
+        if (!REQUIRES_DIRECTION) {
+            direction.set(0, 0, 0);
+        } else if (UNIFORM_DIRECTION) {
+            DIRECTION_PROVIDER.getDirection(0, 0, 0, context, direction);
+        } else {
+            DIRECTION_PROVIDER.getDirections(context, points, directions, direction);
+        }
+        ParticleEmitter emitter = EMITTER.bind(context, state);
+        double originX = context.origin().getX();
+        double originY = context.origin().getY();
+        double originZ = context.origin().getZ();
+
+        for (int i = 0; i < points.size(); i++) {
+            float localX = points.x(i);
+            float localY = points.y(i);
+            float localZ = points.z(i);
+            if (REQUIRES_DIRECTION && !UNIFORM_DIRECTION) {
+                direction.set(directions.x(i), directions.y(i), directions.z(i));
+            }
+
+            emitter.spawn(
+                    context,
+                    localX,
+                    localY,
+                    localZ,
+                    originX + localX,
+                    originY + localY,
+                    originZ + localZ,
+                    direction.x,
+                    direction.y,
+                    direction.z
+            );
+        }
+        emitter.flush(context);
+    }
+}
@@ -0,0 +1,316 @@
+package com.github.roleplaycauldron.spellbook.effect.block;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectRenderState;
+import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Shared cache of {@link ChunkSnapshot chunk snapshots} with a short time to live.
+ * <p>
+ * Block-aware shapes and modifiers read blocks through a {@link BlockView} bound per
+ * frame, which remembers the last chunk it read, so consecutive points in the same
+ * chunk do not touch the cache at all. Running effects keep one view in their render
+ * state, and chunks are looked up by packed coordinates per world, so reading blocks
+ * does not allocate once the snapshots are taken. Snapshots are immutable and may be
+ * read from any thread. New snapshots are only taken on the server thread and only for loaded chunks;
+ * off the server thread, expired snapshots keep being served and chunks without a
+ * snapshot read as air.
+ */
+public final class BlockSnapshotCache {
+
+    /**
+     * Default number of ticks a snapshot is reused for.
+     */
+    public static final int DEFAULT_TTL_TICKS = 20;
+
+    private static final BlockSnapshotCache SHARED = new BlockSnapshotCache(DEFAULT_TTL_TICKS);
+
+    private final int ttlTicks;
+
+    private final LongSupplier tickSource;
+
+    private final BooleanSupplier primaryThread;
+
+    private final Map<UUID, WorldSnapshots> worlds = new ConcurrentHashMap<>();
+
+    private final Supplier<FrameView> views = () -> new FrameView(this);
+
+    private volatile long lastSweepTick;
+
+    /**
+     * Creates a cache using the server's current tick and thread.
+     *
+     * @param ttlTicks ticks a snapshot is reused for; must be greater than 0
+     * @throws IllegalArgumentException if ttlTicks is not positive
+     */
+    public BlockSnapshotCache(int ttlTicks) {
+        this(ttlTicks, Bukkit::getCurrentTick, Bukkit::isPrimaryThread);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param ttlTicks      ticks a snapshot is reused for; must be greater than 0
+     * @param tickSource    supplies the current server tick
+     * @param primaryThread returns whether the calling thread may take chunk snapshots
+     * @throws IllegalArgumentException if ttlTicks is not positive
+     */
+    public BlockSnapshotCache(int ttlTicks, LongSupplier tickSource, BooleanSupplier primaryThread) {
+        if (ttlTicks <= 0) {
+            throw new IllegalArgumentException("ttlTicks must be > 0");
+        }
+        this.ttlTicks = ttlTicks;
+        this.tickSource = Objects.requireNonNull(tickSource, "tickSource");
+        this.primaryThread = Objects.requireNonNull(primaryThread, "primaryThread");
+    }
+
+    /**
+     * Returns the cache shared by built-in block-aware shapes and modifiers.
+     *
+     * @return shared cache with {@value #DEFAULT_TTL_TICKS} ticks time to live
+     */
+    public static BlockSnapshotCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Creates a block view of a world for one frame.
+     *
+     * @param world the world to read blocks from
+     * @return frame-local block view
+     */
+    public BlockView view(World world) {
+        return new FrameView(this).bind(Objects.requireNonNull(world, "world"));
+    }
+
+    /**
+     * Returns the block view a shape keeps in the render state of its running effect,
+     * bound to a world for the current frame.
+     *
+     * @param world   the world to read blocks from
+     * @param context the shape context of the running effect
+     * @return frame-local block view, reused across the frames of the effect
+     */
+    public BlockView view(World world, ShapeContext context) {
+        return context.state(this, views).bind(Objects.requireNonNull(world, "world"));
+    }
+
+    /**
+     * Returns the block view a modifier keeps in the render state of its running effect,
+     * bound to a world for the current frame.
+     *
+     * @param world the world to read blocks from
+     * @param state the render state of the running effect
+     * @return frame-local block view, reused across the frames of the effect
+     */
+    public BlockView view(World world, EffectRenderState state) {
+        return state.state(this, views).bind(Objects.requireNonNull(world, "world"));
+    }
+
+    /**
+     * Returns the snapshot of a chunk, taking a new one if the cached snapshot expired.
+     *
+     * @param world  the chunk's world
+     * @param chunkX chunk x coordinate
+     * @param chunkZ chunk z coordinate
+     * @return chunk snapshot, or {@code null} if none is cached and none can be taken
+     */
+    public ChunkSnapshot snapshot(World world, int chunkX, int chunkZ) {
+        long key = key(chunkX, chunkZ);
+        WorldSnapshots snapshots = worlds.get(world.getUID());
+        Entry entry = snapshots == null ? null : snapshots.get(key);
+        long tick = tickSource.getAsLong();
+        if (entry != null && tick - entry.tick() < ttlTicks) {
+            return entry.snapshot();
+        }
+        if (!primaryThread.getAsBoolean() || !world.isChunkLoaded(chunkX, chunkZ)) {
+            return entry == null ? null : entry.snapshot();
+        }
+
+        ChunkSnapshot snapshot = world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false);
+        if (snapshots == null) {
+            snapshots = worlds.computeIfAbsent(world.getUID(), ignored -> new WorldSnapshots());
+        }
+        snapshots.put(new Entry(key, snapshot, tick));
+        sweep(tick);
+        return snapshot;
+    }
+
+    /**
+     * Drops all cached snapshots of a world, for example when it is unloaded.
+     *
+     * @param world the world's unique id
+     */
+    public void invalidate(UUID world) {
+        worlds.remove(world);
+    }
+
+    /**
+     * Returns the number of cached chunk snapshots.
+     *
+     * @return cached snapshot count, including expired snapshots not yet swept
+     */
+    public int size() {
+        int size = 0;
+        for (WorldSnapshots snapshots : worlds.values()) {
+            size += snapshots.size();
+        }
+        return size;
+    }
+
+    private void sweep(long tick) {
+        if (tick - lastSweepTick < ttlTicks) {
+            return;
+        }
+        lastSweepTick = tick;
+        // Expired snapshots are kept for one more lifetime to serve off-thread readers
+        long oldest = tick - ttlTicks * 2L + 1;
+        for (WorldSnapshots snapshots : worlds.values()) {
+            snapshots.sweep(oldest);
+        }
+    }
+
+    private static long key(int chunkX, int chunkZ) {
+        return (long) chunkX << 32 | chunkZ & 0xFFFFFFFFL;
+    }
+
+    private record Entry(long key, ChunkSnapshot snapshot, long tick) {
+    }
+
+    /**
+     * Snapshots of one world in an open-addressing table of packed chunk coordinates.
+     * <p>
+     * Entries are only added or replaced on the server thread. Readers on other threads
+     * probe the published table without locking and see either the previous or the new
+     * entry of a slot, which is immutable. Sweeping and growing publish a new table.
+     */
+    private static final class WorldSnapshots {
+
+        private volatile Entry[] table = new Entry[16];
+
+        private int size;
+
+        Entry get(long key) {
+            Entry[] entries = table;
+            int mask = entries.length - 1;
+            for (int slot = slot(key, mask); ; slot = slot + 1 & mask) {
+                Entry entry = entries[slot];
+                if (entry == null || entry.key() == key) {
+                    return entry;
+                }
+            }
+        }
+
+        synchronized void put(Entry entry) {
+            Entry[] entries = table;
+            // Tables stay at most half full, so probing always ends at an empty slot
+            if ((size + 1) * 2 > entries.length) {
+                entries = rebuild(entries.length * 2, Long.MIN_VALUE);
+            }
+            if (insert(entries, entry)) {
+                size++;
+            }
+            table = entries;
+        }
+
+        synchronized void sweep(long oldestTick) {
+            table = rebuild(table.length, oldestTick);
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private Entry[] rebuild(int capacity, long oldestTick) {
+            Entry[] entries = new Entry[capacity];
+            size = 0;
+            for (Entry entry : table) {
+                if (entry != null && entry.tick() >= oldestTick) {
+                    insert(entries, entry);
+                    size++;
+                }
+            }
+            return entries;
+        }
+
+        private static boolean insert(Entry[] entries, Entry entry) {
+            int mask = entries.length - 1;
+            for (int slot = slot(entry.key(), mask); ; slot = slot + 1 & mask) {
+                Entry current = entries[slot];
+                if (current == null || current.key() == entry.key()) {
+                    entries[slot] = entry;
+                    return current == null;
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            return (int) (key * 0x9E3779B97F4A7C15L >>> 40) & mask;
+        }
+    }
+
+    private static final class FrameView implements BlockView {
+
+        private final BlockSnapshotCache cache;
+
+        private World world;
+
+        private int minY;
+
+        private int maxY;
+
+        private boolean hasChunk;
+
+        private int chunkX;
+
+        private int chunkZ;
+
+        private ChunkSnapshot snapshot;
+
+        private FrameView(BlockSnapshotCache cache) {
+            this.cache = cache;
+        }
+
+        /**
+         * Binds this view to a world for a new frame. The last chunk is forgotten, so
+         * expired snapshots are not read across frames.
+         */
+        private FrameView bind(World world) {
+            if (this.world != world) {
+                this.world = world;
+                this.minY = world.getMinHeight();
+                this.maxY = world.getMaxHeight();
+            }
+            hasChunk = false;
+            snapshot = null;
+            return this;
+        }
+
+        @Override
+        public boolean isSolid(int x, int y, int z) {
+            if (y < minY || y >= maxY) {
+                return false;
+            }
+
+            int blockChunkX = x >> 4;
+            int blockChunkZ = z >> 4;
+            if (!hasChunk || blockChunkX != chunkX || blockChunkZ != chunkZ) {
+                snapshot = cache.snapshot(world, blockChunkX, blockChunkZ);
+                chunkX = blockChunkX;
+                chunkZ = blockChunkZ;
+                hasChunk = true;
+            }
+            return snapshot != null && snapshot.getBlockType(x & 15, y, z & 15).isSolid();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.roleplaycauldron.spellbook.effect.block;
+
+/**
+ * Read-only view of the blocks of one world used by block-aware shapes and modifiers.
+ * <p>
+ * Views are obtained per frame from a {@link BlockSnapshotCache} and are not thread-safe.
+ * They must not be retained beyond the frame they were obtained for.
+ */
+@FunctionalInterface
+public interface BlockView {
+
+    /**
+     * Returns whether the block at the given block coordinates is solid.
+     * Blocks outside the world's height or in chunks without a snapshot are not solid.
+     *
+     * @param x block x coordinate
+     * @param y block y coordinate
+     * @param z block z coordinate
+     * @return {@code true} if the block is solid
+     */
+    boolean isSolid(int x, int y, int z);
+}
@@ -0,0 +1,145 @@
+package com.github.roleplaycauldron.spellbook.effect.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Weak canonicalization table for immutable parsed components.
+ *
+ * <p>Components parsed from equal configuration values, or equal by
+ * themselves, are replaced with one shared instance, so identical
+ * definitions across many effects share their cached point arrays. The
+ * table only holds components weakly: once no effect uses a component
+ * anymore, it is collected and its entry is dropped.</p>
+ *
+ * <p>Only components that are immutable and safe to share between effects
+ * may be interned. Interning is thread-safe.</p>
+ */
+final class ComponentInterner {
+
+    private final Map<SectionKey, Entry> sectionComponents = new HashMap<>();
+
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    private final Map<Object, WeakReference<Object>> values = new WeakHashMap<>();
+
+    /**
+     * Returns the shared component parsed from configuration values equal to
+     * the section's, parsing it with the factory if there is none.
+     *
+     * <p>The factory is not called if an equal section was parsed before, so
+     * it must produce the same component for equal values. Exceptions of the
+     * factory are passed on and nothing is interned.</p>
+     *
+     * @param kind    component category, such as {@code shape}
+     * @param section configuration section the component is parsed from
+     * @param factory parses the component
+     * @param <T>     component type
+     * @return the shared component
+     */
+    /* default */
+    @SuppressWarnings("unchecked")
+    synchronized <T> T intern(String kind, ConfigurationSection section, Supplier<? extends T> factory) {
+        purgeCollected();
+        SectionKey key = new SectionKey(kind, snapshot(section));
+        Entry entry = sectionComponents.get(key);
+        Object component = entry == null ? null : entry.get();
+        if (component == null) {
+            component = factory.get();
+            sectionComponents.put(key, new Entry(key, component, collected));
+        }
+        return (T) component;
+    }
+
+    /**
+     * Returns the shared instance equal to the given value.
+     *
+     * @param value immutable value with value-based {@code equals}
+     * @param <T>   value type
+     * @return the first interned instance equal to the value, or the value itself
+     */
+    /* default */
+    @SuppressWarnings("unchecked")
+    synchronized <T> T intern(T value) {
+        WeakReference<Object> reference = values.get(value);
+        Object shared = reference == null ? null : reference.get();
+        if (shared == null) {
+            values.put(value, new WeakReference<>(value));
+            return value;
+        }
+        return (T) shared;
+    }
+
+    /**
+     * Returns the number of live interned components, including values.
+     *
+     * @return interned component count
+     */
+    /* default */
+    synchronized int size() {
+        purgeCollected();
+        return sectionComponents.size() + values.size();
+    }
+
+    private void purgeCollected() {
+        Entry entry;
+        while ((entry = (Entry) collected.poll()) != null) {
+            sectionComponents.remove(entry.key, entry);
+        }
+    }
+
+    private static Map<String, Object> snapshot(ConfigurationSection section) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> value : section.getValues(true).entrySet()) {
+            // Nested sections compare by identity; their values are part of the deep snapshot
+            if (!(value.getValue() instanceof ConfigurationSection)) {
+                snapshot.put(value.getKey(), copy(value.getValue()));
+            }
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof ConfigurationSection section) {
+            return snapshot(section);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object element : list) {
+                copy.add(copy(element));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> element : map.entrySet()) {
+                copy.put(element.getKey(), copy(element.getValue()));
+            }
+            return Collections.unmodifiableMap(copy);
+        }
+        return value;
+    }
+
+    private record SectionKey(String kind, Map<String, Object> values) {
+    }
+
+    private static final class Entry extends WeakReference<Object> {
+
+        private final SectionKey key;
+
+        private Entry(SectionKey key, Object component, ReferenceQueue<Object> queue) {
+            super(component, queue);
+            this.key = key;
+        }
+    }
+}
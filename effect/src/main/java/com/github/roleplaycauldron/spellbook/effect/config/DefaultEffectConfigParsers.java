@@ -1,32 +1,55 @@
 package com.github.roleplaycauldron.spellbook.effect.config;
 
+import com.github.roleplaycauldron.spellbook.effect.DirectionProviders;
+import com.github.roleplaycauldron.spellbook.effect.modifier.BlockOcclusionModifier;
+import com.github.roleplaycauldron.spellbook.effect.modifier.JitterModifier;
+import com.github.roleplaycauldron.spellbook.effect.modifier.NoiseModifier;
+import com.github.roleplaycauldron.spellbook.effect.shape.BeamShape;
 import com.github.roleplaycauldron.spellbook.effect.shape.CubeShape;
 import com.github.roleplaycauldron.spellbook.effect.shape.HelixShape;
 import com.github.roleplaycauldron.spellbook.effect.shape.LineShape;
 import com.github.roleplaycauldron.spellbook.effect.shape.MovingPointShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.PointSpacing;
 import com.github.roleplaycauldron.spellbook.effect.shape.Shape;
 import com.github.roleplaycauldron.spellbook.effect.shape.SphereShape;
 import com.github.roleplaycauldron.spellbook.effect.shape.SpiralHelixShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.SplinePathShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.TrailShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.morph.MorphEasing;
 import com.github.roleplaycauldron.spellbook.effect.shape.morph.MorphPointStrategies;
+import com.github.roleplaycauldron.spellbook.effect.shape.morph.MorphPointStrategy;
 import com.github.roleplaycauldron.spellbook.effect.shape.morph.MorphProgress;
+import com.github.roleplaycauldron.spellbook.effect.shape.morph.MorphSequence;
 import com.github.roleplaycauldron.spellbook.effect.shape.morph.MorphShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.text.TextShape;
 import com.github.roleplaycauldron.spellbook.effect.transform.LookAtTransform;
+import com.github.roleplaycauldron.spellbook.effect.transform.OrbitTransform;
+import com.github.roleplaycauldron.spellbook.effect.transform.OscillateTransform;
 import com.github.roleplaycauldron.spellbook.effect.transform.RotationTransform;
+import com.github.roleplaycauldron.spellbook.effect.transform.ScaleTransform;
+import com.github.roleplaycauldron.spellbook.effect.transform.SpinTransform;
 import com.github.roleplaycauldron.spellbook.effect.transform.TranslateTransform;
 import org.bukkit.configuration.ConfigurationSection;
 import org.joml.Vector3f;
 
+import java.util.List;
+
 /**
  * Registers Spellbook's built-in effect configuration parsers.
  *
  * <p>This class contains the default parser registrations used by
  * {@link EffectConfigParser#defaults()}. It registers built-in shapes,
- * transforms, and direction providers. The registered parsers read Bukkit
+ * transforms, modifiers, and direction providers. The registered parsers read Bukkit
  * {@link ConfigurationSection configuration sections} and create the matching
  * effect components.</p>
  */
 final class DefaultEffectConfigParsers {
 
+    /**
+     * Default upper bound of density-based point counts.
+     */
+    private static final int DEFAULT_MAX_POINTS = 256;
+
     /**
      * Prevent initialization.
      */
@@ -37,8 +60,8 @@ final class DefaultEffectConfigParsers {
     /**
      * Registers all built-in effect component parsers on the given parser.
      *
-     * <p>This includes the default shape parsers, transform parsers, and
-     * direction provider parsers.</p>
+     * <p>This includes the default shape parsers, transform parsers, modifier
+     * parsers, and direction provider parsers.</p>
      *
      * @param parser parser to register defaults on
      * @throws NullPointerException     if the parser is {@code null}
@@ -48,35 +71,45 @@ final class DefaultEffectConfigParsers {
     static void registerAll(EffectConfigParser parser) {
         registerShapes(parser);
         registerTransforms(parser);
+        registerModifiers(parser);
         registerDirections(parser);
     }
 
     /**
      * Registers all built-in shape parsers.
      *
+     * <p>{@code line}, {@code cube}, and {@code moving-point} accept either a
+     * fixed point count ({@code points}, {@code points-per-edge}, or
+     * {@code amount-points}) or a density-based {@code spacing} in blocks with
+     * optional {@code min-points} and {@code max-points}.</p>
+     *
+     * <p>Shapes without per-shape state are registered as interned, so
+     * parameter-equal definitions share one instance and its cached points.</p>
+     *
      * @param parser parser to register shapes on
      * @throws IllegalArgumentException if one of the default shape types is already registered
      */
     private static void registerShapes(EffectConfigParser parser) {
-        parser.registerShape("line", (section, context) -> new LineShape(context.requireInt(section, "points")));
-        parser.registerShape("sphere", (section, context) -> new SphereShape(
-                context.requireFloat(section, "radius"),
+        parser.registerInternedShape("line", (section, context) -> section.contains("points")
+                ? new LineShape(context.requireInt(section, "points"))
+                : new LineShape(parsePointSpacing(section, context, "spacing", 2)));
+        parser.registerInternedShape("sphere", (section, context) -> new SphereShape(
+                context.requireExpression(section, "radius"),
                 context.requireInt(section, "points"),
                 context.getFloat(section, "angular-speed", 0f)
         ));
-        parser.registerShape("cube", (section, context) -> new CubeShape(
-                context.requireFloat(section, "size"),
-                context.requireInt(section, "points-per-edge")
-        ));
-        parser.registerShape("helix", (section, context) -> new HelixShape(
+        parser.registerInternedShape("cube", (section, context) -> section.contains("points-per-edge")
+                ? new CubeShape(context.requireFloat(section, "size"), context.requireInt(section, "points-per-edge"))
+                : new CubeShape(context.requireFloat(section, "size"), parsePointSpacing(section, context, "spacing", 2)));
+        parser.registerInternedShape("helix", (section, context) -> new HelixShape(
                 context.requireInt(section, "strands"),
                 context.requireInt(section, "particles-per-strand"),
-                context.requireFloat(section, "radius"),
-                context.requireFloat(section, "height"),
+                context.requireExpression(section, "radius"),
+                context.requireExpression(section, "height"),
                 context.requireFloat(section, "turns"),
                 context.getFloat(section, "rotation-speed", 0f)
         ));
-        parser.registerShape("spiral-helix", (section, context) -> new SpiralHelixShape(
+        parser.registerInternedShape("spiral-helix", (section, context) -> new SpiralHelixShape(
                 context.requireInt(section, "strands"),
                 context.requireInt(section, "particles-per-strand"),
                 context.requireFloat(section, "radius"),
@@ -85,13 +118,122 @@ final class DefaultEffectConfigParsers {
                 context.getFloat(section, "rotation-speed", 0f),
                 context.getBoolean(section, "reverse", false)
         ));
-        parser.registerShape("moving-point", (section, context) -> new MovingPointShape(
-                context.requireFloat(section, "speed"),
-                context.requireFloat(section, "spacing"),
-                context.requireInt(section, "amount-points"),
-                context.getBoolean(section, "ping-pong", false)
+        parser.registerInternedShape("moving-point", (section, context) -> section.contains("amount-points")
+                ? new MovingPointShape(
+                        context.requireFloat(section, "speed"),
+                        context.requireFloat(section, "spacing"),
+                        context.requireInt(section, "amount-points"),
+                        context.getBoolean(section, "ping-pong", false)
+                )
+                : new MovingPointShape(
+                        context.requireFloat(section, "speed"),
+                        parsePointSpacing(section, context, "spacing", 1),
+                        context.getBoolean(section, "ping-pong", false)
+                ));
+        parser.registerInternedShape("beam", (section, context) -> new BeamShape(
+                context.requireFloat(section, "range"),
+                context.requireFloat(section, "spacing")
         ));
+        parser.registerShape("trail", (section, context) -> new TrailShape(
+                context.requireInt(section, "length"),
+                context.getFloat(section, "fade-start", 1f),
+                context.getFloat(section, "min-density", 1f)
+        ));
+        parser.registerShape("spline", DefaultEffectConfigParsers::parseSplinePath);
+        parser.registerShape("text", (section, context) -> TextShape.of(context.requireString(section, "text"))
+                .size(context.getFloat(section, "size", 1f))
+                .density(context.getInt(section, "density", 1))
+                .alignment(context.parseEnum(TextShape.Alignment.class, section.getString("align", "center"), "align"))
+                .build());
         parser.registerShape("morph", DefaultEffectConfigParsers::parseMorphShape);
+        parser.registerShape("morph-sequence", DefaultEffectConfigParsers::parseMorphSequence);
+    }
+
+    /**
+     * Parses a spline path shape from a configuration section.
+     *
+     * <p>A spline path requires a {@code control-points} list. Every entry
+     * defines optional {@code x}, {@code y}, and {@code z} coordinates and a
+     * {@code relative-to} of {@code origin} or {@code target}. The optional
+     * {@code curve} is {@code catmull-rom} or {@code bezier}; Bézier chains
+     * require {@code 3n + 1} control points. Points are spread evenly over the
+     * path using {@code points}, unless {@code speed} is configured, in which
+     * case {@code speed}, {@code spacing}, {@code amount-points}, and
+     * {@code ping-pong} move a head along the path like {@code moving-point}.</p>
+     *
+     * @param section spline path configuration section
+     * @param context parsing context for nested values and error paths
+     * @return parsed spline path shape
+     * @throws EffectConfigException if the spline configuration is invalid
+     */
+    private static Shape parseSplinePath(ConfigurationSection section, EffectConfigContext context) {
+        String curve = section.getString("curve", "catmull-rom");
+        String normalizedCurve = EffectConfigValues.normalizeType(curve);
+        SplinePathShape.Builder builder = switch (normalizedCurve) {
+            case "catmull-rom" -> SplinePathShape.catmullRom();
+            case "bezier" -> SplinePathShape.bezier();
+            default -> throw new EffectConfigException(context.path("curve"), String.format("Unknown curve '%s'", curve));
+        };
+
+        List<EffectConfigParser.IndexedSection> controlPoints = context.sectionList(section, "control-points");
+        if (controlPoints.size() < 2) {
+            throw new EffectConfigException(context.path("control-points"), "At least two control points are required");
+        }
+        if ("bezier".equals(normalizedCurve) && (controlPoints.size() < 4 || (controlPoints.size() - 1) % 3 != 0)) {
+            throw new EffectConfigException(context.path("control-points"), "Bezier curves require 3n + 1 control points");
+        }
+
+        for (int i = 0; i < controlPoints.size(); i++) {
+            ConfigurationSection point = controlPoints.get(i).section();
+            EffectConfigContext pointContext = context.child("control-points").child("[" + i + "]");
+            float x = pointContext.getFloat(point, "x", 0f);
+            float y = pointContext.getFloat(point, "y", 0f);
+            float z = pointContext.getFloat(point, "z", 0f);
+            String relativeTo = point.getString("relative-to", "origin");
+            switch (EffectConfigValues.normalizeType(relativeTo)) {
+                case "origin" -> builder.point(x, y, z);
+                case "target" -> builder.targetPoint(x, y, z);
+                default -> throw new EffectConfigException(pointContext.path("relative-to"),
+                        String.format("Unknown anchor '%s'", relativeTo));
+            }
+        }
+
+        if (section.contains("speed")) {
+            builder.movingHead(
+                    context.requireFloat(section, "speed"),
+                    context.requireFloat(section, "spacing"),
+                    context.requireInt(section, "amount-points"),
+                    context.getBoolean(section, "ping-pong", false)
+            );
+        } else {
+            builder.uniform(context.requireInt(section, "points"));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Parses a density-based point count.
+     *
+     * <p>The spacing is read from {@code spacingKey}. The optional
+     * {@code min-points} and {@code max-points} bound the resulting count and
+     * default to {@code defaultMinPoints} and {@value #DEFAULT_MAX_POINTS}.</p>
+     *
+     * @param section          shape configuration section
+     * @param context          parsing context for nested values and error paths
+     * @param spacingKey       key of the spacing in blocks
+     * @param defaultMinPoints minimum point count used when {@code min-points} is absent
+     * @return parsed point spacing
+     * @throws EffectConfigException if a value is missing or invalid
+     */
+    private static PointSpacing parsePointSpacing(ConfigurationSection section,
+                                                  EffectConfigContext context,
+                                                  String spacingKey,
+                                                  int defaultMinPoints) {
+        return new PointSpacing(
+                context.requireFloat(section, spacingKey),
+                context.getInt(section, "min-points", defaultMinPoints),
+                context.getInt(section, "max-points", DEFAULT_MAX_POINTS)
+        );
     }
 
     /**
@@ -117,16 +259,83 @@ final class DefaultEffectConfigParsers {
             builder.progress(parseMorphProgress(progress, context.path("progress")));
         }
 
+        builder.strategy(parseMorphStrategy(section, context));
+        return builder.build();
+    }
+
+    /**
+     * Parses a keyframed morph sequence from a configuration section.
+     *
+     * <p>A morph sequence requires a {@code keyframes} list with at least two
+     * entries. Every entry contains a {@code shape} section. All entries except
+     * the first also require a positive {@code duration} and may define an
+     * {@code easing} of {@code linear}, {@code ease-in}, {@code ease-out}, or
+     * {@code ease-in-out}. Durations are measured in steps unless
+     * {@code time-unit} is {@code seconds}. The optional {@code loop} flag
+     * restarts the sequence after the last keyframe, and {@code strategy}
+     * selects the point matching strategy of every segment.</p>
+     *
+     * @param section morph sequence configuration section
+     * @param context parsing context for nested values and error paths
+     * @return parsed morph sequence
+     * @throws EffectConfigException if the sequence configuration is invalid
+     */
+    private static Shape parseMorphSequence(ConfigurationSection section, EffectConfigContext context) {
+        List<EffectConfigParser.IndexedSection> keyframes = context.sectionList(section, "keyframes");
+        if (keyframes.size() < 2) {
+            throw new EffectConfigException(context.path("keyframes"), "At least two keyframes are required");
+        }
+
+        MorphSequence.Builder builder = null;
+        for (int i = 0; i < keyframes.size(); i++) {
+            ConfigurationSection keyframe = keyframes.get(i).section();
+            EffectConfigContext keyframeContext = context.child("keyframes").child("[" + i + "]");
+            Shape shape = keyframeContext.parseShape(keyframeContext.requireSection(keyframe, "shape"), keyframeContext.path("shape"));
+            if (builder == null) {
+                builder = MorphSequence.startingWith(shape);
+                continue;
+            }
+
+            float duration = keyframeContext.requireFloat(keyframe, "duration");
+            if (duration <= 0f) {
+                throw new EffectConfigException(keyframeContext.path("duration"), "duration must be > 0");
+            }
+            MorphEasing easing = keyframeContext.parseEnum(MorphEasing.class, keyframe.getString("easing", "linear"), "easing");
+            builder.then(shape, duration, easing);
+        }
+
+        String timeUnit = section.getString("time-unit", "steps");
+        switch (EffectConfigValues.normalizeType(timeUnit)) {
+            case "steps" -> {
+            }
+            case "seconds" -> builder.inSeconds();
+            default ->
+                    throw new EffectConfigException(context.path("time-unit"), String.format("Unknown time unit '%s'", timeUnit));
+        }
+        return builder
+                .loop(context.getBoolean(section, "loop", false))
+                .strategy(parseMorphStrategy(section, context))
+                .build();
+    }
+
+    /**
+     * Parses the optional point matching {@code strategy} of a morph section.
+     *
+     * @param section morph configuration section
+     * @param context parsing context for error paths
+     * @return parsed strategy, {@code match-index} if none is configured
+     * @throws EffectConfigException if the strategy is unknown
+     */
+    private static MorphPointStrategy parseMorphStrategy(ConfigurationSection section, EffectConfigContext context) {
         String strategy = section.getString("strategy", "match-index");
-        builder.strategy(switch (EffectConfigValues.normalizeType(strategy)) {
+        return switch (EffectConfigValues.normalizeType(strategy)) {
             case "match-index" -> MorphPointStrategies.matchIndex();
             case "resample-source-to-target" -> MorphPointStrategies.resampleSourceToTarget();
             case "resample-target-to-source" -> MorphPointStrategies.resampleTargetToSource();
             case "resample-to-max" -> MorphPointStrategies.resampleToMax();
             default ->
                     throw new EffectConfigException(context.path("strategy"), String.format("Unknown morph point strategy '%s'", strategy));
-        });
-        return builder.build();
+        };
     }
 
     /**
@@ -164,19 +373,24 @@ final class DefaultEffectConfigParsers {
     /**
      * Registers all built-in transform parsers.
      *
+     * <p>The animated transforms {@code spin}, {@code orbit}, {@code oscillate},
+     * and {@code scale} follow the elapsed time of the effect. {@code spin} and
+     * {@code orbit} take a {@code speed} in degrees per second and an optional
+     * {@code axis} section, which defaults to the vertical axis.</p>
+     *
      * @param parser parser to register transforms on
      * @throws IllegalArgumentException if one of the default transform types is already registered
      */
     private static void registerTransforms(EffectConfigParser parser) {
         parser.registerTransform("translate", (section, context) -> new TranslateTransform(
-                context.requireFloat(section, "x"),
-                context.requireFloat(section, "y"),
-                context.requireFloat(section, "z")
+                context.requireExpression(section, "x"),
+                context.requireExpression(section, "y"),
+                context.requireExpression(section, "z")
         ));
         parser.registerTransform("rotate", (section, context) -> new RotationTransform(
-                context.getFloat(section, "yaw", 0f),
-                context.getFloat(section, "pitch", 0f),
-                context.getFloat(section, "roll", 0f)
+                context.getExpression(section, "yaw", 0f),
+                context.getExpression(section, "pitch", 0f),
+                context.getExpression(section, "roll", 0f)
         ));
         parser.registerTransform("look-at", (section, context) -> {
             ConfigurationSection forwardAxis = context.optionalSection(section, "forward-axis");
@@ -190,32 +404,92 @@ final class DefaultEffectConfigParsers {
                     axisContext.requireFloat(forwardAxis, "z")
             ));
         });
+        parser.registerTransform("spin", (section, context) -> new SpinTransform(
+                parseAxis(section, context),
+                context.requireFloat(section, "speed"),
+                context.getFloat(section, "phase", 0f)
+        ));
+        parser.registerTransform("orbit", (section, context) -> new OrbitTransform(
+                context.requireFloat(section, "radius"),
+                context.requireFloat(section, "speed"),
+                parseAxis(section, context),
+                context.getFloat(section, "phase", 0f)
+        ));
+        parser.registerTransform("oscillate", (section, context) -> new OscillateTransform(
+                new Vector3f(
+                        context.getFloat(section, "x", 0f),
+                        context.getFloat(section, "y", 0f),
+                        context.getFloat(section, "z", 0f)
+                ),
+                context.requireFloat(section, "frequency"),
+                context.getFloat(section, "phase", 0f)
+        ));
+        parser.registerTransform("scale", (section, context) -> section.contains("factor")
+                ? new ScaleTransform(context.requireExpression(section, "factor"))
+                : new ScaleTransform(
+                        context.requireFloat(section, "from"),
+                        context.requireFloat(section, "to"),
+                        context.requireFloat(section, "duration-seconds")
+                ));
+    }
+
+    /**
+     * Parses the optional {@code axis} section of an animated transform.
+     *
+     * @param section transform configuration section
+     * @param context configuration context of the transform
+     * @return the configured axis, or the vertical axis if none is configured
+     */
+    private static Vector3f parseAxis(ConfigurationSection section, EffectConfigContext context) {
+        ConfigurationSection axis = context.optionalSection(section, "axis");
+        if (axis == null) {
+            return new Vector3f(0, 1, 0);
+        }
+        EffectConfigContext axisContext = context.child("axis");
+        return new Vector3f(
+                axisContext.getFloat(axis, "x", 0f),
+                axisContext.getFloat(axis, "y", 0f),
+                axisContext.getFloat(axis, "z", 0f)
+        );
+    }
+
+    /**
+     * Registers all built-in modifier parsers.
+     *
+     * <p>The built-in modifiers are {@code noise}, {@code jitter}, and
+     * {@code block-occlusion}.</p>
+     *
+     * @param parser parser to register modifiers on
+     * @throws IllegalArgumentException if one of the default modifier types is already registered
+     */
+    private static void registerModifiers(EffectConfigParser parser) {
+        parser.registerModifier("noise", (section, context) -> new NoiseModifier(
+                context.requireExpression(section, "amplitude"),
+                context.getFloat(section, "frequency", 0.05f),
+                context.getFloat(section, "index-frequency", 0.1f),
+                context.getInt(section, "seed", 0)
+        ));
+        parser.registerModifier("jitter", (section, context) -> new JitterModifier(
+                context.requireExpression(section, "amplitude"),
+                context.getInt(section, "interval", 1),
+                context.getInt(section, "seed", 0)
+        ));
+        parser.registerModifier("block-occlusion", (section, context) -> new BlockOcclusionModifier());
     }
 
     /**
      * Registers all built-in direction provider parsers.
      *
-     * <p>The built-in direction providers are {@code none} and
-     * {@code toward-target}.</p>
+     * <p>The built-in direction providers are {@code none}, {@code toward-target},
+     * {@code radial}, and {@code outward}.</p>
      *
      * @param parser parser to register directions on
      * @throws IllegalArgumentException if one of the default direction types is already registered
      */
     private static void registerDirections(EffectConfigParser parser) {
-        parser.registerDirection("none", (section, context) -> (localX, localY, localZ, effectContext, destination) -> destination.set(0, 0, 0));
-        parser.registerDirection("toward-target", (section, context) -> (localX, localY, localZ, effectContext, destination) -> {
-            if (effectContext.target() == null) {
-                destination.set(0, 0, 0);
-                return;
-            }
-            destination.set(
-                    (float) (effectContext.target().getX() - effectContext.origin().getX()),
-                    (float) (effectContext.target().getY() - effectContext.origin().getY()),
-                    (float) (effectContext.target().getZ() - effectContext.origin().getZ())
-            );
-            if (destination.lengthSquared() > 1e-6f) {
-                destination.normalize();
-            }
-        });
+        parser.registerDirection("none", (section, context) -> DirectionProviders.none());
+        parser.registerDirection("toward-target", (section, context) -> DirectionProviders.towardTarget());
+        parser.registerDirection("radial", (section, context) -> DirectionProviders.radial());
+        parser.registerDirection("outward", (section, context) -> DirectionProviders.outward());
     }
 }
@@ -0,0 +1,296 @@
+package com.github.roleplaycauldron.spellbook.effect.config;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Lazily parsed, memoized collection of effect definitions addressed by id.
+ *
+ * <p>{@link #load(ConfigurationSection)} only indexes the child sections of a
+ * root section and computes a content key for each of them. An effect is parsed
+ * through the backing {@link EffectConfigParser} the first time it is requested
+ * and the resulting {@link EffectInstance} is memoized by that content key.
+ * Definitions with identical content therefore share one instance, and
+ * reloading a catalog keeps the instances of definitions whose content did not
+ * change.</p>
+ *
+ * <p>Lookups are safe to perform from multiple threads. Parser registrations
+ * must be completed before the catalog is used, and indexed sections must not
+ * be mutated after they were loaded; load them again instead.</p>
+ */
+public final class EffectCatalog {
+
+    private final EffectConfigParser parser;
+
+    private final Map<ContentKey, EffectInstance> instances = new ConcurrentHashMap<>();
+
+    private volatile Map<String, Entry> entries = Map.of();
+
+    /**
+     * Creates an empty catalog.
+     *
+     * @param parser parser used to parse indexed effect definitions
+     */
+    public EffectCatalog(EffectConfigParser parser) {
+        this.parser = Objects.requireNonNull(parser, "parser");
+    }
+
+    /**
+     * Replaces the indexed definitions with the child sections of the given root.
+     *
+     * <p>Every direct child of {@code root} that is a configuration section is
+     * indexed under its key. Nothing is parsed by this method. Memoized instances
+     * of definitions that are still present with identical content are kept.</p>
+     *
+     * @param root section containing one child section per effect id
+     * @throws NullPointerException if the root is {@code null}
+     */
+    public synchronized void load(ConfigurationSection root) {
+        Objects.requireNonNull(root, "root");
+
+        Map<String, Entry> loaded = new LinkedHashMap<>();
+        for (String id : root.getKeys(false)) {
+            ConfigurationSection section = root.getConfigurationSection(id);
+            if (section != null) {
+                loaded.put(id, new Entry(id, section, ContentKey.of(section)));
+            }
+        }
+        replaceEntries(loaded);
+    }
+
+    /**
+     * Indexes or replaces a single effect definition.
+     *
+     * @param id      effect id
+     * @param section effect configuration section
+     * @throws NullPointerException if the id or section is {@code null}
+     */
+    public synchronized void put(String id, ConfigurationSection section) {
+        Objects.requireNonNull(id, "id");
+        Objects.requireNonNull(section, "section");
+
+        Map<String, Entry> updated = new LinkedHashMap<>(entries);
+        updated.put(id, new Entry(id, section, ContentKey.of(section)));
+        replaceEntries(updated);
+    }
+
+    /**
+     * Removes a single effect definition.
+     *
+     * @param id effect id
+     * @return {@code true} if a definition with the id was indexed
+     */
+    public synchronized boolean remove(String id) {
+        if (!entries.containsKey(id)) {
+            return false;
+        }
+        Map<String, Entry> updated = new LinkedHashMap<>(entries);
+        updated.remove(id);
+        replaceEntries(updated);
+        return true;
+    }
+
+    /**
+     * Returns the effect for the given id, parsing it on first use.
+     *
+     * @param id effect id
+     * @return parsed effect instance, or {@code null} if no definition is indexed under the id
+     * @throws EffectConfigException if the definition is invalid. The reported
+     *                               path is prefixed with the effect id.
+     */
+    public EffectInstance get(String id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        return resolve(entry);
+    }
+
+    /**
+     * Returns whether a definition is indexed under the given id.
+     *
+     * @param id effect id
+     * @return {@code true} if the id is indexed
+     */
+    public boolean contains(String id) {
+        return entries.containsKey(id);
+    }
+
+    /**
+     * Returns the indexed effect ids in load order.
+     *
+     * @return unmodifiable snapshot of indexed ids
+     */
+    public Set<String> ids() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * Returns the number of indexed definitions.
+     *
+     * @return indexed definition count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Parses every indexed definition that has not been parsed yet.
+     *
+     * <p>Each definition is submitted as a separate task to the given executor,
+     * so a worker pool parses the catalog in parallel. Pass {@code Runnable::run}
+     * to warm up on the calling thread. Invalid definitions do not fail the
+     * returned future; their exceptions are collected by effect id instead and
+     * are rethrown by later {@link #get(String)} calls.</p>
+     *
+     * @param executor executor running the parse tasks
+     * @return future completed with the configuration failures by effect id
+     */
+    public CompletableFuture<Map<String, EffectConfigException>> warmUp(Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+
+        Map<String, EffectConfigException> failures = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.instance != null || entry.failure != null) {
+                continue;
+            }
+            tasks.add(CompletableFuture.runAsync(() -> {
+                try {
+                    resolve(entry);
+                } catch (EffectConfigException exception) {
+                    failures.put(entry.id, exception);
+                }
+            }, executor));
+        }
+
+        return CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> Map.copyOf(failures));
+    }
+
+    private EffectInstance resolve(Entry entry) {
+        EffectInstance instance = entry.instance;
+        if (instance != null) {
+            return instance;
+        }
+        if (entry.failure != null) {
+            throw entry.failure;
+        }
+
+        try {
+            instance = instances.computeIfAbsent(entry.key, ignored -> parser.parse(entry.section));
+        } catch (EffectConfigException exception) {
+            entry.failure = new EffectConfigException(entry.id + "." + exception.path(), exception.detail(), exception);
+            throw entry.failure;
+        }
+        entry.instance = instance;
+        return instance;
+    }
+
+    private void replaceEntries(Map<String, Entry> updated) {
+        Map<String, Entry> previous = entries;
+        Map<ContentKey, Entry> previousByKey = new HashMap<>();
+        for (Entry entry : previous.values()) {
+            previousByKey.putIfAbsent(entry.key, entry);
+        }
+
+        Set<ContentKey> liveKeys = new HashSet<>();
+        for (Entry entry : updated.values()) {
+            liveKeys.add(entry.key);
+            Entry unchanged = previousByKey.get(entry.key);
+            if (unchanged != null && unchanged != entry) {
+                entry.failure = unchanged.failure;
+            }
+        }
+
+        entries = Collections.unmodifiableMap(updated);
+        instances.keySet().retainAll(liveKeys);
+    }
+
+    /**
+     * Indexed effect definition and its memoized parse result.
+     */
+    private static final class Entry {
+        private final String id;
+
+        private final ConfigurationSection section;
+
+        private final ContentKey key;
+
+        private volatile EffectInstance instance;
+
+        private volatile EffectConfigException failure;
+
+        private Entry(String id, ConfigurationSection section, ContentKey key) {
+            this.id = id;
+            this.section = section;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Structural snapshot of a configuration section with a precomputed hash.
+     *
+     * @param values nested section values with sections converted to maps
+     * @param hash   precomputed content hash
+     */
+    private record ContentKey(Map<String, Object> values, int hash) {
+
+        private static ContentKey of(ConfigurationSection section) {
+            Map<String, Object> values = snapshot(section);
+            return new ContentKey(values, values.hashCode());
+        }
+
+        private static Map<String, Object> snapshot(ConfigurationSection section) {
+            Map<String, Object> values = new HashMap<>();
+            for (Map.Entry<String, Object> value : section.getValues(false).entrySet()) {
+                values.put(value.getKey(), snapshotValue(value.getValue()));
+            }
+            return values;
+        }
+
+        private static Object snapshotValue(Object value) {
+            if (value instanceof ConfigurationSection nested) {
+                return snapshot(nested);
+            }
+            if (value instanceof Map<?, ?> map) {
+                Map<Object, Object> values = new HashMap<>();
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    values.put(entry.getKey(), snapshotValue(entry.getValue()));
+                }
+                return values;
+            }
+            if (value instanceof List<?> list) {
+                List<Object> values = new ArrayList<>(list.size());
+                for (Object element : list) {
+                    values.add(snapshotValue(element));
+                }
+                return values;
+            }
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ContentKey key && hash == key.hash && values.equals(key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
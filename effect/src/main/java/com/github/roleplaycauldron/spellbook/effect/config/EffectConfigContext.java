@@ -3,6 +3,7 @@ package com.github.roleplaycauldron.spellbook.effect.config;
 import com.github.roleplaycauldron.spellbook.effect.DirectionProvider;
 import com.github.roleplaycauldron.spellbook.effect.EffectModifier;
 import com.github.roleplaycauldron.spellbook.effect.emitter.StandardParticleEmitter;
+import com.github.roleplaycauldron.spellbook.effect.expression.Expression;
 import com.github.roleplaycauldron.spellbook.effect.shape.Shape;
 import com.github.roleplaycauldron.spellbook.effect.transform.Transform;
 import org.bukkit.configuration.ConfigurationSection;
@@ -234,6 +235,29 @@ public final class EffectConfigContext {
         return EffectConfigValues.requireFloat(section, key, path(key));
     }
 
+    /**
+     * Reads a required number or expression.
+     *
+     * @param section configuration section
+     * @param key     value key
+     * @return compiled expression
+     */
+    public Expression requireExpression(ConfigurationSection section, String key) {
+        return EffectConfigValues.requireExpression(section, key, path(key));
+    }
+
+    /**
+     * Reads an optional number or expression.
+     *
+     * @param section  configuration section
+     * @param key      value key
+     * @param fallback constant used when absent
+     * @return compiled or constant fallback expression
+     */
+    public Expression getExpression(ConfigurationSection section, String key, float fallback) {
+        return EffectConfigValues.getExpression(section, key, path(key), fallback);
+    }
+
     /**
      * Reads a required double-compatible number.
      *
@@ -245,6 +269,18 @@ public final class EffectConfigContext {
         return EffectConfigValues.requireDouble(section, key, path(key));
     }
 
+    /**
+     * Reads an optional integer.
+     *
+     * @param section  configuration section
+     * @param key      value key
+     * @param fallback value returned when absent
+     * @return configured or fallback integer
+     */
+    public int getInt(ConfigurationSection section, String key, int fallback) {
+        return EffectConfigValues.getInt(section, key, path(key), fallback);
+    }
+
     /**
      * Reads an optional float-compatible number.
      *
@@ -4,11 +4,13 @@ import com.github.roleplaycauldron.spellbook.effect.DirectionProvider;
 import com.github.roleplaycauldron.spellbook.effect.EffectBuilder;
 import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
 import com.github.roleplaycauldron.spellbook.effect.EffectModifier;
+import com.github.roleplaycauldron.spellbook.effect.emitter.ParticleEmitter;
 import com.github.roleplaycauldron.spellbook.effect.emitter.StandardParticleEmitter;
 import com.github.roleplaycauldron.spellbook.effect.shape.Shape;
 import com.github.roleplaycauldron.spellbook.effect.transform.Transform;
 import org.bukkit.configuration.ConfigurationSection;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
@@ -23,12 +25,30 @@ import java.util.function.Function;
  *
  * <p>Default configuration uses explicit {@code type} keys for polymorphic
  * components. Supported default shape types are {@code line}, {@code sphere},
- * {@code cube}, {@code helix}, {@code spiral-helix}, {@code moving-point}, and
- * {@code morph}. Supported default transform types are {@code translate},
- * {@code rotate}, and {@code look-at}. Supported standard particle fields are
- * {@code type}, {@code count}, {@code offset-x}, {@code offset-y},
- * {@code offset-z}, and {@code extra}. Advanced particle data is parsed only
- * through registered {@link ParticleDataConfigParser particle data parsers}.</p>
+ * {@code cube}, {@code helix}, {@code spiral-helix}, {@code moving-point},
+ * {@code beam}, {@code trail}, {@code spline}, {@code text}, {@code morph},
+ * and {@code morph-sequence}. Supported default transform types are
+ * {@code translate}, {@code rotate}, {@code look-at}, {@code spin},
+ * {@code orbit}, {@code oscillate}, and {@code scale}. Supported default
+ * modifier types are {@code noise}, {@code jitter}, and
+ * {@code block-occlusion}. Supported default direction types are
+ * {@code none}, {@code toward-target}, {@code radial}, and {@code outward}.
+ * Supported standard particle fields are {@code type}, {@code count},
+ * {@code offset-x}, {@code offset-y}, {@code offset-z}, and {@code extra}.
+ * Advanced particle data is parsed only through registered
+ * {@link ParticleDataConfigParser particle data parsers}. An optional
+ * {@code cluster-quality} between {@code 0} and {@code 1} merges nearby
+ * points of a frame into spread particle spawns.</p>
+ *
+ * <p>The sphere {@code radius}, helix {@code radius} and {@code height},
+ * translate {@code x}, {@code y}, and {@code z}, rotate {@code yaw},
+ * {@code pitch}, and {@code roll}, and noise and jitter {@code amplitude}
+ * accept either a number or an {@link com.github.roleplaycauldron.spellbook.effect.expression.Expression
+ * expression} such as {@code "1 + 0.5 * sin(time * 2)"}.</p>
+ *
+ * <p>Each {@link #parse(ConfigurationSection)} call parses the whole section
+ * again. Use an {@link EffectCatalog} to parse effect definitions lazily and
+ * reuse the parsed instances across lookups.</p>
  */
 public final class EffectConfigParser {
 
@@ -36,6 +56,8 @@ public final class EffectConfigParser {
 
     private final ParticleConfigParser particleParser;
 
+    private final ComponentInterner interner;
+
     /**
      * Creates an empty parser with no registered component parsers.
      *
@@ -45,6 +67,7 @@ public final class EffectConfigParser {
      */
     public EffectConfigParser() {
         this.registry = new EffectConfigRegistry();
+        this.interner = new ComponentInterner();
         this.particleParser = new ParticleConfigParser(this, registry);
     }
 
@@ -74,6 +97,26 @@ public final class EffectConfigParser {
         return this;
     }
 
+    /**
+     * Registers a named parser for immutable shapes.
+     *
+     * <p>Shapes of the type are interned: definitions with equal
+     * configuration values share one shape instance, together with its cached
+     * points, for as long as any parsed effect uses it. Only register parsers
+     * whose shapes keep no mutable state and depend on nothing but the
+     * configuration values.</p>
+     *
+     * @param type   configuration type name
+     * @param parser parser to invoke for that type
+     * @return this parser
+     * @throws NullPointerException     if the parser is {@code null}
+     * @throws IllegalArgumentException if a parser for the normalized type already exists
+     */
+    public EffectConfigParser registerInternedShape(String type, ShapeConfigParser parser) {
+        registry.registerInternedShape(type, parser);
+        return this;
+    }
+
     /**
      * Registers a named transform parser.
      *
@@ -137,6 +180,12 @@ public final class EffectConfigParser {
      * {@code particle} section. Optional {@code transforms}, {@code modifiers},
      * and {@code direction} sections are applied when present.</p>
      *
+     * <p>Composite effects may list additional layers under {@code layers}. Each
+     * list entry uses the same layout as a single effect and is rendered in the
+     * same pass as the top-level layer. When {@code layers} is present, the
+     * top-level {@code shape} and {@code particle} sections become optional and
+     * must either both be present or both be omitted.</p>
+     *
      * @param section effect configuration section
      * @return configured effect builder
      * @throws NullPointerException  if the section is {@code null}
@@ -146,19 +195,15 @@ public final class EffectConfigParser {
         Objects.requireNonNull(section, "section");
 
         EffectBuilder builder = EffectBuilder.create();
-        builder.shape(parseShape(EffectConfigValues.requiredSection(section, "shape", "shape"), "shape"));
-        builder.particle(parseParticle(EffectConfigValues.requiredSection(section, "particle", "particle"), "particle"));
-
-        for (IndexedSection transform : EffectConfigValues.sectionList(section, "transforms", "transforms")) {
-            builder.transform(parseTransform(transform.section(), transform.path()));
-        }
-        for (IndexedSection modifier : EffectConfigValues.sectionList(section, "modifiers", "modifiers")) {
-            builder.modifier(parseModifier(modifier.section(), modifier.path()));
+        List<IndexedSection> layers = EffectConfigValues.sectionList(section, "layers", "layers");
+        if (layers.isEmpty() || section.contains("shape") || section.contains("particle")) {
+            parseLayer(builder, section, "");
         }
 
-        ConfigurationSection direction = EffectConfigValues.optionalSection(section, "direction", "direction");
-        if (direction != null) {
-            builder.direction(parseDirection(direction, "direction"));
+        for (IndexedSection layer : layers) {
+            EffectBuilder layerBuilder = EffectBuilder.create();
+            parseLayer(layerBuilder, layer.section(), layer.path() + ".");
+            builder.layer(layerBuilder.buildLayer());
         }
         return builder;
     }
@@ -185,6 +230,27 @@ public final class EffectConfigParser {
      */
     /* default */
     Shape parseShape(ConfigurationSection section, String path) {
+        String type = section.getString("type");
+        if (type != null && registry.isInternedShape(type)) {
+            return interner.intern("shape", section, () -> parseTypedShape(section, path));
+        }
+        return parseTypedShape(section, path);
+    }
+
+    /**
+     * Returns the shared instance equal to an immutable parsed value, such as
+     * a particle specification.
+     *
+     * @param value immutable value with value-based equality
+     * @param <T>   value type
+     * @return the shared instance equal to the value
+     */
+    /* default */
+    <T> T intern(T value) {
+        return interner.intern(value);
+    }
+
+    private Shape parseTypedShape(ConfigurationSection section, String path) {
         return parseTyped(section, path, "shape", registry::shapeParser,
                 registry.knownShapeTypes(), parser -> parser.parse(section, new EffectConfigContext(this, path))
         );
@@ -248,6 +314,45 @@ public final class EffectConfigParser {
         return particleParser.parse(section, path);
     }
 
+    /**
+     * Parses the shape, particle, transforms, modifiers, and direction of one
+     * effect layer into the given builder.
+     *
+     * @param builder builder receiving the parsed components
+     * @param section layer configuration section
+     * @param prefix  configuration path prefix used for error reporting, empty or ending with {@code .}
+     * @throws EffectConfigException if the section is invalid
+     */
+    private void parseLayer(EffectBuilder builder, ConfigurationSection section, String prefix) {
+        builder.shape(parseShape(EffectConfigValues.requiredSection(section, "shape", prefix + "shape"), prefix + "shape"));
+        builder.particle(parseEmitter(EffectConfigValues.requiredSection(section, "particle", prefix + "particle"), prefix + "particle"));
+
+        for (IndexedSection transform : EffectConfigValues.sectionList(section, "transforms", prefix + "transforms")) {
+            builder.transform(parseTransform(transform.section(), transform.path()));
+        }
+        for (IndexedSection modifier : EffectConfigValues.sectionList(section, "modifiers", prefix + "modifiers")) {
+            builder.modifier(parseModifier(modifier.section(), modifier.path()));
+        }
+
+        ConfigurationSection direction = EffectConfigValues.optionalSection(section, "direction", prefix + "direction");
+        if (direction != null) {
+            builder.direction(parseDirection(direction, prefix + "direction"));
+        }
+    }
+
+    /**
+     * Parses a particle emitter, optionally clustering nearby points, from a particle configuration section.
+     *
+     * @param section particle configuration section
+     * @param path    configuration path used for error reporting
+     * @return parsed particle emitter
+     * @throws EffectConfigException if the section is invalid
+     */
+    /* default */
+    ParticleEmitter parseEmitter(ConfigurationSection section, String path) {
+        return particleParser.parseEmitter(section, path);
+    }
+
     /**
      * Parses a typed component by reading its {@code type} field, resolving the
      * matching registered parser, and invoking it.
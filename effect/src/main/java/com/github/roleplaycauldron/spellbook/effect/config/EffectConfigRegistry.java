@@ -1,5 +1,6 @@
 package com.github.roleplaycauldron.spellbook.effect.config;
 
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -25,6 +26,8 @@ final class EffectConfigRegistry {
 
     private final Map<String, ParticleDataConfigParser> particleDataParsers;
 
+    private final Set<String> internedShapeTypes = new HashSet<>();
+
     /**
      * Creates a new empty effect configuration parser registry.
      */
@@ -79,6 +82,33 @@ final class EffectConfigRegistry {
         registerUnique(shapeParsers, type, parser, "Shape");
     }
 
+    /**
+     * Registers a shape parser whose shapes are immutable and may be shared
+     * between parameter-equal definitions.
+     *
+     * @param type   the parser type
+     * @param parser the shape parser
+     * @throws NullPointerException     if the parser is {@code null}
+     * @throws IllegalArgumentException if a parser for the normalized type already exists
+     */
+    /* default */
+    void registerInternedShape(String type, ShapeConfigParser parser) {
+        registerUnique(shapeParsers, type, parser, "Shape");
+        internedShapeTypes.add(EffectConfigValues.normalizeType(type));
+    }
+
+    /**
+     * Returns whether shapes of the given type may be shared between
+     * parameter-equal definitions.
+     *
+     * @param type the parser type
+     * @return {@code true} if the type was registered as interned
+     */
+    /* default */
+    boolean isInternedShape(String type) {
+        return internedShapeTypes.contains(EffectConfigValues.normalizeType(type));
+    }
+
     /**
      * Registers a transform parser for the given type.
      *
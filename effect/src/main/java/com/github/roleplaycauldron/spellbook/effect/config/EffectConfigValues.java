@@ -1,5 +1,6 @@
 package com.github.roleplaycauldron.spellbook.effect.config;
 
+import com.github.roleplaycauldron.spellbook.effect.expression.Expression;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.MemoryConfiguration;
 
@@ -200,6 +201,38 @@ final class EffectConfigValues {
         return section.contains(key) ? requireFloatValue(section.get(key), path) : fallback;
     }
 
+    /**
+     * Reads a required expression.
+     *
+     * @param section configuration section
+     * @param key     value key to read
+     * @param path    configuration path used for error reporting
+     * @return compiled expression; numbers become constant expressions
+     * @throws EffectConfigException if the value is missing, not a finite number, or not a valid expression
+     */
+    /* default */
+    static Expression requireExpression(ConfigurationSection section, String key, String path) {
+        if (!section.contains(key)) {
+            throw new EffectConfigException(path, "Missing required number");
+        }
+        return requireExpressionValue(section.get(key), path);
+    }
+
+    /**
+     * Reads an optional expression.
+     *
+     * @param section  configuration section
+     * @param key      value key to read
+     * @param path     configuration path used for error reporting
+     * @param fallback constant returned when the key is absent
+     * @return compiled expression, or a constant {@code fallback} expression if absent
+     * @throws EffectConfigException if the value exists but is not a finite number or a valid expression
+     */
+    /* default */
+    static Expression getExpression(ConfigurationSection section, String key, String path, float fallback) {
+        return section.contains(key) ? requireExpressionValue(section.get(key), path) : Expression.constant(fallback);
+    }
+
     /**
      * Reads a required double.
      *
@@ -448,6 +481,29 @@ final class EffectConfigValues {
         return floatValue;
     }
 
+    /**
+     * Validates and compiles an object into an expression.
+     *
+     * @param value number or expression source
+     * @param path  configuration path used for error reporting
+     * @return compiled expression
+     * @throws EffectConfigException if the value is neither a finite number nor a valid expression
+     */
+    private static Expression requireExpressionValue(Object value, String path) {
+        if (value instanceof Number) {
+            return Expression.constant(requireFloatValue(value, path));
+        }
+        if (!(value instanceof String source)) {
+            throw new EffectConfigException(path, String.format("Expected number or expression, got %s", typeName(value)));
+        }
+
+        try {
+            return Expression.parse(source);
+        } catch (IllegalArgumentException exception) {
+            throw new EffectConfigException(path, exception.getMessage(), exception);
+        }
+    }
+
     /**
      * Validates and converts an object into a finite double.
      *
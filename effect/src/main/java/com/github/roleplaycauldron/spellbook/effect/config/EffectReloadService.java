@@ -0,0 +1,314 @@
+package com.github.roleplaycauldron.spellbook.effect.config;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
+import com.github.roleplaycauldron.spellbook.effect.executor.RunningEffect;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Watches a directory of effect files and hot-reloads changed definitions.
+ *
+ * <p>Every {@code .yml} or {@code .yaml} file directly inside the watched
+ * directory contains one effect definition per root key, in the same layout
+ * accepted by {@link EffectCatalog#load(org.bukkit.configuration.ConfigurationSection)}.
+ * Subdirectories are not watched.</p>
+ *
+ * <p>File changes are collected by a {@link WatchService} on a daemon thread.
+ * Only changed files are read and parsed, and that work happens on the watcher
+ * thread, never on the server thread. Definitions that fail to parse are
+ * reported to the error handler while the previously loaded definition stays
+ * active. Successfully changed definitions are swapped into every
+ * {@link #bind(String, RunningEffect) bound} running effect through
+ * {@link RunningEffect#replaceEffect(EffectInstance)}, which takes effect at the
+ * next frame boundary and keeps the execution's step counter.</p>
+ */
+public final class EffectReloadService implements AutoCloseable {
+
+    private static final long DEBOUNCE_MILLIS = 100L;
+
+    private final Path directory;
+
+    private final EffectConfigParser parser;
+
+    private final BiConsumer<Path, EffectConfigException> errorHandler;
+
+    private final Map<Path, EffectCatalog> catalogs = new HashMap<>();
+
+    private final Map<String, EffectInstance> effects = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<RunningEffect>> bindings = new ConcurrentHashMap<>();
+
+    private WatchService watchService;
+
+    private Thread watcher;
+
+    /**
+     * Creates a reload service for the given directory.
+     *
+     * @param directory    directory containing effect files
+     * @param parser       parser used for effect definitions
+     * @param errorHandler receives the file and failure of every definition or file that could not be loaded.
+     *                     It is called on the thread performing the reload.
+     */
+    public EffectReloadService(Path directory,
+                               EffectConfigParser parser,
+                               BiConsumer<Path, EffectConfigException> errorHandler) {
+        this.directory = Objects.requireNonNull(directory, "directory");
+        this.parser = Objects.requireNonNull(parser, "parser");
+        this.errorHandler = Objects.requireNonNull(errorHandler, "errorHandler");
+    }
+
+    /**
+     * Loads all effect files and starts watching the directory for changes.
+     *
+     * @throws IOException           if the directory cannot be read or watched
+     * @throws IllegalStateException if the service is already started
+     */
+    public synchronized void start() throws IOException {
+        if (watcher != null) {
+            throw new IllegalStateException("reload service already started");
+        }
+
+        reloadAll();
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+
+        watcher = new Thread(this::watch, "Spellbook Effect Reload");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Returns the currently active effect for the given id.
+     *
+     * @param id effect id
+     * @return active effect instance, or {@code null} if no valid definition was loaded for the id
+     */
+    public EffectInstance get(String id) {
+        return effects.get(id);
+    }
+
+    /**
+     * Returns the ids of all active effects.
+     *
+     * @return unmodifiable snapshot of active effect ids
+     */
+    public Set<String> ids() {
+        return Set.copyOf(effects.keySet());
+    }
+
+    /**
+     * Binds a running effect to an effect id, so reloads of that id are swapped into it.
+     * <p>
+     * The running effect is unbound as soon as it is cancelled or finishes, so bound
+     * executions of frequently played effects are not kept alive by the service.
+     *
+     * @param id      effect id the running effect renders
+     * @param running running effect started by an {@link com.github.roleplaycauldron.spellbook.effect.executor.EffectExecutor}
+     * @return the given running effect
+     */
+    public RunningEffect bind(String id, RunningEffect running) {
+        Objects.requireNonNull(id, "id");
+        Objects.requireNonNull(running, "running");
+        Set<RunningEffect> bound = bindings.computeIfAbsent(id, ignored -> ConcurrentHashMap.newKeySet());
+        bound.add(running);
+        running.onCancel(() -> bound.remove(running));
+        return running;
+    }
+
+    /* default */
+    int bindingCount(String id) {
+        Set<RunningEffect> bound = bindings.get(id);
+        return bound == null ? 0 : bound.size();
+    }
+
+    /**
+     * Re-reads every effect file in the directory and forgets files that no longer exist.
+     * <p>
+     * Unchanged definitions keep their parsed instances, so only changed
+     * definitions are parsed again and swapped into running effects.
+     *
+     * @throws IOException if the directory cannot be listed
+     */
+    public synchronized void reloadAll() throws IOException {
+        Set<Path> files = new LinkedHashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (isEffectFile(file) && Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        }
+
+        for (Path known : Set.copyOf(catalogs.keySet())) {
+            if (!files.contains(known)) {
+                unload(known);
+            }
+        }
+        for (Path file : files) {
+            reload(file);
+        }
+    }
+
+    /**
+     * Stops watching the directory. Active effects and running effects are kept.
+     */
+    @Override
+    public synchronized void close() {
+        if (watcher == null) {
+            return;
+        }
+
+        watcher.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException exception) {
+            errorHandler.accept(directory, new EffectConfigException(directory.toString(), "Failed to close watch service", exception));
+        }
+        watcher = null;
+        watchService = null;
+    }
+
+    /* default */
+    synchronized void reload(Path file) {
+        YamlConfiguration configuration = new YamlConfiguration();
+        try {
+            configuration.load(file.toFile());
+        } catch (IOException | InvalidConfigurationException exception) {
+            errorHandler.accept(file, new EffectConfigException(file.getFileName().toString(), "Failed to read effect file", exception));
+            return;
+        }
+
+        EffectCatalog catalog = catalogs.computeIfAbsent(file, ignored -> new EffectCatalog(parser));
+        Set<String> previousIds = Set.copyOf(catalog.ids());
+        catalog.load(configuration);
+
+        for (String id : catalog.ids()) {
+            EffectInstance instance;
+            try {
+                instance = catalog.get(id);
+            } catch (EffectConfigException exception) {
+                errorHandler.accept(file, exception);
+                continue;
+            }
+
+            EffectInstance previous = effects.put(id, instance);
+            if (previous != null && previous != instance) {
+                swap(id, instance);
+            }
+        }
+
+        for (String id : previousIds) {
+            if (!catalog.contains(id)) {
+                effects.remove(id);
+            }
+        }
+    }
+
+    private synchronized void unload(Path file) {
+        EffectCatalog catalog = catalogs.remove(file);
+        if (catalog == null) {
+            return;
+        }
+        for (String id : catalog.ids()) {
+            effects.remove(id);
+        }
+    }
+
+    private void swap(String id, EffectInstance instance) {
+        Set<RunningEffect> running = bindings.get(id);
+        if (running == null) {
+            return;
+        }
+
+        running.removeIf(RunningEffect::isCancelled);
+        for (RunningEffect effect : running) {
+            effect.replaceEffect(instance);
+        }
+    }
+
+    private void watch() {
+        WatchService service = watchService;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<Path> changed = new LinkedHashSet<>();
+                boolean overflow = collect(service.take(), changed);
+
+                // Editors usually emit several events per save, so wait until the directory is quiet.
+                WatchKey next;
+                while ((next = service.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    overflow |= collect(next, changed);
+                }
+
+                try {
+                    applyChanges(changed, overflow);
+                } catch (IOException | RuntimeException exception) {
+                    errorHandler.accept(directory, new EffectConfigException(directory.toString(), "Failed to reload effect files", exception));
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ignored) {
+            // Closed by close()
+        }
+    }
+
+    private void applyChanges(Set<Path> changed, boolean overflow) throws IOException {
+        if (overflow) {
+            reloadAll();
+            return;
+        }
+
+        for (Path file : changed) {
+            if (Files.isRegularFile(file)) {
+                reload(file);
+            } else {
+                unload(file);
+            }
+        }
+    }
+
+    private boolean collect(WatchKey key, Set<Path> changed) {
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+
+            Path file = directory.resolve((Path) event.context());
+            if (isEffectFile(file)) {
+                changed.add(file);
+            }
+        }
+        key.reset();
+        return overflow;
+    }
+
+    private static boolean isEffectFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".yml") || name.endsWith(".yaml");
+    }
+}
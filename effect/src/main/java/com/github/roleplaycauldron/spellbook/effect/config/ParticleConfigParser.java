@@ -1,12 +1,14 @@
 package com.github.roleplaycauldron.spellbook.effect.config;
 
 import com.github.roleplaycauldron.spellbook.effect.ParticleSpec;
+import com.github.roleplaycauldron.spellbook.effect.emitter.ClusteringParticleEmitter;
+import com.github.roleplaycauldron.spellbook.effect.emitter.ParticleEmitter;
 import com.github.roleplaycauldron.spellbook.effect.emitter.StandardParticleEmitter;
 import org.bukkit.Particle;
 import org.bukkit.configuration.ConfigurationSection;
 
 /**
- * Parses particle configuration sections into standard particle emitters.
+ * Parses particle configuration sections into particle emitters.
  *
  * <p>This parser handles the common particle fields such as particle type,
  * count, offsets, extra value, and optional advanced particle data. Advanced
@@ -59,7 +61,35 @@ final class ParticleConfigParser {
         Object data = parseData(particle, section, path);
 
         validateParticleData(particle, data, path + ".data");
-        return new StandardParticleEmitter<>(new ParticleSpec<>(particle, count, offsetX, offsetY, offsetZ, extra, data));
+        // Emitters keep per-frame state, so only their immutable specification is shared
+        return new StandardParticleEmitter<>(parser.intern(new ParticleSpec<>(particle, count, offsetX, offsetY, offsetZ, extra, data)));
+    }
+
+    /**
+     * Parses a particle emitter from a particle configuration section.
+     *
+     * <p>Accepts every field of {@link #parse(ConfigurationSection, String)}.
+     * When the optional {@code cluster-quality} field is present, nearby points
+     * are merged into spread spawns by a {@link ClusteringParticleEmitter} with
+     * that quality.</p>
+     *
+     * @param section particle configuration section
+     * @param path    configuration path used for error reporting
+     * @return parsed particle emitter
+     * @throws EffectConfigException if the particle configuration is invalid
+     */
+    /* default */
+    ParticleEmitter parseEmitter(ConfigurationSection section, String path) {
+        StandardParticleEmitter<Object> emitter = parse(section, path);
+        if (!section.contains("cluster-quality")) {
+            return emitter;
+        }
+
+        float quality = EffectConfigValues.requireFloat(section, "cluster-quality", path + ".cluster-quality");
+        if (quality < 0 || quality > 1) {
+            throw new EffectConfigException(path + ".cluster-quality", "cluster-quality must be between 0 and 1");
+        }
+        return new ClusteringParticleEmitter<>(emitter.spec(), quality);
     }
 
     /**
@@ -0,0 +1,262 @@
+package com.github.roleplaycauldron.spellbook.effect.emitter;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.ParticleSpec;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ParticleBudget;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * A {@link ParticleEmitter} that merges nearby points of a frame into single spread spawns.
+ * <p>
+ * Points passed to {@link #spawn} are collected until {@link #flush(EffectContext)} and
+ * bucketed into a world-aligned grid. Each occupied cell is sent as one spawn at the
+ * centroid of its points, with the count multiplied by the number of merged points and
+ * the offsets widened by the standard deviation of the points on each axis. Minecraft
+ * spreads the particles of one spawn randomly within the offsets, so dense shapes keep
+ * their look while sending far fewer packets.
+ * <p>
+ * The quality controls the cell size: {@code 1} keeps every point, lower values merge
+ * points over larger distances, up to {@value #MAX_CELL_SIZE} block at {@code 0}.
+ * Points are only merged within one emitter, so particles with distinct data are never
+ * merged. Specs with a count of {@code 0} use Minecraft's directional spawn mode, where
+ * offsets are a velocity, and are therefore emitted unmerged.
+ * <p>
+ * Collected points are kept in reusable arrays, so steady-state frames do not allocate.
+ *
+ * @param <T> The type of data associated with the particle
+ */
+public class ClusteringParticleEmitter<T> implements ParticleEmitter {
+
+    /**
+     * Cell size in blocks used at quality {@code 0}.
+     */
+    public static final float MAX_CELL_SIZE = 1.0f;
+
+    private static final int CELL_BITS = 21;
+
+    private static final long CELL_MASK = (1L << CELL_BITS) - 1;
+
+    private final ParticleSpec<T> spec;
+
+    private final float quality;
+
+    private final double inverseCellSize;
+
+    private final Location location = new Location(null, 0, 0, 0);
+
+    private EffectContext pendingContext;
+
+    private int pendingCount;
+
+    private double[] pending = new double[48];
+
+    private long[] cellKeys = new long[32];
+
+    private int[] cellBuckets = new int[32];
+
+    private int bucketCount;
+
+    private int[] bucketSizes = new int[16];
+
+    // Per bucket: anchor xyz, sum of deltas xyz, sum of squared deltas xyz
+    private double[] bucketSums = new double[16 * 9];
+
+    /**
+     * Creates a new ClusteringParticleEmitter
+     *
+     * @param spec    the {@link ParticleSpec} defining the particle's properties
+     * @param quality clustering quality between {@code 0} (coarsest) and {@code 1} (no clustering)
+     * @throws IllegalArgumentException if the quality is outside {@code [0, 1]}
+     */
+    public ClusteringParticleEmitter(ParticleSpec<T> spec, float quality) {
+        if (!(quality >= 0 && quality <= 1)) {
+            throw new IllegalArgumentException("quality must be between 0 and 1");
+        }
+        this.spec = Objects.requireNonNull(spec, "spec");
+        this.quality = quality;
+        float cellSize = MAX_CELL_SIZE * (1 - quality);
+        this.inverseCellSize = cellSize > 0 ? 1.0 / cellSize : 0;
+    }
+
+    /**
+     * Returns the particle specification of this emitter.
+     *
+     * @return the {@link ParticleSpec} defining the particle's properties
+     */
+    public ParticleSpec<T> spec() {
+        return spec;
+    }
+
+    /**
+     * Returns the clustering quality of this emitter.
+     *
+     * @return quality between {@code 0} and {@code 1}
+     */
+    public float quality() {
+        return quality;
+    }
+
+    @Override
+    public boolean requiresDirection() {
+        return false;
+    }
+
+    @Override
+    public void spawn(
+            EffectContext context,
+            float localX,
+            float localY,
+            float localZ,
+            double worldX,
+            double worldY,
+            double worldZ,
+            float directionX,
+            float directionY,
+            float directionZ
+    ) {
+        if (context.viewers().isEmpty()) {
+            return;
+        }
+        if (inverseCellSize == 0 || spec.count() == 0) {
+            send(context, worldX, worldY, worldZ, spec.count(), spec.offsetX(), spec.offsetY(), spec.offsetZ());
+            return;
+        }
+        if (pendingContext != context) {
+            flush(pendingContext);
+            pendingContext = context;
+        }
+
+        int index = pendingCount * 3;
+        if (index == pending.length) {
+            pending = Arrays.copyOf(pending, pending.length * 2);
+        }
+        pending[index] = worldX;
+        pending[index + 1] = worldY;
+        pending[index + 2] = worldZ;
+        pendingCount++;
+    }
+
+    @Override
+    public void flush(EffectContext context) {
+        if (pendingCount == 0) {
+            return;
+        }
+
+        EffectContext frameContext = pendingContext;
+        bucket();
+        pendingCount = 0;
+        pendingContext = null;
+
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            int size = bucketSizes[bucket];
+            int base = bucket * 9;
+            double meanX = bucketSums[base + 3] / size;
+            double meanY = bucketSums[base + 4] / size;
+            double meanZ = bucketSums[base + 5] / size;
+            send(
+                    frameContext,
+                    bucketSums[base] + meanX,
+                    bucketSums[base + 1] + meanY,
+                    bucketSums[base + 2] + meanZ,
+                    spec.count() * size,
+                    spread(spec.offsetX(), bucketSums[base + 6] / size - meanX * meanX),
+                    spread(spec.offsetY(), bucketSums[base + 7] / size - meanY * meanY),
+                    spread(spec.offsetZ(), bucketSums[base + 8] / size - meanZ * meanZ)
+            );
+        }
+    }
+
+    private void bucket() {
+        int tableSize = Integer.highestOneBit(Math.max(pendingCount, 8) * 2 - 1) << 1;
+        if (cellKeys.length < tableSize) {
+            cellKeys = new long[tableSize];
+            cellBuckets = new int[tableSize];
+        }
+        Arrays.fill(cellBuckets, 0, tableSize, -1);
+        int mask = tableSize - 1;
+        bucketCount = 0;
+
+        for (int point = 0; point < pendingCount; point++) {
+            double x = pending[point * 3];
+            double y = pending[point * 3 + 1];
+            double z = pending[point * 3 + 2];
+            long key = ((long) Math.floor(x * inverseCellSize) & CELL_MASK) << (CELL_BITS * 2)
+                    | ((long) Math.floor(y * inverseCellSize) & CELL_MASK) << CELL_BITS
+                    | (long) Math.floor(z * inverseCellSize) & CELL_MASK;
+
+            int slot = (int) (key * 0x9E3779B97F4A7C15L >>> 40) & mask;
+            while (cellBuckets[slot] != -1 && cellKeys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+
+            int bucket = cellBuckets[slot];
+            if (bucket == -1) {
+                bucket = addBucket(x, y, z);
+                cellKeys[slot] = key;
+                cellBuckets[slot] = bucket;
+            }
+
+            int base = bucket * 9;
+            double dx = x - bucketSums[base];
+            double dy = y - bucketSums[base + 1];
+            double dz = z - bucketSums[base + 2];
+            bucketSums[base + 3] += dx;
+            bucketSums[base + 4] += dy;
+            bucketSums[base + 5] += dz;
+            bucketSums[base + 6] += dx * dx;
+            bucketSums[base + 7] += dy * dy;
+            bucketSums[base + 8] += dz * dz;
+            bucketSizes[bucket]++;
+        }
+    }
+
+    private int addBucket(double anchorX, double anchorY, double anchorZ) {
+        int bucket = bucketCount++;
+        if (bucket == bucketSizes.length) {
+            bucketSizes = Arrays.copyOf(bucketSizes, bucketSizes.length * 2);
+            bucketSums = Arrays.copyOf(bucketSums, bucketSizes.length * 9);
+        }
+
+        int base = bucket * 9;
+        Arrays.fill(bucketSums, base + 3, base + 9, 0);
+        bucketSums[base] = anchorX;
+        bucketSums[base + 1] = anchorY;
+        bucketSums[base + 2] = anchorZ;
+        bucketSizes[bucket] = 0;
+        return bucket;
+    }
+
+    private static double spread(double offset, double variance) {
+        return variance > 0 ? Math.sqrt(offset * offset + variance) : offset;
+    }
+
+    private void send(EffectContext context, double x, double y, double z, int count, double offsetX, double offsetY, double offsetZ) {
+        Collection<? extends Player> viewers = context.viewers();
+        location.setWorld(context.world());
+        location.setX(x);
+        location.setY(y);
+        location.setZ(z);
+
+        ParticleBudget budget = context.budget();
+        for (Player viewer : viewers) {
+            if (!budget.tryAcquire(viewer, count)) {
+                continue;
+            }
+            viewer.spawnParticle(
+                    spec.particle(),
+                    location,
+                    count,
+                    offsetX,
+                    offsetY,
+                    offsetZ,
+                    spec.extra(),
+                    spec.data()
+            );
+        }
+    }
+}
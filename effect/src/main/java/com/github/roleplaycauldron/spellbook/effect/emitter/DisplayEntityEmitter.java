@@ -0,0 +1,459 @@
+package com.github.roleplaycauldron.spellbook.effect.emitter;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.EffectRenderState;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.TextDisplay;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.util.Transformation;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A {@link ParticleEmitter} that renders points as display entities instead of particles.
+ * <p>
+ * Every point is shown by one {@link BlockDisplay}, {@link ItemDisplay}, or
+ * {@link TextDisplay} placed at the origin of the effect, with the local point as the
+ * translation of its transformation. Particles have to be sent again every frame, while
+ * displays stay on the client, so a frame only updates the displays whose point moved by
+ * more than the move threshold since it was last sent. Updates restart the interpolation
+ * of the display, so clients animate the movement over the interpolation duration.
+ * Origin movement teleports the displays with the same duration.
+ * <p>
+ * Displays are hidden by default and shown only to the viewers of the effect. Viewers
+ * joining the effect are sent all displays, displays spawned during a frame are sent to
+ * every viewer when the frame is flushed, and viewers leaving the effect have all displays
+ * hidden at once. Displays do not consume the {@link com.github.roleplaycauldron.spellbook.effect.viewer.ParticleBudget}.
+ * <p>
+ * The displays belong to the running effect through {@link EffectRenderState#state}, so
+ * one emitter can be shared by many executions. They are not persistent and are removed
+ * once the execution stops and releases its render state, or once a replacement effect
+ * no longer uses this emitter. Instanced executions keep one set of displays per
+ * emitted instance of a frame, in emission order.
+ * <p>
+ * This suits long-lived static or slowly animated shapes such as runes on the ground or
+ * floating glyph rings. Shapes moving every point every frame are cheaper as particles.
+ *
+ * @param <T> the type of the spawned displays
+ */
+public final class DisplayEntityEmitter<T extends Display> implements ParticleEmitter {
+
+    /**
+     * Default distance in blocks a point has to move before its display is updated.
+     */
+    public static final float DEFAULT_MOVE_THRESHOLD = 0.01f;
+
+    /**
+     * Longest interpolation duration in ticks, limited by the teleport duration of displays.
+     */
+    public static final int MAX_INTERPOLATION_TICKS = 59;
+
+    private final Plugin plugin;
+
+    private final Class<T> type;
+
+    private final Consumer<? super T> configurer;
+
+    private final Vector3f scale;
+
+    private final Quaternionf rotation = new Quaternionf();
+
+    private final int interpolationTicks;
+
+    private final float moveThreshold;
+
+    private final float moveThresholdSquared;
+
+    private final Supplier<Displays> displaysFactory = Displays::new;
+
+    /**
+     * Creates a new DisplayEntityEmitter with the default move threshold.
+     *
+     * @param plugin             the plugin showing the displays to viewers
+     * @param type               the display entity type to spawn
+     * @param configurer         configures every spawned display, e.g. its block, item, or text
+     * @param scale              the scale of every display; must be greater than 0
+     * @param interpolationTicks the duration in ticks over which clients animate updates;
+     *                           between 0 and {@value #MAX_INTERPOLATION_TICKS}
+     * @throws IllegalArgumentException if a parameter is out of range
+     */
+    public DisplayEntityEmitter(Plugin plugin,
+                                Class<T> type,
+                                Consumer<? super T> configurer,
+                                float scale,
+                                int interpolationTicks) {
+        this(plugin, type, configurer, scale, interpolationTicks, DEFAULT_MOVE_THRESHOLD);
+    }
+
+    /**
+     * Creates a new DisplayEntityEmitter.
+     *
+     * @param plugin             the plugin showing the displays to viewers
+     * @param type               the display entity type to spawn
+     * @param configurer         configures every spawned display, e.g. its block, item, or text
+     * @param scale              the scale of every display; must be greater than 0
+     * @param interpolationTicks the duration in ticks over which clients animate updates;
+     *                           between 0 and {@value #MAX_INTERPOLATION_TICKS}
+     * @param moveThreshold      the distance in blocks a point has to move before its
+     *                           display is updated; must not be negative
+     * @throws IllegalArgumentException if a parameter is out of range
+     */
+    public DisplayEntityEmitter(Plugin plugin,
+                                Class<T> type,
+                                Consumer<? super T> configurer,
+                                float scale,
+                                int interpolationTicks,
+                                float moveThreshold) {
+        if (!(scale > 0f)) {
+            throw new IllegalArgumentException("scale must be > 0");
+        }
+        if (interpolationTicks < 0 || interpolationTicks > MAX_INTERPOLATION_TICKS) {
+            throw new IllegalArgumentException("interpolationTicks must be between 0 and " + MAX_INTERPOLATION_TICKS);
+        }
+        if (!(moveThreshold >= 0f)) {
+            throw new IllegalArgumentException("moveThreshold must be >= 0");
+        }
+        this.plugin = Objects.requireNonNull(plugin, "plugin");
+        this.type = Objects.requireNonNull(type, "type");
+        this.configurer = Objects.requireNonNull(configurer, "configurer");
+        this.scale = new Vector3f(scale);
+        this.interpolationTicks = interpolationTicks;
+        this.moveThreshold = moveThreshold;
+        this.moveThresholdSquared = moveThreshold * moveThreshold;
+    }
+
+    /**
+     * Creates an emitter showing every point as a block.
+     *
+     * @param plugin             the plugin showing the displays to viewers
+     * @param block              the block to display
+     * @param scale              the scale of every display; must be greater than 0
+     * @param interpolationTicks the duration in ticks over which clients animate updates
+     * @return a {@link DisplayEntityEmitter} spawning block displays
+     */
+    public static DisplayEntityEmitter<BlockDisplay> block(Plugin plugin, BlockData block, float scale, int interpolationTicks) {
+        Objects.requireNonNull(block, "block");
+        return new DisplayEntityEmitter<>(plugin, BlockDisplay.class, display -> display.setBlock(block), scale, interpolationTicks);
+    }
+
+    /**
+     * Creates an emitter showing every point as an item.
+     *
+     * @param plugin             the plugin showing the displays to viewers
+     * @param item               the item to display
+     * @param scale              the scale of every display; must be greater than 0
+     * @param interpolationTicks the duration in ticks over which clients animate updates
+     * @return a {@link DisplayEntityEmitter} spawning item displays
+     */
+    public static DisplayEntityEmitter<ItemDisplay> item(Plugin plugin, ItemStack item, float scale, int interpolationTicks) {
+        Objects.requireNonNull(item, "item");
+        return new DisplayEntityEmitter<>(plugin, ItemDisplay.class, display -> display.setItemStack(item), scale, interpolationTicks);
+    }
+
+    /**
+     * Creates an emitter showing every point as text facing the viewer, such as glyphs.
+     *
+     * @param plugin             the plugin showing the displays to viewers
+     * @param text               the text to display
+     * @param scale              the scale of every display; must be greater than 0
+     * @param interpolationTicks the duration in ticks over which clients animate updates
+     * @return a {@link DisplayEntityEmitter} spawning text displays
+     */
+    public static DisplayEntityEmitter<TextDisplay> text(Plugin plugin, Component text, float scale, int interpolationTicks) {
+        Objects.requireNonNull(text, "text");
+        return new DisplayEntityEmitter<>(plugin, TextDisplay.class, display -> {
+            display.text(text);
+            display.setBillboard(Display.Billboard.CENTER);
+        }, scale, interpolationTicks);
+    }
+
+    /**
+     * Returns the display entity type spawned by this emitter.
+     *
+     * @return the display type
+     */
+    public Class<T> type() {
+        return type;
+    }
+
+    /**
+     * Returns the duration in ticks over which clients animate updates.
+     *
+     * @return interpolation duration in ticks
+     */
+    public int interpolationTicks() {
+        return interpolationTicks;
+    }
+
+    /**
+     * Returns the distance in blocks a point has to move before its display is updated.
+     *
+     * @return move threshold in blocks
+     */
+    public float moveThreshold() {
+        return moveThreshold;
+    }
+
+    @Override
+    public boolean requiresDirection() {
+        return false;
+    }
+
+    @Override
+    public ParticleEmitter bind(EffectContext context, EffectRenderState state) {
+        return state.state(this, displaysFactory).next(context, state.frame());
+    }
+
+    /**
+     * Display entities are kept per execution, so points must be emitted through the
+     * emitter returned by {@link #bind}.
+     *
+     * @throws IllegalStateException always
+     */
+    @Override
+    public void spawn(
+            EffectContext context,
+            float localX,
+            float localY,
+            float localZ,
+            double worldX,
+            double worldY,
+            double worldZ,
+            float directionX,
+            float directionY,
+            float directionZ
+    ) {
+        throw new IllegalStateException("display emitters must be bound to a render state");
+    }
+
+    private Transformation transformation(float x, float y, float z) {
+        // Transformations copy their components, so the rotation and scale are shared
+        return new Transformation(new Vector3f(x, y, z), rotation, scale, rotation);
+    }
+
+    /**
+     * Displays of one running effect, one group per emission of a frame.
+     */
+    private final class Displays implements AutoCloseable {
+
+        private final List<DisplayGroup> groups = new ArrayList<>();
+
+        private long frame = -1;
+
+        private int emitted;
+
+        private ParticleEmitter next(EffectContext context, long renderedFrame) {
+            if (renderedFrame != frame) {
+                // Groups not emitted in the last frame, such as instances out of view, are removed
+                for (int i = groups.size() - 1; i >= emitted; i--) {
+                    groups.remove(i).close();
+                }
+                frame = renderedFrame;
+                emitted = 0;
+            }
+            if (emitted == groups.size()) {
+                groups.add(new DisplayGroup());
+            }
+            DisplayGroup group = groups.get(emitted++);
+            group.begin(context);
+            return group;
+        }
+
+        @Override
+        public void close() {
+            for (int i = 0; i < groups.size(); i++) {
+                groups.get(i).close();
+            }
+            groups.clear();
+            frame = -1;
+            emitted = 0;
+        }
+    }
+
+    /**
+     * Displays of one emission, one display per point index.
+     */
+    private final class DisplayGroup implements ParticleEmitter {
+
+        private final List<T> displays = new ArrayList<>();
+
+        private final List<T> spawned = new ArrayList<>();
+
+        private final Map<Player, ViewerMark> viewers = new IdentityHashMap<>();
+
+        private final Location origin = new Location(null, 0, 0, 0);
+
+        private float[] translations = new float[48];
+
+        private int count;
+
+        private long frame;
+
+        private void begin(EffectContext context) {
+            count = 0;
+            World world = context.world();
+            Location contextOrigin = context.origin();
+            if (world != origin.getWorld()) {
+                close();
+                origin.setWorld(world);
+                origin.set(contextOrigin.getX(), contextOrigin.getY(), contextOrigin.getZ());
+                return;
+            }
+            if (origin.distanceSquared(contextOrigin) > moveThresholdSquared) {
+                origin.set(contextOrigin.getX(), contextOrigin.getY(), contextOrigin.getZ());
+                for (int i = 0; i < displays.size(); i++) {
+                    displays.get(i).teleport(origin);
+                }
+            }
+        }
+
+        @Override
+        public boolean requiresDirection() {
+            return false;
+        }
+
+        @Override
+        public void spawn(
+                EffectContext context,
+                float localX,
+                float localY,
+                float localZ,
+                double worldX,
+                double worldY,
+                double worldZ,
+                float directionX,
+                float directionY,
+                float directionZ
+        ) {
+            int index = count++;
+            int offset = index * 3;
+            if (offset == translations.length) {
+                translations = Arrays.copyOf(translations, translations.length * 2);
+            }
+            if (index == displays.size()) {
+                displays.add(spawnDisplay(localX, localY, localZ));
+            } else {
+                T display = displays.get(index);
+                if (!display.isValid()) {
+                    // Displays removed by the server, e.g. by commands, are replaced
+                    displays.set(index, spawnDisplay(localX, localY, localZ));
+                } else {
+                    float dx = localX - translations[offset];
+                    float dy = localY - translations[offset + 1];
+                    float dz = localZ - translations[offset + 2];
+                    if (dx * dx + dy * dy + dz * dz <= moveThresholdSquared) {
+                        return;
+                    }
+                    display.setTransformation(transformation(localX, localY, localZ));
+                    display.setInterpolationDelay(0);
+                }
+            }
+            translations[offset] = localX;
+            translations[offset + 1] = localY;
+            translations[offset + 2] = localZ;
+        }
+
+        private T spawnDisplay(float x, float y, float z) {
+            T display = origin.getWorld().spawn(origin, type, spawnedDisplay -> {
+                // Set before the display is added to the world, so no player receives it
+                spawnedDisplay.setVisibleByDefault(false);
+                spawnedDisplay.setPersistent(false);
+                spawnedDisplay.setInterpolationDuration(interpolationTicks);
+                spawnedDisplay.setTeleportDuration(interpolationTicks);
+                spawnedDisplay.setTransformation(transformation(x, y, z));
+                configurer.accept(spawnedDisplay);
+            });
+            spawned.add(display);
+            return display;
+        }
+
+        @Override
+        public void flush(EffectContext context) {
+            for (int i = displays.size() - 1; i >= count; i--) {
+                displays.remove(i).remove();
+            }
+
+            frame++;
+            int seen = 0;
+            for (Player viewer : context.viewers()) {
+                ViewerMark mark = viewers.get(viewer);
+                if (mark == null) {
+                    mark = new ViewerMark();
+                    viewers.put(viewer, mark);
+                    show(viewer, displays);
+                } else if (!spawned.isEmpty()) {
+                    show(viewer, spawned);
+                }
+                mark.frame = frame;
+                seen++;
+            }
+            spawned.clear();
+
+            if (seen == viewers.size()) {
+                return;
+            }
+            Iterator<Map.Entry<Player, ViewerMark>> iterator = viewers.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Player, ViewerMark> entry = iterator.next();
+                if (entry.getValue().frame != frame) {
+                    Player viewer = entry.getKey();
+                    iterator.remove();
+                    hide(viewer);
+                }
+            }
+        }
+
+        private void show(Player viewer, List<T> shown) {
+            for (int i = 0; i < shown.size(); i++) {
+                viewer.showEntity(plugin, shown.get(i));
+            }
+        }
+
+        private void hide(Player viewer) {
+            if (!viewer.isOnline()) {
+                return;
+            }
+            for (int i = 0; i < displays.size(); i++) {
+                viewer.hideEntity(plugin, displays.get(i));
+            }
+        }
+
+        private void close() {
+            // Removed entities disappear for every viewer
+            for (int i = 0; i < displays.size(); i++) {
+                displays.get(i).remove();
+            }
+            displays.clear();
+            spawned.clear();
+            viewers.clear();
+            origin.setWorld(null);
+            count = 0;
+        }
+    }
+
+    /**
+     * Last frame a viewer was part of.
+     */
+    private static final class ViewerMark {
+
+        private long frame;
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.roleplaycauldron.spellbook.effect.emitter;
 
 import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.EffectRenderState;
 
 /**
  * Represents an entity capable of spawning particles in a specific context.
@@ -23,10 +24,40 @@ public interface ParticleEmitter {
         return true;
     }
 
+    /**
+     * Returns the emitter receiving the points of one emitted frame.
+     * <p>
+     * Binding is mandatory: callers emitting a frame call this once and pass the points
+     * of the frame to {@link #spawn} and {@link #flush} of the returned emitter, as
+     * layers do. Emitters are shared by every execution of an effect, so emitters that
+     * keep state across frames, such as {@link DisplayEntityEmitter}, return an emitter
+     * backed by {@link EffectRenderState#state} of the execution and may reject points
+     * spawned on themselves. Other emitters return themselves. Emitters wrapping another
+     * emitter forward this call and wrap the bound emitter.
+     *
+     * @param context effect context of the frame
+     * @param state   render state of the running execution
+     * @return the emitter to spawn and flush the frame with
+     */
+    default ParticleEmitter bind(EffectContext context, EffectRenderState state) {
+        return this;
+    }
+
+    /**
+     * Called once after all points of a frame were passed to {@link #spawn}.
+     * Emitters that collect points across a frame, such as
+     * {@link ClusteringParticleEmitter}, send their particles here.
+     *
+     * @param context effect context of the finished frame
+     */
+    default void flush(EffectContext context) {
+    }
+
     /**
      * Spawns particles based on the provided point data.
      * The implementation determines the specific behavior of the particle spawning,
      * such as the type, quantity, and configuration of particles.
+     * Points are passed to the emitter returned by {@link #bind}.
      *
      * @param context    effect context
      * @param localX     local x coordinate
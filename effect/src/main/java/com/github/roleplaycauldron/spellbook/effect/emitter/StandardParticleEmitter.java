@@ -2,6 +2,7 @@ package com.github.roleplaycauldron.spellbook.effect.emitter;
 
 import com.github.roleplaycauldron.spellbook.effect.EffectContext;
 import com.github.roleplaycauldron.spellbook.effect.ParticleSpec;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ParticleBudget;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.entity.Player;
@@ -54,6 +55,15 @@ public class StandardParticleEmitter<T> implements ParticleEmitter {
         return new StandardParticleEmitter<>(new ParticleSpec<>(particle, count));
     }
 
+    /**
+     * Returns the particle specification of this emitter.
+     *
+     * @return the {@link ParticleSpec} defining the particle's properties
+     */
+    public ParticleSpec<T> spec() {
+        return spec;
+    }
+
     @Override
     public boolean requiresDirection() {
         return false;
@@ -82,7 +92,11 @@ public class StandardParticleEmitter<T> implements ParticleEmitter {
         location.setY(worldY);
         location.setZ(worldZ);
 
+        ParticleBudget budget = context.budget();
         for (Player viewer : viewers) {
+            if (!budget.tryAcquire(viewer, spec.count())) {
+                continue;
+            }
             viewer.spawnParticle(
                     spec.particle(),
                     location,
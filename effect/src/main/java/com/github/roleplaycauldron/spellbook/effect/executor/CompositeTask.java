@@ -0,0 +1,69 @@
+package com.github.roleplaycauldron.spellbook.effect.executor;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.List;
+
+/**
+ * A task standing for several running effects, so they can be returned and cancelled
+ * as one {@link RunningEffect}.
+ */
+final class CompositeTask implements BukkitTask {
+
+    private final List<RunningEffect> effects;
+
+    private final BukkitTask first;
+
+    private CompositeTask(List<RunningEffect> effects, BukkitTask first) {
+        this.effects = effects;
+        this.first = first;
+    }
+
+    /**
+     * Combines running effects into one running effect that is cancelled once all of
+     * them are cancelled.
+     *
+     * @param effects the running effects to combine; must not be empty
+     * @return the combined running effect
+     */
+    static RunningEffect combine(List<RunningEffect> effects) {
+        if (effects.isEmpty()) {
+            throw new IllegalArgumentException("effects must not be empty");
+        }
+        List<RunningEffect> combined = List.copyOf(effects);
+        return new RunningEffect(new CompositeTask(combined, combined.getFirst().task()));
+    }
+
+    @Override
+    public int getTaskId() {
+        return first.getTaskId();
+    }
+
+    @Override
+    public Plugin getOwner() {
+        return first.getOwner();
+    }
+
+    @Override
+    public boolean isSync() {
+        return first.isSync();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        for (RunningEffect effect : effects) {
+            if (!effect.isCancelled()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void cancel() {
+        for (RunningEffect effect : effects) {
+            effect.cancel();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.roleplaycauldron.spellbook.effect.executor;
 
 import com.github.roleplaycauldron.spellbook.effect.location.EffectAnchor;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ViewerCategory;
 import com.github.roleplaycauldron.spellbook.effect.viewer.ViewerSource;
 import org.bukkit.Location;
 
@@ -33,10 +34,14 @@ public final class EffectExecutionConfig {
 
     private final ViewerSource viewerSource;
 
+    private final ViewerCategory viewerCategory;
+
     private final boolean skipEmptyViewerFrames;
 
     private final Function<ExecutionFrame, Integer> stepFunction;
 
+    private final String ownerKey;
+
     private EffectExecutionConfig(Builder builder) {
         this.delayTicks = builder.delayTicks;
         this.periodTicks = builder.periodTicks;
@@ -47,8 +52,10 @@ public final class EffectExecutionConfig {
         this.originAnchor = builder.originAnchor;
         this.targetAnchor = builder.targetAnchor;
         this.viewerSource = builder.viewerSource;
+        this.viewerCategory = builder.viewerCategory;
         this.skipEmptyViewerFrames = builder.skipEmptyViewerFrames;
         this.stepFunction = builder.stepFunction;
+        this.ownerKey = builder.ownerKey;
     }
 
     /**
@@ -62,6 +69,30 @@ public final class EffectExecutionConfig {
         return new Builder();
     }
 
+    /**
+     * Creates a builder initialized with every setting of this configuration, so a copy
+     * that replaces some settings keeps all others.
+     *
+     * @return a new {@link Builder} with the settings of this configuration
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.delayTicks = delayTicks;
+        builder.periodTicks = periodTicks;
+        builder.maxRuns = maxRuns;
+        builder.cancelIfOriginUnavailable = cancelIfOriginUnavailable;
+        builder.cancelIfTargetUnavailable = cancelIfTargetUnavailable;
+        builder.cancelIfWorldsDiffer = cancelIfWorldsDiffer;
+        builder.originAnchor = originAnchor;
+        builder.targetAnchor = targetAnchor;
+        builder.viewerSource = viewerSource;
+        builder.viewerCategory = viewerCategory;
+        builder.skipEmptyViewerFrames = skipEmptyViewerFrames;
+        builder.stepFunction = stepFunction;
+        builder.ownerKey = ownerKey;
+        return builder;
+    }
+
     /**
      * Retrieves the number of ticks to delay before starting the execution of an effect.
      *
@@ -156,6 +187,18 @@ public final class EffectExecutionConfig {
         return viewerSource;
     }
 
+    /**
+     * Retrieves the category of the effect that viewers may opt out of. Resolved viewers
+     * who opted out of the category through the executor's
+     * {@link com.github.roleplaycauldron.spellbook.effect.viewer.ViewerPreferences} do not
+     * receive the effect.
+     *
+     * @return the {@link ViewerCategory} of the effect, or null if every viewer sees it
+     */
+    public ViewerCategory viewerCategory() {
+        return viewerCategory;
+    }
+
     /**
      * Returns whether frames should skip rendering when the resolved viewer collection is empty.
      *
@@ -178,6 +221,17 @@ public final class EffectExecutionConfig {
         return stepFunction;
     }
 
+    /**
+     * Retrieves the key identifying the owner of the effect execution, such as a spell
+     * cast or a plugin component. All running effects of an owner can be cancelled at
+     * once through {@link RunningEffectRegistry#cancelOwner(String)}.
+     *
+     * @return the owner key, or null if no owner key is configured
+     */
+    public String ownerKey() {
+        return ownerKey;
+    }
+
     boolean usesDefaultStepFunction() {
         return stepFunction == DEFAULT_STEP_FUNCTION;
     }
@@ -206,10 +260,14 @@ public final class EffectExecutionConfig {
 
         private ViewerSource viewerSource;
 
+        private ViewerCategory viewerCategory;
+
         private boolean skipEmptyViewerFrames = true;
 
         private Function<ExecutionFrame, Integer> stepFunction = DEFAULT_STEP_FUNCTION;
 
+        private String ownerKey;
+
         private Builder() {
         }
 
@@ -336,6 +394,19 @@ public final class EffectExecutionConfig {
             return this;
         }
 
+        /**
+         * Sets the category of the scheduled effect. Viewers who opted out of the category
+         * are filtered from the resolved viewers once per frame.
+         *
+         * @param viewerCategory the {@link ViewerCategory} of the effect, or {@code null}
+         *                       if every viewer should see it
+         * @return the current {@code Builder} instance for method chaining
+         */
+        public Builder viewerCategory(ViewerCategory viewerCategory) {
+            this.viewerCategory = viewerCategory;
+            return this;
+        }
+
         /**
          * Sets whether frames should skip rendering when no viewers are resolved.
          * Enabled by default.
@@ -363,6 +434,18 @@ public final class EffectExecutionConfig {
             return this;
         }
 
+        /**
+         * Sets the key identifying the owner of the scheduled effect. Running effects are
+         * indexed by this key, so all effects of one owner can be cancelled together.
+         *
+         * @param ownerKey the owner key, or {@code null} for no owner
+         * @return the current {@code Builder} instance for method chaining
+         */
+        public Builder ownerKey(String ownerKey) {
+            this.ownerKey = ownerKey;
+            return this;
+        }
+
         /**
          * Builds and returns an instance of {@link EffectExecutionConfig} based on the
          *
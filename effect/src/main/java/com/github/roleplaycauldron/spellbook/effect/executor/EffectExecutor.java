@@ -3,13 +3,25 @@ package com.github.roleplaycauldron.spellbook.effect.executor;
 import com.github.roleplaycauldron.spellbook.effect.EffectContext;
 import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
 import com.github.roleplaycauldron.spellbook.effect.EffectRenderState;
+import com.github.roleplaycauldron.spellbook.effect.location.EffectAnchor;
+import com.github.roleplaycauldron.spellbook.effect.location.EntityAnchor;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ParticleBudget;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ViewerPreferences;
+import com.github.roleplaycauldron.spellbook.effect.viewer.VisibleViewers;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
 
 /**
  * Executor for managing and executing effects within the Spellbook framework.
@@ -18,13 +30,84 @@ public final class EffectExecutor {
 
     private final JavaPlugin plugin;
 
+    private final ParticleBudget budget;
+
+    private final ViewerPreferences preferences;
+
+    private final RunningEffectRegistry registry = new RunningEffectRegistry();
+
     /**
      * Creates a new EffectExecutor.
      *
      * @param plugin the {@link JavaPlugin} instance that will be used to register
      */
     public EffectExecutor(JavaPlugin plugin) {
+        this(plugin, ParticleBudget.unlimited());
+    }
+
+    /**
+     * Creates a new EffectExecutor whose effects share a per-viewer particle budget.
+     *
+     * @param plugin the {@link JavaPlugin} instance that will be used to register
+     * @param budget the {@link ParticleBudget} consulted by the emitters of all started effects
+     */
+    public EffectExecutor(JavaPlugin plugin, ParticleBudget budget) {
+        this(plugin, budget, new ViewerPreferences());
+    }
+
+    /**
+     * Creates a new EffectExecutor whose effects share a per-viewer particle budget and
+     * viewer preferences.
+     *
+     * @param plugin      the {@link JavaPlugin} instance that will be used to register
+     * @param budget      the {@link ParticleBudget} consulted by the emitters of all started effects
+     * @param preferences the {@link ViewerPreferences} filtering the viewers of categorized effects
+     */
+    public EffectExecutor(JavaPlugin plugin, ParticleBudget budget, ViewerPreferences preferences) {
         this.plugin = plugin;
+        this.budget = Objects.requireNonNull(budget, "budget");
+        this.preferences = Objects.requireNonNull(preferences, "preferences");
+    }
+
+    /**
+     * Returns the particle budget shared by all effects started by this executor.
+     *
+     * @return the shared {@link ParticleBudget}
+     */
+    public ParticleBudget budget() {
+        return budget;
+    }
+
+    /**
+     * Returns the viewer preferences shared by all effects started by this executor.
+     * Effects with a {@link EffectExecutionConfig#viewerCategory()} are not shown to
+     * viewers who opted out of their category.
+     *
+     * @return the shared {@link ViewerPreferences}
+     */
+    public ViewerPreferences preferences() {
+        return preferences;
+    }
+
+    /**
+     * Returns the registry of effects started by this executor that are still running.
+     *
+     * @return the {@link RunningEffectRegistry} of this executor
+     */
+    public RunningEffectRegistry registry() {
+        return registry;
+    }
+
+    /**
+     * Registers listeners that cancel running effects when the entities they are
+     * anchored to are removed or the worlds they were started in unload, and that
+     * forget the budget and preferences of players who quit.
+     * <p>
+     * Without these listeners, such effects only stop once a frame fails to resolve
+     * their anchors. Call this once, typically when the plugin is enabled.
+     */
+    public void registerListeners() {
+        plugin.getServer().getPluginManager().registerEvents(new RunningEffectListener(registry, budget, preferences), plugin);
     }
 
     /**
@@ -35,36 +118,62 @@ public final class EffectExecutor {
      * @return a {@link RunningEffect} representing the ongoing execution
      */
     public RunningEffect start(EffectInstance effect, EffectExecutionConfig config) {
-        BukkitRunnable runnable = new BukkitRunnable() {
-
-            private long runIndex = 0L;
-
-            private final EffectRenderState renderState = new EffectRenderState();
-
-            @Override
-            public void run() {
-                if (config.maxRuns() != -1 && runIndex >= config.maxRuns()) {
-                    cancel();
-                    return;
-                }
+        EffectTask effectTask = new EffectTask(effect, config, budget, preferences, null);
+        BukkitTask task = effectTask.runTaskTimer(
+                plugin,
+                config.delayTicks(),
+                config.periodTicks()
+        );
 
-                FrameResult result = renderFrame(effect, config, runIndex, renderState);
-                if (result.cancel()) {
-                    cancel();
-                }
-                if (result.advance()) {
-                    runIndex++;
-                }
-            }
-        };
+        return track(task, effectTask, config);
+    }
 
-        BukkitTask task = runnable.runTaskTimer(
+    /**
+     * Starts executing one effect at many anchors with the given configuration.
+     * <p>
+     * Every frame samples and transforms the effect once and then emits it at each
+     * anchor, so identical ambient effects at many locations share their sampling
+     * work. Each anchor is only emitted to the resolved viewers within the view
+     * distance of it. The origin and target anchors of the configuration define the
+     * reference frame the effect is sampled in, so shapes and transforms that depend
+     * on the origin or target see those locations for every instance.
+     *
+     * @param effect       the {@link EffectInstance} to execute
+     * @param anchors      the anchors to emit the effect at
+     * @param viewDistance maximum distance between a viewer and an anchor for the instance to be emitted
+     * @param config       the {@link EffectExecutionConfig} for the execution
+     * @return a {@link RunningEffect} representing the ongoing execution of all instances
+     * @throws IllegalArgumentException if no anchors are given or the view distance is not positive
+     */
+    public RunningEffect startInstanced(EffectInstance effect,
+                                        Collection<? extends EffectAnchor> anchors,
+                                        double viewDistance,
+                                        EffectExecutionConfig config) {
+        EffectTask effectTask = new EffectTask(effect, config, budget, preferences, new InstancedEmission(anchors, viewDistance));
+        BukkitTask task = effectTask.runTaskTimer(
                 plugin,
                 config.delayTicks(),
                 config.periodTicks()
         );
 
-        return new RunningEffect(task);
+        return track(task, effectTask, config);
+    }
+
+    private RunningEffect track(BukkitTask task, EffectTask effectTask, EffectExecutionConfig config) {
+        Set<UUID> entityIds = new HashSet<>(2);
+        if (config.originAnchor() instanceof EntityAnchor anchor) {
+            entityIds.add(anchor.entityId());
+        }
+        if (config.targetAnchor() instanceof EntityAnchor anchor) {
+            entityIds.add(anchor.entityId());
+        }
+        Location origin = config.originAnchor().resolve();
+        UUID worldId = origin == null || origin.getWorld() == null ? null : origin.getWorld().getUID();
+
+        RunningEffect runningEffect = new RunningEffect(task, effectTask, registry, config.ownerKey(), entityIds, worldId);
+        effectTask.attach(runningEffect);
+        registry.register(runningEffect);
+        return runningEffect;
     }
 
     static FrameResult renderFrame(
@@ -72,6 +181,39 @@ public final class EffectExecutor {
             EffectExecutionConfig config,
             long runIndex,
             EffectRenderState renderState
+    ) {
+        return renderFrame(effect, config, runIndex, renderState, ParticleBudget.unlimited());
+    }
+
+    static FrameResult renderFrame(
+            EffectInstance effect,
+            EffectExecutionConfig config,
+            long runIndex,
+            EffectRenderState renderState,
+            ParticleBudget budget
+    ) {
+        return renderFrame(effect, config, runIndex, renderState, budget, null);
+    }
+
+    static FrameResult renderFrame(
+            EffectInstance effect,
+            EffectExecutionConfig config,
+            long runIndex,
+            EffectRenderState renderState,
+            ParticleBudget budget,
+            InstancedEmission instances
+    ) {
+        return renderFrame(effect, config, runIndex, renderState, budget, instances, null);
+    }
+
+    static FrameResult renderFrame(
+            EffectInstance effect,
+            EffectExecutionConfig config,
+            long runIndex,
+            EffectRenderState renderState,
+            ParticleBudget budget,
+            InstancedEmission instances,
+            VisibleViewers visibleViewers
     ) {
         Location origin = config.originAnchor().resolve();
 
@@ -93,8 +235,11 @@ public final class EffectExecutor {
         }
 
         Collection<? extends Player> viewers = config.viewerSource().resolveViewers();
+        if (visibleViewers != null) {
+            viewers = visibleViewers.filter(viewers, config.viewerCategory());
+        }
         if (config.skipEmptyViewerFrames() && viewers.isEmpty()) {
-            return new FrameResult(true, false);
+            return FrameResult.RENDERED;
         }
 
         long elapsedTicks = runIndex * config.periodTicks();
@@ -111,11 +256,17 @@ public final class EffectExecutor {
                 viewers,
                 step,
                 elapsedTicks,
-                elapsedSeconds
+                elapsedSeconds,
+                budget
         );
 
-        effect.render(context, renderState);
-        return new FrameResult(true, false);
+        if (instances == null) {
+            effect.render(context, renderState);
+        } else {
+            effect.sample(context, renderState);
+            instances.emit(effect, context, renderState);
+        }
+        return FrameResult.RENDERED;
     }
 
     private static int calculateStep(
@@ -142,5 +293,176 @@ public final class EffectExecutor {
     }
 
     record FrameResult(boolean advance, boolean cancel) {
+
+        static final FrameResult RENDERED = new FrameResult(true, false);
+    }
+
+    /**
+     * Scheduled task rendering one effect execution.
+     * <p>
+     * The rendered effect is read once at the start of every frame, so a
+     * replacement becomes visible at the next frame boundary while the run
+     * index and render state of the execution are kept. After the first frame of the
+     * replacement, state no longer used by it, such as display entities of removed
+     * emitters, is released.
+     * <p>
+     * The render state is only touched on the main thread. Cancelling the execution
+     * from another thread, or from within a frame, requests the release of its state,
+     * which happens once no frame is being rendered.
+     */
+    static final class EffectTask extends BukkitRunnable {
+
+        private final EffectExecutionConfig config;
+
+        private final ParticleBudget budget;
+
+        private final InstancedEmission instances;
+
+        private final EffectRenderState renderState = new EffectRenderState();
+
+        private final VisibleViewers visibleViewers;
+
+        private final BooleanSupplier primaryThread;
+
+        private volatile EffectInstance effect;
+
+        private volatile boolean releaseRequested;
+
+        private boolean rendering;
+
+        private boolean released;
+
+        private volatile RunningEffect handle;
+
+        private EffectInstance renderedEffect;
+
+        private long runIndex = 0L;
+
+        EffectTask(EffectInstance effect, EffectExecutionConfig config) {
+            this(effect, config, ParticleBudget.unlimited());
+        }
+
+        EffectTask(EffectInstance effect, EffectExecutionConfig config, ParticleBudget budget) {
+            this(effect, config, budget, null, null);
+        }
+
+        EffectTask(EffectInstance effect,
+                   EffectExecutionConfig config,
+                   ParticleBudget budget,
+                   ViewerPreferences preferences,
+                   InstancedEmission instances) {
+            this(effect, config, budget, preferences, instances, Bukkit::isPrimaryThread);
+        }
+
+        EffectTask(EffectInstance effect,
+                   EffectExecutionConfig config,
+                   ParticleBudget budget,
+                   ViewerPreferences preferences,
+                   InstancedEmission instances,
+                   BooleanSupplier primaryThread) {
+            this.effect = Objects.requireNonNull(effect, "effect");
+            this.config = config;
+            this.budget = budget;
+            this.visibleViewers = preferences == null ? null : new VisibleViewers(preferences);
+            this.instances = instances;
+            this.primaryThread = Objects.requireNonNull(primaryThread, "primaryThread");
+        }
+
+        EffectInstance effect() {
+            return effect;
+        }
+
+        void replaceEffect(EffectInstance effect) {
+            this.effect = Objects.requireNonNull(effect, "effect");
+        }
+
+        /**
+         * Requests the release of the render state of this execution.
+         * <p>
+         * Off the main thread, a frame may be rendering right now, so the release is
+         * scheduled on the main thread. Within a frame, it happens once the frame is done.
+         *
+         * @param owner the plugin scheduling the release, or {@code null} to release on the next run
+         */
+        void requestRelease(Plugin owner) {
+            releaseRequested = true;
+            if (!primaryThread.getAsBoolean()) {
+                if (owner != null) {
+                    owner.getServer().getScheduler().runTask(owner, this::releaseIfRequested);
+                }
+            } else if (!rendering) {
+                releaseIfRequested();
+            }
+        }
+
+        private void releaseIfRequested() {
+            if (releaseRequested && !released) {
+                released = true;
+                renderState.release();
+            }
+        }
+
+        void attach(RunningEffect handle) {
+            this.handle = handle;
+        }
+
+        private void finish() {
+            RunningEffect runningEffect = handle;
+            if (runningEffect == null) {
+                cancel();
+                requestRelease(null);
+            } else {
+                // Also removes the effect from the registry
+                runningEffect.cancel();
+            }
+        }
+
+        @Override
+        public void run() {
+            if (releaseRequested) {
+                releaseIfRequested();
+                return;
+            }
+            if (config.maxRuns() != -1 && runIndex >= config.maxRuns()) {
+                finish();
+                return;
+            }
+
+            EffectInstance current = effect;
+            long sampledFrames = renderState.frame();
+            FrameResult result;
+            rendering = true;
+            try {
+                result = renderFrame(
+                        current,
+                        config,
+                        runIndex,
+                        renderState,
+                        budget,
+                        instances,
+                        visibleViewers
+                );
+            } finally {
+                rendering = false;
+            }
+            if (releaseRequested) {
+                // Cancelled while the frame was rendered
+                releaseIfRequested();
+                return;
+            }
+            if (current != renderedEffect && renderState.frame() != sampledFrames) {
+                // State of components the replacement no longer contains is not used by its first frame
+                if (renderedEffect != null) {
+                    renderState.releaseUnused();
+                }
+                renderedEffect = current;
+            }
+            if (result.cancel()) {
+                finish();
+            }
+            if (result.advance()) {
+                runIndex++;
+            }
+        }
     }
 }
@@ -5,7 +5,9 @@ import org.bukkit.Location;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Interface for handling the execution of effects within the Spellbook framework.
@@ -81,4 +83,44 @@ public interface EffectHandler {
             Collection<? extends Player> viewers,
             EffectExecutionConfig config
     );
+
+    /**
+     * Plays one effect at many fixed locations for a collection of viewers.
+     * The effect is sampled once per frame and emitted at every location that
+     * has a viewer within the view distance.
+     * <p>
+     * The default implementation plays the effect at every location through
+     * {@link #playAt}, which samples it once per location and shows every
+     * instance to all viewers. Handlers backed by an {@link EffectExecutor}
+     * override it to share sampling through
+     * {@link EffectExecutor#startInstanced}.
+     *
+     * @param effect       effect to play
+     * @param positions    locations to play effect at; the first location is the sampling reference
+     * @param viewers      viewers to play effect to
+     * @param viewDistance maximum distance between a viewer and a location for the effect to be shown there
+     * @param config       effect execution configuration
+     * @return a {@link RunningEffect} representing the ongoing execution of all instances
+     * @throws IllegalArgumentException if positions is empty or viewDistance is not positive
+     */
+    default RunningEffect playInstanced(
+            EffectInstance effect,
+            Collection<Location> positions,
+            Collection<? extends Player> viewers,
+            double viewDistance,
+            EffectExecutionConfig config
+    ) {
+        if (positions.isEmpty()) {
+            throw new IllegalArgumentException("positions must not be empty");
+        }
+        if (viewDistance <= 0) {
+            throw new IllegalArgumentException("viewDistance must be > 0");
+        }
+
+        List<RunningEffect> instances = new ArrayList<>(positions.size());
+        for (Location position : positions) {
+            instances.add(playAt(effect, position, viewers, config));
+        }
+        return CompositeTask.combine(instances);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.github.roleplaycauldron.spellbook.effect.executor;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
+import com.github.roleplaycauldron.spellbook.effect.EffectRenderState;
+import com.github.roleplaycauldron.spellbook.effect.location.EffectAnchor;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ParticleBudget;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ViewerPreferences;
+import com.github.roleplaycauldron.spellbook.effect.viewer.VisibleViewers;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Effect execution driven by the caller instead of the Bukkit scheduler.
+ * <p>
+ * Every {@link #tick()} performs exactly the work of one scheduled run of an effect
+ * started by {@link EffectExecutor}, including anchor resolution, the cancel rules of
+ * the {@link EffectExecutionConfig}, step calculation, and instanced emission. This
+ * allows benchmarks and regression tests to render effects frame by frame without a
+ * running server.
+ */
+public final class HeadlessExecution {
+
+    private final EffectInstance effect;
+
+    private final EffectExecutionConfig config;
+
+    private final ParticleBudget budget;
+
+    private final InstancedEmission instances;
+
+    private final EffectRenderState renderState = new EffectRenderState();
+
+    private final VisibleViewers visibleViewers;
+
+    private long runIndex = 0L;
+
+    private boolean finished;
+
+    private HeadlessExecution(EffectInstance effect,
+                              EffectExecutionConfig config,
+                              ParticleBudget budget,
+                              ViewerPreferences preferences,
+                              InstancedEmission instances) {
+        this.effect = Objects.requireNonNull(effect, "effect");
+        this.config = Objects.requireNonNull(config, "config");
+        this.budget = Objects.requireNonNull(budget, "budget");
+        this.visibleViewers = new VisibleViewers(preferences);
+        this.instances = instances;
+    }
+
+    /**
+     * Creates a headless execution equivalent to {@link EffectExecutor#start}.
+     *
+     * @param effect the {@link EffectInstance} to execute
+     * @param config the {@link EffectExecutionConfig} for the execution
+     * @param budget the {@link ParticleBudget} consulted by the emitters
+     * @return a new headless execution
+     */
+    public static HeadlessExecution of(EffectInstance effect, EffectExecutionConfig config, ParticleBudget budget) {
+        return of(effect, config, budget, new ViewerPreferences());
+    }
+
+    /**
+     * Creates a headless execution equivalent to {@link EffectExecutor#start} on an
+     * executor with the given viewer preferences.
+     *
+     * @param effect      the {@link EffectInstance} to execute
+     * @param config      the {@link EffectExecutionConfig} for the execution
+     * @param budget      the {@link ParticleBudget} consulted by the emitters
+     * @param preferences the {@link ViewerPreferences} filtering the viewers of categorized effects
+     * @return a new headless execution
+     */
+    public static HeadlessExecution of(EffectInstance effect,
+                                       EffectExecutionConfig config,
+                                       ParticleBudget budget,
+                                       ViewerPreferences preferences) {
+        return new HeadlessExecution(effect, config, budget, preferences, null);
+    }
+
+    /**
+     * Creates a headless execution equivalent to {@link EffectExecutor#startInstanced}.
+     *
+     * @param effect       the {@link EffectInstance} to execute
+     * @param anchors      the anchors to emit the effect at
+     * @param viewDistance maximum distance between a viewer and an anchor for the instance to be emitted
+     * @param config       the {@link EffectExecutionConfig} for the execution
+     * @param budget       the {@link ParticleBudget} consulted by the emitters
+     * @return a new headless execution
+     * @throws IllegalArgumentException if no anchors are given or the view distance is not positive
+     */
+    public static HeadlessExecution instanced(EffectInstance effect,
+                                              Collection<? extends EffectAnchor> anchors,
+                                              double viewDistance,
+                                              EffectExecutionConfig config,
+                                              ParticleBudget budget) {
+        return new HeadlessExecution(
+                effect,
+                config,
+                budget,
+                new ViewerPreferences(),
+                new InstancedEmission(anchors, viewDistance)
+        );
+    }
+
+    /**
+     * Performs one scheduled run of the execution.
+     *
+     * @return {@code true} if the run rendered a frame, {@code false} if the frame was
+     * skipped or the execution has finished
+     */
+    public boolean tick() {
+        if (finished) {
+            return false;
+        }
+        if (config.maxRuns() != -1 && runIndex >= config.maxRuns()) {
+            finish();
+            return false;
+        }
+
+        EffectExecutor.FrameResult result = EffectExecutor.renderFrame(
+                effect,
+                config,
+                runIndex,
+                renderState,
+                budget,
+                instances,
+                visibleViewers
+        );
+        if (result.cancel()) {
+            finish();
+        }
+        if (result.advance()) {
+            runIndex++;
+        }
+        return result.advance();
+    }
+
+    private void finish() {
+        finished = true;
+        renderState.release();
+    }
+
+    /**
+     * Returns whether the execution has ended because of its run limit or a cancel rule.
+     *
+     * @return {@code true} once no further frames will be rendered
+     */
+    public boolean finished() {
+        return finished;
+    }
+
+    /**
+     * Returns the index of the next frame to render.
+     *
+     * @return number of frames rendered so far
+     */
+    public long runIndex() {
+        return runIndex;
+    }
+}
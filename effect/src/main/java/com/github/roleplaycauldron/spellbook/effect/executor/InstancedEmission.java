@@ -0,0 +1,126 @@
+package com.github.roleplaycauldron.spellbook.effect.executor;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
+import com.github.roleplaycauldron.spellbook.effect.EffectRenderState;
+import com.github.roleplaycauldron.spellbook.effect.location.EffectAnchor;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Emits one sampled effect frame at many anchors.
+ * <p>
+ * Viewer positions are read once per frame. Every anchor is only emitted to the
+ * viewers within the view distance, and anchors without such viewers are skipped.
+ * <p>
+ * Anchors resolve into one reusable location each, and all instances share one
+ * reusable viewer list, so a frame only allocates the effect context of every emitted
+ * instance. Emitters flush every instance before the next one is emitted, so neither
+ * is read after it is reused.
+ */
+final class InstancedEmission {
+
+    private final List<EffectAnchor> anchors;
+
+    private final double viewDistanceSquared;
+
+    private final Location[] origins;
+
+    private final List<Player> instanceViewers = new ArrayList<>();
+
+    private final Location viewerLocation = new Location(null, 0, 0, 0);
+
+    private Player[] viewerCache = new Player[8];
+
+    private World[] viewerWorlds = new World[8];
+
+    private double[] viewerPositions = new double[8 * 3];
+
+    InstancedEmission(Collection<? extends EffectAnchor> anchors, double viewDistance) {
+        if (anchors.isEmpty()) {
+            throw new IllegalArgumentException("anchors must not be empty");
+        }
+        if (viewDistance <= 0) {
+            throw new IllegalArgumentException("viewDistance must be > 0");
+        }
+        this.anchors = List.copyOf(anchors);
+        this.viewDistanceSquared = viewDistance * viewDistance;
+        this.origins = new Location[this.anchors.size()];
+        for (int i = 0; i < origins.length; i++) {
+            origins[i] = new Location(null, 0, 0, 0);
+        }
+    }
+
+    void emit(EffectInstance effect, EffectContext reference, EffectRenderState state) {
+        int viewerCount = cacheViewerPositions(reference.viewers());
+        if (viewerCount == 0) {
+            return;
+        }
+
+        for (int i = 0; i < origins.length; i++) {
+            Location origin = anchors.get(i).resolve(origins[i]);
+            if (origin == null || origin.getWorld() == null) {
+                continue;
+            }
+
+            instanceViewers.clear();
+            for (int viewer = 0; viewer < viewerCount; viewer++) {
+                if (isInRange(viewer, origin)) {
+                    instanceViewers.add(viewerCache[viewer]);
+                }
+            }
+            if (instanceViewers.isEmpty()) {
+                continue;
+            }
+
+            effect.emit(new EffectContext(
+                    origin.getWorld(),
+                    origin,
+                    reference.target(),
+                    instanceViewers,
+                    reference.step(),
+                    reference.tick(),
+                    reference.timeSeconds(),
+                    reference.budget()
+            ), state);
+        }
+        instanceViewers.clear();
+        Arrays.fill(viewerCache, 0, viewerCount, null);
+    }
+
+    private int cacheViewerPositions(Collection<? extends Player> viewers) {
+        if (viewerWorlds.length < viewers.size()) {
+            viewerCache = new Player[viewers.size()];
+            viewerWorlds = new World[viewers.size()];
+            viewerPositions = new double[viewers.size() * 3];
+        }
+
+        int index = 0;
+        for (Player viewer : viewers) {
+            Location location = viewer.getLocation(viewerLocation);
+            viewerCache[index] = viewer;
+            viewerWorlds[index] = location.getWorld();
+            viewerPositions[index * 3] = location.getX();
+            viewerPositions[index * 3 + 1] = location.getY();
+            viewerPositions[index * 3 + 2] = location.getZ();
+            index++;
+        }
+        return index;
+    }
+
+    private boolean isInRange(int viewer, Location origin) {
+        if (!origin.getWorld().equals(viewerWorlds[viewer])) {
+            return false;
+        }
+        double dx = viewerPositions[viewer * 3] - origin.getX();
+        double dy = viewerPositions[viewer * 3 + 1] - origin.getY();
+        double dz = viewerPositions[viewer * 3 + 2] - origin.getZ();
+        return dx * dx + dy * dy + dz * dz <= viewDistanceSquared;
+    }
+}
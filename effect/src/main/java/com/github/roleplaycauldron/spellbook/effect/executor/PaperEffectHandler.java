@@ -9,7 +9,9 @@ import org.bukkit.Location;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Effect handler implementation for Paper servers.
@@ -62,25 +64,39 @@ public final class PaperEffectHandler implements EffectHandler {
         return start(effect, new EntityAnchor(from), new FixedAnchor(to), viewers, config);
     }
 
+    @Override
+    public RunningEffect playInstanced(EffectInstance effect,
+                                       Collection<Location> positions,
+                                       Collection<? extends Player> viewers,
+                                       double viewDistance,
+                                       EffectExecutionConfig config) {
+        if (positions.isEmpty()) {
+            throw new IllegalArgumentException("positions must not be empty");
+        }
+
+        List<EffectAnchor> anchors = new ArrayList<>(positions.size());
+        for (Location position : positions) {
+            anchors.add(new FixedAnchor(position));
+        }
+        return executor.startInstanced(effect, anchors, viewDistance, configure(anchors.getFirst(), null, viewers, config));
+    }
+
     private RunningEffect start(EffectInstance effect,
                                 EffectAnchor originAnchor,
                                 EffectAnchor targetAnchor,
                                 Collection<? extends Player> viewers,
                                 EffectExecutionConfig baseConfig) {
+        return executor.start(effect, configure(originAnchor, targetAnchor, viewers, baseConfig));
+    }
 
-        EffectExecutionConfig config = EffectExecutionConfig.builder()
-                .delayTicks(baseConfig.delayTicks())
-                .periodTicks(baseConfig.periodTicks())
-                .maxRuns(baseConfig.maxRuns())
-                .cancelIfOriginUnavailable(baseConfig.cancelIfOriginUnavailable())
-                .cancelIfTargetUnavailable(baseConfig.cancelIfTargetUnavailable())
-                .cancelIfWorldsDiffer(baseConfig.cancelIfWorldsDiffer())
+    private static EffectExecutionConfig configure(EffectAnchor originAnchor,
+                                                   EffectAnchor targetAnchor,
+                                                   Collection<? extends Player> viewers,
+                                                   EffectExecutionConfig baseConfig) {
+        return baseConfig.toBuilder()
                 .originAnchor(originAnchor)
                 .targetAnchor(targetAnchor)
                 .viewerSource(new FixedViewerSource(viewers))
-                .stepFunction(baseConfig.stepFunction())
                 .build();
-
-        return executor.start(effect, config);
     }
 }
\ No newline at end of file
@@ -1,7 +1,14 @@
 package com.github.roleplaycauldron.spellbook.effect.executor;
 
+import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
 /**
  * Represents an ongoing effect execution.
  */
@@ -9,20 +16,95 @@ public final class RunningEffect {
 
     private final BukkitTask task;
 
+    private final EffectExecutor.EffectTask effectTask;
+
+    private final RunningEffectRegistry registry;
+
+    private final String ownerKey;
+
+    private final Set<UUID> entityIds;
+
+    private final UUID worldId;
+
+    private final List<Runnable> cancelActions = new ArrayList<>();
+
+    private boolean ended;
+
     /**
      * Creates a new RunningEffect
      *
      * @param task the BukkitTask representing the ongoing effect
      */
     public RunningEffect(BukkitTask task) {
+        this(task, null);
+    }
+
+    RunningEffect(BukkitTask task, EffectExecutor.EffectTask effectTask) {
+        this(task, effectTask, null, null, Set.of(), null);
+    }
+
+    RunningEffect(BukkitTask task,
+                  EffectExecutor.EffectTask effectTask,
+                  RunningEffectRegistry registry,
+                  String ownerKey,
+                  Set<UUID> entityIds,
+                  UUID worldId) {
         this.task = task;
+        this.effectTask = effectTask;
+        this.registry = registry;
+        this.ownerKey = ownerKey;
+        this.entityIds = Set.copyOf(entityIds);
+        this.worldId = worldId;
     }
 
     /**
-     * Cancels the ongoing effect execution.
+     * Cancels the ongoing effect execution and removes it from its executor's registry.
+     * <p>
+     * State kept by the shapes and emitters of the execution is released, which removes
+     * the entities of display emitters. The release always happens on the main thread:
+     * when cancelled from another thread, it is scheduled there. This method may be
+     * called from any thread.
      */
     public void cancel() {
         task.cancel();
+        if (effectTask != null) {
+            effectTask.requestRelease(task.getOwner());
+        }
+        if (registry != null) {
+            registry.unregister(this);
+        }
+
+        List<Runnable> actions;
+        synchronized (cancelActions) {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            actions = List.copyOf(cancelActions);
+            cancelActions.clear();
+        }
+        for (Runnable action : actions) {
+            action.run();
+        }
+    }
+
+    /**
+     * Registers an action to run once this execution is cancelled or finishes on its own,
+     * for example to forget references to it. Actions run once, on the thread that ends
+     * the execution; registered after the execution ended, they run immediately. This
+     * method may be called from any thread.
+     *
+     * @param action the action to run when the execution ends
+     */
+    public void onCancel(Runnable action) {
+        Objects.requireNonNull(action, "action");
+        synchronized (cancelActions) {
+            if (!ended) {
+                cancelActions.add(action);
+                return;
+            }
+        }
+        action.run();
     }
 
     /**
@@ -42,4 +124,54 @@ public final class RunningEffect {
     public int getTaskId() {
         return task.getTaskId();
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the owner key this execution was started with.
+     *
+     * @return the owner key, or {@code null} if none was configured
+     */
+    public String ownerKey() {
+        return ownerKey;
+    }
+
+    BukkitTask task() {
+        return task;
+    }
+
+    Set<UUID> entityIds() {
+        return entityIds;
+    }
+
+    UUID worldId() {
+        return worldId;
+    }
+
+    /**
+     * Returns the effect currently rendered by this execution.
+     *
+     * @return the rendered effect, or {@code null} if this execution was not started by an {@link EffectExecutor}
+     */
+    public EffectInstance effect() {
+        return effectTask == null ? null : effectTask.effect();
+    }
+
+    /**
+     * Replaces the rendered effect of this execution.
+     * <p>
+     * The replacement is picked up at the next frame boundary. The execution keeps
+     * its run index, so step-based animations continue where they were. State of
+     * shapes and emitters the replacement no longer contains, such as display
+     * entities, is released after its first rendered frame.
+     * This method may be called from any thread.
+     *
+     * @param effect the effect to render from the next frame on
+     * @throws NullPointerException  if the effect is {@code null}
+     * @throws IllegalStateException if this execution was not started by an {@link EffectExecutor}
+     */
+    public void replaceEffect(EffectInstance effect) {
+        if (effectTask == null) {
+            throw new IllegalStateException("effect is not replaceable");
+        }
+        effectTask.replaceEffect(effect);
+    }
+}
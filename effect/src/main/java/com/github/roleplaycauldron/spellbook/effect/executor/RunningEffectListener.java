@@ -0,0 +1,73 @@
+package com.github.roleplaycauldron.spellbook.effect.executor;
+
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import com.github.roleplaycauldron.spellbook.effect.block.BlockSnapshotCache;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ParticleBudget;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ViewerPreferences;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.UUID;
+
+/**
+ * Cancels running effects whose anchors disappear.
+ * <p>
+ * Effects anchored to an entity are cancelled as soon as the entity is removed from
+ * its world, whether it died, was despawned, or unloaded with its chunk, and effects
+ * anchored to a player when the player quits. Entities that are still valid and online
+ * players are only changing worlds, so their effects keep running under the
+ * {@link EffectExecutionConfig#cancelIfWorldsDiffer() cancel rules} of their config.
+ * Effects started in a world are cancelled when the world unloads.
+ * <p>
+ * Players joining are assigned their index in the viewer preferences shared by the
+ * executor, and players quitting are forgotten by the particle budget and viewer
+ * preferences, so neither keeps state for players that left.
+ */
+final class RunningEffectListener implements Listener {
+
+    private final RunningEffectRegistry registry;
+
+    private final ParticleBudget budget;
+
+    private final ViewerPreferences preferences;
+
+    RunningEffectListener(RunningEffectRegistry registry, ParticleBudget budget, ViewerPreferences preferences) {
+        this.registry = registry;
+        this.budget = budget;
+        this.preferences = preferences;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemove(EntityRemoveFromWorldEvent event) {
+        Entity entity = event.getEntity();
+        if (entity.isValid() || entity instanceof Player player && player.isOnline()) {
+            return;
+        }
+        registry.cancelEntity(entity.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        preferences.join(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        UUID player = event.getPlayer().getUniqueId();
+        registry.cancelEntity(player);
+        budget.forget(player);
+        preferences.forget(player);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        registry.cancelWorld(event.getWorld().getUID());
+        BlockSnapshotCache.shared().invalidate(event.getWorld().getUID());
+    }
+}
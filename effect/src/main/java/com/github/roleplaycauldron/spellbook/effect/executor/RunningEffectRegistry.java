@@ -0,0 +1,176 @@
+package com.github.roleplaycauldron.spellbook.effect.executor;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the effects running on an {@link EffectExecutor}.
+ * <p>
+ * Running effects are indexed by their {@link EffectExecutionConfig#ownerKey() owner key},
+ * by the unique ids of entities their origin and target anchors follow, and by the world
+ * their origin resolved to when started. Bulk cancellation removes one index entry and
+ * cancels its effects, so it costs time proportional to the number of cancelled effects.
+ * Effects leave the registry when they are cancelled or finish on their own.
+ * <p>
+ * All methods may be called from any thread.
+ */
+public final class RunningEffectRegistry {
+
+    private final Set<RunningEffect> effects = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Set<RunningEffect>> byOwner = new ConcurrentHashMap<>();
+
+    private final Map<UUID, Set<RunningEffect>> byEntity = new ConcurrentHashMap<>();
+
+    private final Map<UUID, Set<RunningEffect>> byWorld = new ConcurrentHashMap<>();
+
+    RunningEffectRegistry() {
+        // Created by EffectExecutor
+    }
+
+    /**
+     * Returns the number of running effects.
+     *
+     * @return running effect count
+     */
+    public int size() {
+        return effects.size();
+    }
+
+    /**
+     * Returns the running effects started with an owner key.
+     *
+     * @param ownerKey the owner key
+     * @return snapshot of the owner's running effects
+     */
+    public Collection<RunningEffect> byOwner(String ownerKey) {
+        return snapshot(byOwner.get(ownerKey));
+    }
+
+    /**
+     * Returns the running effects anchored to an entity.
+     *
+     * @param entity the entity's unique id
+     * @return snapshot of the entity's running effects
+     */
+    public Collection<RunningEffect> byEntity(UUID entity) {
+        return snapshot(byEntity.get(entity));
+    }
+
+    /**
+     * Returns the running effects started in a world.
+     *
+     * @param world the world's unique id
+     * @return snapshot of the world's running effects
+     */
+    public Collection<RunningEffect> byWorld(UUID world) {
+        return snapshot(byWorld.get(world));
+    }
+
+    /**
+     * Cancels all running effects started with an owner key.
+     *
+     * @param ownerKey the owner key
+     * @return number of cancelled effects
+     */
+    public int cancelOwner(String ownerKey) {
+        return cancel(byOwner.remove(ownerKey));
+    }
+
+    /**
+     * Cancels all running effects anchored to an entity.
+     *
+     * @param entity the entity's unique id
+     * @return number of cancelled effects
+     */
+    public int cancelEntity(UUID entity) {
+        return cancel(byEntity.remove(entity));
+    }
+
+    /**
+     * Cancels all running effects started in a world.
+     *
+     * @param world the world's unique id
+     * @return number of cancelled effects
+     */
+    public int cancelWorld(UUID world) {
+        return cancel(byWorld.remove(world));
+    }
+
+    /**
+     * Cancels all running effects, for example when the plugin is disabled.
+     *
+     * @return number of cancelled effects
+     */
+    public int cancelAll() {
+        return cancel(effects);
+    }
+
+    void register(RunningEffect effect) {
+        effects.add(effect);
+        if (effect.ownerKey() != null) {
+            index(byOwner, effect.ownerKey(), effect);
+        }
+        for (UUID entity : effect.entityIds()) {
+            index(byEntity, entity, effect);
+        }
+        if (effect.worldId() != null) {
+            index(byWorld, effect.worldId(), effect);
+        }
+
+        // The effect may have finished while it was being indexed
+        if (effect.isCancelled()) {
+            unregister(effect);
+        }
+    }
+
+    void unregister(RunningEffect effect) {
+        if (!effects.remove(effect)) {
+            return;
+        }
+        if (effect.ownerKey() != null) {
+            deindex(byOwner, effect.ownerKey(), effect);
+        }
+        for (UUID entity : effect.entityIds()) {
+            deindex(byEntity, entity, effect);
+        }
+        if (effect.worldId() != null) {
+            deindex(byWorld, effect.worldId(), effect);
+        }
+    }
+
+    private static int cancel(Collection<RunningEffect> cancelled) {
+        if (cancelled == null) {
+            return 0;
+        }
+
+        int count = 0;
+        for (RunningEffect effect : cancelled) {
+            effect.cancel();
+            count++;
+        }
+        return count;
+    }
+
+    private static Collection<RunningEffect> snapshot(Set<RunningEffect> indexed) {
+        return indexed == null ? Set.of() : Set.copyOf(indexed);
+    }
+
+    private static <K> void index(Map<K, Set<RunningEffect>> index, K key, RunningEffect effect) {
+        index.compute(key, (ignored, indexed) -> {
+            Set<RunningEffect> result = indexed == null ? ConcurrentHashMap.newKeySet() : indexed;
+            result.add(effect);
+            return result;
+        });
+    }
+
+    private static <K> void deindex(Map<K, Set<RunningEffect>> index, K key, RunningEffect effect) {
+        index.computeIfPresent(key, (ignored, indexed) -> {
+            indexed.remove(effect);
+            return indexed.isEmpty() ? null : indexed;
+        });
+    }
+}
@@ -0,0 +1,129 @@
+package com.github.roleplaycauldron.spellbook.effect.expression;
+
+import org.bukkit.Location;
+
+/**
+ * A compiled numeric expression over the frame and point variables of an effect.
+ * <p>
+ * Expressions are parsed once by {@link #parse(String)} into a tree of primitive
+ * nodes. Sub-expressions without variables are folded into constants while parsing,
+ * and evaluation neither boxes nor allocates, so expressions can be evaluated per point
+ * on the render hot path.
+ * <p>
+ * The available variables are:
+ * <ul>
+ *     <li>{@code step} - the step of the frame</li>
+ *     <li>{@code time} - the elapsed time of the frame in seconds</li>
+ *     <li>{@code distance} - the distance between origin and target, or {@code 0} without target</li>
+ *     <li>{@code index} - the index of the point, or {@code 0} for per-frame parameters</li>
+ * </ul>
+ * Expressions support {@code + - * / % ^}, parentheses, the constants {@code pi} and
+ * {@code e}, and the functions {@code sin cos tan asin acos atan abs sqrt floor ceil
+ * round sign exp log}, {@code min max pow atan2}, {@code clamp(value, min, max)} and
+ * {@code lerp(from, to, t)}. {@code %} is the floored modulo, so it stays positive for
+ * positive divisors, and {@code ^} is right associative.
+ */
+public interface Expression {
+
+    /**
+     * Evaluates the expression.
+     *
+     * @param step     step of the frame
+     * @param time     elapsed time of the frame in seconds
+     * @param distance distance between origin and target
+     * @param index    index of the point
+     * @return the value of the expression
+     */
+    double evaluate(double step, double time, double distance, double index);
+
+    /**
+     * Returns whether the expression depends on a variable.
+     *
+     * @param variable the variable to check
+     * @return {@code true} if the value can change with the variable
+     */
+    boolean uses(Variable variable);
+
+    /**
+     * Returns whether the expression has the same value for every frame and point.
+     *
+     * @return {@code true} if the expression uses no variable
+     */
+    default boolean isConstant() {
+        for (Variable variable : Variable.values()) {
+            if (uses(variable)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the expression may differ between the points of one frame.
+     *
+     * @return {@code true} if the expression uses the point index
+     */
+    default boolean isPerPoint() {
+        return uses(Variable.INDEX);
+    }
+
+    /**
+     * Creates a constant expression.
+     *
+     * @param value the constant value
+     * @return an expression always evaluating to the value
+     */
+    static Expression constant(double value) {
+        return new ExpressionNodes.Constant(value);
+    }
+
+    /**
+     * Parses and compiles an expression.
+     *
+     * @param source the expression source
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the source is not a valid expression
+     */
+    static Expression parse(String source) {
+        return new ExpressionParser(source).parse();
+    }
+
+    /**
+     * Returns the value of the {@code distance} variable for a frame.
+     *
+     * @param origin origin of the frame
+     * @param target target of the frame, or {@code null}
+     * @return the distance between origin and target, or {@code 0} if either is missing
+     */
+    static double distance(Location origin, Location target) {
+        if (origin == null || target == null) {
+            return 0;
+        }
+        double dx = target.getX() - origin.getX();
+        double dy = target.getY() - origin.getY();
+        double dz = target.getZ() - origin.getZ();
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Variables available to expressions.
+     */
+    enum Variable {
+        /**
+         * The step of the frame.
+         */
+        STEP,
+        /**
+         * The elapsed time of the frame in seconds.
+         */
+        TIME,
+        /**
+         * The distance between origin and target.
+         */
+        DISTANCE,
+        /**
+         * The index of the point.
+         */
+        INDEX
+    }
+}
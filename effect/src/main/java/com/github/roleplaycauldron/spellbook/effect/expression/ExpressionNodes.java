@@ -0,0 +1,231 @@
+package com.github.roleplaycauldron.spellbook.effect.expression;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Primitive node types of compiled expressions.
+ * <p>
+ * Every node is a small final class, so the JIT can inline the evaluation of a tree
+ * once its shape is known at a call site.
+ */
+final class ExpressionNodes {
+
+    private ExpressionNodes() {
+    }
+
+    /**
+     * Folds a node into a constant if it does not use any variable.
+     *
+     * @param node node to fold
+     * @return the node, or an equivalent constant
+     */
+    static Expression fold(Expression node) {
+        if (node instanceof Constant || !node.isConstant()) {
+            return node;
+        }
+        return new Constant(node.evaluate(0, 0, 0, 0));
+    }
+
+    record Constant(double value) implements Expression {
+
+        @Override
+        public double evaluate(double step, double time, double distance, double index) {
+            return value;
+        }
+
+        @Override
+        public boolean uses(Expression.Variable variable) {
+            return false;
+        }
+    }
+
+    record Step() implements Expression {
+
+        @Override
+        public double evaluate(double step, double time, double distance, double index) {
+            return step;
+        }
+
+        @Override
+        public boolean uses(Expression.Variable variable) {
+            return variable == Expression.Variable.STEP;
+        }
+    }
+
+    record Time() implements Expression {
+
+        @Override
+        public double evaluate(double step, double time, double distance, double index) {
+            return time;
+        }
+
+        @Override
+        public boolean uses(Expression.Variable variable) {
+            return variable == Expression.Variable.TIME;
+        }
+    }
+
+    record Distance() implements Expression {
+
+        @Override
+        public double evaluate(double step, double time, double distance, double index) {
+            return distance;
+        }
+
+        @Override
+        public boolean uses(Expression.Variable variable) {
+            return variable == Expression.Variable.DISTANCE;
+        }
+    }
+
+    record Index() implements Expression {
+
+        @Override
+        public double evaluate(double step, double time, double distance, double index) {
+            return index;
+        }
+
+        @Override
+        public boolean uses(Expression.Variable variable) {
+            return variable == Expression.Variable.INDEX;
+        }
+    }
+
+    record Negate(Expression operand) implements Expression {
+
+        @Override
+        public double evaluate(double step, double time, double distance, double index) {
+            return -operand.evaluate(step, time, distance, index);
+        }
+
+        @Override
+        public boolean uses(Expression.Variable variable) {
+            return operand.uses(variable);
+        }
+    }
+
+    record Add(Expression left, Expression right) implements Expression {
+
+        @Override
+        public double evaluate(double step, double time, double distance, double index) {
+            return left.evaluate(step, time, distance, index) + right.evaluate(step, time, distance, index);
+        }
+
+        @Override
+        public boolean uses(Expression.Variable variable) {
+            return left.uses(variable) || right.uses(variable);
+        }
+    }
+
+    record Subtract(Expression left, Expression right) implements Expression {
+
+        @Override
+        public double evaluate(double step, double time, double distance, double index) {
+            return left.evaluate(step, time, distance, index) - right.evaluate(step, time, distance, index);
+        }
+
+        @Override
+        public boolean uses(Expression.Variable variable) {
+            return left.uses(variable) || right.uses(variable);
+        }
+    }
+
+    record Multiply(Expression left, Expression right) implements Expression {
+
+        @Override
+        public double evaluate(double step, double time, double distance, double index) {
+            return left.evaluate(step, time, distance, index) * right.evaluate(step, time, distance, index);
+        }
+
+        @Override
+        public boolean uses(Expression.Variable variable) {
+            return left.uses(variable) || right.uses(variable);
+        }
+    }
+
+    record Divide(Expression left, Expression right) implements Expression {
+
+        @Override
+        public double evaluate(double step, double time, double distance, double index) {
+            return left.evaluate(step, time, distance, index) / right.evaluate(step, time, distance, index);
+        }
+
+        @Override
+        public boolean uses(Expression.Variable variable) {
+            return left.uses(variable) || right.uses(variable);
+        }
+    }
+
+    record Modulo(Expression left, Expression right) implements Expression {
+
+        @Override
+        public double evaluate(double step, double time, double distance, double index) {
+            double divisor = right.evaluate(step, time, distance, index);
+            double remainder = left.evaluate(step, time, distance, index) % divisor;
+            return remainder != 0 && (remainder < 0) != (divisor < 0) ? remainder + divisor : remainder;
+        }
+
+        @Override
+        public boolean uses(Expression.Variable variable) {
+            return left.uses(variable) || right.uses(variable);
+        }
+    }
+
+    record UnaryFunction(DoubleUnaryOperator function, Expression operand) implements Expression {
+
+        @Override
+        public double evaluate(double step, double time, double distance, double index) {
+            return function.applyAsDouble(operand.evaluate(step, time, distance, index));
+        }
+
+        @Override
+        public boolean uses(Expression.Variable variable) {
+            return operand.uses(variable);
+        }
+    }
+
+    record BinaryFunction(DoubleBinaryOperator function, Expression left, Expression right) implements Expression {
+
+        @Override
+        public double evaluate(double step, double time, double distance, double index) {
+            return function.applyAsDouble(
+                    left.evaluate(step, time, distance, index),
+                    right.evaluate(step, time, distance, index)
+            );
+        }
+
+        @Override
+        public boolean uses(Expression.Variable variable) {
+            return left.uses(variable) || right.uses(variable);
+        }
+    }
+
+    record Clamp(Expression value, Expression min, Expression max) implements Expression {
+
+        @Override
+        public double evaluate(double step, double time, double distance, double index) {
+            double clamped = Math.max(value.evaluate(step, time, distance, index), min.evaluate(step, time, distance, index));
+            return Math.min(clamped, max.evaluate(step, time, distance, index));
+        }
+
+        @Override
+        public boolean uses(Expression.Variable variable) {
+            return value.uses(variable) || min.uses(variable) || max.uses(variable);
+        }
+    }
+
+    record Lerp(Expression from, Expression to, Expression t) implements Expression {
+
+        @Override
+        public double evaluate(double step, double time, double distance, double index) {
+            double start = from.evaluate(step, time, distance, index);
+            return start + (to.evaluate(step, time, distance, index) - start) * t.evaluate(step, time, distance, index);
+        }
+
+        @Override
+        public boolean uses(Expression.Variable variable) {
+            return from.uses(variable) || to.uses(variable) || t.uses(variable);
+        }
+    }
+}
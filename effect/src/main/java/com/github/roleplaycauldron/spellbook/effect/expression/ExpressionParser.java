@@ -0,0 +1,264 @@
+package com.github.roleplaycauldron.spellbook.effect.expression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Recursive descent parser compiling expression sources into node trees.
+ * <p>
+ * Grammar, from lowest to highest precedence:
+ * <pre>
+ * sum     = product (('+' | '-') product)*
+ * product = unary (('*' | '/' | '%') unary)*
+ * unary   = ('-' | '+') unary | power
+ * power   = primary ('^' unary)?
+ * primary = number | name | name '(' sum (',' sum)* ')' | '(' sum ')'
+ * </pre>
+ */
+final class ExpressionParser {
+
+    private static final Map<String, DoubleUnaryOperator> UNARY_FUNCTIONS = Map.ofEntries(
+            Map.entry("sin", Math::sin),
+            Map.entry("cos", Math::cos),
+            Map.entry("tan", Math::tan),
+            Map.entry("asin", Math::asin),
+            Map.entry("acos", Math::acos),
+            Map.entry("atan", Math::atan),
+            Map.entry("abs", Math::abs),
+            Map.entry("sqrt", Math::sqrt),
+            Map.entry("floor", Math::floor),
+            Map.entry("ceil", Math::ceil),
+            Map.entry("round", Math::rint),
+            Map.entry("sign", Math::signum),
+            Map.entry("exp", Math::exp),
+            Map.entry("log", Math::log)
+    );
+
+    private static final Map<String, DoubleBinaryOperator> BINARY_FUNCTIONS = Map.of(
+            "min", Math::min,
+            "max", Math::max,
+            "pow", Math::pow,
+            "atan2", Math::atan2
+    );
+
+    private final String source;
+
+    private int position;
+
+    ExpressionParser(String source) {
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("Expression must not be blank");
+        }
+        this.source = source;
+    }
+
+    Expression parse() {
+        Expression expression = parseSum();
+        skipWhitespace();
+        if (position < source.length()) {
+            throw error("Unexpected '" + source.charAt(position) + "'");
+        }
+        return expression;
+    }
+
+    private Expression parseSum() {
+        Expression left = parseProduct();
+        while (true) {
+            if (accept('+')) {
+                left = ExpressionNodes.fold(new ExpressionNodes.Add(left, parseProduct()));
+            } else if (accept('-')) {
+                left = ExpressionNodes.fold(new ExpressionNodes.Subtract(left, parseProduct()));
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression parseProduct() {
+        Expression left = parseUnary();
+        while (true) {
+            if (accept('*')) {
+                left = ExpressionNodes.fold(new ExpressionNodes.Multiply(left, parseUnary()));
+            } else if (accept('/')) {
+                left = ExpressionNodes.fold(new ExpressionNodes.Divide(left, parseUnary()));
+            } else if (accept('%')) {
+                left = ExpressionNodes.fold(new ExpressionNodes.Modulo(left, parseUnary()));
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression parseUnary() {
+        if (accept('-')) {
+            return ExpressionNodes.fold(new ExpressionNodes.Negate(parseUnary()));
+        }
+        if (accept('+')) {
+            return parseUnary();
+        }
+        return parsePower();
+    }
+
+    private Expression parsePower() {
+        Expression base = parsePrimary();
+        if (accept('^')) {
+            return ExpressionNodes.fold(new ExpressionNodes.BinaryFunction(BINARY_FUNCTIONS.get("pow"), base, parseUnary()));
+        }
+        return base;
+    }
+
+    private Expression parsePrimary() {
+        skipWhitespace();
+        if (position >= source.length()) {
+            throw error("Unexpected end of expression");
+        }
+
+        char current = source.charAt(position);
+        if (accept('(')) {
+            Expression inner = parseSum();
+            expect(')');
+            return inner;
+        }
+        if (Character.isDigit(current) || current == '.') {
+            return parseNumber();
+        }
+        if (Character.isLetter(current) || current == '_') {
+            return parseName();
+        }
+        throw error("Unexpected '" + current + "'");
+    }
+
+    private Expression parseNumber() {
+        int start = position;
+        while (position < source.length()
+                && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+            position++;
+        }
+        if (position < source.length() && (source.charAt(position) == 'e' || source.charAt(position) == 'E')) {
+            int exponent = position + 1;
+            if (exponent < source.length() && (source.charAt(exponent) == '+' || source.charAt(exponent) == '-')) {
+                exponent++;
+            }
+            if (exponent < source.length() && Character.isDigit(source.charAt(exponent))) {
+                position = exponent;
+                while (position < source.length() && Character.isDigit(source.charAt(position))) {
+                    position++;
+                }
+            }
+        }
+
+        String number = source.substring(start, position);
+        try {
+            return Expression.constant(Double.parseDouble(number));
+        } catch (NumberFormatException exception) {
+            position = start;
+            throw error("Invalid number '" + number + "'");
+        }
+    }
+
+    private Expression parseName() {
+        int start = position;
+        while (position < source.length()
+                && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '_')) {
+            position++;
+        }
+        String name = source.substring(start, position).toLowerCase(Locale.ROOT);
+
+        skipWhitespace();
+        if (position < source.length() && source.charAt(position) == '(') {
+            position++;
+            List<Expression> arguments = parseArguments();
+            return ExpressionNodes.fold(function(name, arguments, start));
+        }
+
+        return switch (name) {
+            case "step" -> new ExpressionNodes.Step();
+            case "time" -> new ExpressionNodes.Time();
+            case "distance" -> new ExpressionNodes.Distance();
+            case "index" -> new ExpressionNodes.Index();
+            case "pi" -> Expression.constant(Math.PI);
+            case "e" -> Expression.constant(Math.E);
+            default -> {
+                position = start;
+                throw error("Unknown variable '" + name + "'");
+            }
+        };
+    }
+
+    private List<Expression> parseArguments() {
+        List<Expression> arguments = new ArrayList<>(3);
+        if (accept(')')) {
+            return arguments;
+        }
+        do {
+            arguments.add(parseSum());
+        } while (accept(','));
+        expect(')');
+        return arguments;
+    }
+
+    private Expression function(String name, List<Expression> arguments, int start) {
+        DoubleUnaryOperator unary = UNARY_FUNCTIONS.get(name);
+        if (unary != null) {
+            requireArguments(name, arguments, 1, start);
+            return new ExpressionNodes.UnaryFunction(unary, arguments.getFirst());
+        }
+        DoubleBinaryOperator binary = BINARY_FUNCTIONS.get(name);
+        if (binary != null) {
+            requireArguments(name, arguments, 2, start);
+            return new ExpressionNodes.BinaryFunction(binary, arguments.get(0), arguments.get(1));
+        }
+        return switch (name) {
+            case "clamp" -> {
+                requireArguments(name, arguments, 3, start);
+                yield new ExpressionNodes.Clamp(arguments.get(0), arguments.get(1), arguments.get(2));
+            }
+            case "lerp" -> {
+                requireArguments(name, arguments, 3, start);
+                yield new ExpressionNodes.Lerp(arguments.get(0), arguments.get(1), arguments.get(2));
+            }
+            default -> {
+                position = start;
+                throw error("Unknown function '" + name + "'");
+            }
+        };
+    }
+
+    private void requireArguments(String name, List<Expression> arguments, int expected, int start) {
+        if (arguments.size() != expected) {
+            position = start;
+            throw error("Function '" + name + "' expects " + expected + " argument(s), got " + arguments.size());
+        }
+    }
+
+    private boolean accept(char expected) {
+        skipWhitespace();
+        if (position < source.length() && source.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!accept(expected)) {
+            throw error(position < source.length()
+                    ? "Expected '" + expected + "' but found '" + source.charAt(position) + "'"
+                    : "Expected '" + expected + "' but found end of expression");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " in '" + source + "'");
+    }
+}
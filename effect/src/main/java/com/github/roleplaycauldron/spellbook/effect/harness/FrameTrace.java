@@ -0,0 +1,317 @@
+package com.github.roleplaycauldron.spellbook.effect.harness;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Compact, immutable record of the points emitted by a headless render.
+ * <p>
+ * Points are stored in flat arrays in emission order. Every point has its
+ * origin-relative local coordinates, its world coordinates, the index of the
+ * {@link com.github.roleplaycauldron.spellbook.effect.EffectLayer layer} that emitted
+ * it, and a bit mask of the harness viewers it was emitted to. Frames are ranges of
+ * consecutive points with the wall-clock time the frame took to render.
+ * <p>
+ * Traces can be written to and read from a binary stream, so traces recorded with
+ * different library versions can be compared offline with {@link #difference}.
+ */
+public final class FrameTrace {
+
+    private static final int MAGIC = 0x53504654;
+
+    private static final int VERSION = 1;
+
+    private final int[] frameStarts;
+
+    private final long[] frameNanos;
+
+    private final float[] local;
+
+    private final double[] world;
+
+    private final int[] layers;
+
+    private final long[] viewerMasks;
+
+    FrameTrace(int[] frameStarts, long[] frameNanos, float[] local, double[] world, int[] layers, long[] viewerMasks) {
+        this.frameStarts = frameStarts;
+        this.frameNanos = frameNanos;
+        this.local = local;
+        this.world = world;
+        this.layers = layers;
+        this.viewerMasks = viewerMasks;
+    }
+
+    /**
+     * Returns the number of recorded frames.
+     *
+     * @return frame count
+     */
+    public int frameCount() {
+        return frameNanos.length;
+    }
+
+    /**
+     * Returns the number of points recorded over all frames.
+     *
+     * @return total point count
+     */
+    public int pointCount() {
+        return layers.length;
+    }
+
+    /**
+     * Returns the index of the first point of a frame.
+     *
+     * @param frame frame index
+     * @return index of the frame's first point
+     */
+    public int firstPoint(int frame) {
+        Objects.checkIndex(frame, frameCount());
+        return frameStarts[frame];
+    }
+
+    /**
+     * Returns the number of points of a frame.
+     *
+     * @param frame frame index
+     * @return points emitted in the frame
+     */
+    public int pointCount(int frame) {
+        Objects.checkIndex(frame, frameCount());
+        return frameStarts[frame + 1] - frameStarts[frame];
+    }
+
+    /**
+     * Returns the time a frame took to render.
+     *
+     * @param frame frame index
+     * @return render time in nanoseconds
+     */
+    public long frameNanos(int frame) {
+        Objects.checkIndex(frame, frameCount());
+        return frameNanos[frame];
+    }
+
+    /**
+     * Returns the mean number of points per frame.
+     *
+     * @return points per frame, or {@code 0} for an empty trace
+     */
+    public double pointsPerFrame() {
+        return frameCount() == 0 ? 0 : (double) pointCount() / frameCount();
+    }
+
+    /**
+     * Returns the mean render time per frame.
+     *
+     * @return nanoseconds per frame, or {@code 0} for an empty trace
+     */
+    public double nanosPerFrame() {
+        if (frameCount() == 0) {
+            return 0;
+        }
+        long total = 0L;
+        for (long nanos : frameNanos) {
+            total += nanos;
+        }
+        return (double) total / frameCount();
+    }
+
+    public float localX(int point) {
+        return local[Objects.checkIndex(point, pointCount()) * 3];
+    }
+
+    public float localY(int point) {
+        return local[Objects.checkIndex(point, pointCount()) * 3 + 1];
+    }
+
+    public float localZ(int point) {
+        return local[Objects.checkIndex(point, pointCount()) * 3 + 2];
+    }
+
+    public double worldX(int point) {
+        return world[Objects.checkIndex(point, pointCount()) * 3];
+    }
+
+    public double worldY(int point) {
+        return world[Objects.checkIndex(point, pointCount()) * 3 + 1];
+    }
+
+    public double worldZ(int point) {
+        return world[Objects.checkIndex(point, pointCount()) * 3 + 2];
+    }
+
+    /**
+     * Returns the index of the layer that emitted a point.
+     *
+     * @param point point index
+     * @return layer index
+     */
+    public int layer(int point) {
+        return layers[Objects.checkIndex(point, pointCount())];
+    }
+
+    /**
+     * Returns the viewers a point was emitted to.
+     * <p>
+     * Bit {@code i} is set when the viewer with {@link HeadlessViewer#index() index}
+     * {@code i} was among the viewers of the point. Viewers from index 64 on are not tracked.
+     *
+     * @param point point index
+     * @return viewer bit mask
+     */
+    public long viewerMask(int point) {
+        return viewerMasks[Objects.checkIndex(point, pointCount())];
+    }
+
+    /**
+     * Finds the first difference between the points of this trace and another trace.
+     * <p>
+     * Frame timings are ignored. Coordinates are compared with the given absolute tolerance,
+     * so traces of library versions with slightly different floating point math can be matched.
+     *
+     * @param other     trace to compare with
+     * @param tolerance maximum absolute coordinate difference treated as equal
+     * @return the first difference, or an empty optional if the traces match
+     */
+    public Optional<Difference> difference(FrameTrace other, double tolerance) {
+        Objects.requireNonNull(other, "other");
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("tolerance must be >= 0");
+        }
+
+        int frames = Math.min(frameCount(), other.frameCount());
+        for (int frame = 0; frame < frames; frame++) {
+            int count = pointCount(frame);
+            int otherCount = other.pointCount(frame);
+            int points = Math.min(count, otherCount);
+            for (int i = 0; i < points; i++) {
+                int point = frameStarts[frame] + i;
+                int otherPoint = other.frameStarts[frame] + i;
+                String detail = comparePoint(point, other, otherPoint, tolerance);
+                if (detail != null) {
+                    return Optional.of(new Difference(frame, i, detail));
+                }
+            }
+            if (count != otherCount) {
+                return Optional.of(new Difference(frame, points, "point count " + count + " != " + otherCount));
+            }
+        }
+        if (frameCount() != other.frameCount()) {
+            return Optional.of(new Difference(frames, 0, "frame count " + frameCount() + " != " + other.frameCount()));
+        }
+        return Optional.empty();
+    }
+
+    private String comparePoint(int point, FrameTrace other, int otherPoint, double tolerance) {
+        if (layers[point] != other.layers[otherPoint]) {
+            return "layer " + layers[point] + " != " + other.layers[otherPoint];
+        }
+        if (viewerMasks[point] != other.viewerMasks[otherPoint]) {
+            return "viewers " + Long.toBinaryString(viewerMasks[point])
+                    + " != " + Long.toBinaryString(other.viewerMasks[otherPoint]);
+        }
+        for (int axis = 0; axis < 3; axis++) {
+            float localValue = local[point * 3 + axis];
+            float otherLocal = other.local[otherPoint * 3 + axis];
+            if (Math.abs(localValue - otherLocal) > tolerance) {
+                return "local " + "xyz".charAt(axis) + " " + localValue + " != " + otherLocal;
+            }
+            double worldValue = world[point * 3 + axis];
+            double otherWorld = other.world[otherPoint * 3 + axis];
+            if (Math.abs(worldValue - otherWorld) > tolerance) {
+                return "world " + "xyz".charAt(axis) + " " + worldValue + " != " + otherWorld;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes this trace in a compact binary form.
+     *
+     * @param out destination stream
+     * @throws IOException if writing fails
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(frameCount());
+        out.writeInt(pointCount());
+        for (int frame = 0; frame < frameCount(); frame++) {
+            out.writeInt(pointCount(frame));
+            out.writeLong(frameNanos[frame]);
+        }
+        for (int point = 0; point < pointCount(); point++) {
+            out.writeInt(layers[point]);
+            out.writeLong(viewerMasks[point]);
+            for (int axis = 0; axis < 3; axis++) {
+                out.writeFloat(local[point * 3 + axis]);
+            }
+            for (int axis = 0; axis < 3; axis++) {
+                out.writeDouble(world[point * 3 + axis]);
+            }
+        }
+    }
+
+    /**
+     * Reads a trace written by {@link #write(DataOutput)}.
+     *
+     * @param in source stream
+     * @return the read trace
+     * @throws IOException if reading fails or the stream does not contain a trace
+     */
+    public static FrameTrace read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a frame trace");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("unsupported frame trace version " + version);
+        }
+        int frames = in.readInt();
+        int points = in.readInt();
+        if (frames < 0 || points < 0) {
+            throw new IOException("corrupt frame trace header");
+        }
+
+        int[] frameStarts = new int[frames + 1];
+        long[] frameNanos = new long[frames];
+        for (int frame = 0; frame < frames; frame++) {
+            frameStarts[frame + 1] = frameStarts[frame] + in.readInt();
+            frameNanos[frame] = in.readLong();
+        }
+        if (frameStarts[frames] != points) {
+            throw new IOException("corrupt frame trace: frames hold " + frameStarts[frames] + " of " + points + " points");
+        }
+
+        float[] local = new float[points * 3];
+        double[] world = new double[points * 3];
+        int[] layers = new int[points];
+        long[] viewerMasks = new long[points];
+        for (int point = 0; point < points; point++) {
+            layers[point] = in.readInt();
+            viewerMasks[point] = in.readLong();
+            for (int axis = 0; axis < 3; axis++) {
+                local[point * 3 + axis] = in.readFloat();
+            }
+            for (int axis = 0; axis < 3; axis++) {
+                world[point * 3 + axis] = in.readDouble();
+            }
+        }
+        return new FrameTrace(frameStarts, frameNanos, local, world, layers, viewerMasks);
+    }
+
+    /**
+     * First mismatch found between two traces.
+     *
+     * @param frame  index of the frame containing the mismatch
+     * @param point  index of the mismatching point within the frame
+     * @param detail description of the mismatch
+     */
+    public record Difference(int frame, int point, String detail) {
+    }
+}
@@ -0,0 +1,382 @@
+package com.github.roleplaycauldron.spellbook.effect.harness;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
+import com.github.roleplaycauldron.spellbook.effect.EffectRenderState;
+import com.github.roleplaycauldron.spellbook.effect.executor.EffectExecutionConfig;
+import com.github.roleplaycauldron.spellbook.effect.executor.HeadlessExecution;
+import com.github.roleplaycauldron.spellbook.effect.location.EffectAnchor;
+import com.github.roleplaycauldron.spellbook.effect.location.FixedAnchor;
+import com.github.roleplaycauldron.spellbook.effect.viewer.FixedViewerSource;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ParticleBudget;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Renders effects without a server and records the emitted points into {@link FrameTrace traces}.
+ * <p>
+ * The harness owns a stand-in {@link World}, an origin and optional target location in
+ * it, and a fixed set of {@link HeadlessViewer viewers}. Effects can either be rendered
+ * directly through {@link EffectInstance#render(EffectContext, EffectRenderState)} or
+ * through the executor frame path with {@link #execute}, which applies the anchors,
+ * cancel rules, step function, and instancing of an {@link EffectExecutionConfig} like
+ * a scheduled execution would.
+ * <pre>{@code
+ * HeadlessHarness harness = HeadlessHarness.builder()
+ *         .origin(0, 64, 0)
+ *         .viewer(4, 64, 0)
+ *         .build();
+ * FrameTrace trace = harness.render(effect, 100);
+ * double pointsPerFrame = trace.pointsPerFrame();
+ * }</pre>
+ * Recorded frame timings include the small cost of recording the points.
+ */
+public final class HeadlessHarness {
+
+    private final World world;
+
+    private final Location origin;
+
+    private final Location target;
+
+    private final List<HeadlessViewer> viewers;
+
+    private final List<Player> players;
+
+    private final long periodTicks;
+
+    private HeadlessHarness(Builder builder) {
+        List<Player> worldPlayers = new ArrayList<>(builder.viewerPositions.size());
+        this.world = HeadlessWorld.create(builder.worldName, () -> List.copyOf(worldPlayers));
+        this.origin = new Location(world, builder.originX, builder.originY, builder.originZ);
+        this.target = builder.target == null
+                ? null
+                : new Location(world, builder.target[0], builder.target[1], builder.target[2]);
+
+        List<HeadlessViewer> createdViewers = new ArrayList<>(builder.viewerPositions.size());
+        for (double[] position : builder.viewerPositions) {
+            // Viewers added without a position stand at the origin
+            double[] resolved = position == null ? new double[]{builder.originX, builder.originY, builder.originZ} : position;
+            HeadlessViewer viewer = new HeadlessViewer(createdViewers.size(), world, resolved[0], resolved[1], resolved[2]);
+            createdViewers.add(viewer);
+            worldPlayers.add(viewer.player());
+        }
+        this.viewers = List.copyOf(createdViewers);
+        this.players = List.copyOf(worldPlayers);
+        this.periodTicks = builder.periodTicks;
+    }
+
+    /**
+     * Creates a new builder for a headless harness.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the stand-in world of this harness.
+     *
+     * @return the harness world
+     */
+    public World world() {
+        return world;
+    }
+
+    /**
+     * Returns a copy of the origin location.
+     *
+     * @return the origin
+     */
+    public Location origin() {
+        return origin.clone();
+    }
+
+    /**
+     * Returns a copy of the target location.
+     *
+     * @return the target, or {@code null} if the harness has none
+     */
+    public Location target() {
+        return target == null ? null : target.clone();
+    }
+
+    /**
+     * Returns the viewers of this harness in index order.
+     *
+     * @return unmodifiable list of viewers
+     */
+    public List<HeadlessViewer> viewers() {
+        return viewers;
+    }
+
+    /**
+     * Returns the player stand-ins of the viewers in index order.
+     *
+     * @return unmodifiable list of players
+     */
+    public List<Player> players() {
+        return players;
+    }
+
+    /**
+     * Creates the effect context of a frame as the executor's default step function would.
+     *
+     * @param runIndex zero-based frame index
+     * @return context of the frame at the harness origin and target
+     */
+    public EffectContext context(long runIndex) {
+        long elapsedTicks = runIndex * periodTicks;
+        return new EffectContext(
+                world,
+                origin.clone(),
+                target(),
+                players,
+                (int) runIndex,
+                elapsedTicks,
+                elapsedTicks / 20.0
+        );
+    }
+
+    /**
+     * Returns an execution config builder with the harness origin, target, and viewers
+     * and the harness period, which callers can further customize.
+     *
+     * @return a prepared execution config builder
+     */
+    public EffectExecutionConfig.Builder config() {
+        EffectExecutionConfig.Builder builder = EffectExecutionConfig.builder()
+                .periodTicks(periodTicks)
+                .originAnchor(new FixedAnchor(origin))
+                .viewerSource(new FixedViewerSource(players));
+        if (target != null) {
+            builder.targetAnchor(new FixedAnchor(target));
+        }
+        return builder;
+    }
+
+    /**
+     * Renders an effect directly for a number of frames.
+     *
+     * @param effect effect to render
+     * @param frames number of frames
+     * @return trace of the rendered frames
+     */
+    public FrameTrace render(EffectInstance effect, int frames) {
+        requireFrames(frames);
+        TraceRecorder recorder = new TraceRecorder(players);
+        EffectInstance recorded = recorder.wrap(effect);
+        EffectRenderState state = new EffectRenderState();
+        for (int frame = 0; frame < frames; frame++) {
+            EffectContext context = context(frame);
+            recorder.beginFrame();
+            long start = System.nanoTime();
+            recorded.render(context, state);
+            recorder.endFrame(System.nanoTime() - start);
+        }
+        state.release();
+        return recorder.toTrace();
+    }
+
+    /**
+     * Runs an effect through the executor frame path for a number of scheduled runs.
+     * <p>
+     * Every run is recorded as a frame, including runs that rendered nothing. Runs after
+     * the execution finished are not recorded, so the trace may hold fewer frames than requested.
+     *
+     * @param effect effect to execute
+     * @param config execution config, typically created from {@link #config()}
+     * @param frames number of scheduled runs
+     * @return trace of the rendered frames
+     */
+    public FrameTrace execute(EffectInstance effect, EffectExecutionConfig config, int frames) {
+        return execute(effect, config, ParticleBudget.unlimited(), frames);
+    }
+
+    /**
+     * Runs an effect through the executor frame path with a particle budget.
+     *
+     * @param effect effect to execute
+     * @param config execution config, typically created from {@link #config()}
+     * @param budget particle budget consulted by the emitters
+     * @param frames number of scheduled runs
+     * @return trace of the rendered frames
+     * @see #execute(EffectInstance, EffectExecutionConfig, int)
+     */
+    public FrameTrace execute(EffectInstance effect, EffectExecutionConfig config, ParticleBudget budget, int frames) {
+        requireFrames(frames);
+        TraceRecorder recorder = new TraceRecorder(players);
+        return run(HeadlessExecution.of(recorder.wrap(effect), config, budget), recorder, frames);
+    }
+
+    /**
+     * Runs an instanced effect through the executor frame path.
+     *
+     * @param effect       effect to execute
+     * @param anchors      anchors to emit the effect at
+     * @param viewDistance maximum distance between a viewer and an anchor for the instance to be emitted
+     * @param config       execution config, typically created from {@link #config()}
+     * @param frames       number of scheduled runs
+     * @return trace of the rendered frames
+     * @see #execute(EffectInstance, EffectExecutionConfig, int)
+     */
+    public FrameTrace executeInstanced(EffectInstance effect,
+                                       Collection<? extends EffectAnchor> anchors,
+                                       double viewDistance,
+                                       EffectExecutionConfig config,
+                                       int frames) {
+        requireFrames(frames);
+        TraceRecorder recorder = new TraceRecorder(players);
+        HeadlessExecution execution = HeadlessExecution.instanced(
+                recorder.wrap(effect),
+                anchors,
+                viewDistance,
+                config,
+                ParticleBudget.unlimited()
+        );
+        return run(execution, recorder, frames);
+    }
+
+    private static FrameTrace run(HeadlessExecution execution, TraceRecorder recorder, int frames) {
+        for (int frame = 0; frame < frames && !execution.finished(); frame++) {
+            recorder.beginFrame();
+            long start = System.nanoTime();
+            execution.tick();
+            long nanos = System.nanoTime() - start;
+            if (execution.finished()) {
+                // The finishing run did not render a frame
+                recorder.discardFrame();
+                break;
+            }
+            recorder.endFrame(nanos);
+        }
+        return recorder.toTrace();
+    }
+
+    private static void requireFrames(int frames) {
+        if (frames < 0) {
+            throw new IllegalArgumentException("frames must be >= 0");
+        }
+    }
+
+    /**
+     * Builder for {@link HeadlessHarness}.
+     */
+    public static final class Builder {
+
+        private String worldName = "world";
+
+        private double originX;
+
+        private double originY = 64;
+
+        private double originZ;
+
+        private double[] target;
+
+        private long periodTicks = 1L;
+
+        private final List<double[]> viewerPositions = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the name of the stand-in world.
+         *
+         * @param worldName world name; defaults to {@code world}
+         * @return this builder
+         */
+        public Builder worldName(String worldName) {
+            this.worldName = Objects.requireNonNull(worldName, "worldName");
+            return this;
+        }
+
+        /**
+         * Sets the origin location.
+         *
+         * @param x origin x coordinate
+         * @param y origin y coordinate
+         * @param z origin z coordinate
+         * @return this builder; the origin defaults to {@code 0, 64, 0}
+         */
+        public Builder origin(double x, double y, double z) {
+            this.originX = x;
+            this.originY = y;
+            this.originZ = z;
+            return this;
+        }
+
+        /**
+         * Sets the target location.
+         *
+         * @param x target x coordinate
+         * @param y target y coordinate
+         * @param z target z coordinate
+         * @return this builder; without a target the effects are rendered without one
+         */
+        public Builder target(double x, double y, double z) {
+            this.target = new double[]{x, y, z};
+            return this;
+        }
+
+        /**
+         * Adds a viewer at the given position.
+         *
+         * @param x viewer x coordinate
+         * @param y viewer y coordinate
+         * @param z viewer z coordinate
+         * @return this builder
+         */
+        public Builder viewer(double x, double y, double z) {
+            viewerPositions.add(new double[]{x, y, z});
+            return this;
+        }
+
+        /**
+         * Adds viewers standing at the origin.
+         *
+         * @param count number of viewers to add
+         * @return this builder
+         */
+        public Builder viewers(int count) {
+            if (count < 0) {
+                throw new IllegalArgumentException("count must be >= 0");
+            }
+            for (int i = 0; i < count; i++) {
+                viewerPositions.add(null);
+            }
+            return this;
+        }
+
+        /**
+         * Sets the number of ticks between frames used for frame times.
+         *
+         * @param periodTicks ticks per frame; defaults to {@code 1}
+         * @return this builder
+         */
+        public Builder periodTicks(long periodTicks) {
+            if (periodTicks <= 0) {
+                throw new IllegalArgumentException("periodTicks must be > 0");
+            }
+            this.periodTicks = periodTicks;
+            return this;
+        }
+
+        /**
+         * Builds the harness.
+         *
+         * @return a new headless harness
+         */
+        public HeadlessHarness build() {
+            return new HeadlessHarness(this);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.github.roleplaycauldron.spellbook.effect.harness;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Lightweight stand-in for a viewing player of a {@link HeadlessHarness}.
+ * <p>
+ * The backing {@link Player} only supports the calls made by the render pipeline:
+ * location and identity queries and particle spawns, which are counted instead of
+ * being sent. Every other call fails with an {@link UnsupportedOperationException}.
+ */
+public final class HeadlessViewer {
+
+    private final int index;
+
+    private final String name;
+
+    private final UUID uniqueId;
+
+    private final Location location;
+
+    private final Player player;
+
+    private long spawnCalls;
+
+    private long particles;
+
+    HeadlessViewer(int index, World world, double x, double y, double z) {
+        this.index = index;
+        this.name = "viewer-" + index;
+        this.uniqueId = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+        this.location = new Location(world, x, y, z);
+        this.player = (Player) Proxy.newProxyInstance(
+                Player.class.getClassLoader(),
+                new Class<?>[]{Player.class},
+                (proxy, method, args) -> invoke(proxy, method, args)
+        );
+    }
+
+    /**
+     * Returns the index of this viewer within its harness.
+     *
+     * @return viewer index, also used as the bit of this viewer in trace viewer masks
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * Returns the player stand-in of this viewer.
+     *
+     * @return the backing {@link Player}
+     */
+    public Player player() {
+        return player;
+    }
+
+    /**
+     * Returns the unique id reported by the player stand-in.
+     *
+     * @return the viewer's unique id
+     */
+    public UUID uniqueId() {
+        return uniqueId;
+    }
+
+    /**
+     * Moves the viewer within its world.
+     *
+     * @param x new x coordinate
+     * @param y new y coordinate
+     * @param z new z coordinate
+     */
+    public void moveTo(double x, double y, double z) {
+        location.set(x, y, z);
+    }
+
+    /**
+     * Returns the number of particle spawn calls received by this viewer.
+     *
+     * @return spawn calls since creation or the last {@link #reset()}
+     */
+    public long spawnCalls() {
+        return spawnCalls;
+    }
+
+    /**
+     * Returns the number of particles received by this viewer, summing the count of every spawn.
+     *
+     * @return particles since creation or the last {@link #reset()}
+     */
+    public long particles() {
+        return particles;
+    }
+
+    /**
+     * Resets the spawn counters of this viewer.
+     */
+    public void reset() {
+        spawnCalls = 0L;
+        particles = 0L;
+    }
+
+    private Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "spawnParticle" -> {
+                spawnCalls++;
+                // Count follows the location or the x, y, z coordinates
+                Object count = args[1] instanceof Location ? args[2] : args[4];
+                particles += Math.max(1, (Integer) count);
+                yield null;
+            }
+            case "getLocation" -> {
+                if (args == null) {
+                    yield location.clone();
+                }
+                Location destination = (Location) args[0];
+                if (destination != null) {
+                    destination.setWorld(location.getWorld());
+                    destination.set(location.getX(), location.getY(), location.getZ());
+                }
+                yield destination;
+            }
+            case "getWorld" -> location.getWorld();
+            case "getUniqueId" -> uniqueId;
+            case "getName" -> name;
+            case "isOnline", "isValid" -> true;
+            case "isDead" -> false;
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> "HeadlessViewer[" + name + "]";
+            default -> throw new UnsupportedOperationException("HeadlessViewer does not support " + method.getName());
+        };
+    }
+}
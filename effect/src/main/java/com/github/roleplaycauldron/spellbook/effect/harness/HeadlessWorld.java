@@ -0,0 +1,58 @@
+package com.github.roleplaycauldron.spellbook.effect.harness;
+
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Creates lightweight {@link World} stand-ins for a {@link HeadlessHarness}.
+ * <p>
+ * The stand-in reports a name, a unique id, the overworld height range, and the
+ * players of the harness. No chunk is loaded, so block lookups such as the ones of
+ * {@link com.github.roleplaycauldron.spellbook.effect.block.BlockSnapshotCache} see
+ * an empty world. Every other call fails with an {@link UnsupportedOperationException}.
+ */
+final class HeadlessWorld {
+
+    private static final int MIN_HEIGHT = -64;
+
+    private static final int MAX_HEIGHT = 320;
+
+    private HeadlessWorld() {
+    }
+
+    static World create(String name, Supplier<List<Player>> players) {
+        UUID uniqueId = UUID.nameUUIDFromBytes(("world:" + name).getBytes(StandardCharsets.UTF_8));
+        return (World) Proxy.newProxyInstance(
+                World.class.getClassLoader(),
+                new Class<?>[]{World.class},
+                (proxy, method, args) -> invoke(proxy, method, args, name, uniqueId, players)
+        );
+    }
+
+    private static Object invoke(Object proxy,
+                                 Method method,
+                                 Object[] args,
+                                 String name,
+                                 UUID uniqueId,
+                                 Supplier<List<Player>> players) {
+        return switch (method.getName()) {
+            case "getName" -> name;
+            case "getUID" -> uniqueId;
+            case "getMinHeight" -> MIN_HEIGHT;
+            case "getMaxHeight" -> MAX_HEIGHT;
+            case "getPlayers" -> players.get();
+            case "isChunkLoaded" -> false;
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> "HeadlessWorld[" + name + "]";
+            default -> throw new UnsupportedOperationException("HeadlessWorld does not support " + method.getName());
+        };
+    }
+}
@@ -0,0 +1,225 @@
+package com.github.roleplaycauldron.spellbook.effect.harness;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
+import com.github.roleplaycauldron.spellbook.effect.EffectLayer;
+import com.github.roleplaycauldron.spellbook.effect.EffectRenderState;
+import com.github.roleplaycauldron.spellbook.effect.emitter.ParticleEmitter;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Records the points emitted by an effect into a {@link FrameTrace}.
+ * <p>
+ * {@link #wrap(EffectInstance)} returns a copy of an effect whose layer emitters
+ * record every spawned point before passing it on to the original emitter, so the
+ * recorded effect still behaves exactly like the original one. Frames are delimited
+ * by {@link #beginFrame()} and {@link #endFrame(long)}.
+ */
+public final class TraceRecorder {
+
+    private final Player[] viewers;
+
+    private int[] frameStarts = new int[17];
+
+    private long[] frameNanos = new long[16];
+
+    private int frames;
+
+    private float[] local = new float[256 * 3];
+
+    private double[] world = new double[256 * 3];
+
+    private int[] layers = new int[256];
+
+    private long[] viewerMasks = new long[256];
+
+    private int points;
+
+    private boolean inFrame;
+
+    /**
+     * Creates a recorder that tracks the given viewers in the viewer masks of recorded points.
+     *
+     * @param viewers viewers in mask bit order; only the first 64 are tracked
+     */
+    public TraceRecorder(List<? extends Player> viewers) {
+        this.viewers = viewers.toArray(new Player[0]);
+    }
+
+    /**
+     * Returns a copy of the effect that records its emitted points into this recorder.
+     *
+     * @param effect effect to record
+     * @return recording copy of the effect
+     */
+    public EffectInstance wrap(EffectInstance effect) {
+        Objects.requireNonNull(effect, "effect");
+        List<EffectLayer> layers = effect.layers();
+        List<EffectLayer> recorded = new ArrayList<>(layers.size());
+        for (int i = 0; i < layers.size(); i++) {
+            EffectLayer layer = layers.get(i);
+            recorded.add(new EffectLayer(
+                    layer.shape(),
+                    layer.transforms(),
+                    layer.modifiers(),
+                    new RecordingEmitter(this, i, layer.particleEmitter()),
+                    layer.directionProvider()
+            ));
+        }
+        return new EffectInstance(recorded);
+    }
+
+    /**
+     * Starts a new frame; points recorded until {@link #endFrame(long)} belong to it.
+     *
+     * @throws IllegalStateException if a frame is already open
+     */
+    public void beginFrame() {
+        if (inFrame) {
+            throw new IllegalStateException("frame already started");
+        }
+        inFrame = true;
+        if (frames + 2 > frameStarts.length) {
+            frameStarts = Arrays.copyOf(frameStarts, frameStarts.length * 2);
+            frameNanos = Arrays.copyOf(frameNanos, frameNanos.length * 2);
+        }
+        frameStarts[frames] = points;
+    }
+
+    /**
+     * Ends the current frame.
+     *
+     * @param nanos time the frame took to render
+     * @throws IllegalStateException if no frame is open
+     */
+    public void endFrame(long nanos) {
+        if (!inFrame) {
+            throw new IllegalStateException("no frame started");
+        }
+        inFrame = false;
+        frameNanos[frames] = nanos;
+        frames++;
+        frameStarts[frames] = points;
+    }
+
+    void discardFrame() {
+        if (inFrame) {
+            inFrame = false;
+            points = frameStarts[frames];
+        }
+    }
+
+    /**
+     * Creates an immutable trace of all frames ended so far.
+     *
+     * @return recorded trace
+     */
+    public FrameTrace toTrace() {
+        int recordedPoints = frameStarts[frames];
+        return new FrameTrace(
+                Arrays.copyOf(frameStarts, frames + 1),
+                Arrays.copyOf(frameNanos, frames),
+                Arrays.copyOf(local, recordedPoints * 3),
+                Arrays.copyOf(world, recordedPoints * 3),
+                Arrays.copyOf(layers, recordedPoints),
+                Arrays.copyOf(viewerMasks, recordedPoints)
+        );
+    }
+
+    /**
+     * Discards all recorded frames and points while keeping the allocated storage.
+     */
+    public void clear() {
+        frames = 0;
+        points = 0;
+        inFrame = false;
+        frameStarts[0] = 0;
+    }
+
+    private void record(EffectContext context,
+                        int layer,
+                        float localX,
+                        float localY,
+                        float localZ,
+                        double worldX,
+                        double worldY,
+                        double worldZ) {
+        if (!inFrame) {
+            return;
+        }
+        if (points == layers.length) {
+            int capacity = points * 2;
+            local = Arrays.copyOf(local, capacity * 3);
+            world = Arrays.copyOf(world, capacity * 3);
+            layers = Arrays.copyOf(layers, capacity);
+            viewerMasks = Arrays.copyOf(viewerMasks, capacity);
+        }
+
+        int offset = points * 3;
+        local[offset] = localX;
+        local[offset + 1] = localY;
+        local[offset + 2] = localZ;
+        world[offset] = worldX;
+        world[offset + 1] = worldY;
+        world[offset + 2] = worldZ;
+        layers[points] = layer;
+        viewerMasks[points] = viewerMask(context);
+        points++;
+    }
+
+    private long viewerMask(EffectContext context) {
+        long mask = 0L;
+        for (Player viewer : context.viewers()) {
+            int tracked = Math.min(viewers.length, Long.SIZE);
+            for (int i = 0; i < tracked; i++) {
+                if (viewers[i] == viewer) {
+                    mask |= 1L << i;
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    private record RecordingEmitter(TraceRecorder recorder, int layer, ParticleEmitter delegate)
+            implements ParticleEmitter {
+
+        @Override
+        public boolean requiresDirection() {
+            return delegate.requiresDirection();
+        }
+
+        @Override
+        public ParticleEmitter bind(EffectContext context, EffectRenderState state) {
+            ParticleEmitter bound = delegate.bind(context, state);
+            return bound == delegate ? this : new RecordingEmitter(recorder, layer, bound);
+        }
+
+        @Override
+        public void flush(EffectContext context) {
+            delegate.flush(context);
+        }
+
+        @Override
+        public void spawn(
+                EffectContext context,
+                float localX,
+                float localY,
+                float localZ,
+                double worldX,
+                double worldY,
+                double worldZ,
+                float directionX,
+                float directionY,
+                float directionZ
+        ) {
+            recorder.record(context, layer, localX, localY, localZ, worldX, worldY, worldZ);
+            delegate.spawn(context, localX, localY, localZ, worldX, worldY, worldZ, directionX, directionY, directionZ);
+        }
+    }
+}
@@ -25,4 +25,25 @@ public interface EffectAnchor {
      * @return the resolved {@link Location}, or {@code null} if the location could not be determined
      */
     Location resolve();
+
+    /**
+     * Resolves the {@link Location} of this anchor into a caller-owned location.
+     * <p>
+     * Callers resolving many anchors every frame reuse one location per anchor instead of
+     * receiving a new copy. The default copies the result of {@link #resolve()}.
+     *
+     * @param destination the location to write the resolved world, position, and rotation to
+     * @return the destination, or {@code null} if the location could not be determined
+     */
+    default Location resolve(Location destination) {
+        Location location = resolve();
+        if (location == null) {
+            return null;
+        }
+        destination.setWorld(location.getWorld());
+        destination.set(location.getX(), location.getY(), location.getZ());
+        destination.setYaw(location.getYaw());
+        destination.setPitch(location.getPitch());
+        return destination;
+    }
 }
@@ -3,6 +3,8 @@ package com.github.roleplaycauldron.spellbook.effect.location;
 import org.bukkit.Location;
 import org.bukkit.entity.Entity;
 
+import java.util.UUID;
+
 /**
  * Represents an anchor point resolved to the current location of an entity.
  * If the entity changes its location, the anchor will update accordingly.
@@ -19,8 +21,22 @@ public final class EntityAnchor implements EffectAnchor {
         this.entity = entity;
     }
 
+    /**
+     * Returns the unique id of the anchored entity.
+     *
+     * @return the entity's unique id
+     */
+    public UUID entityId() {
+        return entity.getUniqueId();
+    }
+
     @Override
     public Location resolve() {
         return entity.isValid() ? entity.getLocation().clone() : null;
     }
+
+    @Override
+    public Location resolve(Location destination) {
+        return entity.isValid() ? entity.getLocation(destination) : null;
+    }
 }
@@ -21,4 +21,13 @@ public final class FixedAnchor implements EffectAnchor {
     public Location resolve() {
         return location.clone();
     }
+
+    @Override
+    public Location resolve(Location destination) {
+        destination.setWorld(location.getWorld());
+        destination.set(location.getX(), location.getY(), location.getZ());
+        destination.setYaw(location.getYaw());
+        destination.setPitch(location.getPitch());
+        return destination;
+    }
 }
@@ -0,0 +1,78 @@
+package com.github.roleplaycauldron.spellbook.effect.modifier;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.EffectModifier;
+import com.github.roleplaycauldron.spellbook.effect.EffectRenderState;
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.block.BlockSnapshotCache;
+import com.github.roleplaycauldron.spellbook.effect.block.BlockView;
+
+import java.util.Objects;
+
+/**
+ * A modifier that drops points inside solid blocks.
+ * <p>
+ * Blocks are read through a {@link BlockView} of a {@link BlockSnapshotCache}, kept in
+ * the render state of running effects, so the modifier never touches the live world
+ * and may run off the server thread.
+ * Remaining points keep their order.
+ */
+public class BlockOcclusionModifier implements EffectModifier {
+
+    private final BlockSnapshotCache cache;
+
+    /**
+     * Creates a new BlockOcclusionModifier reading from the {@link BlockSnapshotCache#shared() shared cache}.
+     */
+    public BlockOcclusionModifier() {
+        this(BlockSnapshotCache.shared());
+    }
+
+    /**
+     * Creates a new BlockOcclusionModifier
+     *
+     * @param cache the snapshot cache to read blocks from
+     */
+    public BlockOcclusionModifier(BlockSnapshotCache cache) {
+        this.cache = Objects.requireNonNull(cache, "cache");
+    }
+
+    @Override
+    public void apply(PointBuffer points, EffectContext context) {
+        if (points.isEmpty() || context.world() == null || context.origin() == null) {
+            return;
+        }
+        occlude(points, context, cache.view(context.world()));
+    }
+
+    @Override
+    public void apply(PointBuffer points, EffectContext context, EffectRenderState state) {
+        if (points.isEmpty() || context.world() == null || context.origin() == null) {
+            return;
+        }
+        occlude(points, context, cache.view(context.world(), state));
+    }
+
+    private static void occlude(PointBuffer points, EffectContext context, BlockView blocks) {
+        double originX = context.origin().getX();
+        double originY = context.origin().getY();
+        double originZ = context.origin().getZ();
+        int kept = 0;
+        for (int i = 0; i < points.size(); i++) {
+            float x = points.x(i);
+            float y = points.y(i);
+            float z = points.z(i);
+            if (blocks.isSolid(
+                    (int) Math.floor(originX + x),
+                    (int) Math.floor(originY + y),
+                    (int) Math.floor(originZ + z))) {
+                continue;
+            }
+            if (kept != i) {
+                points.set(kept, x, y, z);
+            }
+            kept++;
+        }
+        points.truncate(kept);
+    }
+}
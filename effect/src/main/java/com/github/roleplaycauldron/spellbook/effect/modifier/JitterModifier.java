@@ -0,0 +1,95 @@
+package com.github.roleplaycauldron.spellbook.effect.modifier;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.EffectModifier;
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.expression.Expression;
+
+import java.util.Objects;
+
+/**
+ * A modifier that offsets every point by deterministic random jitter.
+ * <p>
+ * The offset of each axis is a hash of the seed, the point index, and the current
+ * jitter frame, where a new frame starts every {@code interval} steps. Unlike
+ * {@link NoiseModifier}, neighbouring points and frames are uncorrelated, which gives
+ * sparkle and flicker. The same step always produces the same frame, and applying the
+ * modifier does not allocate.
+ * <p>
+ * The amplitude may be an {@link Expression}, evaluated once per frame, or once per
+ * point if it uses the point index.
+ */
+public class JitterModifier implements EffectModifier {
+
+    private final float amplitude;
+
+    private final Expression amplitudeExpression;
+
+    private final int interval;
+
+    private final int seed;
+
+    /**
+     * Creates a new JitterModifier
+     *
+     * @param amplitude maximum offset per axis in blocks; must not be negative
+     * @param interval  steps each jitter frame is held for; must be greater than 0
+     * @param seed      seed selecting the jitter pattern
+     * @throws IllegalArgumentException if the amplitude is negative or the interval is not positive
+     */
+    public JitterModifier(float amplitude, int interval, int seed) {
+        this(amplitude, null, interval, seed);
+    }
+
+    /**
+     * Creates a new JitterModifier whose amplitude is computed by an expression
+     *
+     * @param amplitude maximum offset per axis in blocks; a constant amplitude must not be negative
+     * @param interval  steps each jitter frame is held for; must be greater than 0
+     * @param seed      seed selecting the jitter pattern
+     * @throws IllegalArgumentException if a constant amplitude is negative or the interval is not positive
+     */
+    public JitterModifier(Expression amplitude, int interval, int seed) {
+        this(
+                Objects.requireNonNull(amplitude, "amplitude").isConstant() ? (float) amplitude.evaluate(0, 0, 0, 0) : 0f,
+                amplitude.isConstant() ? null : amplitude,
+                interval,
+                seed
+        );
+    }
+
+    private JitterModifier(float amplitude, Expression amplitudeExpression, int interval, int seed) {
+        if (amplitude < 0f) {
+            throw new IllegalArgumentException("amplitude must be >= 0");
+        }
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be > 0");
+        }
+        this.amplitude = amplitude;
+        this.amplitudeExpression = amplitudeExpression;
+        this.interval = interval;
+        this.seed = seed;
+    }
+
+    @Override
+    public void apply(PointBuffer points, EffectContext context) {
+        int frame = Math.floorDiv(context.step(), interval);
+        double distance = amplitudeExpression == null ? 0 : Expression.distance(context.origin(), context.target());
+        boolean perPoint = amplitudeExpression != null && amplitudeExpression.isPerPoint();
+        float amplitude = amplitudeExpression == null
+                ? this.amplitude
+                : (float) amplitudeExpression.evaluate(context.step(), context.timeSeconds(), distance, 0);
+
+        for (int i = 0; i < points.size(); i++) {
+            if (perPoint) {
+                amplitude = (float) amplitudeExpression.evaluate(context.step(), context.timeSeconds(), distance, i);
+            }
+            points.translate(
+                    i,
+                    amplitude * NoiseHash.signedUnit(NoiseHash.hash(seed, i, frame, 0)),
+                    amplitude * NoiseHash.signedUnit(NoiseHash.hash(seed, i, frame, 1)),
+                    amplitude * NoiseHash.signedUnit(NoiseHash.hash(seed, i, frame, 2))
+            );
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.roleplaycauldron.spellbook.effect.modifier;
+
+/**
+ * Stateless integer hashing shared by the deterministic modifiers.
+ */
+final class NoiseHash {
+
+    private static final float UNIT_SCALE = 1f / (1 << 23);
+
+    /**
+     * Prevent initialization.
+     */
+    private NoiseHash() {
+        // Empty
+    }
+
+    /**
+     * Hashes a seed and three lattice coordinates.
+     *
+     * @param seed noise seed
+     * @param x    first coordinate
+     * @param y    second coordinate
+     * @param z    third coordinate
+     * @return well-mixed hash
+     */
+    static int hash(int seed, int x, int y, int z) {
+        int hash = seed;
+        hash = mix(hash ^ x * 0x9E3779B1);
+        hash = mix(hash ^ y * 0x85EBCA77);
+        hash = mix(hash ^ z * 0xC2B2AE3D);
+        return hash;
+    }
+
+    /**
+     * Maps a hash to a float in {@code [-1, 1)}.
+     *
+     * @param hash hash value
+     * @return signed unit value
+     */
+    static float signedUnit(int hash) {
+        return (hash >>> 8) * UNIT_SCALE - 1f;
+    }
+
+    /**
+     * Rounds down to the next integer without going through {@code double}.
+     *
+     * @param value value to floor
+     * @return largest integer not greater than the value
+     */
+    static int floor(float value) {
+        int truncated = (int) value;
+        return value < truncated ? truncated - 1 : truncated;
+    }
+
+    private static int mix(int hash) {
+        // MurmurHash3 finalizer
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
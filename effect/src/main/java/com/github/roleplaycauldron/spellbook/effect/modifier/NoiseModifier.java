@@ -0,0 +1,123 @@
+package com.github.roleplaycauldron.spellbook.effect.modifier;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.EffectModifier;
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.expression.Expression;
+
+import java.util.Objects;
+
+/**
+ * A modifier that displaces points by seeded coherent noise.
+ * <p>
+ * Each axis is offset by smooth two-dimensional value noise evaluated at the point index
+ * and the effect step, scaled by the index and step frequencies. Neighbouring points and
+ * consecutive steps therefore move together, which gives wobble and drift rather than
+ * flicker. The noise only depends on the seed, step, and point index, so the same step
+ * always produces the same frame. Applying the modifier does not allocate.
+ * <p>
+ * The amplitude may be an {@link Expression}, evaluated once per frame, or once per
+ * point if it uses the point index.
+ */
+public class NoiseModifier implements EffectModifier {
+
+    private final float amplitude;
+
+    private final Expression amplitudeExpression;
+
+    private final float frequency;
+
+    private final float indexFrequency;
+
+    private final int seed;
+
+    /**
+     * Creates a new NoiseModifier
+     *
+     * @param amplitude      maximum displacement per axis in blocks; must not be negative
+     * @param frequency      noise cycles per step; must not be negative
+     * @param indexFrequency noise cycles per point index; must not be negative
+     * @param seed           seed selecting the noise pattern
+     * @throws IllegalArgumentException if a parameter is negative
+     */
+    public NoiseModifier(float amplitude, float frequency, float indexFrequency, int seed) {
+        this(amplitude, null, frequency, indexFrequency, seed);
+    }
+
+    /**
+     * Creates a new NoiseModifier whose amplitude is computed by an expression
+     *
+     * @param amplitude      maximum displacement per axis in blocks; a constant amplitude must not be negative
+     * @param frequency      noise cycles per step; must not be negative
+     * @param indexFrequency noise cycles per point index; must not be negative
+     * @param seed           seed selecting the noise pattern
+     * @throws IllegalArgumentException if a constant parameter is negative
+     */
+    public NoiseModifier(Expression amplitude, float frequency, float indexFrequency, int seed) {
+        this(
+                Objects.requireNonNull(amplitude, "amplitude").isConstant() ? (float) amplitude.evaluate(0, 0, 0, 0) : 0f,
+                amplitude.isConstant() ? null : amplitude,
+                frequency,
+                indexFrequency,
+                seed
+        );
+    }
+
+    private NoiseModifier(float amplitude, Expression amplitudeExpression, float frequency, float indexFrequency, int seed) {
+        if (amplitude < 0f) {
+            throw new IllegalArgumentException("amplitude must be >= 0");
+        }
+        if (frequency < 0f) {
+            throw new IllegalArgumentException("frequency must be >= 0");
+        }
+        if (indexFrequency < 0f) {
+            throw new IllegalArgumentException("indexFrequency must be >= 0");
+        }
+        this.amplitude = amplitude;
+        this.amplitudeExpression = amplitudeExpression;
+        this.frequency = frequency;
+        this.indexFrequency = indexFrequency;
+        this.seed = seed;
+    }
+
+    @Override
+    public void apply(PointBuffer points, EffectContext context) {
+        float time = context.step() * frequency;
+        int timeCell = NoiseHash.floor(time);
+        float timeFade = fade(time - timeCell);
+        double distance = amplitudeExpression == null ? 0 : Expression.distance(context.origin(), context.target());
+        boolean perPoint = amplitudeExpression != null && amplitudeExpression.isPerPoint();
+        float amplitude = amplitudeExpression == null
+                ? this.amplitude
+                : (float) amplitudeExpression.evaluate(context.step(), context.timeSeconds(), distance, 0);
+
+        for (int i = 0; i < points.size(); i++) {
+            float position = i * indexFrequency;
+            int cell = NoiseHash.floor(position);
+            float fade = fade(position - cell);
+            if (perPoint) {
+                amplitude = (float) amplitudeExpression.evaluate(context.step(), context.timeSeconds(), distance, i);
+            }
+            points.translate(
+                    i,
+                    amplitude * noise(0, cell, fade, timeCell, timeFade),
+                    amplitude * noise(1, cell, fade, timeCell, timeFade),
+                    amplitude * noise(2, cell, fade, timeCell, timeFade)
+            );
+        }
+    }
+
+    private float noise(int axis, int cell, float fade, int timeCell, float timeFade) {
+        float a = NoiseHash.signedUnit(NoiseHash.hash(seed, cell, timeCell, axis));
+        float b = NoiseHash.signedUnit(NoiseHash.hash(seed, cell + 1, timeCell, axis));
+        float c = NoiseHash.signedUnit(NoiseHash.hash(seed, cell, timeCell + 1, axis));
+        float d = NoiseHash.signedUnit(NoiseHash.hash(seed, cell + 1, timeCell + 1, axis));
+        float first = a + (b - a) * fade;
+        float second = c + (d - c) * fade;
+        return first + (second - first) * timeFade;
+    }
+
+    private static float fade(float t) {
+        return t * t * (3f - 2f * t);
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.roleplaycauldron.spellbook.effect.shape;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
+import com.github.roleplaycauldron.spellbook.effect.block.BlockSnapshotCache;
+import com.github.roleplaycauldron.spellbook.effect.block.BlockView;
+import org.bukkit.Location;
+
+import java.util.Objects;
+
+/**
+ * A {@code BeamShape} generates evenly spaced points from the origin toward the target
+ * that stop at the first solid block.
+ * <p>
+ * The blocks along the beam are visited with a voxel traversal, so every block is
+ * checked at most once regardless of the point spacing. The beam ends at the target,
+ * at the configured range, or where it enters the first solid block, whichever is
+ * closest. The block containing the origin is ignored so beams may start at a surface.
+ * Blocks are read through a {@link BlockView} of a {@link BlockSnapshotCache} kept per execution.
+ */
+public class BeamShape implements Shape {
+
+    // Keeps the last point out of the face of the hit block
+    private static final double SURFACE_OFFSET = 1e-3;
+
+    private final float range;
+
+    private final float spacing;
+
+    private final BlockSnapshotCache cache;
+
+    /**
+     * Creates a new BeamShape reading from the {@link BlockSnapshotCache#shared() shared cache}.
+     *
+     * @param range   maximum beam length in blocks; must be greater than 0
+     * @param spacing distance between points in blocks; must be greater than 0
+     * @throws IllegalArgumentException if range or spacing is not positive
+     */
+    public BeamShape(float range, float spacing) {
+        this(range, spacing, BlockSnapshotCache.shared());
+    }
+
+    /**
+     * Creates a new BeamShape
+     *
+     * @param range   maximum beam length in blocks; must be greater than 0
+     * @param spacing distance between points in blocks; must be greater than 0
+     * @param cache   the snapshot cache to read blocks from
+     * @throws IllegalArgumentException if range or spacing is not positive
+     */
+    public BeamShape(float range, float spacing, BlockSnapshotCache cache) {
+        if (range <= 0f) {
+            throw new IllegalArgumentException("range must be > 0");
+        }
+        if (spacing <= 0f) {
+            throw new IllegalArgumentException("spacing must be > 0");
+        }
+        this.range = range;
+        this.spacing = spacing;
+        this.cache = Objects.requireNonNull(cache, "cache");
+    }
+
+    @Override
+    public void sample(ShapeContext context, PointBuffer points) {
+        Location origin = context.origin();
+        Location target = context.target();
+        if (origin == null || target == null || origin.getWorld() == null) {
+            return;
+        }
+
+        double dx = target.getX() - origin.getX();
+        double dy = target.getY() - origin.getY();
+        double dz = target.getZ() - origin.getZ();
+        double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        if (distance == 0) {
+            return;
+        }
+        dx /= distance;
+        dy /= distance;
+        dz /= distance;
+
+        double length = traverse(cache.view(origin.getWorld(), context), origin, dx, dy, dz, Math.min(distance, range));
+        int count = (int) (length / spacing) + 1;
+        points.ensureCapacity(points.size() + count);
+        for (int i = 0; i < count; i++) {
+            float offset = i * spacing;
+            points.add((float) (dx * offset), (float) (dy * offset), (float) (dz * offset));
+        }
+    }
+
+    /**
+     * Walks the blocks along a ray and returns the distance at which it enters the first solid block.
+     */
+    private static double traverse(BlockView blocks, Location origin, double dx, double dy, double dz, double maxDistance) {
+        int x = (int) Math.floor(origin.getX());
+        int y = (int) Math.floor(origin.getY());
+        int z = (int) Math.floor(origin.getZ());
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        int stepZ = dz > 0 ? 1 : -1;
+        double deltaX = dx == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dx);
+        double deltaY = dy == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dy);
+        double deltaZ = dz == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dz);
+        double nextX = boundary(origin.getX(), x, dx, deltaX);
+        double nextY = boundary(origin.getY(), y, dy, deltaY);
+        double nextZ = boundary(origin.getZ(), z, dz, deltaZ);
+
+        while (true) {
+            double travelled;
+            if (nextX <= nextY && nextX <= nextZ) {
+                travelled = nextX;
+                nextX += deltaX;
+                x += stepX;
+            } else if (nextY <= nextZ) {
+                travelled = nextY;
+                nextY += deltaY;
+                y += stepY;
+            } else {
+                travelled = nextZ;
+                nextZ += deltaZ;
+                z += stepZ;
+            }
+
+            if (travelled > maxDistance) {
+                return maxDistance;
+            }
+            if (blocks.isSolid(x, y, z)) {
+                return Math.max(travelled - SURFACE_OFFSET, 0);
+            }
+        }
+    }
+
+    private static double boundary(double position, int block, double direction, double delta) {
+        if (direction == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double fraction = direction > 0 ? block + 1 - position : position - block;
+        return fraction * delta;
+    }
+}
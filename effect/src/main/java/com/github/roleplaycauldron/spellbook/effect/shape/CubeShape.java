@@ -3,6 +3,8 @@ package com.github.roleplaycauldron.spellbook.effect.shape;
 import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
 import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
 
+import java.util.Objects;
+
 /**
  * A {@code CubeShape} represents a cubic-shaped structure that generates a series of 3D points
  * along the edges of the cube. The cube is defined by its size and the number of points sampled
@@ -10,7 +12,7 @@ import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
  * <p>
  * This shape distributes points evenly along the 12 edges of the cube, which is centered at the origin.
  */
-public final class CubeShape implements Shape {
+public final class CubeShape implements RangeSampledShape {
 
     private final float[] cachedPoints;
 
@@ -34,6 +36,28 @@ public final class CubeShape implements Shape {
         this.cachedPoints = buildPoints(size, pointsPerEdge);
     }
 
+    /**
+     * Constructs a {@code CubeShape} whose edges are sampled at a fixed spacing.
+     * Every edge receives at least two points, one at each corner.
+     *
+     * @param size    the length of each edge of the cube; must be greater than 0
+     * @param spacing the point spacing along an edge and the bounds of the points per edge
+     * @throws IllegalArgumentException if {@code size} is less than or equal to 0
+     */
+    public CubeShape(float size, PointSpacing spacing) {
+        this(size, Math.max(2, Objects.requireNonNull(spacing, "spacing").pointCount(size)));
+    }
+
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
+    @Override
+    public int pointCount(ShapeContext context) {
+        return cachedPoints.length / 3;
+    }
+
     @Override
     public void sample(ShapeContext context, PointBuffer points) {
         points.ensureCapacity(points.size() + cachedPoints.length / 3);
@@ -42,6 +66,14 @@ public final class CubeShape implements Shape {
         }
     }
 
+    @Override
+    public void sampleRange(ShapeContext context, PointBuffer points, int offset, int fromIndex, int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            int index = i * 3;
+            points.set(offset + i, cachedPoints[index], cachedPoints[index + 1], cachedPoints[index + 2]);
+        }
+    }
+
     private float[] buildPoints(float size, int pointsPerEdge) {
         float h = size / 2f;
         float[] result = new float[12 * pointsPerEdge * 3];
@@ -2,13 +2,19 @@ package com.github.roleplaycauldron.spellbook.effect.shape;
 
 import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
 import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
+import com.github.roleplaycauldron.spellbook.effect.expression.Expression;
+
+import java.util.Objects;
 
 /**
  * Represents a helical shape for particle or point generation, defined by configurable strands,
  * radius, height, number of turns, and rotation speed. The helix is sampled by evenly
  * distributing points across multiple strands that twist around a central axis.
+ * <p>
+ * Radius and height may be {@link Expression expressions}. Non-constant expressions are
+ * evaluated once per frame, or once per point if they use the point index.
  */
-public final class HelixShape implements Shape {
+public final class HelixShape implements RangeSampledShape {
 
     private final int strands;
 
@@ -16,8 +22,14 @@ public final class HelixShape implements Shape {
 
     private final float radius;
 
+    private final Expression radiusExpression;
+
     private final float height;
 
+    private final Expression heightExpression;
+
+    private final boolean dynamic;
+
     private final float turns;
 
     private final float rotationSpeed;
@@ -45,6 +57,50 @@ public final class HelixShape implements Shape {
             float height,
             float turns,
             float rotationSpeed
+    ) {
+        this(strands, particlesPerStrand, radius, null, height, null, turns, rotationSpeed);
+    }
+
+    /**
+     * Constructs a HelixShape whose radius and height are computed by expressions.
+     *
+     * @param strands            the number of strands in the helix; must be greater than 0
+     * @param particlesPerStrand the number of particles per strand; must be greater than 0
+     * @param radius             the radius of the helix; a constant radius must be greater than 0
+     * @param height             the total height of the helix; a constant height must be greater than or equal to 0
+     * @param turns              the total number of complete turns of the helix; must be greater than 0
+     * @param rotationSpeed      the rotation speed of the helix in radians per step
+     * @throws IllegalArgumentException if any parameter value fails its respective validation
+     */
+    public HelixShape(
+            int strands,
+            int particlesPerStrand,
+            Expression radius,
+            Expression height,
+            float turns,
+            float rotationSpeed
+    ) {
+        this(
+                strands,
+                particlesPerStrand,
+                Objects.requireNonNull(radius, "radius").isConstant() ? (float) radius.evaluate(0, 0, 0, 0) : 1f,
+                radius.isConstant() ? null : radius,
+                Objects.requireNonNull(height, "height").isConstant() ? (float) height.evaluate(0, 0, 0, 0) : 0f,
+                height.isConstant() ? null : height,
+                turns,
+                rotationSpeed
+        );
+    }
+
+    private HelixShape(
+            int strands,
+            int particlesPerStrand,
+            float radius,
+            Expression radiusExpression,
+            float height,
+            Expression heightExpression,
+            float turns,
+            float rotationSpeed
     ) {
         if (strands <= 0) {
             throw new IllegalArgumentException("strands must be > 0");
@@ -66,23 +122,41 @@ public final class HelixShape implements Shape {
         this.particlesPerStrand = particlesPerStrand;
         this.radius = radius;
         this.height = height;
+        this.dynamic = radiusExpression != null || heightExpression != null;
+        this.radiusExpression = radiusExpression != null ? radiusExpression : Expression.constant(radius);
+        this.heightExpression = heightExpression != null ? heightExpression : Expression.constant(height);
         this.turns = turns;
         this.rotationSpeed = rotationSpeed;
-        this.staticPoints = rotationSpeed == 0f ? buildPoints(0f) : null;
+        this.staticPoints = rotationSpeed == 0f && !dynamic ? buildPoints(0f) : null;
+    }
+
+    @Override
+    public boolean isStatic() {
+        return staticPoints != null;
+    }
+
+    @Override
+    public int pointCount(ShapeContext context) {
+        return strands * particlesPerStrand;
     }
 
     @Override
     public void sample(ShapeContext context, PointBuffer points) {
-        points.ensureCapacity(points.size() + strands * particlesPerStrand);
+        int count = strands * particlesPerStrand;
+        sampleRange(context, points, points.grow(count), 0, count);
+    }
+
+    @Override
+    public void sampleRange(ShapeContext context, PointBuffer points, int offset, int fromIndex, int toIndex) {
         if (staticPoints != null) {
-            for (int i = 0; i < staticPoints.length; i += 3) {
-                points.add(staticPoints[i], staticPoints[i + 1], staticPoints[i + 2]);
+            for (int i = fromIndex; i < toIndex; i++) {
+                int index = i * 3;
+                points.set(offset + i, staticPoints[index], staticPoints[index + 1], staticPoints[index + 2]);
             }
             return;
         }
 
-        float baseRotation = context.step() * rotationSpeed;
-        appendPoints(points, baseRotation);
+        writePoints(points, offset, fromIndex, toIndex, context.step() * rotationSpeed, context);
     }
 
     private float[] buildPoints(float baseRotation) {
@@ -110,25 +184,35 @@ public final class HelixShape implements Shape {
         return result;
     }
 
-    private void appendPoints(PointBuffer points, float baseRotation) {
-        for (int i = 0; i < strands; i++) {
-            float strandOffset = (float) (2.0 * Math.PI * i / strands);
-
-            for (int j = 0; j < particlesPerStrand; j++) {
-                float ratio = particlesPerStrand == 1
-                        ? 0f
-                        : (float) j / (particlesPerStrand - 1);
-
-                float angle = baseRotation
-                        + strandOffset
-                        + ratio * turns * (float) (2.0 * Math.PI);
-
-                float x = (float) Math.cos(angle) * radius;
-                float y = ratio * height;
-                float z = (float) Math.sin(angle) * radius;
-
-                points.add(x, y, z);
-            }
+    private void writePoints(PointBuffer points,
+                             int offset,
+                             int fromIndex,
+                             int toIndex,
+                             float baseRotation,
+                             ShapeContext context) {
+        double step = context.step();
+        double time = context.timeSeconds();
+        double distance = dynamic ? Expression.distance(context.origin(), context.target()) : 0;
+        boolean perPoint = dynamic && (radiusExpression.isPerPoint() || heightExpression.isPerPoint());
+        float frameRadius = dynamic ? (float) radiusExpression.evaluate(step, time, distance, 0) : radius;
+        float frameHeight = dynamic ? (float) heightExpression.evaluate(step, time, distance, 0) : height;
+
+        for (int index = fromIndex; index < toIndex; index++) {
+            int strand = index / particlesPerStrand;
+            int j = index - strand * particlesPerStrand;
+            float strandOffset = (float) (2.0 * Math.PI * strand / strands);
+            float ratio = particlesPerStrand == 1
+                    ? 0f
+                    : (float) j / (particlesPerStrand - 1);
+
+            float angle = baseRotation
+                    + strandOffset
+                    + ratio * turns * (float) (2.0 * Math.PI);
+
+            float pointRadius = perPoint ? (float) radiusExpression.evaluate(step, time, distance, index) : frameRadius;
+            float pointHeight = perPoint ? (float) heightExpression.evaluate(step, time, distance, index) : frameHeight;
+
+            points.set(offset + index, (float) Math.cos(angle) * pointRadius, ratio * pointHeight, (float) Math.sin(angle) * pointRadius);
         }
     }
 }
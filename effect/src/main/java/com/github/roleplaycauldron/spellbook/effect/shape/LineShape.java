@@ -2,17 +2,21 @@ package com.github.roleplaycauldron.spellbook.effect.shape;
 
 import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
 import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
-import org.joml.Vector3f;
+
+import java.util.Objects;
 
 /**
  * A {@code LineShape} represents a straight-line shape that generates a series of 3D points
  * along a linear interpolation from an origin to a target. The number of points generated
- * is specified during construction.
+ * is either fixed during construction or derived each frame from the origin-target distance
+ * and a {@link PointSpacing}.
  */
 public final class LineShape implements Shape {
 
     private final int points;
 
+    private final PointSpacing spacing;
+
     /**
      * Constructs a {@code LineShape} object with a specified number of points,
      * representing a linear shape for generating 3D points or particles.
@@ -25,6 +29,17 @@ public final class LineShape implements Shape {
             throw new IllegalArgumentException("points must be > 0");
         }
         this.points = points;
+        this.spacing = null;
+    }
+
+    /**
+     * Constructs a {@code LineShape} that places points at a fixed spacing along the line.
+     *
+     * @param spacing the point spacing and the bounds of the point count
+     */
+    public LineShape(PointSpacing spacing) {
+        this.spacing = Objects.requireNonNull(spacing, "spacing");
+        this.points = spacing.minPoints();
     }
 
     @Override
@@ -33,20 +48,23 @@ public final class LineShape implements Shape {
             return;
         }
 
-        Vector3f origin = context.origin().toVector().toVector3f();
-        Vector3f target = context.target().toVector().toVector3f();
-        Vector3f direction = new Vector3f(target).sub(origin);
+        float directionX = (float) (context.target().getX() - context.origin().getX());
+        float directionY = (float) (context.target().getY() - context.origin().getY());
+        float directionZ = (float) (context.target().getZ() - context.origin().getZ());
+        int count = spacing == null
+                ? this.points
+                : spacing.pointCount(Math.sqrt(directionX * directionX + directionY * directionY + directionZ * directionZ));
 
-        points.ensureCapacity(points.size() + this.points);
+        points.ensureCapacity(points.size() + count);
 
-        if (this.points == 1) {
+        if (count == 1) {
             points.add(0, 0, 0);
             return;
         }
 
-        for (int i = 0; i < this.points; i++) {
-            float t = (float) i / (this.points - 1);
-            points.add(direction.x * t, direction.y * t, direction.z * t);
+        for (int i = 0; i < count; i++) {
+            float t = (float) i / (count - 1);
+            points.add(directionX * t, directionY * t, directionZ * t);
         }
     }
 }
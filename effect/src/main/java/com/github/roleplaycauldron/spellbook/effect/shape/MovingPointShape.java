@@ -2,13 +2,17 @@ package com.github.roleplaycauldron.spellbook.effect.shape;
 
 import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
 import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
-import org.joml.Vector3f;
+
+import java.util.Objects;
 
 /**
  * Represents a shape that generates a series of points moving along a straight
  * line between an origin and a target. The points move at a specified speed and
  * with constant spacing, optionally bouncing back and forth along the line
  * in a "ping-pong" motion.
+ * <p>
+ * With a {@link PointSpacing}, the number of points is derived each frame from the
+ * origin-target distance, so the moving train covers the line at any length.
  */
 public final class MovingPointShape implements Shape {
 
@@ -18,6 +22,8 @@ public final class MovingPointShape implements Shape {
 
     private final int amountPoints;
 
+    private final PointSpacing pointSpacing;
+
     private final boolean pingPong;
 
     /**
@@ -43,6 +49,27 @@ public final class MovingPointShape implements Shape {
         this.speed = speed;
         this.spacing = spacing;
         this.amountPoints = amountPoints;
+        this.pointSpacing = null;
+        this.pingPong = pingPong;
+    }
+
+    /**
+     * Constructs a MovingPointShape whose number of points follows the line length.
+     *
+     * @param speed    the speed at which the points move along the shape must be greater than 0
+     * @param spacing  the spacing between each point along the shape and the bounds of the point count
+     * @param pingPong whether the points should bounce back and forth along the line in a "ping-pong" motion
+     * @throws IllegalArgumentException if speed is less than or equal to 0
+     */
+    public MovingPointShape(float speed, PointSpacing spacing, boolean pingPong) {
+        if (speed <= 0f) {
+            throw new IllegalArgumentException("speed must be > 0");
+        }
+
+        this.speed = speed;
+        this.pointSpacing = Objects.requireNonNull(spacing, "spacing");
+        this.spacing = spacing.spacing();
+        this.amountPoints = spacing.minPoints();
         this.pingPong = pingPong;
     }
 
@@ -52,21 +79,23 @@ public final class MovingPointShape implements Shape {
             return;
         }
 
-        Vector3f origin = context.origin().toVector().toVector3f();
-        Vector3f target = context.target().toVector().toVector3f();
-
-        Vector3f direction = new Vector3f(target).sub(origin);
-        float length = direction.length();
+        float directionX = (float) (context.target().getX() - context.origin().getX());
+        float directionY = (float) (context.target().getY() - context.origin().getY());
+        float directionZ = (float) (context.target().getZ() - context.origin().getZ());
+        float length = (float) Math.sqrt(directionX * directionX + directionY * directionY + directionZ * directionZ);
 
         if (length <= 0f) {
             return;
         }
 
-        Vector3f normalizedDirection = new Vector3f(direction).normalize();
+        float normalizedX = directionX / length;
+        float normalizedY = directionY / length;
+        float normalizedZ = directionZ / length;
 
         float distancePerStep = spacing * speed;
         float traveledDistance = context.step() * distancePerStep;
 
+        int amountPoints = pointSpacing == null ? this.amountPoints : pointSpacing.pointCount(length);
         points.ensureCapacity(points.size() + amountPoints);
 
         for (int i = 0; i < amountPoints; i++) {
@@ -84,9 +113,9 @@ public final class MovingPointShape implements Shape {
             }
 
             points.add(
-                    normalizedDirection.x * distanceAlongLine,
-                    normalizedDirection.y * distanceAlongLine,
-                    normalizedDirection.z * distanceAlongLine
+                    normalizedX * distanceAlongLine,
+                    normalizedY * distanceAlongLine,
+                    normalizedZ * distanceAlongLine
             );
         }
     }
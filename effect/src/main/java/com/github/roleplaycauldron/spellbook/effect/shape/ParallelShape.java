@@ -0,0 +1,127 @@
+package com.github.roleplaycauldron.spellbook.effect.shape;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Samples large frames of a {@link RangeSampledShape} on a {@link ForkJoinPool}.
+ * <p>
+ * Frames with fewer points than the threshold are sampled on the calling thread, since
+ * splitting small frames costs more than it saves. Larger frames reserve their region of
+ * the point buffer up front and are split into ranges that the pool's workers write
+ * directly into that region. The calling thread takes part in the work and returns once
+ * the whole frame is written, so the result is the same as serial sampling.
+ */
+public final class ParallelShape implements Shape {
+
+    /**
+     * Default number of points from which frames are sampled in parallel.
+     */
+    public static final int DEFAULT_THRESHOLD = 16_384;
+
+    private static final int MIN_RANGE = 1_024;
+
+    private final RangeSampledShape shape;
+
+    private final ForkJoinPool pool;
+
+    private final int threshold;
+
+    /**
+     * Creates a parallel shape using the common pool and the default threshold.
+     *
+     * @param shape the shape to sample
+     */
+    public ParallelShape(RangeSampledShape shape) {
+        this(shape, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates a parallel shape.
+     *
+     * @param shape     the shape to sample
+     * @param pool      the pool sampling large frames
+     * @param threshold the number of points from which frames are sampled in parallel; must be greater than 0
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public ParallelShape(RangeSampledShape shape, ForkJoinPool pool, int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("threshold must be > 0");
+        }
+        this.shape = Objects.requireNonNull(shape, "shape");
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.threshold = threshold;
+    }
+
+    @Override
+    public boolean isStatic() {
+        return shape.isStatic();
+    }
+
+    @Override
+    public void sample(ShapeContext context, PointBuffer points) {
+        int count = shape.pointCount(context);
+        if (count < threshold || pool.getParallelism() <= 1) {
+            shape.sample(context, points);
+            return;
+        }
+
+        int offset = points.grow(count);
+        int range = Math.max(MIN_RANGE, count / (pool.getParallelism() * 4));
+        pool.invoke(new RangeTask(shape, context, points, offset, 0, count, range));
+    }
+
+    /**
+     * Splits a point range in halves until it is small enough to sample directly.
+     */
+    private static final class RangeTask extends RecursiveAction {
+
+        private final RangeSampledShape shape;
+
+        private final ShapeContext context;
+
+        private final PointBuffer points;
+
+        private final int offset;
+
+        private final int fromIndex;
+
+        private final int toIndex;
+
+        private final int range;
+
+        private RangeTask(RangeSampledShape shape,
+                          ShapeContext context,
+                          PointBuffer points,
+                          int offset,
+                          int fromIndex,
+                          int toIndex,
+                          int range) {
+            this.shape = shape;
+            this.context = context;
+            this.points = points;
+            this.offset = offset;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.range = range;
+        }
+
+        @Override
+        protected void compute() {
+            if (toIndex - fromIndex <= range) {
+                shape.sampleRange(context, points, offset, fromIndex, toIndex);
+                return;
+            }
+
+            int middle = (fromIndex + toIndex) >>> 1;
+            invokeAll(
+                    new RangeTask(shape, context, points, offset, fromIndex, middle, range),
+                    new RangeTask(shape, context, points, offset, middle, toIndex, range)
+            );
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.roleplaycauldron.spellbook.effect.shape;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
+import org.joml.Vector3fc;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A static shape made of a fixed list of local points, for example points imported
+ * from a model or precomputed by a plugin.
+ * <p>
+ * The points are copied on construction and appended unchanged every frame.
+ */
+public final class PointCloudShape implements RangeSampledShape {
+
+    private final float[] coordinates;
+
+    /**
+     * Creates a point cloud from a list of points.
+     *
+     * @param points the local points of the cloud; must not be empty
+     * @throws IllegalArgumentException if no point is given
+     */
+    public PointCloudShape(List<? extends Vector3fc> points) {
+        Objects.requireNonNull(points, "points");
+        if (points.isEmpty()) {
+            throw new IllegalArgumentException("points must not be empty");
+        }
+
+        this.coordinates = new float[points.size() * 3];
+        for (int i = 0; i < points.size(); i++) {
+            Vector3fc point = Objects.requireNonNull(points.get(i), "point");
+            coordinates[i * 3] = point.x();
+            coordinates[i * 3 + 1] = point.y();
+            coordinates[i * 3 + 2] = point.z();
+        }
+    }
+
+    /**
+     * Creates a point cloud from packed coordinates.
+     *
+     * @param coordinates the x, y, and z coordinates of every point in order; the length
+     *                    must be a positive multiple of three
+     * @throws IllegalArgumentException if the length is not a positive multiple of three
+     */
+    public PointCloudShape(float[] coordinates) {
+        Objects.requireNonNull(coordinates, "coordinates");
+        if (coordinates.length == 0 || coordinates.length % 3 != 0) {
+            throw new IllegalArgumentException("coordinates length must be a positive multiple of 3");
+        }
+        this.coordinates = coordinates.clone();
+    }
+
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
+    @Override
+    public int pointCount(ShapeContext context) {
+        return coordinates.length / 3;
+    }
+
+    @Override
+    public void sampleRange(ShapeContext context, PointBuffer points, int offset, int fromIndex, int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            int index = i * 3;
+            points.set(offset + i, coordinates[index], coordinates[index + 1], coordinates[index + 2]);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.roleplaycauldron.spellbook.effect.shape;
+
+/**
+ * Density-based point count of shapes sampled along a length.
+ * <p>
+ * Instead of a fixed number of points, a shape places one point every {@code spacing}
+ * blocks, so short and long lines look equally dense. The count is clamped to
+ * {@code minPoints} and {@code maxPoints}, which keeps very short lines visible and
+ * bounds the particle count of very long ones.
+ *
+ * @param spacing   distance between neighbouring points in blocks; must be greater than 0
+ * @param minPoints the minimum number of points; must be greater than 0
+ * @param maxPoints the maximum number of points; must be at least {@code minPoints}
+ */
+public record PointSpacing(float spacing, int minPoints, int maxPoints) {
+
+    /**
+     * Validates the spacing.
+     *
+     * @throws IllegalArgumentException if a parameter is out of range
+     */
+    public PointSpacing {
+        if (!(spacing > 0f) || !Float.isFinite(spacing)) {
+            throw new IllegalArgumentException("spacing must be > 0");
+        }
+        if (minPoints <= 0) {
+            throw new IllegalArgumentException("minPoints must be > 0");
+        }
+        if (maxPoints < minPoints) {
+            throw new IllegalArgumentException("maxPoints must be >= minPoints");
+        }
+    }
+
+    /**
+     * Returns the number of points covering a length, including both ends.
+     *
+     * @param length the length to cover in blocks
+     * @return the point count between {@code minPoints} and {@code maxPoints}
+     */
+    public int pointCount(double length) {
+        if (!(length > 0)) {
+            return minPoints;
+        }
+        double count = Math.floor(length / spacing) + 1;
+        return (int) Math.max(minPoints, Math.min(maxPoints, count));
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.roleplaycauldron.spellbook.effect.shape;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
+
+/**
+ * A shape whose points can be computed independently by index.
+ * <p>
+ * The points of a frame are numbered from {@code 0} to {@link #pointCount(ShapeContext)}
+ * and every range of them can be sampled on its own, so {@link ParallelShape} can split
+ * large frames across threads. {@link #sampleRange(ShapeContext, PointBuffer, int, int, int)}
+ * may run concurrently for disjoint ranges of the same frame. Implementations must only
+ * read the context and must not use its scratch buffers.
+ */
+public interface RangeSampledShape extends Shape {
+
+    /**
+     * Returns the number of points of a frame.
+     *
+     * @param context the shape context of the frame
+     * @return the number of points {@link #sample(ShapeContext, PointBuffer)} appends
+     */
+    int pointCount(ShapeContext context);
+
+    /**
+     * Writes a range of the points of a frame into a pre-sized buffer region.
+     * <p>
+     * Point {@code i} of the frame is written to buffer index {@code offset + i}. The
+     * buffer is not resized, so the region must already exist, for example from
+     * {@link PointBuffer#grow(int)}.
+     *
+     * @param context   the shape context of the frame
+     * @param points    buffer holding the region
+     * @param offset    buffer index of point {@code 0} of the frame
+     * @param fromIndex first point index to write, inclusive
+     * @param toIndex   last point index to write, exclusive
+     */
+    void sampleRange(ShapeContext context, PointBuffer points, int offset, int fromIndex, int toIndex);
+
+    /**
+     * Appends all points of a frame by sampling their whole range.
+     *
+     * @param context the shape context
+     * @param points  mutable frame-local point buffer to append points to
+     */
+    @Override
+    default void sample(ShapeContext context, PointBuffer points) {
+        int count = pointCount(context);
+        sampleRange(context, points, points.grow(count), 0, count);
+    }
+}
@@ -24,4 +24,14 @@ public interface Shape {
      * @param points  mutable frame-local point buffer to append points to
      */
     void sample(ShapeContext context, PointBuffer points);
+
+    /**
+     * Returns whether this shape appends the same points for every context.
+     * Composite shapes may sample static children once and reuse their points.
+     *
+     * @return {@code true} if the sampled points never depend on the shape context
+     */
+    default boolean isStatic() {
+        return false;
+    }
 }
@@ -2,17 +2,26 @@ package com.github.roleplaycauldron.spellbook.effect.shape;
 
 import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
 import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
+import com.github.roleplaycauldron.spellbook.effect.expression.Expression;
+
+import java.util.Objects;
 
 /**
  * Represents a sphere-shaped particle effect.
  * This shape samples points on the surface of a sphere.
+ * <p>
+ * The radius may be an {@link Expression}. A constant radius keeps the precomputed
+ * point distribution, other radii are evaluated once per frame, or once per point if
+ * the expression uses the point index.
  */
-public final class SphereShape implements Shape {
+public final class SphereShape implements RangeSampledShape {
 
     private static final float GOLDEN_ANGLE = (float) (Math.PI * (3.0 - Math.sqrt(5.0)));
 
     private final float radius;
 
+    private final Expression radiusExpression;
+
     private final int points;
 
     private final float angularSpeed;
@@ -37,23 +46,66 @@ public final class SphereShape implements Shape {
      * @param angularSpeed additional angle in radians per step for rotating the point distribution
      */
     public SphereShape(float radius, int points, float angularSpeed) {
+        this(radius, null, points, angularSpeed);
+    }
+
+    /**
+     * Creates a sphere shape whose radius is computed by an expression.
+     *
+     * @param radius       the sphere radius; a constant radius must be greater than 0
+     * @param points       the number of points to sample on the sphere surface; must be greater than 0
+     * @param angularSpeed additional angle in radians per step for rotating the point distribution
+     */
+    public SphereShape(Expression radius, int points, float angularSpeed) {
+        this(
+                Objects.requireNonNull(radius, "radius").isConstant() ? (float) radius.evaluate(0, 0, 0, 0) : 1f,
+                radius.isConstant() ? null : radius,
+                points,
+                angularSpeed
+        );
+    }
+
+    private SphereShape(float radius, Expression radiusExpression, int points, float angularSpeed) {
         if (radius <= 0) throw new IllegalArgumentException("radius must be > 0");
         if (points <= 0) throw new IllegalArgumentException("points must be > 0");
 
         this.radius = radius;
+        this.radiusExpression = radiusExpression;
         this.points = points;
         this.angularSpeed = angularSpeed;
-        this.staticPoints = angularSpeed == 0f ? buildPoints(0f) : null;
+        this.staticPoints = angularSpeed == 0f && radiusExpression == null ? buildPoints(0f) : null;
+    }
+
+    @Override
+    public boolean isStatic() {
+        return staticPoints != null;
+    }
+
+    @Override
+    public int pointCount(ShapeContext context) {
+        return points;
     }
 
     @Override
     public void sample(ShapeContext context, PointBuffer points) {
-        float baseAngle = context.step() * angularSpeed;
-        float[] sampled = staticPoints == null ? buildPoints(baseAngle) : staticPoints;
+        sampleRange(context, points, points.grow(this.points), 0, this.points);
+    }
+
+    @Override
+    public void sampleRange(ShapeContext context, PointBuffer points, int offset, int fromIndex, int toIndex) {
+        if (staticPoints != null) {
+            for (int i = fromIndex; i < toIndex; i++) {
+                int index = i * 3;
+                points.set(offset + i, staticPoints[index], staticPoints[index + 1], staticPoints[index + 2]);
+            }
+            return;
+        }
 
-        points.ensureCapacity(points.size() + this.points);
-        for (int i = 0; i < sampled.length; i += 3) {
-            points.add(sampled[i], sampled[i + 1], sampled[i + 2]);
+        float baseAngle = context.step() * angularSpeed;
+        if (radiusExpression == null) {
+            writePoints(points, offset, fromIndex, toIndex, baseAngle);
+        } else {
+            writePoints(points, offset, fromIndex, toIndex, baseAngle, context);
         }
     }
 
@@ -77,4 +129,39 @@ public final class SphereShape implements Shape {
 
         return result;
     }
+
+    private void writePoints(PointBuffer points, int offset, int fromIndex, int toIndex, float baseAngle) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            float t = this.points == 1 ? 0.5f : (float) i / (this.points - 1);
+            float y = 1f - 2f * t;
+            float radial = (float) Math.sqrt(Math.max(0f, 1f - y * y));
+            float angle = i * GOLDEN_ANGLE + baseAngle;
+
+            float x = (float) Math.cos(angle) * radial;
+            float z = (float) Math.sin(angle) * radial;
+
+            points.set(offset + i, x * radius, y * radius, z * radius);
+        }
+    }
+
+    private void writePoints(PointBuffer points, int offset, int fromIndex, int toIndex, float baseAngle, ShapeContext context) {
+        double step = context.step();
+        double time = context.timeSeconds();
+        double distance = Expression.distance(context.origin(), context.target());
+        boolean perPoint = radiusExpression.isPerPoint();
+        float frameRadius = perPoint ? 0f : (float) radiusExpression.evaluate(step, time, distance, 0);
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            float t = this.points == 1 ? 0.5f : (float) i / (this.points - 1);
+            float y = 1f - 2f * t;
+            float radial = (float) Math.sqrt(Math.max(0f, 1f - y * y));
+            float angle = i * GOLDEN_ANGLE + baseAngle;
+            float pointRadius = perPoint ? (float) radiusExpression.evaluate(step, time, distance, i) : frameRadius;
+
+            float x = (float) Math.cos(angle) * radial;
+            float z = (float) Math.sin(angle) * radial;
+
+            points.set(offset + i, x * pointRadius, y * pointRadius, z * pointRadius);
+        }
+    }
 }
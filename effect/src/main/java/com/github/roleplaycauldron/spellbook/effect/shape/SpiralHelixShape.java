@@ -99,6 +99,11 @@ public final class SpiralHelixShape implements Shape {
         this(strands, particlesPerStrand, radius, height, curve, rotationSpeed, false);
     }
 
+    @Override
+    public boolean isStatic() {
+        return staticPoints != null;
+    }
+
     @Override
     public void sample(ShapeContext context, PointBuffer points) {
         points.ensureCapacity(points.size() + strands * particlesPerStrand);
@@ -0,0 +1,462 @@
+package com.github.roleplaycauldron.spellbook.effect.shape;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A {@code SplinePathShape} generates points along a curved path through control points.
+ * <p>
+ * The path is either a uniform Catmull-Rom spline passing through every control point,
+ * or a chain of cubic Bézier curves. Control points are local to the origin, or relative
+ * to the target for homing paths. Points are placed by arc length, either evenly over the
+ * whole path or as a moving head with trailing points like {@link MovingPointShape}.
+ * <p>
+ * The arc-length lookup table is built once on construction. Paths with target-relative
+ * control points keep one table per running effect through
+ * {@link ShapeContext#state(Object, Supplier)} and rebuild it in place only when the
+ * target offset changes, so executions with different targets do not evict each other's
+ * table and homing paths do not allocate. Placing a point reads the table once and
+ * evaluates one cubic, regardless of the number of control points.
+ */
+public final class SplinePathShape implements Shape {
+
+    private static final int SAMPLES_PER_SPAN = 32;
+
+    private static final int COMPONENTS = 4;
+
+    private static final int SPAN_STRIDE = COMPONENTS * 4;
+
+    private final float[] coefficients;
+
+    private final int spans;
+
+    private final boolean targetRelative;
+
+    private final int points;
+
+    private final int amountPoints;
+
+    private final float speed;
+
+    private final float spacing;
+
+    private final boolean pingPong;
+
+    private final ArcLengthTable table;
+
+    private final Supplier<ArcLengthTable> tableFactory = this::newTable;
+
+    private SplinePathShape(Builder builder) {
+        this.spans = builder.type == Type.CATMULL_ROM
+                ? builder.controlPoints.size() / COMPONENTS - 1
+                : (builder.controlPoints.size() / COMPONENTS - 1) / 3;
+        this.coefficients = builder.type == Type.CATMULL_ROM
+                ? catmullRomCoefficients(builder.controlPoints, spans)
+                : bezierCoefficients(builder.controlPoints, spans);
+        this.targetRelative = builder.targetRelative;
+        this.points = builder.points;
+        this.amountPoints = builder.amountPoints;
+        this.speed = builder.speed;
+        this.spacing = builder.spacing;
+        this.pingPong = builder.pingPong;
+
+        this.table = targetRelative ? null : build(newTable(), 0f, 0f, 0f);
+    }
+
+    /**
+     * Creates a builder for a uniform Catmull-Rom spline passing through all control points.
+     *
+     * @return spline path builder
+     */
+    public static Builder catmullRom() {
+        return new Builder(Type.CATMULL_ROM);
+    }
+
+    /**
+     * Creates a builder for a chain of cubic Bézier curves.
+     * <p>
+     * The control points are {@code start, handle, handle, end, handle, handle, end, ...},
+     * so a chain of {@code n} curves requires {@code 3n + 1} control points.
+     *
+     * @return spline path builder
+     */
+    public static Builder bezier() {
+        return new Builder(Type.BEZIER);
+    }
+
+    @Override
+    public boolean isStatic() {
+        return !targetRelative && points > 0;
+    }
+
+    @Override
+    public void sample(ShapeContext context, PointBuffer points) {
+        float targetX = 0f;
+        float targetY = 0f;
+        float targetZ = 0f;
+        if (targetRelative) {
+            if (context.origin() == null || context.target() == null) {
+                return;
+            }
+            targetX = (float) (context.target().getX() - context.origin().getX());
+            targetY = (float) (context.target().getY() - context.origin().getY());
+            targetZ = (float) (context.target().getZ() - context.origin().getZ());
+        }
+
+        ArcLengthTable lengths = targetRelative ? table(context, targetX, targetY, targetZ) : table;
+        if (this.points > 0) {
+            sampleUniform(lengths, targetX, targetY, targetZ, points);
+        } else {
+            sampleMoving(context, lengths, targetX, targetY, targetZ, points);
+        }
+    }
+
+    private void sampleUniform(ArcLengthTable lengths, float targetX, float targetY, float targetZ, PointBuffer points) {
+        points.ensureCapacity(points.size() + this.points);
+        if (this.points == 1) {
+            add(lengths, 0f, targetX, targetY, targetZ, points);
+            return;
+        }
+
+        for (int i = 0; i < this.points; i++) {
+            add(lengths, lengths.length() * i / (this.points - 1), targetX, targetY, targetZ, points);
+        }
+    }
+
+    private void sampleMoving(ShapeContext context,
+                              ArcLengthTable lengths,
+                              float targetX,
+                              float targetY,
+                              float targetZ,
+                              PointBuffer points) {
+        float length = lengths.length();
+        if (length <= 0f) {
+            return;
+        }
+
+        float traveledDistance = context.step() * spacing * speed;
+        points.ensureCapacity(points.size() + amountPoints);
+        for (int i = 0; i < amountPoints; i++) {
+            float shiftedDistance = traveledDistance - (i * spacing);
+            if (shiftedDistance < 0f) {
+                continue;
+            }
+
+            float distance;
+            if (pingPong) {
+                float wrapped = shiftedDistance % (2.0f * length);
+                distance = wrapped <= length ? wrapped : (2.0f * length) - wrapped;
+            } else {
+                distance = shiftedDistance % length;
+            }
+            add(lengths, distance, targetX, targetY, targetZ, points);
+        }
+    }
+
+    private void add(ArcLengthTable lengths, float distance, float targetX, float targetY, float targetZ, PointBuffer points) {
+        float parameter = lengths.parameterAt(distance);
+        int span = Math.min((int) parameter, spans - 1);
+        float t = parameter - span;
+        int base = span * SPAN_STRIDE;
+
+        float weight = evaluate(base + 3 * 4, t);
+        points.add(
+                evaluate(base, t) + weight * targetX,
+                evaluate(base + 4, t) + weight * targetY,
+                evaluate(base + 8, t) + weight * targetZ
+        );
+    }
+
+    private float evaluate(int offset, float t) {
+        return coefficients[offset]
+                + t * (coefficients[offset + 1] + t * (coefficients[offset + 2] + t * coefficients[offset + 3]));
+    }
+
+    private ArcLengthTable table(ShapeContext context, float targetX, float targetY, float targetZ) {
+        ArcLengthTable lengths = context.state(this, tableFactory);
+        if (!lengths.matches(targetX, targetY, targetZ)) {
+            build(lengths, targetX, targetY, targetZ);
+        }
+        return lengths;
+    }
+
+    private ArcLengthTable newTable() {
+        return new ArcLengthTable(spans * SAMPLES_PER_SPAN);
+    }
+
+    private ArcLengthTable build(ArcLengthTable table, float targetX, float targetY, float targetZ) {
+        int samples = spans * SAMPLES_PER_SPAN;
+        float[] cumulative = table.cumulative;
+        float previousX = position(0, 0f, targetX);
+        float previousY = position(4, 0f, targetY);
+        float previousZ = position(8, 0f, targetZ);
+        cumulative[0] = 0f;
+        for (int i = 1; i <= samples; i++) {
+            float parameter = (float) i / SAMPLES_PER_SPAN;
+            int span = Math.min(i / SAMPLES_PER_SPAN, spans - 1);
+            float t = parameter - span;
+            int base = span * SPAN_STRIDE;
+            float x = position(base, t, targetX);
+            float y = position(base + 4, t, targetY);
+            float z = position(base + 8, t, targetZ);
+            float dx = x - previousX;
+            float dy = y - previousY;
+            float dz = z - previousZ;
+            cumulative[i] = cumulative[i - 1] + (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+            previousX = x;
+            previousY = y;
+            previousZ = z;
+        }
+
+        // Invert the cumulative lengths into parameters at evenly spaced distances
+        float length = cumulative[samples];
+        float[] parameters = table.parameters;
+        int sample = 0;
+        for (int i = 0; i <= samples; i++) {
+            float distance = length * i / samples;
+            while (sample < samples - 1 && cumulative[sample + 1] < distance) {
+                sample++;
+            }
+            float segment = cumulative[sample + 1] - cumulative[sample];
+            float fraction = segment > 0f ? (distance - cumulative[sample]) / segment : 0f;
+            parameters[i] = (sample + Math.min(Math.max(fraction, 0f), 1f)) / SAMPLES_PER_SPAN;
+        }
+        table.set(targetX, targetY, targetZ, length);
+        return table;
+    }
+
+    private float position(int offset, float t, float target) {
+        int weightOffset = offset - (offset % SPAN_STRIDE) + 12;
+        return evaluate(offset, t) + evaluate(weightOffset, t) * target;
+    }
+
+    private static float[] catmullRomCoefficients(List<Float> controlPoints, int spans) {
+        int count = controlPoints.size() / COMPONENTS;
+        float[] result = new float[spans * SPAN_STRIDE];
+        for (int span = 0; span < spans; span++) {
+            for (int component = 0; component < COMPONENTS; component++) {
+                float p0 = component(controlPoints, Math.max(span - 1, 0), component);
+                float p1 = component(controlPoints, span, component);
+                float p2 = component(controlPoints, span + 1, component);
+                float p3 = component(controlPoints, Math.min(span + 2, count - 1), component);
+                int offset = span * SPAN_STRIDE + component * 4;
+                result[offset] = p1;
+                result[offset + 1] = 0.5f * (p2 - p0);
+                result[offset + 2] = 0.5f * (2f * p0 - 5f * p1 + 4f * p2 - p3);
+                result[offset + 3] = 0.5f * (-p0 + 3f * p1 - 3f * p2 + p3);
+            }
+        }
+        return result;
+    }
+
+    private static float[] bezierCoefficients(List<Float> controlPoints, int spans) {
+        float[] result = new float[spans * SPAN_STRIDE];
+        for (int span = 0; span < spans; span++) {
+            for (int component = 0; component < COMPONENTS; component++) {
+                float p0 = component(controlPoints, span * 3, component);
+                float p1 = component(controlPoints, span * 3 + 1, component);
+                float p2 = component(controlPoints, span * 3 + 2, component);
+                float p3 = component(controlPoints, span * 3 + 3, component);
+                int offset = span * SPAN_STRIDE + component * 4;
+                result[offset] = p0;
+                result[offset + 1] = 3f * (p1 - p0);
+                result[offset + 2] = 3f * (p0 - 2f * p1 + p2);
+                result[offset + 3] = -p0 + 3f * p1 - 3f * p2 + p3;
+            }
+        }
+        return result;
+    }
+
+    private static float component(List<Float> controlPoints, int point, int component) {
+        return controlPoints.get(point * COMPONENTS + component);
+    }
+
+    private enum Type {
+        CATMULL_ROM,
+        BEZIER
+    }
+
+    /**
+     * Arc-length table for one target offset, rebuilt in place when the offset changes.
+     */
+    private static final class ArcLengthTable {
+
+        private final float[] cumulative;
+
+        // Spline parameter at evenly spaced distances from 0 to length
+        private final float[] parameters;
+
+        private boolean built;
+
+        private float targetX;
+
+        private float targetY;
+
+        private float targetZ;
+
+        private float length;
+
+        private ArcLengthTable(int samples) {
+            this.cumulative = new float[samples + 1];
+            this.parameters = new float[samples + 1];
+        }
+
+        private void set(float targetX, float targetY, float targetZ, float length) {
+            this.targetX = targetX;
+            this.targetY = targetY;
+            this.targetZ = targetZ;
+            this.length = length;
+            this.built = true;
+        }
+
+        private boolean matches(float x, float y, float z) {
+            return built && targetX == x && targetY == y && targetZ == z;
+        }
+
+        private float length() {
+            return length;
+        }
+
+        private float parameterAt(float distance) {
+            int last = parameters.length - 1;
+            if (length <= 0f || distance <= 0f) {
+                return parameters[0];
+            }
+            if (distance >= length) {
+                return parameters[last];
+            }
+
+            float position = distance / length * last;
+            int index = (int) position;
+            float fraction = position - index;
+            return parameters[index] + (parameters[index + 1] - parameters[index]) * fraction;
+        }
+    }
+
+    /**
+     * Builder for {@link SplinePathShape}.
+     */
+    public static final class Builder {
+        private final Type type;
+
+        // x, y, z, and target weight per control point
+        private final List<Float> controlPoints = new ArrayList<>();
+
+        private boolean targetRelative;
+
+        private int points;
+
+        private int amountPoints;
+
+        private float speed;
+
+        private float spacing;
+
+        private boolean pingPong;
+
+        private Builder(Type type) {
+            this.type = type;
+        }
+
+        /**
+         * Adds a control point relative to the origin.
+         *
+         * @param x local x coordinate
+         * @param y local y coordinate
+         * @param z local z coordinate
+         * @return this builder
+         */
+        public Builder point(float x, float y, float z) {
+            return addPoint(x, y, z, 0f);
+        }
+
+        /**
+         * Adds a control point relative to the target. The path then requires a target
+         * and follows it as it moves.
+         *
+         * @param x x offset from the target
+         * @param y y offset from the target
+         * @param z z offset from the target
+         * @return this builder
+         */
+        public Builder targetPoint(float x, float y, float z) {
+            targetRelative = true;
+            return addPoint(x, y, z, 1f);
+        }
+
+        /**
+         * Places the given number of points evenly spaced along the whole path.
+         *
+         * @param points number of points; must be greater than 0
+         * @return this builder
+         */
+        public Builder uniform(int points) {
+            if (points <= 0) {
+                throw new IllegalArgumentException("points must be > 0");
+            }
+            this.points = points;
+            this.amountPoints = 0;
+            return this;
+        }
+
+        /**
+         * Moves a head with trailing points along the path, like {@link MovingPointShape}.
+         *
+         * @param speed        the speed at which the points move along the path; must be greater than 0
+         * @param spacing      the path distance between each point; must be greater than 0
+         * @param amountPoints the number of points to generate; must be greater than 0
+         * @param pingPong     whether the points bounce back and forth instead of restarting at the beginning
+         * @return this builder
+         */
+        public Builder movingHead(float speed, float spacing, int amountPoints, boolean pingPong) {
+            if (speed <= 0f) {
+                throw new IllegalArgumentException("speed must be > 0");
+            }
+            if (spacing <= 0f) {
+                throw new IllegalArgumentException("spacing must be > 0");
+            }
+            if (amountPoints <= 0) {
+                throw new IllegalArgumentException("amountPoints must be > 0");
+            }
+            this.speed = speed;
+            this.spacing = spacing;
+            this.amountPoints = amountPoints;
+            this.points = 0;
+            this.pingPong = pingPong;
+            return this;
+        }
+
+        /**
+         * Creates the configured spline path shape.
+         *
+         * @return spline path shape
+         * @throws IllegalStateException if the control point count does not fit the spline type
+         *                               or no point placement was configured
+         */
+        public SplinePathShape build() {
+            int count = controlPoints.size() / COMPONENTS;
+            if (type == Type.CATMULL_ROM && count < 2) {
+                throw new IllegalStateException("catmull-rom splines require at least 2 control points");
+            }
+            if (type == Type.BEZIER && (count < 4 || (count - 1) % 3 != 0)) {
+                throw new IllegalStateException("bezier splines require 3n + 1 control points");
+            }
+            if (points == 0 && amountPoints == 0) {
+                throw new IllegalStateException("uniform points or a moving head must be set");
+            }
+            return new SplinePathShape(this);
+        }
+
+        private Builder addPoint(float x, float y, float z, float targetWeight) {
+            controlPoints.add(x);
+            controlPoints.add(y);
+            controlPoints.add(z);
+            controlPoints.add(targetWeight);
+            return this;
+        }
+    }
+}
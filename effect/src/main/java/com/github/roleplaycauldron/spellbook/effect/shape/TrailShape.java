@@ -0,0 +1,142 @@
+package com.github.roleplaycauldron.spellbook.effect.shape;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.RingPointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.function.Supplier;
+
+/**
+ * A trail following the origin of the effect, such as a moving entity.
+ * <p>
+ * Every step records the world position of the origin into a fixed-capacity
+ * {@link RingPointBuffer}, and every frame appends the recorded positions relative to the
+ * current origin, newest first. The history belongs to the running effect through
+ * {@link ShapeContext#state(Object, Supplier)}, so one shape can be shared by many
+ * executions. Recording and sampling neither shift points nor allocate.
+ * <p>
+ * Trails may fade out by thinning: points older than {@code fadeStart} of the trail
+ * length are kept with a density falling linearly to {@code minDensity} at the end of
+ * the trail. Whether a point is kept depends on the point itself, not on its current
+ * position in the trail, so thinned trails do not flicker while they move.
+ */
+public final class TrailShape implements Shape {
+
+    private static final double GOLDEN_RATIO_FRACTION = 0.6180339887498949;
+
+    private final int length;
+
+    private final float fadeStart;
+
+    private final float minDensity;
+
+    private final Supplier<History> historyFactory = this::newHistory;
+
+    /**
+     * Creates a trail without fading.
+     *
+     * @param length the number of recorded steps; must be greater than 0
+     * @throws IllegalArgumentException if the length is not positive
+     */
+    public TrailShape(int length) {
+        this(length, 1f, 1f);
+    }
+
+    /**
+     * Creates a trail that fades out by thinning its older points.
+     *
+     * @param length     the number of recorded steps; must be greater than 0
+     * @param fadeStart  the relative age from which points are thinned; between 0 and 1
+     * @param minDensity the fraction of points kept at the end of the trail; between 0 and 1
+     * @throws IllegalArgumentException if a parameter is out of range
+     */
+    public TrailShape(int length, float fadeStart, float minDensity) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("length must be > 0");
+        }
+        if (!(fadeStart >= 0f && fadeStart <= 1f)) {
+            throw new IllegalArgumentException("fadeStart must be between 0 and 1");
+        }
+        if (!(minDensity >= 0f && minDensity <= 1f)) {
+            throw new IllegalArgumentException("minDensity must be between 0 and 1");
+        }
+        this.length = length;
+        this.fadeStart = fadeStart;
+        this.minDensity = minDensity;
+    }
+
+    @Override
+    public void sample(ShapeContext context, PointBuffer points) {
+        Location origin = context.origin();
+        if (origin == null) {
+            return;
+        }
+
+        History history = context.state(this, historyFactory);
+        history.record(context.step(), origin);
+
+        RingPointBuffer positions = history.positions;
+        int size = positions.size();
+        points.ensureCapacity(points.size() + size);
+        double originX = origin.getX();
+        double originY = origin.getY();
+        double originZ = origin.getZ();
+        for (int age = 0; age < size; age++) {
+            int index = size - 1 - age;
+            if (minDensity < 1f && !keep(positions.sequence(index), age)) {
+                continue;
+            }
+            points.add(
+                    (float) (positions.x(index) - originX),
+                    (float) (positions.y(index) - originY),
+                    (float) (positions.z(index) - originZ)
+            );
+        }
+    }
+
+    private boolean keep(long sequence, int age) {
+        float relativeAge = length == 1 ? 0f : (float) age / (length - 1);
+        if (relativeAge <= fadeStart) {
+            return true;
+        }
+        float fade = (relativeAge - fadeStart) / (1f - fadeStart);
+        float density = 1f - (1f - minDensity) * fade;
+        double dither = sequence * GOLDEN_RATIO_FRACTION;
+        return dither - Math.floor(dither) < density;
+    }
+
+    private History newHistory() {
+        return new History(new RingPointBuffer(length));
+    }
+
+    /**
+     * Recorded positions of one running effect.
+     */
+    private static final class History {
+
+        private final RingPointBuffer positions;
+
+        private World world;
+
+        private int lastStep = -1;
+
+        private History(RingPointBuffer positions) {
+            this.positions = positions;
+        }
+
+        private void record(int step, Location origin) {
+            World originWorld = origin.getWorld();
+            if (step < lastStep || originWorld != world) {
+                // Restarted effects and world changes start a new trail
+                positions.clear();
+                world = originWorld;
+            } else if (step == lastStep) {
+                return;
+            }
+            lastStep = step;
+            positions.add(origin.getX(), origin.getY(), origin.getZ());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.roleplaycauldron.spellbook.effect.shape.morph;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Easing curves for {@link MorphSequence} segments.
+ * <p>
+ * Every curve is evaluated once into a lookup table when the enum is loaded.
+ * {@link #ease(float)} interpolates linearly between table entries, so easing
+ * a frame costs one multiply, one table read pair, and one lerp regardless of
+ * the curve.
+ */
+public enum MorphEasing {
+
+    /**
+     * Constant speed.
+     */
+    LINEAR(t -> t),
+
+    /**
+     * Starts slow and accelerates.
+     */
+    EASE_IN(t -> t * t * t),
+
+    /**
+     * Starts fast and decelerates.
+     */
+    EASE_OUT(t -> 1 - Math.pow(1 - t, 3)),
+
+    /**
+     * Starts and ends slow.
+     */
+    EASE_IN_OUT(t -> t < 0.5 ? 4 * t * t * t : 1 - Math.pow(-2 * t + 2, 3) / 2);
+
+    private static final int TABLE_SIZE = 256;
+
+    private final float[] table = new float[TABLE_SIZE + 1];
+
+    MorphEasing(DoubleUnaryOperator curve) {
+        for (int i = 0; i <= TABLE_SIZE; i++) {
+            table[i] = (float) curve.applyAsDouble(i / (double) TABLE_SIZE);
+        }
+    }
+
+    /**
+     * Returns the eased progress for a linear progress value.
+     *
+     * @param progress linear progress; values outside {@code 0..1} are clamped
+     * @return eased progress
+     */
+    public float ease(float progress) {
+        if (!(progress > 0f)) {
+            return table[0];
+        }
+        if (progress >= 1f) {
+            return table[TABLE_SIZE];
+        }
+
+        float position = progress * TABLE_SIZE;
+        int index = (int) position;
+        float fraction = position - index;
+        return table[index] + (table[index + 1] - table[index]) * fraction;
+    }
+}
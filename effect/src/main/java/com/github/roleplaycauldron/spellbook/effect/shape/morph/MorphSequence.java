@@ -0,0 +1,203 @@
+package com.github.roleplaycauldron.spellbook.effect.shape.morph;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
+import com.github.roleplaycauldron.spellbook.effect.shape.Shape;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Shape that morphs through a sequence of keyframe shapes.
+ * <p>
+ * Consecutive keyframes form segments with their own duration and
+ * {@link MorphEasing easing}. Every segment is a {@link MorphShape} between its
+ * two keyframes, so each frame only samples the two keyframes of the active
+ * segment, and static keyframes and index mappings are cached per segment.
+ * <p>
+ * Before the first segment starts, the first keyframe is sampled. After the last
+ * segment ends, the last keyframe is sampled unless the sequence loops.
+ */
+public final class MorphSequence implements Shape {
+
+    private final MorphShape[] segments;
+
+    private final float[] segmentEnds;
+
+    private final boolean timeInSeconds;
+
+    private final boolean loop;
+
+    private final float totalDuration;
+
+    private MorphSequence(Builder builder) {
+        int count = builder.keyframes.size() - 1;
+        this.segments = new MorphShape[count];
+        this.segmentEnds = new float[count];
+
+        float totalDuration = 0f;
+        for (int i = 0; i < count; i++) {
+            totalDuration += builder.durations.get(i);
+            segmentEnds[i] = totalDuration;
+        }
+
+        float start = 0f;
+        for (int i = 0; i < count; i++) {
+            MorphProgress progress = segmentProgress(
+                    builder.timeInSeconds, builder.loop, totalDuration,
+                    start, builder.durations.get(i), builder.easings.get(i)
+            );
+            segments[i] = MorphShape.between(builder.keyframes.get(i), builder.keyframes.get(i + 1))
+                    .progress(progress)
+                    .strategy(builder.strategy)
+                    .build();
+            start = segmentEnds[i];
+        }
+
+        this.timeInSeconds = builder.timeInSeconds;
+        this.loop = builder.loop;
+        this.totalDuration = totalDuration;
+    }
+
+    /**
+     * Creates a builder for a sequence starting at the given keyframe.
+     *
+     * @param first keyframe shown before the first segment starts
+     * @return morph sequence builder
+     */
+    public static Builder startingWith(Shape first) {
+        return new Builder(first);
+    }
+
+    private static float position(ShapeContext context, boolean timeInSeconds, boolean loop, float totalDuration) {
+        float position = timeInSeconds ? (float) context.timeSeconds() : context.step();
+        if (loop) {
+            position %= totalDuration;
+            if (position < 0f) {
+                position += totalDuration;
+            }
+        }
+        return position;
+    }
+
+    private static MorphProgress segmentProgress(boolean timeInSeconds,
+                                                 boolean loop,
+                                                 float totalDuration,
+                                                 float start,
+                                                 float duration,
+                                                 MorphEasing easing) {
+        return context -> easing.ease((position(context, timeInSeconds, loop, totalDuration) - start) / duration);
+    }
+
+    /**
+     * Samples the two keyframes of the active segment and appends the morphed points.
+     *
+     * @param context current shape context
+     * @param points  output point buffer to append morphed points to
+     */
+    @Override
+    public void sample(ShapeContext context, PointBuffer points) {
+        float position = position(context, timeInSeconds, loop, totalDuration);
+        int segment = 0;
+        while (segment < segmentEnds.length - 1 && position >= segmentEnds[segment]) {
+            segment++;
+        }
+        segments[segment].sample(context, points);
+    }
+
+    /**
+     * Builder for {@link MorphSequence}.
+     */
+    public static final class Builder {
+        private final List<Shape> keyframes = new ArrayList<>();
+
+        private final List<Float> durations = new ArrayList<>();
+
+        private final List<MorphEasing> easings = new ArrayList<>();
+
+        private MorphPointStrategy strategy = MorphPointStrategies.matchIndex();
+
+        private boolean timeInSeconds;
+
+        private boolean loop;
+
+        private Builder(Shape first) {
+            keyframes.add(Objects.requireNonNull(first, "first"));
+        }
+
+        /**
+         * Adds a keyframe reached linearly after the given duration.
+         *
+         * @param next     keyframe to morph to
+         * @param duration duration of the segment in steps, or seconds after {@link #inSeconds()}
+         * @return this builder
+         */
+        public Builder then(Shape next, float duration) {
+            return then(next, duration, MorphEasing.LINEAR);
+        }
+
+        /**
+         * Adds a keyframe reached after the given duration with the given easing.
+         *
+         * @param next     keyframe to morph to
+         * @param duration duration of the segment in steps, or seconds after {@link #inSeconds()}
+         * @param easing   easing applied to the segment progress
+         * @return this builder
+         */
+        public Builder then(Shape next, float duration, MorphEasing easing) {
+            if (duration <= 0f) {
+                throw new IllegalArgumentException("duration must be > 0");
+            }
+            keyframes.add(Objects.requireNonNull(next, "next"));
+            durations.add(duration);
+            easings.add(Objects.requireNonNull(easing, "easing"));
+            return this;
+        }
+
+        /**
+         * Measures segment durations in elapsed seconds instead of render steps.
+         *
+         * @return this builder
+         */
+        public Builder inSeconds() {
+            this.timeInSeconds = true;
+            return this;
+        }
+
+        /**
+         * Sets whether the sequence restarts at the first keyframe after the last segment.
+         *
+         * @param loop {@code true} to loop the sequence
+         * @return this builder
+         */
+        public Builder loop(boolean loop) {
+            this.loop = loop;
+            return this;
+        }
+
+        /**
+         * Sets the point pairing or resampling strategy used by every segment.
+         *
+         * @param strategy strategy used to choose output point count and source/target indexes
+         * @return this builder
+         */
+        public Builder strategy(MorphPointStrategy strategy) {
+            this.strategy = Objects.requireNonNull(strategy, "strategy");
+            return this;
+        }
+
+        /**
+         * Creates the configured morph sequence.
+         *
+         * @return morph sequence
+         * @throws IllegalStateException if fewer than two keyframes were added
+         */
+        public MorphSequence build() {
+            if (keyframes.size() < 2) {
+                throw new IllegalStateException("at least two keyframes are required");
+            }
+            return new MorphSequence(this);
+        }
+    }
+}
@@ -15,8 +15,11 @@ import java.util.Objects;
  * local-space points to the provided output buffer.
  * <p>
  * Temporary child samples are stored in frame-local scratch buffers obtained
- * from {@link ShapeContext#scratchBuffer(int)}. The morph shape does not retain
- * sampled point data between frames.
+ * from {@link ShapeContext#scratchBuffer(int)}. When both children are
+ * {@link Shape#isStatic() static}, they are sampled once on construction and
+ * their points are reused for every frame. The source and target index
+ * mapping of the strategy is cached for the last seen pair of child sizes, so
+ * a steady-state morph only interpolates.
  */
 public final class MorphShape implements Shape {
 
@@ -28,11 +31,25 @@ public final class MorphShape implements Shape {
 
     private final MorphPointStrategy strategy;
 
+    private final float[] staticSource;
+
+    private final float[] staticTarget;
+
+    private volatile IndexMapping mapping;
+
     private MorphShape(Builder builder) {
         this.source = Objects.requireNonNull(builder.source, "source");
         this.target = Objects.requireNonNull(builder.target, "target");
         this.progress = Objects.requireNonNull(builder.progress, "progress");
         this.strategy = Objects.requireNonNull(builder.strategy, "strategy");
+
+        if (source.isStatic() && target.isStatic()) {
+            this.staticSource = sampleOnce(source);
+            this.staticTarget = sampleOnce(target);
+        } else {
+            this.staticSource = null;
+            this.staticTarget = null;
+        }
     }
 
     /**
@@ -73,6 +90,11 @@ public final class MorphShape implements Shape {
      */
     @Override
     public void sample(ShapeContext context, PointBuffer points) {
+        if (staticSource != null) {
+            sampleStatic(context, points);
+            return;
+        }
+
         PointBuffer sourcePoints = context.scratchBuffer(0);
         PointBuffer targetPoints = context.scratchBuffer(1);
         sourcePoints.clear();
@@ -90,11 +112,13 @@ public final class MorphShape implements Shape {
         }
 
         float clampedProgress = clamp(progress.progress(context));
-        int outputSize = strategy.outputSize(sourceSize, targetSize);
-        points.ensureCapacity(points.size() + outputSize);
-        for (int i = 0; i < outputSize; i++) {
-            int sourceIndex = strategy.sourceIndex(i, outputSize, sourceSize);
-            int targetIndex = strategy.targetIndex(i, outputSize, targetSize);
+        IndexMapping indexes = mapping(sourceSize, targetSize);
+        int[] sourceIndexes = indexes.sourceIndexes();
+        int[] targetIndexes = indexes.targetIndexes();
+        points.ensureCapacity(points.size() + sourceIndexes.length);
+        for (int i = 0; i < sourceIndexes.length; i++) {
+            int sourceIndex = sourceIndexes[i];
+            int targetIndex = targetIndexes[i];
             float x = lerp(sourcePoints.x(sourceIndex), targetPoints.x(targetIndex), clampedProgress);
             float y = lerp(sourcePoints.y(sourceIndex), targetPoints.y(targetIndex), clampedProgress);
             float z = lerp(sourcePoints.z(sourceIndex), targetPoints.z(targetIndex), clampedProgress);
@@ -102,6 +126,70 @@ public final class MorphShape implements Shape {
         }
     }
 
+    private void sampleStatic(ShapeContext context, PointBuffer points) {
+        if (staticSource.length == 0 || staticTarget.length == 0) {
+            return;
+        }
+
+        float clampedProgress = clamp(progress.progress(context));
+        IndexMapping indexes = mapping(staticSource.length / 3, staticTarget.length / 3);
+        int[] sourceIndexes = indexes.sourceIndexes();
+        int[] targetIndexes = indexes.targetIndexes();
+        points.ensureCapacity(points.size() + sourceIndexes.length);
+        for (int i = 0; i < sourceIndexes.length; i++) {
+            int sourceOffset = sourceIndexes[i] * 3;
+            int targetOffset = targetIndexes[i] * 3;
+            points.add(
+                    lerp(staticSource[sourceOffset], staticTarget[targetOffset], clampedProgress),
+                    lerp(staticSource[sourceOffset + 1], staticTarget[targetOffset + 1], clampedProgress),
+                    lerp(staticSource[sourceOffset + 2], staticTarget[targetOffset + 2], clampedProgress)
+            );
+        }
+    }
+
+    private IndexMapping mapping(int sourceSize, int targetSize) {
+        IndexMapping cached = mapping;
+        if (cached != null && cached.sourceSize() == sourceSize && cached.targetSize() == targetSize) {
+            return cached;
+        }
+
+        int outputSize = strategy.outputSize(sourceSize, targetSize);
+        int[] sourceIndexes = new int[outputSize];
+        int[] targetIndexes = new int[outputSize];
+        for (int i = 0; i < outputSize; i++) {
+            sourceIndexes[i] = strategy.sourceIndex(i, outputSize, sourceSize);
+            targetIndexes[i] = strategy.targetIndex(i, outputSize, targetSize);
+        }
+
+        IndexMapping computed = new IndexMapping(sourceSize, targetSize, sourceIndexes, targetIndexes);
+        mapping = computed;
+        return computed;
+    }
+
+    private static float[] sampleOnce(Shape shape) {
+        PointBuffer sampled = new PointBuffer();
+        shape.sample(new ShapeContext(0, 0.0, null, null), sampled);
+
+        float[] coordinates = new float[sampled.size() * 3];
+        for (int i = 0; i < sampled.size(); i++) {
+            coordinates[i * 3] = sampled.x(i);
+            coordinates[i * 3 + 1] = sampled.y(i);
+            coordinates[i * 3 + 2] = sampled.z(i);
+        }
+        return coordinates;
+    }
+
+    /**
+     * Source and target indexes of every output point for one pair of child sizes.
+     *
+     * @param sourceSize    source point count the mapping was computed for
+     * @param targetSize    target point count the mapping was computed for
+     * @param sourceIndexes source index per output point
+     * @param targetIndexes target index per output point
+     */
+    private record IndexMapping(int sourceSize, int targetSize, int[] sourceIndexes, int[] targetIndexes) {
+    }
+
     /**
      * Builder for {@link MorphShape}.
      */
@@ -0,0 +1,217 @@
+package com.github.roleplaycauldron.spellbook.effect.shape.text;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+
+import java.util.Objects;
+
+/**
+ * A {@link GlyphFont} backed by column-major pixel bitmaps.
+ * <p>
+ * Every glyph is stored as {@code glyphWidth} column masks, where bit {@code 0} is the
+ * top pixel row. Glyphs are spaced proportionally: leading empty columns are trimmed and
+ * the advance is the lit width plus one column. Each lit pixel is rasterized into
+ * {@code density × density} points centered within the pixel.
+ */
+public final class BitmapGlyphFont implements GlyphFont {
+
+    private static final BitmapGlyphFont STANDARD = new BitmapGlyphFont(' ', 5, 7, new int[]{
+            0x00, 0x00, 0x00, 0x00, 0x00, // space
+            0x00, 0x00, 0x5F, 0x00, 0x00, // !
+            0x00, 0x07, 0x00, 0x07, 0x00, // "
+            0x14, 0x7F, 0x14, 0x7F, 0x14, // #
+            0x24, 0x2A, 0x7F, 0x2A, 0x12, // $
+            0x23, 0x13, 0x08, 0x64, 0x62, // %
+            0x36, 0x49, 0x55, 0x22, 0x50, // &
+            0x00, 0x05, 0x03, 0x00, 0x00, // '
+            0x00, 0x1C, 0x22, 0x41, 0x00, // (
+            0x00, 0x41, 0x22, 0x1C, 0x00, // )
+            0x08, 0x2A, 0x1C, 0x2A, 0x08, // *
+            0x08, 0x08, 0x3E, 0x08, 0x08, // +
+            0x00, 0x50, 0x30, 0x00, 0x00, // ,
+            0x08, 0x08, 0x08, 0x08, 0x08, // -
+            0x00, 0x60, 0x60, 0x00, 0x00, // .
+            0x20, 0x10, 0x08, 0x04, 0x02, // /
+            0x3E, 0x51, 0x49, 0x45, 0x3E, // 0
+            0x00, 0x42, 0x7F, 0x40, 0x00, // 1
+            0x42, 0x61, 0x51, 0x49, 0x46, // 2
+            0x21, 0x41, 0x45, 0x4B, 0x31, // 3
+            0x18, 0x14, 0x12, 0x7F, 0x10, // 4
+            0x27, 0x45, 0x45, 0x45, 0x39, // 5
+            0x3C, 0x4A, 0x49, 0x49, 0x30, // 6
+            0x01, 0x71, 0x09, 0x05, 0x03, // 7
+            0x36, 0x49, 0x49, 0x49, 0x36, // 8
+            0x06, 0x49, 0x49, 0x29, 0x1E, // 9
+            0x00, 0x36, 0x36, 0x00, 0x00, // :
+            0x00, 0x56, 0x36, 0x00, 0x00, // ;
+            0x08, 0x14, 0x22, 0x41, 0x00, // <
+            0x14, 0x14, 0x14, 0x14, 0x14, // =
+            0x00, 0x41, 0x22, 0x14, 0x08, // >
+            0x02, 0x01, 0x51, 0x09, 0x06, // ?
+            0x32, 0x49, 0x79, 0x41, 0x3E, // @
+            0x7E, 0x11, 0x11, 0x11, 0x7E, // A
+            0x7F, 0x49, 0x49, 0x49, 0x36, // B
+            0x3E, 0x41, 0x41, 0x41, 0x22, // C
+            0x7F, 0x41, 0x41, 0x22, 0x1C, // D
+            0x7F, 0x49, 0x49, 0x49, 0x41, // E
+            0x7F, 0x09, 0x09, 0x09, 0x01, // F
+            0x3E, 0x41, 0x49, 0x49, 0x7A, // G
+            0x7F, 0x08, 0x08, 0x08, 0x7F, // H
+            0x00, 0x41, 0x7F, 0x41, 0x00, // I
+            0x20, 0x40, 0x41, 0x3F, 0x01, // J
+            0x7F, 0x08, 0x14, 0x22, 0x41, // K
+            0x7F, 0x40, 0x40, 0x40, 0x40, // L
+            0x7F, 0x02, 0x0C, 0x02, 0x7F, // M
+            0x7F, 0x04, 0x08, 0x10, 0x7F, // N
+            0x3E, 0x41, 0x41, 0x41, 0x3E, // O
+            0x7F, 0x09, 0x09, 0x09, 0x06, // P
+            0x3E, 0x41, 0x51, 0x21, 0x5E, // Q
+            0x7F, 0x09, 0x19, 0x29, 0x46, // R
+            0x46, 0x49, 0x49, 0x49, 0x31, // S
+            0x01, 0x01, 0x7F, 0x01, 0x01, // T
+            0x3F, 0x40, 0x40, 0x40, 0x3F, // U
+            0x1F, 0x20, 0x40, 0x20, 0x1F, // V
+            0x3F, 0x40, 0x38, 0x40, 0x3F, // W
+            0x63, 0x14, 0x08, 0x14, 0x63, // X
+            0x07, 0x08, 0x70, 0x08, 0x07, // Y
+            0x61, 0x51, 0x49, 0x45, 0x43, // Z
+            0x00, 0x7F, 0x41, 0x41, 0x00, // [
+            0x02, 0x04, 0x08, 0x10, 0x20, // backslash
+            0x00, 0x41, 0x41, 0x7F, 0x00, // ]
+            0x04, 0x02, 0x01, 0x02, 0x04, // ^
+            0x40, 0x40, 0x40, 0x40, 0x40, // _
+            0x00, 0x01, 0x02, 0x04, 0x00, // `
+            0x20, 0x54, 0x54, 0x54, 0x78, // a
+            0x7F, 0x48, 0x44, 0x44, 0x38, // b
+            0x38, 0x44, 0x44, 0x44, 0x20, // c
+            0x38, 0x44, 0x44, 0x48, 0x7F, // d
+            0x38, 0x54, 0x54, 0x54, 0x18, // e
+            0x08, 0x7E, 0x09, 0x01, 0x02, // f
+            0x0C, 0x52, 0x52, 0x52, 0x3E, // g
+            0x7F, 0x08, 0x04, 0x04, 0x78, // h
+            0x00, 0x44, 0x7D, 0x40, 0x00, // i
+            0x20, 0x40, 0x44, 0x3D, 0x00, // j
+            0x7F, 0x10, 0x28, 0x44, 0x00, // k
+            0x00, 0x41, 0x7F, 0x40, 0x00, // l
+            0x7C, 0x04, 0x18, 0x04, 0x78, // m
+            0x7C, 0x08, 0x04, 0x04, 0x78, // n
+            0x38, 0x44, 0x44, 0x44, 0x38, // o
+            0x7C, 0x14, 0x14, 0x14, 0x08, // p
+            0x08, 0x14, 0x14, 0x18, 0x7C, // q
+            0x7C, 0x08, 0x04, 0x04, 0x08, // r
+            0x48, 0x54, 0x54, 0x54, 0x20, // s
+            0x04, 0x3F, 0x44, 0x40, 0x20, // t
+            0x3C, 0x40, 0x40, 0x20, 0x7C, // u
+            0x1C, 0x20, 0x40, 0x20, 0x1C, // v
+            0x3C, 0x40, 0x30, 0x40, 0x3C, // w
+            0x44, 0x28, 0x10, 0x28, 0x44, // x
+            0x0C, 0x50, 0x50, 0x50, 0x3C, // y
+            0x44, 0x64, 0x54, 0x4C, 0x44, // z
+            0x00, 0x08, 0x36, 0x41, 0x00, // {
+            0x00, 0x00, 0x7F, 0x00, 0x00, // |
+            0x00, 0x41, 0x36, 0x08, 0x00, // }
+            0x08, 0x04, 0x08, 0x10, 0x08, // ~
+    });
+
+    private final int firstCodePoint;
+
+    private final int glyphWidth;
+
+    private final int glyphHeight;
+
+    private final int[] columns;
+
+    private final int[] firstColumns;
+
+    private final int[] advances;
+
+    /**
+     * Creates a new BitmapGlyphFont
+     *
+     * @param firstCodePoint code point of the first glyph in {@code columns}
+     * @param glyphWidth     columns per glyph; must be greater than 0
+     * @param glyphHeight    pixel rows per glyph, between 1 and 31
+     * @param columns        column masks of consecutive glyphs, bit {@code 0} being the top row
+     * @throws IllegalArgumentException if the dimensions are invalid or {@code columns}
+     *                                  does not hold whole glyphs
+     */
+    public BitmapGlyphFont(int firstCodePoint, int glyphWidth, int glyphHeight, int[] columns) {
+        if (glyphWidth <= 0) {
+            throw new IllegalArgumentException("glyphWidth must be > 0");
+        }
+        if (glyphHeight <= 0 || glyphHeight > 31) {
+            throw new IllegalArgumentException("glyphHeight must be between 1 and 31");
+        }
+        Objects.requireNonNull(columns, "columns");
+        if (columns.length % glyphWidth != 0) {
+            throw new IllegalArgumentException("columns must hold whole glyphs");
+        }
+        this.firstCodePoint = firstCodePoint;
+        this.glyphWidth = glyphWidth;
+        this.glyphHeight = glyphHeight;
+        this.columns = columns.clone();
+
+        int glyphs = columns.length / glyphWidth;
+        this.firstColumns = new int[glyphs];
+        this.advances = new int[glyphs];
+        for (int glyph = 0; glyph < glyphs; glyph++) {
+            int first = -1;
+            int last = -1;
+            for (int column = 0; column < glyphWidth; column++) {
+                if (columns[glyph * glyphWidth + column] != 0) {
+                    first = first == -1 ? column : first;
+                    last = column;
+                }
+            }
+            // Blank glyphs such as space keep a fixed gap of roughly half a glyph
+            firstColumns[glyph] = Math.max(first, 0);
+            advances[glyph] = first == -1 ? (glyphWidth + 1) / 2 : last - first + 2;
+        }
+    }
+
+    /**
+     * Returns the bundled 5×7 pixel font covering printable ASCII.
+     *
+     * @return shared standard font
+     */
+    public static BitmapGlyphFont standard() {
+        return STANDARD;
+    }
+
+    @Override
+    public float lineHeight() {
+        return glyphHeight + 1;
+    }
+
+    @Override
+    public boolean hasGlyph(int codePoint) {
+        int glyph = codePoint - firstCodePoint;
+        return glyph >= 0 && glyph < advances.length;
+    }
+
+    @Override
+    public float advance(int codePoint) {
+        return advances[codePoint - firstCodePoint];
+    }
+
+    @Override
+    public void rasterize(int codePoint, int density, PointBuffer points) {
+        int glyph = codePoint - firstCodePoint;
+        int firstColumn = firstColumns[glyph];
+        float step = 1f / density;
+        for (int column = firstColumn; column < glyphWidth; column++) {
+            int mask = columns[glyph * glyphWidth + column];
+            for (int row = 0; mask != 0; row++, mask >>>= 1) {
+                if ((mask & 1) == 0) {
+                    continue;
+                }
+                float pixelX = column - firstColumn;
+                float pixelY = glyphHeight - 1 - row;
+                for (int i = 0; i < density; i++) {
+                    for (int j = 0; j < density; j++) {
+                        points.add(pixelX + (i + 0.5f) * step, pixelY + (j + 0.5f) * step, 0f);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.github.roleplaycauldron.spellbook.effect.shape.text;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cache of rasterized glyph point sets keyed by glyph, font, and density.
+ * <p>
+ * {@link TextShape} resolves the table of its font and density once, so laying out text
+ * only looks up glyphs by code point. ASCII glyphs are stored in an array indexed by code
+ * point; other glyphs of the font are kept in sorted code point order and found by binary
+ * search, so no lookup allocates. Glyphs are rasterized on first use and never evicted,
+ * since fonts hold a bounded set of glyphs. Code points missing from the font all share
+ * one fallback glyph and are not cached one by one.
+ */
+public final class GlyphCache {
+
+    private static final GlyphCache SHARED = new GlyphCache();
+
+    private static final int DIRECT_GLYPHS = 128;
+
+    private static final Glyph EMPTY = new Glyph(new float[0], 0f);
+
+    private final Map<TableKey, GlyphTable> tables = new ConcurrentHashMap<>();
+
+    private final AtomicInteger cachedGlyphs = new AtomicInteger();
+
+    /**
+     * Creates a new, empty GlyphCache
+     */
+    public GlyphCache() {
+        // Empty
+    }
+
+    /**
+     * Returns the cache shared by all text shapes that do not configure their own.
+     *
+     * @return shared glyph cache
+     */
+    public static GlyphCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the number of glyph point sets rasterized by this cache.
+     *
+     * @return cached glyph count across all fonts and densities
+     */
+    public int cachedGlyphs() {
+        return cachedGlyphs.get();
+    }
+
+    /* default */
+    GlyphTable table(GlyphFont font, int density) {
+        return tables.computeIfAbsent(new TableKey(font, density), key -> new GlyphTable(key.font(), key.density()));
+    }
+
+    private record TableKey(GlyphFont font, int density) {
+    }
+
+    /**
+     * Rasterized points of one glyph.
+     *
+     * @param points  interleaved x, y, z coordinates in font units
+     * @param advance pen advance in font units
+     */
+    /* default */
+    record Glyph(float[] points, float advance) {
+
+        /* default */
+        int pointCount() {
+            return points.length / 3;
+        }
+    }
+
+    /**
+     * Glyphs of one font rasterized at one density.
+     */
+    /* default */
+    final class GlyphTable {
+
+        private final GlyphFont font;
+
+        private final int density;
+
+        private final Glyph[] direct = new Glyph[DIRECT_GLYPHS];
+
+        // Replaced on every insertion, so lookups read a consistent snapshot without locking
+        private volatile IndirectGlyphs indirect = new IndirectGlyphs(new int[0], new Glyph[0]);
+
+        private volatile Glyph fallback;
+
+        private GlyphTable(GlyphFont font, int density) {
+            this.font = Objects.requireNonNull(font, "font");
+            this.density = density;
+        }
+
+        /* default */
+        GlyphFont font() {
+            return font;
+        }
+
+        /**
+         * Returns the glyph of a code point, or the font's {@code ?} glyph if the code point
+         * is missing from the font.
+         */
+        /* default */
+        Glyph glyph(int codePoint) {
+            if (!font.hasGlyph(codePoint)) {
+                return fallback();
+            }
+            if (codePoint >= 0 && codePoint < DIRECT_GLYPHS) {
+                Glyph glyph = direct[codePoint];
+                if (glyph == null) {
+                    // Glyphs are immutable, so racing threads at worst rasterize a glyph twice
+                    glyph = rasterize(codePoint);
+                    direct[codePoint] = glyph;
+                }
+                return glyph;
+            }
+
+            IndirectGlyphs glyphs = indirect;
+            int slot = Arrays.binarySearch(glyphs.codePoints(), codePoint);
+            return slot >= 0 ? glyphs.glyphs()[slot] : insert(codePoint);
+        }
+
+        private Glyph fallback() {
+            Glyph glyph = fallback;
+            if (glyph == null) {
+                glyph = font.hasGlyph('?') ? glyph('?') : EMPTY;
+                fallback = glyph;
+            }
+            return glyph;
+        }
+
+        private synchronized Glyph insert(int codePoint) {
+            IndirectGlyphs glyphs = indirect;
+            int slot = Arrays.binarySearch(glyphs.codePoints(), codePoint);
+            if (slot >= 0) {
+                return glyphs.glyphs()[slot];
+            }
+
+            Glyph glyph = rasterize(codePoint);
+            int insertion = -slot - 1;
+            int length = glyphs.codePoints().length;
+            int[] codePoints = new int[length + 1];
+            Glyph[] values = new Glyph[length + 1];
+            System.arraycopy(glyphs.codePoints(), 0, codePoints, 0, insertion);
+            System.arraycopy(glyphs.glyphs(), 0, values, 0, insertion);
+            codePoints[insertion] = codePoint;
+            values[insertion] = glyph;
+            System.arraycopy(glyphs.codePoints(), insertion, codePoints, insertion + 1, length - insertion);
+            System.arraycopy(glyphs.glyphs(), insertion, values, insertion + 1, length - insertion);
+            indirect = new IndirectGlyphs(codePoints, values);
+            return glyph;
+        }
+
+        private Glyph rasterize(int codePoint) {
+            PointBuffer points = new PointBuffer();
+            font.rasterize(codePoint, density, points);
+            float[] coordinates = new float[points.size() * 3];
+            for (int i = 0; i < points.size(); i++) {
+                coordinates[i * 3] = points.x(i);
+                coordinates[i * 3 + 1] = points.y(i);
+                coordinates[i * 3 + 2] = points.z(i);
+            }
+            cachedGlyphs.incrementAndGet();
+            return new Glyph(coordinates, font.advance(codePoint));
+        }
+    }
+
+    private record IndirectGlyphs(int[] codePoints, Glyph[] glyphs) {
+    }
+}
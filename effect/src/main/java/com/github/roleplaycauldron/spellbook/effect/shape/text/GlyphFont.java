@@ -0,0 +1,57 @@
+package com.github.roleplaycauldron.spellbook.effect.shape.text;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+
+/**
+ * A font that rasterizes glyphs into points for {@link TextShape}.
+ * <p>
+ * Coordinates are measured in font units. The glyph baseline is at {@code y = 0},
+ * the pen starts at {@code x = 0}, and {@link #lineHeight()} font units are scaled
+ * to the configured text size. Rasterized glyphs are cached by {@link GlyphCache},
+ * so fonts are only asked once per glyph and density.
+ */
+public interface GlyphFont {
+
+    /**
+     * Returns the height of one text line.
+     *
+     * @return line height in font units
+     */
+    float lineHeight();
+
+    /**
+     * Returns whether this font can rasterize a code point.
+     *
+     * @param codePoint Unicode code point
+     * @return {@code true} if the glyph exists
+     */
+    boolean hasGlyph(int codePoint);
+
+    /**
+     * Returns the distance the pen advances after a glyph.
+     *
+     * @param codePoint Unicode code point of an existing glyph
+     * @return advance in font units
+     */
+    float advance(int codePoint);
+
+    /**
+     * Returns an additional pen offset between two adjacent glyphs.
+     *
+     * @param left  code point of the preceding glyph
+     * @param right code point of the following glyph
+     * @return kerning offset in font units, {@code 0} by default
+     */
+    default float kerning(int left, int right) {
+        return 0f;
+    }
+
+    /**
+     * Appends the points of a glyph to a buffer.
+     *
+     * @param codePoint Unicode code point of an existing glyph
+     * @param density   points per font unit along each axis; always greater than 0
+     * @param points    buffer to append points to, with {@code z = 0}
+     */
+    void rasterize(int codePoint, int density, PointBuffer points);
+}
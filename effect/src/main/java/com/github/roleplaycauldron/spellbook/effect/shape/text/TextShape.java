@@ -0,0 +1,274 @@
+package com.github.roleplaycauldron.spellbook.effect.shape.text;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
+import com.github.roleplaycauldron.spellbook.effect.shape.Shape;
+
+import java.util.Objects;
+
+/**
+ * A {@code TextShape} renders text as points in the local X/Y plane.
+ * <p>
+ * Text reads along the positive X axis with glyphs standing up along the positive
+ * Y axis; use transforms to face it elsewhere. Every line is {@code size} blocks high,
+ * and lines are separated by {@code \n}. The last line sits on the origin, and each
+ * line is aligned horizontally around it.
+ * <p>
+ * Glyph point sets are taken from a {@link GlyphCache} and copied into the frame with
+ * the font's advances and kerning, so text is never rasterized twice. Dynamic text from
+ * a {@link TextSource} is laid out every frame without allocating, as long as the source
+ * itself does not allocate, for example by refilling a reused {@link StringBuilder}.
+ */
+public final class TextShape implements Shape {
+
+    private final CharSequence text;
+
+    private final TextSource source;
+
+    private final GlyphCache.GlyphTable glyphs;
+
+    private final GlyphFont font;
+
+    private final float scale;
+
+    private final float alignment;
+
+    private TextShape(Builder builder) {
+        this.text = builder.text;
+        this.source = builder.source;
+        this.glyphs = builder.cache.table(builder.font, builder.density);
+        this.font = builder.font;
+        this.scale = builder.size / builder.font.lineHeight();
+        this.alignment = switch (builder.alignment) {
+            case LEFT -> 0f;
+            case CENTER -> 0.5f;
+            case RIGHT -> 1f;
+        };
+    }
+
+    /**
+     * Creates a builder for fixed text.
+     *
+     * @param text the text to render
+     * @return text shape builder
+     */
+    public static Builder of(String text) {
+        return new Builder(Objects.requireNonNull(text, "text"), null);
+    }
+
+    /**
+     * Creates a builder for text that is resolved every frame, such as countdowns.
+     *
+     * @param source supplies the text of a frame
+     * @return text shape builder
+     */
+    public static Builder dynamic(TextSource source) {
+        return new Builder(null, Objects.requireNonNull(source, "source"));
+    }
+
+    @Override
+    public boolean isStatic() {
+        return source == null;
+    }
+
+    @Override
+    public void sample(ShapeContext context, PointBuffer points) {
+        CharSequence frameText = source == null ? text : source.text(context);
+        if (frameText == null || frameText.isEmpty()) {
+            return;
+        }
+
+        int lines = 1;
+        for (int i = 0; i < frameText.length(); i++) {
+            if (frameText.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+
+        float lineHeight = font.lineHeight();
+        int start = 0;
+        for (int line = lines - 1; line >= 0; line--) {
+            int end = start;
+            while (end < frameText.length() && frameText.charAt(end) != '\n') {
+                end++;
+            }
+            layoutLine(frameText, start, end, line * lineHeight, points);
+            start = end + 1;
+        }
+    }
+
+    private void layoutLine(CharSequence line, int start, int end, float baseline, PointBuffer points) {
+        float penX = -measure(line, start, end) * alignment;
+        int previous = -1;
+        for (int i = start; i < end; ) {
+            int codePoint = Character.codePointAt(line, i);
+            i += Character.charCount(codePoint);
+
+            GlyphCache.Glyph glyph = glyphs.glyph(codePoint);
+            if (previous != -1) {
+                penX += font.kerning(previous, codePoint);
+            }
+
+            float[] coordinates = glyph.points();
+            points.ensureCapacity(points.size() + glyph.pointCount());
+            for (int point = 0; point < coordinates.length; point += 3) {
+                points.add(
+                        (penX + coordinates[point]) * scale,
+                        (baseline + coordinates[point + 1]) * scale,
+                        coordinates[point + 2] * scale
+                );
+            }
+            penX += glyph.advance();
+            previous = codePoint;
+        }
+    }
+
+    private float measure(CharSequence line, int start, int end) {
+        if (alignment == 0f) {
+            return 0f;
+        }
+
+        float width = 0f;
+        int previous = -1;
+        for (int i = start; i < end; ) {
+            int codePoint = Character.codePointAt(line, i);
+            i += Character.charCount(codePoint);
+            if (previous != -1) {
+                width += font.kerning(previous, codePoint);
+            }
+            width += glyphs.glyph(codePoint).advance();
+            previous = codePoint;
+        }
+        return width;
+    }
+
+    /**
+     * Horizontal alignment of each text line around the origin.
+     */
+    public enum Alignment {
+        /**
+         * Lines start at the origin.
+         */
+        LEFT,
+        /**
+         * Lines are centered on the origin.
+         */
+        CENTER,
+        /**
+         * Lines end at the origin.
+         */
+        RIGHT
+    }
+
+    /**
+     * Supplies the text of dynamic text shapes.
+     */
+    @FunctionalInterface
+    public interface TextSource {
+
+        /**
+         * Returns the text to render for a frame.
+         * <p>
+         * The returned sequence is only read during the current sample call, so
+         * implementations may return the same reused builder every frame.
+         *
+         * @param context the shape context of the frame
+         * @return the text to render, or {@code null} to render nothing
+         */
+        CharSequence text(ShapeContext context);
+    }
+
+    /**
+     * Builder for {@link TextShape}.
+     */
+    public static final class Builder {
+        private final String text;
+
+        private final TextSource source;
+
+        private GlyphFont font = BitmapGlyphFont.standard();
+
+        private GlyphCache cache = GlyphCache.shared();
+
+        private float size = 1f;
+
+        private int density = 1;
+
+        private Alignment alignment = Alignment.CENTER;
+
+        private Builder(String text, TextSource source) {
+            this.text = text;
+            this.source = source;
+        }
+
+        /**
+         * Sets the font, {@link BitmapGlyphFont#standard()} by default.
+         *
+         * @param font the font to rasterize glyphs with
+         * @return this builder
+         */
+        public Builder font(GlyphFont font) {
+            this.font = Objects.requireNonNull(font, "font");
+            return this;
+        }
+
+        /**
+         * Sets the glyph cache, {@link GlyphCache#shared()} by default.
+         *
+         * @param cache the cache to take glyph point sets from
+         * @return this builder
+         */
+        public Builder cache(GlyphCache cache) {
+            this.cache = Objects.requireNonNull(cache, "cache");
+            return this;
+        }
+
+        /**
+         * Sets the height of one text line in blocks, {@code 1} by default.
+         *
+         * @param size line height in blocks; must be greater than 0
+         * @return this builder
+         */
+        public Builder size(float size) {
+            if (size <= 0f) {
+                throw new IllegalArgumentException("size must be > 0");
+            }
+            this.size = size;
+            return this;
+        }
+
+        /**
+         * Sets the points per font unit along each axis, {@code 1} by default.
+         *
+         * @param density glyph rasterization density; must be greater than 0
+         * @return this builder
+         */
+        public Builder density(int density) {
+            if (density <= 0) {
+                throw new IllegalArgumentException("density must be > 0");
+            }
+            this.density = density;
+            return this;
+        }
+
+        /**
+         * Sets the horizontal alignment, {@link Alignment#CENTER} by default.
+         *
+         * @param alignment line alignment around the origin
+         * @return this builder
+         */
+        public Builder alignment(Alignment alignment) {
+            this.alignment = Objects.requireNonNull(alignment, "alignment");
+            return this;
+        }
+
+        /**
+         * Creates the configured text shape.
+         *
+         * @return text shape
+         */
+        public TextShape build() {
+            return new TextShape(this);
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.github.roleplaycauldron.spellbook.effect.transform;
 import com.github.roleplaycauldron.spellbook.effect.EffectContext;
 import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
 import org.bukkit.Location;
-import org.joml.Quaternionf;
 import org.joml.Vector3f;
 
 /**
@@ -55,29 +54,21 @@ public class LookAtTransform implements Transform {
             };
         }
 
-        Vector3f direction = new Vector3f(
-                (float) (target.getX() - origin.getX()),
-                (float) (target.getY() - origin.getY()),
-                (float) (target.getZ() - origin.getZ())
-        );
+        float directionX = (float) (target.getX() - origin.getX());
+        float directionY = (float) (target.getY() - origin.getY());
+        float directionZ = (float) (target.getZ() - origin.getZ());
+        float lengthSquared = directionX * directionX + directionY * directionY + directionZ * directionZ;
 
-        if (direction.lengthSquared() < 1e-6) {
+        if (lengthSquared < 1e-6) {
             return (points, index) -> {
             };
         }
 
-        direction.normalize();
-        Quaternionf rotation = new Quaternionf().rotateTo(
+        float length = (float) Math.sqrt(lengthSquared);
+        return MatrixTransform.rotateTo(
                 forwardAxis.x, forwardAxis.y, forwardAxis.z,
-                direction.x, direction.y, direction.z
+                directionX / length, directionY / length, directionZ / length
         );
-
-        Vector3f point = new Vector3f();
-        return (points, index) -> {
-            points.get(index, point);
-            rotation.transform(point);
-            points.set(index, point.x, point.y, point.z);
-        };
     }
 
     @Override
@@ -0,0 +1,118 @@
+package com.github.roleplaycauldron.spellbook.effect.transform;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import org.joml.Quaternionfc;
+
+/**
+ * Prepared rotation that multiplies points with a 3x3 matrix.
+ * <p>
+ * Points are rotated in place without temporary vectors, so applying the
+ * transform to a frame does not allocate.
+ */
+final class MatrixTransform implements Transform.PreparedTransform {
+
+    private final float m00;
+    private final float m01;
+    private final float m02;
+    private final float m10;
+    private final float m11;
+    private final float m12;
+    private final float m20;
+    private final float m21;
+    private final float m22;
+
+    private MatrixTransform(float qx, float qy, float qz, float qw) {
+        float xx = qx * qx;
+        float yy = qy * qy;
+        float zz = qz * qz;
+        float xy = qx * qy;
+        float xz = qx * qz;
+        float yz = qy * qz;
+        float wx = qw * qx;
+        float wy = qw * qy;
+        float wz = qw * qz;
+
+        this.m00 = 1f - 2f * (yy + zz);
+        this.m01 = 2f * (xy - wz);
+        this.m02 = 2f * (xz + wy);
+        this.m10 = 2f * (xy + wz);
+        this.m11 = 1f - 2f * (xx + zz);
+        this.m12 = 2f * (yz - wx);
+        this.m20 = 2f * (xz - wy);
+        this.m21 = 2f * (yz + wx);
+        this.m22 = 1f - 2f * (xx + yy);
+    }
+
+    /**
+     * Creates the rotation of a unit quaternion.
+     *
+     * @param rotation unit quaternion
+     * @return prepared rotation
+     */
+    static MatrixTransform of(Quaternionfc rotation) {
+        return new MatrixTransform(rotation.x(), rotation.y(), rotation.z(), rotation.w());
+    }
+
+    /**
+     * Creates the rotation by an angle around a unit axis.
+     *
+     * @param axisX   x of the unit axis
+     * @param axisY   y of the unit axis
+     * @param axisZ   z of the unit axis
+     * @param radians rotation angle, counterclockwise when looking against the axis
+     * @return prepared rotation
+     */
+    static MatrixTransform axisAngle(float axisX, float axisY, float axisZ, double radians) {
+        float sin = (float) Math.sin(radians * 0.5);
+        float cos = (float) Math.cos(radians * 0.5);
+        return new MatrixTransform(axisX * sin, axisY * sin, axisZ * sin, cos);
+    }
+
+    /**
+     * Creates the shortest rotation turning one unit vector into another.
+     *
+     * @param fromX x of the unit vector to rotate
+     * @param fromY y of the unit vector to rotate
+     * @param fromZ z of the unit vector to rotate
+     * @param toX   x of the unit vector to rotate onto
+     * @param toY   y of the unit vector to rotate onto
+     * @param toZ   z of the unit vector to rotate onto
+     * @return prepared rotation
+     */
+    static MatrixTransform rotateTo(float fromX, float fromY, float fromZ, float toX, float toY, float toZ) {
+        float dot = fromX * toX + fromY * toY + fromZ * toZ;
+        if (dot < 1e-6f - 1f) {
+            // Opposite vectors: turn half way around any axis perpendicular to the start
+            float axisX = 0f;
+            float axisY = -fromZ;
+            float axisZ = fromY;
+            if (axisY * axisY + axisZ * axisZ < 1e-6f) {
+                axisX = fromZ;
+                axisY = 0f;
+                axisZ = -fromX;
+            }
+            float length = (float) Math.sqrt(axisX * axisX + axisY * axisY + axisZ * axisZ);
+            return new MatrixTransform(axisX / length, axisY / length, axisZ / length, 0f);
+        }
+
+        float qx = fromY * toZ - fromZ * toY;
+        float qy = fromZ * toX - fromX * toZ;
+        float qz = fromX * toY - fromY * toX;
+        float qw = 1f + dot;
+        float length = (float) Math.sqrt(qx * qx + qy * qy + qz * qz + qw * qw);
+        return new MatrixTransform(qx / length, qy / length, qz / length, qw / length);
+    }
+
+    @Override
+    public void apply(PointBuffer points, int index) {
+        float x = points.x(index);
+        float y = points.y(index);
+        float z = points.z(index);
+        points.set(
+                index,
+                m00 * x + m01 * y + m02 * z,
+                m10 * x + m11 * y + m12 * z,
+                m20 * x + m21 * y + m22 * z
+        );
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.roleplaycauldron.spellbook.effect.transform;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+import java.util.Objects;
+
+/**
+ * A transformation that moves points along a circle around the effect origin.
+ * <p>
+ * The whole frame is translated by the same offset, which circles the given axis at a
+ * fixed rate over the elapsed time of the effect. Combine it with a {@link SpinTransform}
+ * to also turn the shape while it orbits. The offset is computed once per frame in
+ * {@link #prepare(EffectContext)}.
+ */
+public class OrbitTransform implements Transform {
+
+    private final float radius;
+
+    private final double radiansPerSecond;
+
+    private final double phaseRadians;
+
+    private final Vector3f first = new Vector3f();
+
+    private final Vector3f second = new Vector3f();
+
+    /**
+     * Creates a new OrbitTransform around the vertical axis.
+     *
+     * @param radius           the distance from the origin in blocks; must not be negative
+     * @param degreesPerSecond orbit speed; negative values orbit clockwise
+     * @throws IllegalArgumentException if the radius is negative
+     */
+    public OrbitTransform(float radius, float degreesPerSecond) {
+        this(radius, degreesPerSecond, new Vector3f(0, 1, 0), 0f);
+    }
+
+    /**
+     * Creates a new OrbitTransform.
+     *
+     * @param radius           the distance from the origin in blocks; must not be negative
+     * @param degreesPerSecond orbit speed; negative values orbit clockwise
+     * @param axis             the axis to orbit around; must not be the zero vector
+     * @param phase            the angle in degrees at the start of the effect
+     * @throws IllegalArgumentException if the radius is negative or the axis is the zero vector
+     */
+    public OrbitTransform(float radius, float degreesPerSecond, Vector3fc axis, float phase) {
+        Objects.requireNonNull(axis, "axis");
+        if (radius < 0f) {
+            throw new IllegalArgumentException("radius must be >= 0");
+        }
+        if (axis.lengthSquared() < 1e-12f) {
+            throw new IllegalArgumentException("axis must not be zero");
+        }
+        this.radius = radius;
+        this.radiansPerSecond = Math.toRadians(degreesPerSecond);
+        this.phaseRadians = Math.toRadians(phase);
+
+        Vector3f normal = new Vector3f(axis).normalize();
+        // Any vector not parallel to the axis spans the orbit plane together with it
+        Vector3f reference = Math.abs(normal.x) < 0.9f ? new Vector3f(1, 0, 0) : new Vector3f(0, 0, 1);
+        normal.cross(reference, second).normalize();
+        second.cross(normal, first).normalize();
+    }
+
+    @Override
+    public PreparedTransform prepare(EffectContext context) {
+        double angle = phaseRadians + radiansPerSecond * context.timeSeconds();
+        float cos = (float) Math.cos(angle) * radius;
+        float sin = (float) Math.sin(angle) * radius;
+        float offsetX = first.x * cos + second.x * sin;
+        float offsetY = first.y * cos + second.y * sin;
+        float offsetZ = first.z * cos + second.z * sin;
+        return (points, index) -> points.translate(index, offsetX, offsetY, offsetZ);
+    }
+
+    @Override
+    public void apply(PointBuffer points, int index, EffectContext context) {
+        prepare(context).apply(points, index);
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.roleplaycauldron.spellbook.effect.transform;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+import java.util.Objects;
+
+/**
+ * A transformation that moves points back and forth along a direction, for example to
+ * let an effect bob up and down.
+ * <p>
+ * The frame is translated by {@code amplitude * sin(2 * PI * frequency * time + phase)},
+ * computed once per frame in {@link #prepare(EffectContext)}.
+ */
+public class OscillateTransform implements Transform {
+
+    private final Vector3f amplitude;
+
+    private final double radiansPerSecond;
+
+    private final double phaseRadians;
+
+    /**
+     * Creates a new OscillateTransform.
+     *
+     * @param amplitude the largest offset in blocks per axis
+     * @param frequency oscillations per second; must not be negative
+     * @param phase     the phase in degrees at the start of the effect
+     * @throws IllegalArgumentException if the frequency is negative
+     */
+    public OscillateTransform(Vector3fc amplitude, float frequency, float phase) {
+        Objects.requireNonNull(amplitude, "amplitude");
+        if (frequency < 0f) {
+            throw new IllegalArgumentException("frequency must be >= 0");
+        }
+        this.amplitude = new Vector3f(amplitude);
+        this.radiansPerSecond = 2.0 * Math.PI * frequency;
+        this.phaseRadians = Math.toRadians(phase);
+    }
+
+    @Override
+    public PreparedTransform prepare(EffectContext context) {
+        float wave = (float) Math.sin(phaseRadians + radiansPerSecond * context.timeSeconds());
+        float offsetX = amplitude.x * wave;
+        float offsetY = amplitude.y * wave;
+        float offsetZ = amplitude.z * wave;
+        return (points, index) -> points.translate(index, offsetX, offsetY, offsetZ);
+    }
+
+    @Override
+    public void apply(PointBuffer points, int index, EffectContext context) {
+        prepare(context).apply(points, index);
+    }
+}
@@ -2,8 +2,10 @@ package com.github.roleplaycauldron.spellbook.effect.transform;
 
 import com.github.roleplaycauldron.spellbook.effect.EffectContext;
 import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.expression.Expression;
 import org.joml.Quaternionf;
-import org.joml.Vector3f;
+
+import java.util.Objects;
 
 /**
  * <p> A transformation that applies a rotation to a 3D point using a quaternion.</p>
@@ -15,11 +17,22 @@ import org.joml.Vector3f;
  *
  * <p>Rotations are constructed using the {@code Quaternionf} class from the
  * JOML library, ensuring robust mathematical operations for 3D transformations.</p>
+ *
+ * <p>The angles may be {@link Expression expressions}. Non-constant angles are evaluated
+ * once per frame with a point index of {@code 0}.</p>
  */
 public class RotationTransform implements Transform {
 
     private final Quaternionf rotation;
 
+    private final PreparedTransform prepared;
+
+    private final Expression yaw;
+
+    private final Expression pitch;
+
+    private final Expression roll;
+
     /**
      * Creates a new RotationTransform with the given quaternion rotation.
      *
@@ -27,6 +40,10 @@ public class RotationTransform implements Transform {
      */
     public RotationTransform(Quaternionf rotation) {
         this.rotation = new Quaternionf(rotation);
+        this.prepared = MatrixTransform.of(this.rotation);
+        this.yaw = null;
+        this.pitch = null;
+        this.roll = null;
     }
 
     /**
@@ -42,20 +59,58 @@ public class RotationTransform implements Transform {
                 (float) Math.toRadians(pitch),
                 (float) Math.toRadians(roll)
         );
+        this.prepared = MatrixTransform.of(this.rotation);
+        this.yaw = null;
+        this.pitch = null;
+        this.roll = null;
+    }
+
+    /**
+     * Creates a new RotationTransform whose Euler angles are computed by expressions.
+     *
+     * @param yaw   the yaw angle in degrees
+     * @param pitch the pitch angle in degrees
+     * @param roll  the roll angle in degrees
+     */
+    public RotationTransform(Expression yaw, Expression pitch, Expression roll) {
+        Objects.requireNonNull(yaw, "yaw");
+        Objects.requireNonNull(pitch, "pitch");
+        Objects.requireNonNull(roll, "roll");
+        boolean constant = yaw.isConstant() && pitch.isConstant() && roll.isConstant();
+        this.rotation = constant ? rotation(yaw, pitch, roll, 0, 0, 0) : new Quaternionf();
+        this.prepared = MatrixTransform.of(this.rotation);
+        this.yaw = constant ? null : yaw;
+        this.pitch = constant ? null : pitch;
+        this.roll = constant ? null : roll;
     }
 
     @Override
     public PreparedTransform prepare(EffectContext context) {
-        Vector3f point = new Vector3f();
-        return (points, index) -> {
-            points.get(index, point);
-            rotation.transform(point);
-            points.set(index, point.x, point.y, point.z);
-        };
+        if (yaw == null) {
+            // The rotation is constant, so every frame shares one prepared matrix
+            return prepared;
+        }
+        double distance = Expression.distance(context.origin(), context.target());
+        return MatrixTransform.of(rotation(yaw, pitch, roll, context.step(), context.timeSeconds(), distance));
     }
 
     @Override
     public void apply(PointBuffer points, int index, EffectContext context) {
         prepare(context).apply(points, index);
     }
+
+    private static Quaternionf rotation(
+            Expression yaw,
+            Expression pitch,
+            Expression roll,
+            double step,
+            double time,
+            double distance
+    ) {
+        return new Quaternionf().rotateYXZ(
+                (float) Math.toRadians(yaw.evaluate(step, time, distance, 0)),
+                (float) Math.toRadians(pitch.evaluate(step, time, distance, 0)),
+                (float) Math.toRadians(roll.evaluate(step, time, distance, 0))
+        );
+    }
 }
@@ -0,0 +1,99 @@
+package com.github.roleplaycauldron.spellbook.effect.transform;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.expression.Expression;
+
+import java.util.Objects;
+
+/**
+ * A transformation that scales points uniformly around the effect origin.
+ * <p>
+ * The factor may change over the elapsed time of the effect, either linearly from one
+ * factor to another or through an {@link Expression}. It is computed once per frame in
+ * {@link #prepare(EffectContext)}; constant factors share one prepared transform.
+ */
+public class ScaleTransform implements Transform {
+
+    private final float from;
+
+    private final float to;
+
+    private final double durationSeconds;
+
+    private final Expression factor;
+
+    private final PreparedTransform prepared;
+
+    /**
+     * Creates a new ScaleTransform with a constant factor.
+     *
+     * @param factor the scale factor
+     */
+    public ScaleTransform(float factor) {
+        this(factor, factor, 0f);
+    }
+
+    /**
+     * Creates a new ScaleTransform that changes its factor linearly and then keeps the
+     * final factor.
+     *
+     * @param from            the factor at the start of the effect
+     * @param to              the factor after the duration
+     * @param durationSeconds the time in seconds to reach the final factor; must not be negative
+     * @throws IllegalArgumentException if the duration is negative
+     */
+    public ScaleTransform(float from, float to, float durationSeconds) {
+        if (durationSeconds < 0f) {
+            throw new IllegalArgumentException("durationSeconds must be >= 0");
+        }
+        this.from = from;
+        this.to = to;
+        this.durationSeconds = durationSeconds;
+        this.factor = null;
+        this.prepared = scale(to);
+    }
+
+    /**
+     * Creates a new ScaleTransform whose factor is computed by an expression. The
+     * expression is evaluated once per frame with a point index of {@code 0}.
+     *
+     * @param factor the scale factor
+     */
+    public ScaleTransform(Expression factor) {
+        Objects.requireNonNull(factor, "factor");
+        float constant = factor.isConstant() ? (float) factor.evaluate(0, 0, 0, 0) : 1f;
+        this.from = constant;
+        this.to = constant;
+        this.durationSeconds = 0.0;
+        this.factor = factor.isConstant() ? null : factor;
+        this.prepared = scale(constant);
+    }
+
+    @Override
+    public PreparedTransform prepare(EffectContext context) {
+        if (factor != null) {
+            double distance = Expression.distance(context.origin(), context.target());
+            return scale((float) factor.evaluate(context.step(), context.timeSeconds(), distance, 0));
+        }
+        double time = context.timeSeconds();
+        if (time >= durationSeconds) {
+            return prepared;
+        }
+        return scale(from + (to - from) * (float) (Math.max(time, 0.0) / durationSeconds));
+    }
+
+    @Override
+    public void apply(PointBuffer points, int index, EffectContext context) {
+        prepare(context).apply(points, index);
+    }
+
+    private static PreparedTransform scale(float factor) {
+        return (points, index) -> points.set(
+                index,
+                points.x(index) * factor,
+                points.y(index) * factor,
+                points.z(index) * factor
+        );
+    }
+}
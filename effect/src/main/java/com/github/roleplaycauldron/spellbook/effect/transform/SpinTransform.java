@@ -0,0 +1,66 @@
+package com.github.roleplaycauldron.spellbook.effect.transform;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+import java.util.Objects;
+
+/**
+ * A transformation that spins points around an axis through the effect origin.
+ * <p>
+ * The angle grows with the elapsed time of the effect at a fixed rate. The rotation
+ * matrix is computed once per frame in {@link #prepare(EffectContext)}, so spinning a
+ * frame costs one matrix multiplication per point.
+ */
+public class SpinTransform implements Transform {
+
+    private final Vector3f axis;
+
+    private final double radiansPerSecond;
+
+    private final double phaseRadians;
+
+    /**
+     * Creates a new SpinTransform around the vertical axis.
+     *
+     * @param degreesPerSecond rotation speed; negative values spin clockwise
+     */
+    public SpinTransform(float degreesPerSecond) {
+        this(new Vector3f(0, 1, 0), degreesPerSecond, 0f);
+    }
+
+    /**
+     * Creates a new SpinTransform.
+     *
+     * @param axis             the axis to spin around; must not be the zero vector
+     * @param degreesPerSecond rotation speed; negative values spin clockwise
+     * @param phase            the angle in degrees at the start of the effect
+     * @throws IllegalArgumentException if the axis is the zero vector
+     */
+    public SpinTransform(Vector3fc axis, float degreesPerSecond, float phase) {
+        Objects.requireNonNull(axis, "axis");
+        if (axis.lengthSquared() < 1e-12f) {
+            throw new IllegalArgumentException("axis must not be zero");
+        }
+        this.axis = new Vector3f(axis).normalize();
+        this.radiansPerSecond = Math.toRadians(degreesPerSecond);
+        this.phaseRadians = Math.toRadians(phase);
+    }
+
+    @Override
+    public PreparedTransform prepare(EffectContext context) {
+        return MatrixTransform.axisAngle(
+                axis.x,
+                axis.y,
+                axis.z,
+                phaseRadians + radiansPerSecond * context.timeSeconds()
+        );
+    }
+
+    @Override
+    public void apply(PointBuffer points, int index, EffectContext context) {
+        prepare(context).apply(points, index);
+    }
+}
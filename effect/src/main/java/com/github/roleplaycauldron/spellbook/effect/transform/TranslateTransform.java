@@ -2,15 +2,29 @@ package com.github.roleplaycauldron.spellbook.effect.transform;
 
 import com.github.roleplaycauldron.spellbook.effect.EffectContext;
 import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.expression.Expression;
 import org.joml.Vector3f;
 
+import java.util.Objects;
+
 /**
  * A transformation that applies a translation to a 3D point.
+ * <p>
+ * The offsets may be {@link Expression expressions}. Non-constant offsets are evaluated
+ * once per frame, or once per point if an offset uses the point index.
  */
 public class TranslateTransform implements Transform {
 
     private final Vector3f translation;
 
+    private final Expression x;
+
+    private final Expression y;
+
+    private final Expression z;
+
+    private final PreparedTransform prepared = this::translate;
+
     /**
      * Creates a new TranslateTransform with the given translation vector.
      *
@@ -18,6 +32,9 @@ public class TranslateTransform implements Transform {
      */
     public TranslateTransform(Vector3f translation) {
         this.translation = new Vector3f(translation);
+        this.x = null;
+        this.y = null;
+        this.z = null;
     }
 
     /**
@@ -29,10 +46,76 @@ public class TranslateTransform implements Transform {
      */
     public TranslateTransform(float x, float y, float z) {
         this.translation = new Vector3f(x, y, z);
+        this.x = null;
+        this.y = null;
+        this.z = null;
+    }
+
+    /**
+     * Creates a new TranslateTransform whose offsets are computed by expressions.
+     *
+     * @param x the x-coordinate of the translation
+     * @param y the y-coordinate of the translation
+     * @param z the z-coordinate of the translation
+     */
+    public TranslateTransform(Expression x, Expression y, Expression z) {
+        Objects.requireNonNull(x, "x");
+        Objects.requireNonNull(y, "y");
+        Objects.requireNonNull(z, "z");
+        boolean constant = x.isConstant() && y.isConstant() && z.isConstant();
+        this.translation = new Vector3f(
+                constant ? (float) x.evaluate(0, 0, 0, 0) : 0f,
+                constant ? (float) y.evaluate(0, 0, 0, 0) : 0f,
+                constant ? (float) z.evaluate(0, 0, 0, 0) : 0f
+        );
+        this.x = constant ? null : x;
+        this.y = constant ? null : y;
+        this.z = constant ? null : z;
+    }
+
+    @Override
+    public PreparedTransform prepare(EffectContext context) {
+        if (x == null) {
+            return prepared;
+        }
+
+        double step = context.step();
+        double time = context.timeSeconds();
+        double distance = Expression.distance(context.origin(), context.target());
+        if (x.isPerPoint() || y.isPerPoint() || z.isPerPoint()) {
+            return (points, index) -> points.translate(
+                    index,
+                    (float) x.evaluate(step, time, distance, index),
+                    (float) y.evaluate(step, time, distance, index),
+                    (float) z.evaluate(step, time, distance, index)
+            );
+        }
+
+        float offsetX = (float) x.evaluate(step, time, distance, 0);
+        float offsetY = (float) y.evaluate(step, time, distance, 0);
+        float offsetZ = (float) z.evaluate(step, time, distance, 0);
+        return (points, index) -> points.translate(index, offsetX, offsetY, offsetZ);
     }
 
     @Override
     public void apply(PointBuffer points, int index, EffectContext context) {
+        if (x == null) {
+            points.translate(index, translation.x, translation.y, translation.z);
+            return;
+        }
+
+        double step = context.step();
+        double time = context.timeSeconds();
+        double distance = Expression.distance(context.origin(), context.target());
+        points.translate(
+                index,
+                (float) x.evaluate(step, time, distance, index),
+                (float) y.evaluate(step, time, distance, index),
+                (float) z.evaluate(step, time, distance, index)
+        );
+    }
+
+    private void translate(PointBuffer points, int index) {
         points.translate(index, translation.x, translation.y, translation.z);
     }
 }
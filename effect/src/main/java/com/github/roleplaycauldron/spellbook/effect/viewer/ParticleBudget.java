@@ -0,0 +1,193 @@
+package com.github.roleplaycauldron.spellbook.effect.viewer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Shared per-viewer particle budget consulted by particle emitters of all running effects.
+ * <p>
+ * Every viewer owns a token bucket that is refilled with {@code particlesPerTick} tokens
+ * per server tick, up to {@code burst} tokens. Each spawn sent to the viewer consumes one
+ * token per particle. When the demand of a viewer exceeds the refill rate, spawns are not
+ * dropped first-come-first-served: each viewer admits only the fraction of spawns its
+ * budget covered during the previous tick, spread evenly over the tick, so every effect
+ * visible to the viewer loses roughly the same share of its particles.
+ * <p>
+ * {@link #tryAcquire(Player, int)} neither allocates nor locks once a viewer was seen.
+ * It must be called from the server thread. Drop counters may be read from any thread,
+ * but may be slightly stale.
+ */
+public final class ParticleBudget {
+
+    private static final ParticleBudget UNLIMITED = new ParticleBudget();
+
+    private final boolean limited;
+
+    private final int particlesPerTick;
+
+    private final int burst;
+
+    private final LongSupplier tickSource;
+
+    private final Map<UUID, ViewerBudget> viewers = new ConcurrentHashMap<>();
+
+    private volatile long droppedTotal;
+
+    private ParticleBudget() {
+        this.limited = false;
+        this.particlesPerTick = Integer.MAX_VALUE;
+        this.burst = Integer.MAX_VALUE;
+        this.tickSource = () -> 0L;
+    }
+
+    /**
+     * Creates a budget using the server's current tick, allowing bursts of one tick's budget.
+     *
+     * @param particlesPerTick particles each viewer may receive per tick
+     * @throws IllegalArgumentException if particlesPerTick is not positive
+     */
+    public ParticleBudget(int particlesPerTick) {
+        this(particlesPerTick, particlesPerTick, Bukkit::getCurrentTick);
+    }
+
+    /**
+     * Creates a budget.
+     *
+     * @param particlesPerTick particles each viewer may receive per tick
+     * @param burst            maximum tokens a viewer can save up across quiet ticks
+     * @param tickSource       supplies the current server tick
+     * @throws IllegalArgumentException if particlesPerTick is not positive or burst is below particlesPerTick
+     */
+    public ParticleBudget(int particlesPerTick, int burst, LongSupplier tickSource) {
+        if (particlesPerTick <= 0) {
+            throw new IllegalArgumentException("particlesPerTick must be > 0");
+        }
+        if (burst < particlesPerTick) {
+            throw new IllegalArgumentException("burst must be >= particlesPerTick");
+        }
+        this.limited = true;
+        this.particlesPerTick = particlesPerTick;
+        this.burst = burst;
+        this.tickSource = tickSource;
+    }
+
+    /**
+     * Returns a budget that admits every particle.
+     *
+     * @return shared unlimited budget
+     */
+    public static ParticleBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Returns whether this budget limits particles at all.
+     *
+     * @return {@code false} for {@link #unlimited()}
+     */
+    public boolean limited() {
+        return limited;
+    }
+
+    /**
+     * Requests budget for one spawn sent to a viewer.
+     *
+     * @param viewer the viewer receiving the spawn
+     * @param count  particle count of the spawn; counts below one are charged as one particle
+     * @return {@code true} if the spawn may be sent, {@code false} if it has to be dropped
+     */
+    public boolean tryAcquire(Player viewer, int count) {
+        if (!limited) {
+            return true;
+        }
+
+        ViewerBudget budget = viewers.get(viewer.getUniqueId());
+        if (budget == null) {
+            budget = viewers.computeIfAbsent(viewer.getUniqueId(), ignored -> new ViewerBudget(burst));
+        }
+
+        if (budget.tryAcquire(tickSource.getAsLong(), Math.max(count, 1), particlesPerTick, burst)) {
+            return true;
+        }
+        droppedTotal++;
+        return false;
+    }
+
+    /**
+     * Returns the number of spawns dropped for a viewer.
+     *
+     * @param viewer the viewer's unique id
+     * @return dropped spawns since the viewer was first seen or forgotten
+     */
+    public long dropped(UUID viewer) {
+        ViewerBudget budget = viewers.get(viewer);
+        return budget == null ? 0L : budget.dropped;
+    }
+
+    /**
+     * Returns the number of spawns dropped for all viewers.
+     *
+     * @return dropped spawns since this budget was created
+     */
+    public long droppedTotal() {
+        return droppedTotal;
+    }
+
+    /**
+     * Releases the budget state of a viewer, for example when the player quits.
+     *
+     * @param viewer the viewer's unique id
+     */
+    public void forget(UUID viewer) {
+        viewers.remove(viewer);
+    }
+
+    private static final class ViewerBudget {
+
+        private long tick = Long.MIN_VALUE;
+
+        private double tokens;
+
+        private long demand;
+
+        private double admitRatio = 1.0;
+
+        private double credit;
+
+        private volatile long dropped;
+
+        private ViewerBudget(int burst) {
+            this.tokens = burst;
+        }
+
+        private boolean tryAcquire(long now, int count, int particlesPerTick, int burst) {
+            if (now != tick) {
+                if (tick != Long.MIN_VALUE) {
+                    long elapsed = Math.max(now - tick, 0L);
+                    tokens = Math.min(burst, tokens + (double) elapsed * particlesPerTick);
+                    // Demand of the last active tick decides which share of this tick's spawns is admitted.
+                    admitRatio = demand <= particlesPerTick ? 1.0 : (double) particlesPerTick / demand;
+                }
+                tick = now;
+                demand = 0L;
+                // Start half a particle ahead, so admitted spawns are rounded rather than truncated
+                credit = 0.5;
+            }
+
+            demand += count;
+            credit += admitRatio * count;
+            if (credit >= count && tokens >= count) {
+                credit -= count;
+                tokens -= count;
+                return true;
+            }
+            dropped++;
+            return false;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.roleplaycauldron.spellbook.effect.viewer;
+
+/**
+ * Category of an effect that viewers may opt out of through {@link ViewerPreferences}.
+ */
+public enum ViewerCategory {
+
+    /**
+     * Decorative effects without gameplay meaning, such as cosmetics and auras.
+     */
+    COSMETIC,
+
+    /**
+     * Effects that communicate combat, such as spell casts, hits, and telegraphs.
+     */
+    COMBAT,
+
+    /**
+     * Background effects of the world, such as ambient particles at fixed locations.
+     */
+    AMBIENT
+}
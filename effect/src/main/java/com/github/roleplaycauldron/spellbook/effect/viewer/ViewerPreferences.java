@@ -0,0 +1,152 @@
+package com.github.roleplaycauldron.spellbook.effect.viewer;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Shared registry of the effect categories viewers opted out of.
+ * <p>
+ * Every viewer is assigned a dense index when joining, or when first setting a
+ * preference, and every {@link ViewerCategory} keeps a bitset with one bit per index, so
+ * checking a preference is a single bit test. Indices of forgotten viewers are reused.
+ * Viewers without an index see every category.
+ * <p>
+ * Running effects filter their viewers once per frame through a {@link VisibleViewers}
+ * view, which keeps the index of every viewer it saw and tests bits against it instead
+ * of looking viewers up again. The registry must be used from the server thread.
+ */
+public final class ViewerPreferences {
+
+    private static final ViewerCategory[] CATEGORIES = ViewerCategory.values();
+
+    private final Map<UUID, Integer> indices = new HashMap<>();
+
+    private final BitSet usedIndices = new BitSet();
+
+    private final BitSet[] optedOut = new BitSet[CATEGORIES.length];
+
+    private long generation;
+
+    /**
+     * Creates an empty registry in which every viewer sees every category.
+     */
+    public ViewerPreferences() {
+        for (int i = 0; i < optedOut.length; i++) {
+            optedOut[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Assigns a dense index to a viewer, for example when the player joins, so the
+     * viewer's index is known before any effect is filtered for it.
+     *
+     * @param viewer the viewer's unique id
+     * @return the viewer's index
+     */
+    public int join(UUID viewer) {
+        return indexOf(Objects.requireNonNull(viewer, "viewer"));
+    }
+
+    /**
+     * Sets whether a viewer sees effects of a category.
+     *
+     * @param viewer   the viewer's unique id
+     * @param category the effect category
+     * @param visible  {@code false} to opt the viewer out of the category
+     */
+    public void setVisible(UUID viewer, ViewerCategory category, boolean visible) {
+        Objects.requireNonNull(viewer, "viewer");
+        Objects.requireNonNull(category, "category");
+        if (visible) {
+            Integer index = indices.get(viewer);
+            if (index != null) {
+                optedOut[category.ordinal()].clear(index);
+            }
+            return;
+        }
+        optedOut[category.ordinal()].set(indexOf(viewer));
+    }
+
+    /**
+     * Returns whether a viewer sees effects of a category.
+     *
+     * @param viewer   the viewer's unique id
+     * @param category the effect category
+     * @return {@code false} if the viewer opted out of the category
+     */
+    public boolean isVisible(UUID viewer, ViewerCategory category) {
+        Integer index = indices.get(viewer);
+        return index == null || !optedOut[category.ordinal()].get(index);
+    }
+
+    /**
+     * Returns the dense index of a viewer.
+     *
+     * @param viewer the viewer's unique id
+     * @return the viewer's index, or {@code -1} if the viewer has none
+     */
+    public int index(UUID viewer) {
+        Integer index = indices.get(viewer);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns whether the viewer with a dense index sees effects of a category.
+     *
+     * @param index    the viewer's index from {@link #index(UUID)}, or {@code -1}
+     * @param category the effect category
+     * @return {@code false} if the viewer opted out of the category
+     */
+    public boolean isVisible(int index, ViewerCategory category) {
+        return index < 0 || !optedOut[category.ordinal()].get(index);
+    }
+
+    /**
+     * Returns whether any viewer opted out of a category.
+     *
+     * @param category the effect category
+     * @return {@code true} if filtering by the category may remove viewers
+     */
+    public boolean hasOptOuts(ViewerCategory category) {
+        return !optedOut[category.ordinal()].isEmpty();
+    }
+
+    /**
+     * Releases the preferences and index of a viewer, for example when the player quits.
+     *
+     * @param viewer the viewer's unique id
+     */
+    public void forget(UUID viewer) {
+        Integer index = indices.remove(viewer);
+        if (index == null) {
+            return;
+        }
+        for (BitSet categoryOptedOut : optedOut) {
+            categoryOptedOut.clear(index);
+        }
+        usedIndices.clear(index);
+        generation++;
+    }
+
+    /**
+     * Returns a counter that changes whenever an index is assigned or released, so
+     * views keeping indices know when to look them up again.
+     */
+    long generation() {
+        return generation;
+    }
+
+    private int indexOf(UUID viewer) {
+        Integer index = indices.get(viewer);
+        if (index == null) {
+            index = usedIndices.nextClearBit(0);
+            usedIndices.set(index);
+            indices.put(viewer, index);
+            generation++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.roleplaycauldron.spellbook.effect.viewer;
+
+import org.bukkit.entity.Player;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * The resolved viewers of one running effect that see its category.
+ * <p>
+ * The view keeps the {@link ViewerPreferences#index(java.util.UUID) index} of the
+ * player at every position of the resolved viewers and only looks it up again when a
+ * different player appears at that position or viewers join or are forgotten. Filtering a stable viewer
+ * collection is therefore one bit test per viewer, without hashing, and hidden viewers
+ * are skipped while iterating instead of being copied out. Views belong to one running
+ * effect and must be used from the server thread.
+ */
+public final class VisibleViewers extends AbstractCollection<Player> {
+
+    private final ViewerPreferences preferences;
+
+    private Player[] players = new Player[8];
+
+    private int[] indices = new int[8];
+
+    private boolean[] hidden = new boolean[8];
+
+    private int count;
+
+    private int size;
+
+    private long generation = -1L;
+
+    /**
+     * Creates a view filtering viewers by the given preferences.
+     *
+     * @param preferences the viewer preferences to test
+     */
+    public VisibleViewers(ViewerPreferences preferences) {
+        this.preferences = Objects.requireNonNull(preferences, "preferences");
+    }
+
+    /**
+     * Filters the resolved viewers of a frame by their preferences for a category.
+     * <p>
+     * If the category is {@code null} or no viewer opted out of it, the viewers are
+     * returned unchanged. Otherwise this view is updated and returned; it stays valid
+     * until the next call.
+     *
+     * @param viewers  the resolved viewers of a frame
+     * @param category the category of the effect, or {@code null} for effects every viewer sees
+     * @return the viewers that see the effect
+     */
+    public Collection<? extends Player> filter(Collection<? extends Player> viewers, ViewerCategory category) {
+        if (category == null || viewers.isEmpty() || !preferences.hasOptOuts(category)) {
+            return viewers;
+        }
+
+        if (generation != preferences.generation()) {
+            // Indices may have been reassigned, so every position is looked up again
+            generation = preferences.generation();
+            Arrays.fill(players, 0, count, null);
+        }
+        ensureCapacity(viewers.size());
+
+        int position = 0;
+        int visible = 0;
+        for (Player viewer : viewers) {
+            if (players[position] != viewer) {
+                players[position] = viewer;
+                indices[position] = preferences.index(viewer.getUniqueId());
+            }
+            boolean hide = !preferences.isVisible(indices[position], category);
+            hidden[position] = hide;
+            if (!hide) {
+                visible++;
+            }
+            position++;
+        }
+        for (int i = position; i < count; i++) {
+            players[i] = null;
+        }
+        count = position;
+        size = visible;
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Player> iterator() {
+        return new Iterator<>() {
+            private int position = skipHidden(0);
+
+            @Override
+            public boolean hasNext() {
+                return position < count;
+            }
+
+            @Override
+            public Player next() {
+                if (position >= count) {
+                    throw new NoSuchElementException();
+                }
+                Player viewer = players[position];
+                position = skipHidden(position + 1);
+                return viewer;
+            }
+        };
+    }
+
+    private int skipHidden(int position) {
+        while (position < count && hidden[position]) {
+            position++;
+        }
+        return position;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (players.length >= capacity) {
+            return;
+        }
+        int length = Math.max(capacity, players.length * 2);
+        players = Arrays.copyOf(players, length);
+        indices = Arrays.copyOf(indices, length);
+        hidden = Arrays.copyOf(hidden, length);
+    }
+}
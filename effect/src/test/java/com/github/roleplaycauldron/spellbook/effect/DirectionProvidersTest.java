@@ -0,0 +1,124 @@
+package com.github.roleplaycauldron.spellbook.effect;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectionProvidersTest {
+
+    private final World world = Mockito.mock(World.class);
+
+    @Test
+    void testTowardTargetIsUniformUnitDirection() {
+        DirectionProvider provider = DirectionProviders.towardTarget();
+        Vector3f direction = new Vector3f();
+
+        provider.getDirection(5, 5, 5, context(new Location(world, 3, 4, 0)), direction);
+
+        assertTrue(provider.isUniform());
+        assertEquals(new Vector3f(0.6f, 0.8f, 0f), direction);
+
+        provider.getDirection(0, 0, 0, context(null), direction);
+        assertEquals(new Vector3f(), direction);
+    }
+
+    @Test
+    void testRadialAndOutwardKernelsMatchPerPointDirections() {
+        PointBuffer points = new PointBuffer();
+        points.add(2, 0, 0);
+        points.add(0, -3, 4);
+        points.add(0, 0, 0);
+        points.add(0, 7, 0);
+        EffectContext context = context(null);
+
+        for (DirectionProvider provider : List.of(DirectionProviders.radial(), DirectionProviders.outward())) {
+            PointBuffer directions = new PointBuffer();
+            directions.add(9, 9, 9);
+            provider.getDirections(context, points, directions, new Vector3f());
+
+            assertFalse(provider.isUniform());
+            assertEquals(points.size(), directions.size());
+            Vector3f expected = new Vector3f();
+            for (int i = 0; i < points.size(); i++) {
+                provider.getDirection(points.x(i), points.y(i), points.z(i), context, expected);
+                assertEquals(expected, directions.get(i, new Vector3f()));
+            }
+        }
+
+        PointBuffer radial = new PointBuffer();
+        DirectionProviders.radial().getDirections(context, points, radial, new Vector3f());
+        assertEquals(new Vector3f(0, -0.6f, 0.8f), radial.get(1, new Vector3f()));
+        assertEquals(new Vector3f(), radial.get(2, new Vector3f()));
+
+        PointBuffer outward = new PointBuffer();
+        DirectionProviders.outward().getDirections(context, points, outward, new Vector3f());
+        assertEquals(new Vector3f(0, 0, 1), outward.get(1, new Vector3f()));
+        assertEquals(new Vector3f(), outward.get(3, new Vector3f()));
+    }
+
+    @Test
+    void testLayersEvaluateUniformDirectionsOncePerFrame() {
+        int[] calls = new int[]{0};
+        DirectionProvider uniform = new DirectionProvider() {
+            @Override
+            public void getDirection(float localX, float localY, float localZ, EffectContext context, Vector3f destination) {
+                calls[0]++;
+                destination.set(0, 1, 0);
+            }
+
+            @Override
+            public boolean isUniform() {
+                return true;
+            }
+        };
+        List<Vector3f> emitted = new ArrayList<>();
+        EffectInstance effect = new EffectInstance(
+                (context, points) -> {
+                    points.add(1, 0, 0);
+                    points.add(2, 0, 0);
+                    points.add(3, 0, 0);
+                },
+                List.of(),
+                List.of(),
+                (context, localX, localY, localZ, worldX, worldY, worldZ, directionX, directionY, directionZ) ->
+                        emitted.add(new Vector3f(directionX, directionY, directionZ)),
+                uniform
+        );
+
+        effect.render(context(null), new EffectRenderState());
+
+        assertEquals(1, calls[0]);
+        assertEquals(List.of(new Vector3f(0, 1, 0), new Vector3f(0, 1, 0), new Vector3f(0, 1, 0)), emitted);
+    }
+
+    @Test
+    void testLayersPassPerPointDirectionsInPointOrder() {
+        List<Vector3f> emitted = new ArrayList<>();
+        EffectInstance effect = new EffectInstance(
+                (context, points) -> {
+                    points.add(0, 2, 0);
+                    points.add(-4, 0, 0);
+                },
+                List.of(),
+                List.of(),
+                (context, localX, localY, localZ, worldX, worldY, worldZ, directionX, directionY, directionZ) ->
+                        emitted.add(new Vector3f(directionX, directionY, directionZ)),
+                DirectionProviders.radial()
+        );
+
+        effect.render(context(null), new EffectRenderState());
+
+        assertEquals(List.of(new Vector3f(0, 1, 0), new Vector3f(-1, 0, 0)), emitted);
+    }
+
+    private EffectContext context(Location target) {
+        return new EffectContext(world, new Location(world, 0, 0, 0), target, List.of(), 0, 0, 0);
+    }
+}
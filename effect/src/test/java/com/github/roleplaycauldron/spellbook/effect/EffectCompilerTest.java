@@ -0,0 +1,139 @@
+package com.github.roleplaycauldron.spellbook.effect;
+
+import com.github.roleplaycauldron.spellbook.effect.emitter.ParticleEmitter;
+import com.github.roleplaycauldron.spellbook.effect.harness.FrameTrace;
+import com.github.roleplaycauldron.spellbook.effect.harness.HeadlessHarness;
+import com.github.roleplaycauldron.spellbook.effect.harness.TraceRecorder;
+import com.github.roleplaycauldron.spellbook.effect.modifier.JitterModifier;
+import com.github.roleplaycauldron.spellbook.effect.modifier.NoiseModifier;
+import com.github.roleplaycauldron.spellbook.effect.shape.HelixShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.LineShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.SphereShape;
+import com.github.roleplaycauldron.spellbook.effect.transform.LookAtTransform;
+import com.github.roleplaycauldron.spellbook.effect.transform.RotationTransform;
+import com.github.roleplaycauldron.spellbook.effect.transform.Transform;
+import com.github.roleplaycauldron.spellbook.effect.transform.TranslateTransform;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EffectCompilerTest {
+
+    private static final ParticleEmitter NO_OP_EMITTER =
+            (context, localX, localY, localZ, worldX, worldY, worldZ, directionX, directionY, directionZ) -> {
+            };
+
+    private static final DirectionProvider OUTWARD =
+            (localX, localY, localZ, context, destination) -> destination.set(localX, localY, localZ);
+
+    private final HeadlessHarness harness = HeadlessHarness.builder()
+            .origin(4, 70, 4)
+            .target(10, 72, -3)
+            .viewers(2)
+            .build();
+
+    @Test
+    void compiledEffectRendersTheSameFramesAsItsSource() {
+        EffectInstance effect = new EffectInstance(List.of(
+                new EffectLayer(
+                        new SphereShape(1.5f, 48, 0.2f),
+                        List.of(new RotationTransform(30f, 10f, 0f), new TranslateTransform(0f, 1f, 0f)),
+                        List.of(new NoiseModifier(0.2f, 0.05f, 0.1f, 3)),
+                        NO_OP_EMITTER,
+                        OUTWARD
+                ),
+                new EffectLayer(
+                        new HelixShape(2, 16, 1f, 3f, 2f, 0.1f),
+                        List.of(new LookAtTransform()),
+                        List.of(new JitterModifier(0.05f, 2, 9)),
+                        new RecordingEmitter(),
+                        OUTWARD
+                )
+        ));
+
+        TraceRecorder sourceRecorder = new TraceRecorder(harness.players());
+        TraceRecorder compiledRecorder = new TraceRecorder(harness.players());
+        EffectInstance compiled = EffectCompiler.compile(compiledRecorder.wrap(effect));
+
+        assertTrue(EffectCompiler.isCompiled(compiled));
+        assertEquals(2, ((CompiledEffectInstance) compiled).specializedLayers());
+        Optional<FrameTrace.Difference> difference = render(sourceRecorder.wrap(effect), sourceRecorder)
+                .difference(render(compiled, compiledRecorder), 0);
+        assertEquals(Optional.empty(), difference);
+    }
+
+    @Test
+    void layersWithTooManyTransformsKeepTheGenericPath() {
+        List<Transform> transforms = Collections.nCopies(
+                SpecializedLayerTemplate.TRANSFORM_SLOTS + 1,
+                new TranslateTransform(0.5f, 0f, 0f)
+        );
+        EffectLayer generic = new EffectLayer(new LineShape(4), transforms, List.of(), NO_OP_EMITTER, OUTWARD);
+        EffectLayer specialized = new EffectLayer(new LineShape(4), List.of(), List.of(), NO_OP_EMITTER, OUTWARD);
+
+        EffectInstance onlyGeneric = new EffectInstance(List.of(generic));
+        assertSame(onlyGeneric, EffectCompiler.compile(onlyGeneric));
+
+        EffectInstance mixed = new EffectInstance(List.of(generic, specialized));
+        TraceRecorder sourceRecorder = new TraceRecorder(harness.players());
+        TraceRecorder compiledRecorder = new TraceRecorder(harness.players());
+        EffectInstance compiled = EffectCompiler.compile(compiledRecorder.wrap(mixed));
+
+        assertEquals(1, ((CompiledEffectInstance) compiled).specializedLayers());
+        assertEquals(
+                Optional.empty(),
+                render(sourceRecorder.wrap(mixed), sourceRecorder).difference(render(compiled, compiledRecorder), 0)
+        );
+    }
+
+    @Test
+    void compilingTwiceReturnsTheCompiledEffect() {
+        EffectInstance effect = new EffectInstance(new SphereShape(1f, 8), List.of(), List.of(), NO_OP_EMITTER, OUTWARD);
+
+        EffectInstance compiled = EffectCompiler.compile(effect);
+
+        assertNotSame(effect, compiled);
+        assertSame(compiled, EffectCompiler.compile(compiled));
+        assertFalse(EffectCompiler.isCompiled(effect));
+        assertEquals(effect.layers(), compiled.layers());
+    }
+
+    private FrameTrace render(EffectInstance effect, TraceRecorder recorder) {
+        EffectRenderState state = new EffectRenderState();
+        for (int frame = 0; frame < 12; frame++) {
+            recorder.beginFrame();
+            effect.render(harness.context(frame), state);
+            recorder.endFrame(0);
+        }
+        return recorder.toTrace();
+    }
+
+    private static final class RecordingEmitter implements ParticleEmitter {
+
+        @Override
+        public boolean requiresDirection() {
+            return true;
+        }
+
+        @Override
+        public void spawn(EffectContext context,
+                          float localX,
+                          float localY,
+                          float localZ,
+                          double worldX,
+                          double worldY,
+                          double worldZ,
+                          float directionX,
+                          float directionY,
+                          float directionZ) {
+        }
+    }
+}
@@ -247,6 +247,53 @@ class EffectInstanceTest {
         assertEquals(0f, emitter.firstDirectionX, 1e-6f);
     }
 
+    @Test
+    void testLayersRenderInOrderWithSeparatePointBuffers() {
+        int[] layerBuffers = new int[2];
+        Shape first = (context, points) -> {
+            layerBuffers[0] = System.identityHashCode(points);
+            points.add(1, 0, 0);
+        };
+        Shape second = (context, points) -> {
+            layerBuffers[1] = System.identityHashCode(points);
+            assertEquals(0, points.size());
+            points.add(0, 2, 0);
+            points.add(0, 3, 0);
+        };
+        RecordingEmitter firstEmitter = new RecordingEmitter();
+        RecordingEmitter secondEmitter = new RecordingEmitter();
+
+        EffectInstance effect = EffectBuilder.create()
+                .shape(first)
+                .particle(firstEmitter)
+                .layer(EffectBuilder.create()
+                        .shape(second)
+                        .transform(new TranslateTransform(1, 0, 0))
+                        .particle(secondEmitter)
+                        .buildLayer())
+                .build();
+
+        World world = Mockito.mock(World.class);
+        EffectContext context = new EffectContext(world, new Location(world, 10, 20, 30), null, List.of(), 0, 0, 0);
+        EffectRenderState state = new EffectRenderState();
+
+        effect.render(context, state);
+
+        assertEquals(2, effect.layers().size());
+        assertEquals(1, firstEmitter.calls);
+        assertEquals(11.0, firstEmitter.firstWorldX, 1e-6);
+        assertEquals(2, secondEmitter.calls);
+        assertEquals(11.0, secondEmitter.firstWorldX, 1e-6);
+        assertEquals(23.0, secondEmitter.secondWorldY, 1e-6);
+        assertNotEquals(layerBuffers[0], layerBuffers[1]);
+    }
+
+    @Test
+    void testEffectRequiresAtLeastOneLayer() {
+        assertThrows(IllegalArgumentException.class, () -> new EffectInstance(List.of()));
+        assertThrows(IllegalStateException.class, () -> EffectBuilder.create().build());
+    }
+
     private static final class RecordingEmitter implements ParticleEmitter {
         private final boolean requiresDirection;
         private int calls;
@@ -94,4 +94,19 @@ class PointBufferTest {
         assertEquals(2f, buffer.y(0), 1e-6f);
         assertEquals(3f, buffer.z(0), 1e-6f);
     }
+
+    @Test
+    void testGrowAppendsRegionForIndexedWrites() {
+        PointBuffer buffer = new PointBuffer(1);
+        buffer.add(1, 2, 3);
+
+        int first = buffer.grow(40);
+        buffer.set(40, 4, 5, 6);
+
+        assertEquals(1, first);
+        assertEquals(41, buffer.size());
+        assertEquals(1f, buffer.x(0), 1e-6f);
+        assertEquals(6f, buffer.z(40), 1e-6f);
+        assertThrows(IllegalArgumentException.class, () -> buffer.grow(-1));
+    }
 }
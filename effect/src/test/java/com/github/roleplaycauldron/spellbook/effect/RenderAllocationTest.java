@@ -0,0 +1,287 @@
+package com.github.roleplaycauldron.spellbook.effect;
+
+import com.github.roleplaycauldron.spellbook.effect.block.BlockSnapshotCache;
+import com.github.roleplaycauldron.spellbook.effect.emitter.ParticleEmitter;
+import com.github.roleplaycauldron.spellbook.effect.executor.HeadlessExecution;
+import com.github.roleplaycauldron.spellbook.effect.expression.Expression;
+import com.github.roleplaycauldron.spellbook.effect.harness.HeadlessHarness;
+import com.github.roleplaycauldron.spellbook.effect.modifier.BlockOcclusionModifier;
+import com.github.roleplaycauldron.spellbook.effect.modifier.JitterModifier;
+import com.github.roleplaycauldron.spellbook.effect.modifier.NoiseModifier;
+import com.github.roleplaycauldron.spellbook.effect.shape.BeamShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.CubeShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.HelixShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.LineShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.MovingPointShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.ParallelShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.PointCloudShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.PointSpacing;
+import com.github.roleplaycauldron.spellbook.effect.shape.Shape;
+import com.github.roleplaycauldron.spellbook.effect.shape.SphereShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.SpiralHelixShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.SplinePathShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.TrailShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.morph.MorphSequence;
+import com.github.roleplaycauldron.spellbook.effect.shape.morph.MorphShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.text.TextShape;
+import com.github.roleplaycauldron.spellbook.effect.transform.LookAtTransform;
+import com.github.roleplaycauldron.spellbook.effect.transform.OrbitTransform;
+import com.github.roleplaycauldron.spellbook.effect.transform.OscillateTransform;
+import com.github.roleplaycauldron.spellbook.effect.transform.RotationTransform;
+import com.github.roleplaycauldron.spellbook.effect.transform.ScaleTransform;
+import com.github.roleplaycauldron.spellbook.effect.transform.SpinTransform;
+import com.github.roleplaycauldron.spellbook.effect.transform.Transform;
+import com.github.roleplaycauldron.spellbook.effect.transform.TranslateTransform;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ParticleBudget;
+import com.sun.management.ThreadMXBean;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the steady-state allocation rate of the render hot paths.
+ * <p>
+ * Every case renders a warmed-up effect repeatedly and compares the bytes the rendering
+ * thread allocated per frame with the budget of the case. A budget of {@code 0} means the
+ * steady-state frame must not allocate at all. Budgets are upper bounds that also hold
+ * when the JIT does not scalar-replace short-lived objects, so they do not depend on
+ * escape analysis. Raise a budget only together with the change that needs the allocation.
+ */
+class RenderAllocationTest {
+
+    private static final int WARMUP_FRAMES = 100_000;
+
+    private static final int MEASURED_FRAMES = 2_000;
+
+    private static final int ROUNDS = 10;
+
+    private static final int STEPS = 64;
+
+    private static final ParticleEmitter NO_OP_EMITTER =
+            (context, localX, localY, localZ, worldX, worldY, worldZ, directionX, directionY, directionZ) -> {
+            };
+
+    private static final DirectionProvider UP =
+            (localX, localY, localZ, context, destination) -> destination.set(0, 1, 0);
+
+    private final HeadlessHarness harness = HeadlessHarness.builder()
+            .origin(8, 64, 8)
+            .target(14, 68, 11)
+            .viewers(1)
+            .build();
+
+    @TestFactory
+    Stream<DynamicTest> shapesStayWithinAllocationBudget() {
+        return Stream.of(
+                new Case("line", 0, () -> effect(new LineShape(32))),
+                new Case("spaced line", 0, () -> effect(new LineShape(new PointSpacing(0.25f, 2, 64)))),
+                new Case("sphere", 0, () -> effect(new SphereShape(1f, 64))),
+                new Case("rotating sphere", 0, () -> effect(new SphereShape(1f, 64, 0.1f))),
+                new Case("expression sphere", 0, () -> effect(new SphereShape(
+                        Expression.parse("1 + 0.25 * sin(time * 2 + index * 0.1)"), 64, 0f))),
+                new Case("cube", 0, () -> effect(new CubeShape(2f, 8))),
+                new Case("helix", 0, () -> effect(new HelixShape(2, 32, 1f, 2f, 2f, 0f))),
+                new Case("rotating helix", 0, () -> effect(new HelixShape(2, 32, 1f, 2f, 2f, 0.1f))),
+                new Case("spiral helix", 0, () -> effect(new SpiralHelixShape(3, 24, 1f, 3f, 1f, 0f))),
+                new Case("rotating spiral helix", 0, () -> effect(new SpiralHelixShape(3, 24, 1f, 3f, 1f, 0.1f))),
+                new Case("moving point", 0, () -> effect(new MovingPointShape(0.5f, 0.25f, 8, true))),
+                new Case("trail", 0, () -> effect(new TrailShape(64, 0.5f, 0.25f))),
+                new Case("point cloud", 0, () -> effect(new PointCloudShape(new float[]{0f, 0f, 0f, 1f, 0f, 0f, 0f, 1f, 0f}))),
+                new Case("parallel sphere below threshold", 0, () -> effect(new ParallelShape(new SphereShape(1f, 64)))),
+                // Only the headless world's proxy allocates, boxing the arguments of its
+                // chunk-loaded check, since none of its chunks is ever loaded
+                new Case("beam", 24, () -> effect(new BeamShape(16f, 0.25f, blockCache()))),
+                new Case("spline", 0, () -> effect(SplinePathShape.catmullRom()
+                        .point(0, 0, 0).point(2, 2, 0).point(4, 0, 2).point(6, 1, 0)
+                        .uniform(32)
+                        .build())),
+                new Case("spline moving head", 0, () -> effect(SplinePathShape.catmullRom()
+                        .point(0, 0, 0).point(2, 2, 0).targetPoint(0, 0, 0)
+                        .movingHead(0.3f, 0.2f, 6, true)
+                        .build())),
+                new Case("text", 0, () -> effect(TextShape.of("Spellbook").size(1f).build())),
+                new Case("morph", 0, () -> effect(MorphShape.between(new SphereShape(1f, 32), new CubeShape(1f, 4))
+                        .overSteps(STEPS)
+                        .build())),
+                new Case("compiled sphere", 0, () -> EffectCompiler.compile(effect(new SphereShape(1f, 64, 0.1f)))),
+                new Case("morph sequence", 0, () -> effect(MorphSequence.startingWith(new SphereShape(1f, 32))
+                        .then(new CubeShape(1f, 4), 16)
+                        .then(new HelixShape(1, 32, 1f, 2f, 2f, 0f), 16)
+                        .build()))
+        ).map(this::renderTest);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> movingTargetsStayWithinAllocationBudget() {
+        return Stream.of(
+                new Case("homing spline", 0, () -> effect(SplinePathShape.catmullRom()
+                        .point(0, 0, 0).point(2, 2, 0).targetPoint(0, 0, 0)
+                        .uniform(32)
+                        .build())),
+                new Case("homing spline moving head", 0, () -> effect(SplinePathShape.bezier()
+                        .point(0, 0, 0).point(1, 3, 0).targetPoint(0, 3, 0).targetPoint(0, 0, 0)
+                        .movingHead(0.3f, 0.2f, 6, true)
+                        .build()))
+        ).map(allocationCase -> renderTest(allocationCase, true));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> transformsStayWithinAllocationBudget() {
+        return Stream.of(
+                new Case("translate", 0, () -> effect(new TranslateTransform(1f, 2f, 3f))),
+                new Case("rotate", 0, () -> effect(new RotationTransform(45f, 10f, 0f))),
+                // One prepared translation per frame
+                new Case("expression translate", 48, () -> effect(new TranslateTransform(
+                        Expression.parse("sin(index)"), Expression.constant(0), Expression.parse("step % 4")))),
+                // One prepared rotation matrix per frame
+                new Case("look-at", 48, () -> effect(new LookAtTransform())),
+                new Case("spin", 48, () -> effect(new SpinTransform(90f))),
+                // One prepared translation per frame
+                new Case("orbit", 48, () -> effect(new OrbitTransform(2f, 45f))),
+                // One prepared offset per frame
+                new Case("oscillate", 48, () -> effect(new OscillateTransform(new Vector3f(0f, 0.5f, 0f), 2f, 0f))),
+                // One prepared factor per frame until the final factor is reached
+                new Case("animated scale", 48, () -> effect(new ScaleTransform(0.5f, 2f, 2f))),
+                new Case("held scale", 0, () -> effect(new ScaleTransform(0f, 2f, 0f)))
+        ).map(this::renderTest);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> modifiersStayWithinAllocationBudget() {
+        return Stream.of(
+                new Case("noise", 0, () -> effect(new NoiseModifier(0.2f, 0.05f, 0.1f, 7))),
+                new Case("jitter", 0, () -> effect(new JitterModifier(0.2f, 2, 7))),
+                // Only the headless world's proxy allocates, boxing the arguments of its
+                // chunk-loaded check, since none of its chunks is ever loaded
+                new Case("block occlusion", 24, () -> effect(new BlockOcclusionModifier(blockCache())))
+        ).map(this::renderTest);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> directionsStayWithinAllocationBudget() {
+        return Stream.of(
+                new Case("toward-target direction", 0, () -> effect(DirectionProviders.towardTarget())),
+                new Case("radial direction", 0, () -> effect(DirectionProviders.radial())),
+                new Case("outward direction", 0, () -> effect(DirectionProviders.outward())),
+                new Case("per-point direction", 0, () -> effect(UP))
+        ).map(this::renderTest);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> executorFramePathStaysWithinAllocationBudget() {
+        return Stream.of(
+                // Resolved anchor locations and the frame's effect context
+                new Case("executor frame", 272, () -> effect(new SphereShape(1f, 64)))
+        ).map(this::executeTest);
+    }
+
+    private DynamicTest renderTest(Case allocationCase) {
+        return renderTest(allocationCase, false);
+    }
+
+    private DynamicTest renderTest(Case allocationCase, boolean movingTarget) {
+        return DynamicTest.dynamicTest(allocationCase.name(), () -> {
+            EffectInstance effect = allocationCase.effect().get();
+            EffectRenderState state = new EffectRenderState();
+            EffectContext[] contexts = new EffectContext[STEPS];
+            for (int step = 0; step < STEPS; step++) {
+                EffectContext context = harness.context(step);
+                if (movingTarget) {
+                    // The target moves every frame, like a homing projectile's
+                    context = new EffectContext(
+                            context.world(),
+                            context.origin(),
+                            context.target().clone().add(step * 0.25, 0, step * 0.1),
+                            context.viewers(),
+                            context.step(),
+                            context.tick(),
+                            context.timeSeconds(),
+                            context.budget()
+                    );
+                }
+                contexts[step] = context;
+            }
+            int[] frame = new int[]{0};
+
+            assertWithinBudget(allocationCase, () -> effect.render(contexts[frame[0]++ & (STEPS - 1)], state));
+        });
+    }
+
+    private DynamicTest executeTest(Case allocationCase) {
+        return DynamicTest.dynamicTest(allocationCase.name(), () -> {
+            HeadlessExecution execution = HeadlessExecution.of(
+                    allocationCase.effect().get(),
+                    harness.config().build(),
+                    ParticleBudget.unlimited()
+            );
+
+            assertWithinBudget(allocationCase, execution::tick);
+        });
+    }
+
+    private static void assertWithinBudget(Case allocationCase, Runnable frame) {
+        ThreadMXBean threads = threadMXBean();
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame.run();
+        }
+
+        // The quietest round excludes one-off allocations such as late JIT deoptimizations
+        long bytes = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_FRAMES; i++) {
+                frame.run();
+            }
+            bytes = Math.min(bytes, threads.getCurrentThreadAllocatedBytes() - before);
+        }
+
+        long bytesPerFrame = bytes / MEASURED_FRAMES;
+        assertTrue(
+                bytesPerFrame <= allocationCase.budgetBytes(),
+                allocationCase.name() + " allocated " + bytesPerFrame
+                        + " bytes per frame, budget is " + allocationCase.budgetBytes()
+        );
+    }
+
+    private static ThreadMXBean threadMXBean() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(
+                threads instanceof ThreadMXBean allocations && allocations.isThreadAllocatedMemorySupported(),
+                "thread allocation measurement is not supported by this JVM"
+        );
+        ThreadMXBean allocations = (ThreadMXBean) threads;
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        return allocations;
+    }
+
+    private static BlockSnapshotCache blockCache() {
+        return new BlockSnapshotCache(20, () -> 0L, () -> true);
+    }
+
+    private static EffectInstance effect(Shape shape) {
+        return new EffectInstance(shape, List.of(), List.of(), NO_OP_EMITTER, UP);
+    }
+
+    private static EffectInstance effect(Transform transform) {
+        return new EffectInstance(new SphereShape(1f, 64), List.of(transform), List.of(), NO_OP_EMITTER, UP);
+    }
+
+    private static EffectInstance effect(EffectModifier modifier) {
+        return new EffectInstance(new SphereShape(1f, 64), List.of(), List.of(modifier), NO_OP_EMITTER, UP);
+    }
+
+    private static EffectInstance effect(DirectionProvider direction) {
+        return new EffectInstance(new SphereShape(1f, 64), List.of(), List.of(), NO_OP_EMITTER, direction);
+    }
+
+    private record Case(String name, long budgetBytes, Supplier<EffectInstance> effect) {
+    }
+}
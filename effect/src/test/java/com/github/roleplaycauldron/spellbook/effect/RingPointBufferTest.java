@@ -0,0 +1,56 @@
+package com.github.roleplaycauldron.spellbook.effect;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingPointBufferTest {
+
+    @Test
+    void testRejectsInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RingPointBuffer(0));
+    }
+
+    @Test
+    void testKeepsPointsFromOldestToNewest() {
+        RingPointBuffer buffer = new RingPointBuffer(3);
+        buffer.add(1, 2, 3);
+        buffer.add(4, 5, 6);
+
+        assertEquals(2, buffer.size());
+        assertEquals(1.0, buffer.x(0), 1e-9);
+        assertEquals(6.0, buffer.z(1), 1e-9);
+        assertEquals(0, buffer.sequence(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.x(2));
+    }
+
+    @Test
+    void testOverwritesOldestPointWhenFull() {
+        RingPointBuffer buffer = new RingPointBuffer(3);
+        for (int i = 0; i < 7; i++) {
+            buffer.add(i, 0, 30_000_000.5 + i);
+        }
+
+        assertEquals(3, buffer.size());
+        assertEquals(4.0, buffer.x(0), 1e-9);
+        assertEquals(5.0, buffer.x(1), 1e-9);
+        assertEquals(6.0, buffer.x(2), 1e-9);
+        assertEquals(30_000_006.5, buffer.z(2), 1e-9);
+        assertEquals(4, buffer.sequence(0));
+        assertEquals(6, buffer.sequence(2));
+    }
+
+    @Test
+    void testClearKeepsSequenceNumbersIncreasing() {
+        RingPointBuffer buffer = new RingPointBuffer(2);
+        buffer.add(1, 1, 1);
+        buffer.add(2, 2, 2);
+
+        buffer.clear();
+        buffer.add(3, 3, 3);
+
+        assertEquals(1, buffer.size());
+        assertEquals(3.0, buffer.y(0), 1e-9);
+        assertEquals(2, buffer.sequence(0));
+    }
+}
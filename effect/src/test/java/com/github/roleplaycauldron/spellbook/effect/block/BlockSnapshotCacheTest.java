@@ -0,0 +1,147 @@
+package com.github.roleplaycauldron.spellbook.effect.block;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectRenderState;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the BlockSnapshotCache class.
+ */
+class BlockSnapshotCacheTest {
+
+    @Test
+    void testRejectsInvalidTtl() {
+        assertThrows(IllegalArgumentException.class, () -> new BlockSnapshotCache(0, () -> 0L, () -> true));
+    }
+
+    @Test
+    void testReadsSolidBlocksFromSnapshots() {
+        World world = wallWorld(5);
+        BlockView view = new BlockSnapshotCache(20, () -> 0L, () -> true).view(world);
+
+        assertTrue(view.isSolid(5, 64, 3));
+        assertTrue(view.isSolid(5, 64, -40));
+        assertFalse(view.isSolid(4, 64, 3));
+        assertFalse(view.isSolid(5, 400, 3));
+    }
+
+    @Test
+    void testReusesSnapshotsUntilExpired() {
+        AtomicLong tick = new AtomicLong();
+        World world = wallWorld(5);
+        BlockSnapshotCache cache = new BlockSnapshotCache(20, tick::get, () -> true);
+
+        cache.view(world).isSolid(5, 64, 3);
+        cache.view(world).isSolid(6, 64, 3);
+        verify(world, times(1)).getChunkAt(0, 0);
+
+        tick.set(20);
+        cache.view(world).isSolid(5, 64, 3);
+        verify(world, times(2)).getChunkAt(0, 0);
+    }
+
+    @Test
+    void testOnlyTakesSnapshotsOnPrimaryThread() {
+        AtomicLong tick = new AtomicLong();
+        AtomicBoolean primary = new AtomicBoolean(false);
+        World world = wallWorld(5);
+        BlockSnapshotCache cache = new BlockSnapshotCache(20, tick::get, primary::get);
+
+        assertFalse(cache.view(world).isSolid(5, 64, 3));
+        verify(world, never()).getChunkAt(anyInt(), anyInt());
+
+        primary.set(true);
+        assertTrue(cache.view(world).isSolid(5, 64, 3));
+
+        // Expired snapshots are still served off the primary thread
+        primary.set(false);
+        tick.set(25);
+        assertTrue(cache.view(world).isSolid(5, 64, 3));
+        verify(world, times(1)).getChunkAt(0, 0);
+    }
+
+    @Test
+    void testSkipsUnloadedChunksAndInvalidatesWorlds() {
+        World world = wallWorld(5);
+        when(world.isChunkLoaded(1, 0)).thenReturn(false);
+        BlockSnapshotCache cache = new BlockSnapshotCache(20, () -> 0L, () -> true);
+
+        assertFalse(cache.view(world).isSolid(16, 64, 0));
+        verify(world, never()).getChunkAt(1, 0);
+
+        cache.view(world).isSolid(5, 64, 3);
+        assertEquals(1, cache.size());
+        cache.invalidate(world.getUID());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testRenderStateKeepsOneViewBoundPerFrame() {
+        AtomicLong tick = new AtomicLong();
+        World world = wallWorld(5);
+        BlockSnapshotCache cache = new BlockSnapshotCache(20, tick::get, () -> true);
+        EffectRenderState state = new EffectRenderState();
+
+        BlockView view = cache.view(world, state);
+        assertTrue(view.isSolid(5, 64, 3));
+        assertSame(view, cache.view(world, state));
+
+        // A new frame forgets the last chunk, so expired snapshots are taken again
+        tick.set(20);
+        assertTrue(cache.view(world, state).isSolid(5, 64, 3));
+        verify(world, times(2)).getChunkAt(0, 0);
+    }
+
+    @Test
+    void testKeepsChunksOfManyCoordinatesAndSweepsExpiredOnes() {
+        AtomicLong tick = new AtomicLong();
+        World world = wallWorld(5);
+        BlockSnapshotCache cache = new BlockSnapshotCache(20, tick::get, () -> true);
+
+        for (int chunk = -50; chunk < 50; chunk++) {
+            assertFalse(cache.view(world).isSolid(4, 64, chunk * 16));
+            assertFalse(cache.view(world).isSolid(chunk * 16 + 4, 64, 0));
+        }
+        assertEquals(199, cache.size());
+        assertTrue(cache.view(world).isSolid(5, 64, -800));
+        assertTrue(cache.view(world).isSolid(5, 64, 799));
+        verify(world, times(1)).getChunkAt(0, -50);
+
+        tick.set(40);
+        cache.view(world).isSolid(5, 64, 3);
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Creates a world whose blocks are stone at the given x coordinate and air elsewhere.
+     */
+    private static World wallWorld(int wallX) {
+        World world = Mockito.mock(World.class);
+        when(world.getUID()).thenReturn(UUID.randomUUID());
+        when(world.getMinHeight()).thenReturn(-64);
+        when(world.getMaxHeight()).thenReturn(320);
+        when(world.isChunkLoaded(anyInt(), anyInt())).thenReturn(true);
+        when(world.getChunkAt(anyInt(), anyInt())).thenAnswer(invocation -> {
+            int chunkX = invocation.getArgument(0);
+            ChunkSnapshot snapshot = Mockito.mock(ChunkSnapshot.class);
+            when(snapshot.getBlockType(anyInt(), anyInt(), anyInt())).thenAnswer(block ->
+                    chunkX * 16 + (int) block.getArgument(0) == wallX ? Material.STONE : Material.AIR);
+            Chunk chunk = Mockito.mock(Chunk.class);
+            when(chunk.getChunkSnapshot(false, false, false)).thenReturn(snapshot);
+            return chunk;
+        });
+        return world;
+    }
+}
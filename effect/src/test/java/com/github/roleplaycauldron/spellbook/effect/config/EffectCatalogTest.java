@@ -0,0 +1,135 @@
+package com.github.roleplaycauldron.spellbook.effect.config;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EffectCatalogTest {
+
+    @Test
+    void testLoadIndexesWithoutParsing() {
+        AtomicInteger parses = new AtomicInteger();
+        EffectCatalog catalog = new EffectCatalog(countingParser(parses));
+
+        catalog.load(catalogConfig());
+
+        assertEquals(3, catalog.size());
+        assertTrue(catalog.contains("fire"));
+        assertEquals(0, parses.get());
+        assertNull(catalog.get("unknown"));
+    }
+
+    @Test
+    void testGetParsesOnceAndMemoizes() {
+        AtomicInteger parses = new AtomicInteger();
+        EffectCatalog catalog = new EffectCatalog(countingParser(parses));
+        catalog.load(catalogConfig());
+
+        EffectInstance first = catalog.get("fire");
+        EffectInstance second = catalog.get("fire");
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(1, parses.get());
+    }
+
+    @Test
+    void testIdenticalDefinitionsShareInstance() {
+        AtomicInteger parses = new AtomicInteger();
+        EffectCatalog catalog = new EffectCatalog(countingParser(parses));
+        catalog.load(catalogConfig());
+
+        assertSame(catalog.get("fire"), catalog.get("fire-copy"));
+        assertEquals(1, parses.get());
+    }
+
+    @Test
+    void testReloadKeepsUnchangedInstancesAndReparsesChangedOnes() {
+        AtomicInteger parses = new AtomicInteger();
+        EffectCatalog catalog = new EffectCatalog(countingParser(parses));
+        catalog.load(catalogConfig());
+        EffectInstance fire = catalog.get("fire");
+        EffectInstance ice = catalog.get("ice");
+
+        MemoryConfiguration reloaded = catalogConfig();
+        reloaded.set("ice.shape.radius", 3.0);
+        catalog.load(reloaded);
+
+        assertSame(fire, catalog.get("fire"));
+        assertNotSame(ice, catalog.get("ice"));
+        assertEquals(3, parses.get());
+    }
+
+    @Test
+    void testInvalidDefinitionReportsPathPrefixedWithId() {
+        AtomicInteger parses = new AtomicInteger();
+        EffectCatalog catalog = new EffectCatalog(countingParser(parses));
+        MemoryConfiguration config = catalogConfig();
+        config.set("broken.particle.type", "FLAME");
+        config.set("broken.shape.type", "sphere");
+        config.set("broken.shape.points", 8);
+        catalog.load(config);
+
+        EffectConfigException exception = assertThrows(EffectConfigException.class, () -> catalog.get("broken"));
+        assertThrows(EffectConfigException.class, () -> catalog.get("broken"));
+
+        assertEquals("broken.shape.radius", exception.path());
+        assertEquals("Missing required number", exception.detail());
+    }
+
+    @Test
+    void testWarmUpParsesInParallelAndCollectsFailures() throws Exception {
+        AtomicInteger parses = new AtomicInteger();
+        EffectCatalog catalog = new EffectCatalog(countingParser(parses));
+        MemoryConfiguration config = catalogConfig();
+        config.set("broken.particle.type", "FLAME");
+        catalog.load(config);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Map<String, EffectConfigException> failures = catalog.warmUp(executor).get();
+
+            assertEquals(1, failures.size());
+            assertEquals("broken.shape", failures.get("broken").path());
+        } finally {
+            executor.shutdown();
+        }
+
+        int parsesAfterWarmUp = parses.get();
+        catalog.get("fire");
+        catalog.get("ice");
+        assertEquals(parsesAfterWarmUp, parses.get());
+    }
+
+    private static EffectConfigParser countingParser(AtomicInteger parses) {
+        return EffectConfigParser.defaults()
+                .registerShape("counted-sphere", (section, context) -> {
+                    parses.incrementAndGet();
+                    return context.parseShape(section.getConfigurationSection("sphere"), context.path("sphere"));
+                });
+    }
+
+    private static MemoryConfiguration catalogConfig() {
+        MemoryConfiguration config = new MemoryConfiguration();
+        effect(config, "fire", 1.0);
+        effect(config, "fire-copy", 1.0);
+        effect(config, "ice", 2.0);
+        return config;
+    }
+
+    private static void effect(MemoryConfiguration config, String id, double radius) {
+        config.set(id + ".particle.type", "FLAME");
+        config.set(id + ".shape.type", "counted-sphere");
+        config.set(id + ".shape.sphere.type", "sphere");
+        config.set(id + ".shape.sphere.radius", radius);
+        config.set(id + ".shape.sphere.points", 8);
+        config.set(id + ".shape.radius", radius);
+    }
+}
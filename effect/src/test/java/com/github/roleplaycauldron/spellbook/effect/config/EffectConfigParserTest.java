@@ -3,6 +3,8 @@ package com.github.roleplaycauldron.spellbook.effect.config;
 import com.github.roleplaycauldron.spellbook.effect.EffectBuilder;
 import com.github.roleplaycauldron.spellbook.effect.EffectContext;
 import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
+import com.github.roleplaycauldron.spellbook.effect.EffectLayer;
+import com.github.roleplaycauldron.spellbook.effect.emitter.StandardParticleEmitter;
 import com.github.roleplaycauldron.spellbook.effect.shape.Shape;
 import com.github.roleplaycauldron.spellbook.effect.transform.TranslateTransform;
 import org.bukkit.Color;
@@ -21,6 +23,8 @@ import java.util.Map;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -112,6 +116,239 @@ class EffectConfigParserTest {
         assertDoesNotThrow(() -> EffectConfigParser.defaults().parse(config));
     }
 
+    @Test
+    void parsesMorphSequenceKeyframes() {
+        MemoryConfiguration config = baseConfig();
+        config.set("shape.type", "morph-sequence");
+        config.set("shape.time-unit", "seconds");
+        config.set("shape.loop", true);
+        config.set("shape.strategy", "resample-to-max");
+        config.set("shape.keyframes", List.of(
+                Map.of("shape", Map.of("type", "sphere", "radius", 1.0, "points", 8)),
+                Map.of("shape", Map.of("type", "cube", "size", 2.0, "points-per-edge", 2), "duration", 1.5, "easing", "ease-in-out"),
+                Map.of("shape", Map.of("type", "helix", "strands", 2, "particles-per-strand", 4, "radius", 1.0, "height", 2.0, "turns", 1.0), "duration", 2)
+        ));
+
+        assertDoesNotThrow(() -> EffectConfigParser.defaults().parse(config));
+
+        config.set("shape.keyframes", List.of(
+                Map.of("shape", Map.of("type", "sphere", "radius", 1.0, "points", 8)),
+                Map.of("shape", Map.of("type", "sphere", "radius", 2.0, "points", 8))
+        ));
+        EffectConfigException exception = assertThrows(EffectConfigException.class, () -> EffectConfigParser.defaults().parse(config));
+        assertEquals("shape.keyframes[1].duration", exception.path());
+    }
+
+    @Test
+    void parsesSplineControlPoints() {
+        MemoryConfiguration config = baseConfig();
+        config.set("shape.type", "spline");
+        config.set("shape.curve", "bezier");
+        config.set("shape.points", 16);
+        config.set("shape.control-points", List.of(
+                Map.of("x", 0.0, "y", 0.0, "z", 0.0),
+                Map.of("y", 3.0),
+                Map.of("y", 3.0, "relative-to", "target"),
+                Map.of("relative-to", "target")
+        ));
+
+        assertDoesNotThrow(() -> EffectConfigParser.defaults().parse(config));
+
+        config.set("shape.control-points", List.of(
+                Map.of("x", 0.0),
+                Map.of("x", 1.0),
+                Map.of("x", 2.0)
+        ));
+        EffectConfigException exception = assertThrows(EffectConfigException.class, () -> EffectConfigParser.defaults().parse(config));
+        assertEquals("shape.control-points", exception.path());
+
+        config.set("shape.curve", "catmull-rom");
+        config.set("shape.control-points", List.of(
+                Map.of("x", 0.0),
+                Map.of("x", 1.0, "relative-to", "caster")
+        ));
+        exception = assertThrows(EffectConfigException.class, () -> EffectConfigParser.defaults().parse(config));
+        assertEquals("shape.control-points[1].relative-to", exception.path());
+    }
+
+    @Test
+    void parsesTextShapeOptions() {
+        MemoryConfiguration config = baseConfig();
+        config.set("shape.type", "text");
+        config.set("shape.text", "Rune");
+        config.set("shape.size", 0.5);
+        config.set("shape.density", 2);
+        config.set("shape.align", "left");
+
+        assertDoesNotThrow(() -> EffectConfigParser.defaults().parse(config));
+
+        config.set("shape.align", "justify");
+        EffectConfigException exception = assertThrows(EffectConfigException.class, () -> EffectConfigParser.defaults().parse(config));
+        assertEquals("shape.align", exception.path());
+    }
+
+    @Test
+    void parsesNoiseAndJitterModifiers() {
+        MemoryConfiguration config = baseConfig();
+        config.set("shape.type", "line");
+        config.set("shape.points", 4);
+        config.set("modifiers", List.of(
+                Map.of("type", "noise", "amplitude", 0.2, "frequency", 0.1, "seed", 7),
+                Map.of("type", "jitter", "amplitude", 0.05, "interval", 2)
+        ));
+
+        assertDoesNotThrow(() -> EffectConfigParser.defaults().parse(config));
+
+        config.set("modifiers", List.of(Map.of("type", "jitter", "amplitude", 0.05, "interval", 0)));
+        EffectConfigException exception = assertThrows(EffectConfigException.class, () -> EffectConfigParser.defaults().parse(config));
+        assertEquals("modifiers[0].interval", exception.path());
+    }
+
+    @Test
+    void parsesBeamShapeWithBlockOcclusion() {
+        MemoryConfiguration config = baseConfig();
+        config.set("shape.type", "beam");
+        config.set("shape.range", 16.0);
+        config.set("shape.spacing", 0.25);
+        config.set("modifiers", List.of(Map.of("type", "block-occlusion")));
+
+        assertDoesNotThrow(() -> EffectConfigParser.defaults().parse(config));
+
+        config.set("shape.range", 0.0);
+        EffectConfigException exception = assertThrows(EffectConfigException.class, () -> EffectConfigParser.defaults().parse(config));
+        assertEquals("shape.range", exception.path());
+    }
+
+    @Test
+    void parsesExpressionParameters() {
+        MemoryConfiguration config = baseConfig();
+        config.set("shape.type", "sphere");
+        config.set("shape.radius", "1 + 0.5 * sin(time * 2)");
+        config.set("shape.points", 8);
+        config.set("transforms", List.of(
+                Map.of("type", "translate", "x", 0.0, "y", "step * 0.1", "z", "index % 2"),
+                Map.of("type", "rotate", "yaw", "step * 5")
+        ));
+        config.set("modifiers", List.of(Map.of("type", "noise", "amplitude", "clamp(distance / 10, 0, 1)")));
+
+        assertDoesNotThrow(() -> EffectConfigParser.defaults().parse(config));
+
+        config.set("shape.radius", "1 + wobble");
+        EffectConfigException exception = assertThrows(EffectConfigException.class, () -> EffectConfigParser.defaults().parse(config));
+        assertEquals("shape.radius", exception.path());
+        assertEquals("Unknown variable 'wobble' at position 4 in '1 + wobble'", exception.detail());
+
+        config.set("shape.radius", true);
+        exception = assertThrows(EffectConfigException.class, () -> EffectConfigParser.defaults().parse(config));
+        assertEquals("Expected number or expression, got Boolean", exception.detail());
+    }
+
+    @Test
+    void parsesDensityBasedPointCounts() {
+        MemoryConfiguration config = baseConfig();
+        config.set("shape.type", "line");
+        config.set("shape.spacing", 0.25);
+        config.set("shape.max-points", 128);
+
+        assertDoesNotThrow(() -> EffectConfigParser.defaults().parse(config));
+
+        config.set("shape.type", "moving-point");
+        config.set("shape.speed", 0.5);
+        assertDoesNotThrow(() -> EffectConfigParser.defaults().parse(config));
+
+        config.set("shape.type", "cube");
+        config.set("shape.size", 2.0);
+        assertDoesNotThrow(() -> EffectConfigParser.defaults().parse(config));
+
+        config.set("shape.type", "line");
+        config.set("shape.min-points", 200);
+        EffectConfigException exception = assertThrows(EffectConfigException.class, () -> EffectConfigParser.defaults().parse(config));
+        assertEquals("shape.max-points", exception.path());
+
+        config.set("shape.spacing", null);
+        exception = assertThrows(EffectConfigException.class, () -> EffectConfigParser.defaults().parse(config));
+        assertEquals("shape.spacing", exception.path());
+    }
+
+    @Test
+    void parsesTrailShape() {
+        MemoryConfiguration config = baseConfig();
+        config.set("shape.type", "trail");
+        config.set("shape.length", 40);
+        config.set("shape.fade-start", 0.5);
+        config.set("shape.min-density", 0.2);
+
+        assertDoesNotThrow(() -> EffectConfigParser.defaults().parse(config));
+
+        config.set("shape.fade-start", 2.0);
+        EffectConfigException exception = assertThrows(EffectConfigException.class, () -> EffectConfigParser.defaults().parse(config));
+        assertEquals("shape.fade-start", exception.path());
+    }
+
+    @Test
+    void parsesAnimatedTransforms() {
+        MemoryConfiguration config = baseConfig();
+        config.set("shape.type", "line");
+        config.set("shape.points", 8);
+        config.set("transforms", List.of(
+                Map.of("type", "spin", "speed", 90.0, "axis", Map.of("x", 1.0)),
+                Map.of("type", "orbit", "radius", 2.0, "speed", 45.0, "phase", 30.0),
+                Map.of("type", "oscillate", "y", 0.25, "frequency", 0.5),
+                Map.of("type", "scale", "from", 0.0, "to", 1.0, "duration-seconds", 2.0),
+                Map.of("type", "scale", "factor", "1 + 0.1 * sin(time * 4)")
+        ));
+
+        assertDoesNotThrow(() -> EffectConfigParser.defaults().parse(config));
+
+        config.set("transforms", List.of(Map.of("type", "spin", "speed", 90.0, "axis", Map.of("x", 0.0))));
+        EffectConfigException exception = assertThrows(EffectConfigException.class, () -> EffectConfigParser.defaults().parse(config));
+        assertEquals("transforms[0].axis", exception.path());
+
+        config.set("transforms", List.of(Map.of("type", "scale", "from", 0.0, "to", 1.0, "duration-seconds", -1.0)));
+        exception = assertThrows(EffectConfigException.class, () -> EffectConfigParser.defaults().parse(config));
+        assertEquals("transforms[0].duration-seconds", exception.path());
+    }
+
+    @Test
+    void internsParameterEqualShapesAndParticleSpecs() {
+        EffectConfigParser parser = EffectConfigParser.defaults();
+        MemoryConfiguration first = baseConfig();
+        first.set("shape.type", "sphere");
+        first.set("shape.radius", 1.5);
+        first.set("shape.points", 32);
+        first.set("particle.count", 2);
+        MemoryConfiguration second = baseConfig();
+        second.set("particle.count", 2);
+        second.set("shape.points", 32);
+        second.set("shape.radius", 1.5);
+        second.set("shape.type", "sphere");
+
+        EffectLayer firstLayer = parser.parse(first).layers().getFirst();
+        EffectLayer secondLayer = parser.parse(second).layers().getFirst();
+
+        assertSame(firstLayer.shape(), secondLayer.shape());
+        assertNotSame(firstLayer.particleEmitter(), secondLayer.particleEmitter());
+        assertSame(
+                ((StandardParticleEmitter<?>) firstLayer.particleEmitter()).spec(),
+                ((StandardParticleEmitter<?>) secondLayer.particleEmitter()).spec()
+        );
+
+        second.set("shape.radius", 2.0);
+        assertNotSame(firstLayer.shape(), parser.parse(second).layers().getFirst().shape());
+        assertNotSame(firstLayer.shape(), EffectConfigParser.defaults().parse(first).layers().getFirst().shape());
+
+        // Shapes with per-execution state are never shared
+        first.set("shape.type", "trail");
+        first.set("shape.length", 8);
+        assertNotSame(parser.parse(first).layers().getFirst().shape(), parser.parse(first).layers().getFirst().shape());
+
+        // Invalid definitions are still rejected after an equal valid one was interned
+        first.set("shape.type", "sphere");
+        first.set("shape.points", 0);
+        EffectConfigException exception = assertThrows(EffectConfigException.class, () -> parser.parse(first));
+        assertEquals("shape.points", exception.path());
+    }
+
     @Test
     void customRegistryParsersCanProvideComponentsAndParticleData() {
         MemoryConfiguration config = baseConfig();
@@ -170,6 +407,74 @@ class EffectConfigParserTest {
         verify(viewer, Mockito.times(2)).spawnParticle(eq(Particle.FLAME), any(Location.class), anyInt(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), eq(null));
     }
 
+    @Test
+    void parsesAdditionalLayers() {
+        MemoryConfiguration config = baseConfig();
+        config.set("shape.type", "custom-point");
+        config.set("layers", List.of(
+                Map.of(
+                        "shape", Map.of("type", "custom-point"),
+                        "particle", Map.of("type", "END_ROD"),
+                        "transforms", List.of(Map.of("type", "translate", "x", 0.0, "y", 1.0, "z", 0.0))
+                )
+        ));
+
+        EffectConfigParser parser = EffectConfigParser.defaults()
+                .registerShape("custom-point", (section, context) -> (shapeContext, points) -> points.add(0, 0, 0));
+
+        Player viewer = Mockito.mock(Player.class);
+        World world = Mockito.mock(World.class);
+        EffectInstance effect = parser.parse(config);
+        effect.render(new EffectContext(world, new Location(world, 0, 0, 0), null, List.of(viewer), 0, 0, 0));
+
+        assertEquals(2, effect.layers().size());
+        verify(viewer).spawnParticle(eq(Particle.FLAME), any(Location.class), anyInt(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), eq(null));
+        ArgumentCaptor<Location> location = ArgumentCaptor.forClass(Location.class);
+        verify(viewer).spawnParticle(eq(Particle.END_ROD), location.capture(), anyInt(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), eq(null));
+        assertTrue(Math.abs(location.getValue().getY() - 1.0) < 1e-6);
+    }
+
+    @Test
+    void layersMakeTopLevelShapeOptionalAndReportIndexedPaths() {
+        MemoryConfiguration config = new MemoryConfiguration();
+        config.set("layers", List.of(
+                Map.of("shape", Map.of("type", "sphere", "radius", 1.0, "points", 4), "particle", Map.of("type", "FLAME")),
+                Map.of("shape", Map.of("type", "sphere", "radius", 0.0, "points", 4), "particle", Map.of("type", "FLAME"))
+        ));
+
+        EffectConfigException exception = assertThrows(EffectConfigException.class, () -> EffectConfigParser.defaults().parse(config));
+
+        assertTrue(exception.getMessage().contains("layers[1].shape.radius"));
+
+        config.set("layers", List.of(
+                Map.of("shape", Map.of("type", "sphere", "radius", 1.0, "points", 4), "particle", Map.of("type", "FLAME"))
+        ));
+        assertEquals(1, EffectConfigParser.defaults().parse(config).layers().size());
+    }
+
+    @Test
+    void clusterQualityMergesNearbyPoints() {
+        MemoryConfiguration config = baseConfig();
+        config.set("shape.type", "custom-points");
+        config.set("particle.cluster-quality", 0.5);
+
+        EffectConfigParser parser = EffectConfigParser.defaults()
+                .registerShape("custom-points", (section, context) -> (shapeContext, points) -> {
+                    points.add(0.1f, 0.1f, 0.1f);
+                    points.add(0.2f, 0.1f, 0.1f);
+                });
+
+        Player viewer = Mockito.mock(Player.class);
+        World world = Mockito.mock(World.class);
+        parser.parse(config).render(new EffectContext(world, new Location(world, 0, 0, 0), null, List.of(viewer), 0, 0, 0));
+
+        verify(viewer).spawnParticle(eq(Particle.FLAME), any(Location.class), eq(2), anyDouble(), anyDouble(), anyDouble(), anyDouble(), eq(null));
+
+        config.set("particle.cluster-quality", 2.0);
+        EffectConfigException exception = assertThrows(EffectConfigException.class, () -> parser.parse(config));
+        assertEquals("particle.cluster-quality", exception.path());
+    }
+
     @Test
     void missingRequiredSectionsIncludePath() {
         MemoryConfiguration config = new MemoryConfiguration();
@@ -335,13 +640,13 @@ class EffectConfigParserTest {
     @Test
     void requiredFloatRejectsStringValues() {
         MemoryConfiguration config = baseConfig();
-        config.set("shape.type", "sphere");
-        config.set("shape.radius", "wide");
-        config.set("shape.points", 8);
+        config.set("shape.type", "cube");
+        config.set("shape.size", "wide");
+        config.set("shape.points-per-edge", 8);
 
         EffectConfigException exception = assertThrows(EffectConfigException.class, () -> EffectConfigParser.defaults().parse(config));
 
-        assertEquals("shape.radius", exception.path());
+        assertEquals("shape.size", exception.path());
         assertEquals("Expected number, got String", exception.detail());
     }
 
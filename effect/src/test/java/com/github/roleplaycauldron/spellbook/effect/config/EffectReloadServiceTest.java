@@ -0,0 +1,140 @@
+package com.github.roleplaycauldron.spellbook.effect.config;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
+import com.github.roleplaycauldron.spellbook.effect.executor.RunningEffect;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class EffectReloadServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<EffectConfigException> errors = new ArrayList<>();
+
+    @Test
+    void testReloadAllLoadsEveryEffectFile() throws IOException {
+        write("fire.yml", sphere("fire", 1.0));
+        write("ice.yaml", sphere("ice", 2.0));
+        write("notes.txt", sphere("ignored", 1.0));
+
+        EffectReloadService service = service();
+        service.reloadAll();
+
+        assertNotNull(service.get("fire"));
+        assertNotNull(service.get("ice"));
+        assertNull(service.get("ignored"));
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    void testChangedDefinitionIsSwappedIntoBoundRunningEffects() throws IOException {
+        write("spells.yml", sphere("fire", 1.0) + sphere("ice", 1.5));
+        EffectReloadService service = service();
+        service.reloadAll();
+        EffectInstance fire = service.get("fire");
+        EffectInstance ice = service.get("ice");
+
+        RunningEffect runningFire = Mockito.mock(RunningEffect.class);
+        RunningEffect runningIce = Mockito.mock(RunningEffect.class);
+        service.bind("fire", runningFire);
+        service.bind("ice", runningIce);
+
+        write("spells.yml", sphere("fire", 3.0) + sphere("ice", 1.5));
+        service.reloadAll();
+
+        assertNotSame(fire, service.get("fire"));
+        assertSame(ice, service.get("ice"));
+        verify(runningFire).replaceEffect(service.get("fire"));
+        verify(runningIce, never()).replaceEffect(any());
+    }
+
+    @Test
+    void testInvalidDefinitionKeepsPreviousDefinitionAndReportsError() throws IOException {
+        write("spells.yml", sphere("fire", 1.0));
+        EffectReloadService service = service();
+        service.reloadAll();
+        EffectInstance fire = service.get("fire");
+        RunningEffect running = Mockito.mock(RunningEffect.class);
+        service.bind("fire", running);
+
+        write("spells.yml", sphere("fire", 0.0));
+        service.reloadAll();
+
+        assertSame(fire, service.get("fire"));
+        assertEquals(1, errors.size());
+        assertEquals("fire.shape.radius", errors.getFirst().path());
+        verify(running, never()).replaceEffect(any());
+    }
+
+    @Test
+    void testRemovedFileForgetsDefinitions() throws IOException {
+        write("spells.yml", sphere("fire", 1.0));
+        EffectReloadService service = service();
+        service.reloadAll();
+
+        Files.delete(directory.resolve("spells.yml"));
+        service.reloadAll();
+
+        assertNull(service.get("fire"));
+    }
+
+    @Test
+    void testCancelledRunningEffectsAreReleased() throws IOException {
+        write("spells.yml", sphere("fire", 1.0));
+        EffectReloadService service = service();
+        service.reloadAll();
+        RunningEffect cancelled = Mockito.mock(RunningEffect.class);
+        Mockito.when(cancelled.isCancelled()).thenReturn(true);
+        service.bind("fire", cancelled);
+
+        write("spells.yml", sphere("fire", 2.0));
+        service.reloadAll();
+
+        verify(cancelled, never()).replaceEffect(any());
+    }
+
+    @Test
+    void testEndedRunningEffectsAreUnboundWithoutReloads() {
+        EffectReloadService service = service();
+
+        for (int cast = 0; cast < 1000; cast++) {
+            RunningEffect running = new RunningEffect(Mockito.mock(BukkitTask.class));
+            service.bind("fire", running);
+            running.cancel();
+        }
+        RunningEffect active = service.bind("fire", new RunningEffect(Mockito.mock(BukkitTask.class)));
+
+        assertEquals(1, service.bindingCount("fire"));
+        active.cancel();
+        assertEquals(0, service.bindingCount("fire"));
+    }
+
+    private EffectReloadService service() {
+        return new EffectReloadService(directory, EffectConfigParser.defaults(), (file, exception) -> errors.add(exception));
+    }
+
+    private void write(String file, String content) throws IOException {
+        Files.writeString(directory.resolve(file), content);
+    }
+
+    private static String sphere(String id, double radius) {
+        return id + ".particle.type: FLAME\n"
+                + id + ".shape.type: sphere\n"
+                + id + ".shape.radius: " + radius + "\n"
+                + id + ".shape.points: 8\n";
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.roleplaycauldron.spellbook.effect.emitter;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.ParticleSpec;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ClusteringParticleEmitterTest {
+
+    @Test
+    void testNearbyPointsAreMergedIntoOneSpreadSpawn() {
+        Player player = Mockito.mock(Player.class);
+        EffectContext context = context(player);
+        ClusteringParticleEmitter<Void> emitter = new ClusteringParticleEmitter<>(new ParticleSpec<>(Particle.FLAME, 2), 0.5f);
+
+        emitter.spawn(context, 0, 0, 0, 0.1, 0.2, 0.2, 0, 0, 0);
+        emitter.spawn(context, 0, 0, 0, 0.3, 0.2, 0.2, 0, 0, 0);
+        verify(player, never()).spawnParticle(any(), any(Location.class), anyInt(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), any());
+
+        emitter.flush(context);
+
+        ArgumentCaptor<Location> location = ArgumentCaptor.forClass(Location.class);
+        ArgumentCaptor<Double> offsetX = ArgumentCaptor.forClass(Double.class);
+        verify(player).spawnParticle(eq(Particle.FLAME), location.capture(), eq(4), offsetX.capture(), eq(0.0), eq(0.0), eq(0.0), isNull());
+        assertEquals(0.2, location.getValue().getX(), 1e-9);
+        assertEquals(0.1, offsetX.getValue(), 1e-9);
+    }
+
+    @Test
+    void testPointsInDifferentCellsStaySeparate() {
+        Player player = Mockito.mock(Player.class);
+        EffectContext context = context(player);
+        ClusteringParticleEmitter<Void> emitter = new ClusteringParticleEmitter<>(new ParticleSpec<>(Particle.FLAME), 0.5f);
+
+        for (int i = 0; i < 64; i++) {
+            emitter.spawn(context, 0, 0, 0, i, 0.25, 0.25, 0, 0, 0);
+        }
+        emitter.flush(context);
+
+        verify(player, times(64)).spawnParticle(eq(Particle.FLAME), any(Location.class), eq(1), eq(0.0), eq(0.0), eq(0.0), eq(0.0), isNull());
+    }
+
+    @Test
+    void testFullQualityAndDirectionalSpawnsAreNotMerged() {
+        Player player = Mockito.mock(Player.class);
+        EffectContext context = context(player);
+        ClusteringParticleEmitter<Void> fullQuality = new ClusteringParticleEmitter<>(new ParticleSpec<>(Particle.FLAME), 1.0f);
+        ClusteringParticleEmitter<Void> directional = new ClusteringParticleEmitter<>(new ParticleSpec<>(Particle.END_ROD, 0, 1, 0, 0, 0.2, null), 0.0f);
+
+        fullQuality.spawn(context, 0, 0, 0, 0.1, 0, 0, 0, 0, 0);
+        fullQuality.spawn(context, 0, 0, 0, 0.2, 0, 0, 0, 0, 0);
+        directional.spawn(context, 0, 0, 0, 0.1, 0, 0, 0, 0, 0);
+        directional.spawn(context, 0, 0, 0, 0.2, 0, 0, 0, 0, 0);
+
+        verify(player, times(2)).spawnParticle(eq(Particle.FLAME), any(Location.class), eq(1), eq(0.0), eq(0.0), eq(0.0), eq(0.0), isNull());
+        verify(player, times(2)).spawnParticle(eq(Particle.END_ROD), any(Location.class), eq(0), eq(1.0), eq(0.0), eq(0.0), eq(0.2), isNull());
+    }
+
+    @Test
+    void testInvalidQualityIsRejected() {
+        ParticleSpec<Void> spec = new ParticleSpec<>(Particle.FLAME);
+
+        assertThrows(IllegalArgumentException.class, () -> new ClusteringParticleEmitter<>(spec, -0.1f));
+        assertThrows(IllegalArgumentException.class, () -> new ClusteringParticleEmitter<>(spec, 1.5f));
+    }
+
+    private static EffectContext context(Player viewer) {
+        World world = Mockito.mock(World.class);
+        return new EffectContext(world, new Location(world, 0, 0, 0), null, List.of(viewer), 0, 0, 0);
+    }
+}
@@ -0,0 +1,216 @@
+package com.github.roleplaycauldron.spellbook.effect.emitter;
+
+import com.github.roleplaycauldron.spellbook.effect.DirectionProviders;
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
+import com.github.roleplaycauldron.spellbook.effect.EffectRenderState;
+import com.github.roleplaycauldron.spellbook.effect.shape.Shape;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.util.Transformation;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DisplayEntityEmitterTest {
+
+    private final Plugin plugin = Mockito.mock(Plugin.class);
+
+    private final World world = Mockito.mock(World.class);
+
+    private final List<BlockDisplay> spawned = new ArrayList<>();
+
+    private final float[] points = {0, 0, 0, 1, 0, 0, 2, 0, 0};
+
+    private int pointCount = 3;
+
+    private final EffectInstance effect = new EffectInstance(
+            (Shape) (context, buffer) -> {
+                for (int i = 0; i < pointCount; i++) {
+                    buffer.add(points[i * 3], points[i * 3 + 1], points[i * 3 + 2]);
+                }
+            },
+            List.of(),
+            List.of(),
+            new DisplayEntityEmitter<>(plugin, BlockDisplay.class, display -> {
+            }, 0.5f, 3),
+            DirectionProviders.none()
+    );
+
+    private final EffectRenderState state = new EffectRenderState();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void mockSpawning() {
+        when(world.spawn(any(Location.class), eq(BlockDisplay.class), any())).thenAnswer(invocation -> {
+            BlockDisplay display = Mockito.mock(BlockDisplay.class);
+            when(display.isValid()).thenReturn(true);
+            invocation.<Consumer<BlockDisplay>>getArgument(2).accept(display);
+            spawned.add(display);
+            return display;
+        });
+    }
+
+    @Test
+    void testRejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new DisplayEntityEmitter<>(plugin, BlockDisplay.class, display -> {
+        }, 0f, 3));
+        assertThrows(IllegalArgumentException.class, () -> new DisplayEntityEmitter<>(plugin, BlockDisplay.class, display -> {
+        }, 1f, 60));
+        assertThrows(IllegalArgumentException.class, () -> new DisplayEntityEmitter<>(plugin, BlockDisplay.class, display -> {
+        }, 1f, 3, -1f));
+    }
+
+    @Test
+    void testSpawnsHiddenDisplaysAndShowsThemToViewers() {
+        Player viewer = Mockito.mock(Player.class);
+
+        render(0, 0, viewer);
+
+        assertEquals(3, spawned.size());
+        for (BlockDisplay display : spawned) {
+            verify(display).setVisibleByDefault(false);
+            verify(display).setPersistent(false);
+            verify(display).setInterpolationDuration(3);
+            verify(viewer).showEntity(plugin, display);
+        }
+        ArgumentCaptor<Transformation> transformation = ArgumentCaptor.forClass(Transformation.class);
+        verify(spawned.get(2)).setTransformation(transformation.capture());
+        assertEquals(new Vector3f(2, 0, 0), transformation.getValue().getTranslation());
+        assertEquals(new Vector3f(0.5f), transformation.getValue().getScale());
+    }
+
+    @Test
+    void testUpdatesOnlyMovedPoints() {
+        Player viewer = Mockito.mock(Player.class);
+        render(0, 0, viewer);
+
+        points[4] = 1;
+        render(1, 0, viewer);
+        render(2, 0, viewer);
+
+        assertEquals(3, spawned.size());
+        verify(spawned.get(0), times(1)).setTransformation(any());
+        verify(spawned.get(1), times(2)).setTransformation(any());
+        verify(spawned.get(1)).setInterpolationDelay(0);
+        verify(spawned.get(2), never()).setInterpolationDelay(0);
+        verify(viewer, times(3)).showEntity(eq(plugin), any());
+    }
+
+    @Test
+    void testOriginMovementTeleportsDisplays() {
+        Player viewer = Mockito.mock(Player.class);
+        render(0, 0, viewer);
+
+        render(1, 0.005, viewer);
+        for (BlockDisplay display : spawned) {
+            verify(display, never()).teleport(any(Location.class));
+        }
+
+        render(2, 4, viewer);
+        for (BlockDisplay display : spawned) {
+            verify(display).teleport(new Location(world, 4, 64, 0));
+            verify(display, times(1)).setTransformation(any());
+        }
+    }
+
+    @Test
+    void testViewersJoiningAndLeavingAreSyncedInBatches() {
+        Player first = Mockito.mock(Player.class);
+        Player second = Mockito.mock(Player.class);
+        when(first.isOnline()).thenReturn(true);
+
+        render(0, 0, first);
+        render(1, 0, first, second);
+        render(2, 0, second);
+
+        for (BlockDisplay display : spawned) {
+            verify(first).showEntity(plugin, display);
+            verify(second).showEntity(plugin, display);
+            verify(first).hideEntity(plugin, display);
+            verify(second, never()).hideEntity(plugin, display);
+        }
+    }
+
+    @Test
+    void testShrinkingShapesAndReleaseRemoveDisplays() {
+        Player viewer = Mockito.mock(Player.class);
+        render(0, 0, viewer);
+
+        pointCount = 1;
+        render(1, 0, viewer);
+        verify(spawned.get(0), never()).remove();
+        verify(spawned.get(1)).remove();
+        verify(spawned.get(2)).remove();
+
+        state.release();
+        verify(spawned.get(0)).remove();
+
+        render(2, 0, viewer);
+        assertEquals(4, spawned.size());
+        verify(viewer).showEntity(plugin, spawned.get(3));
+    }
+
+    @Test
+    void testFramesAreCountedByTheRenderStateInsteadOfTheTick() {
+        Player viewer = Mockito.mock(Player.class);
+
+        render(0, 0, viewer);
+        render(0, 0, viewer);
+
+        assertEquals(3, spawned.size());
+    }
+
+    @Test
+    void testEveryEmissionOfOneFrameKeepsItsOwnDisplays() {
+        Player viewer = Mockito.mock(Player.class);
+        effect.sample(context(0, 0, viewer), state);
+        effect.emit(context(0, 0, viewer), state);
+        effect.emit(context(0, 8, viewer), state);
+        assertEquals(6, spawned.size());
+
+        // Emissions missing from a frame are removed when the next frame starts
+        render(1, 0, viewer);
+        render(2, 0, viewer);
+
+        assertEquals(6, spawned.size());
+        for (int i = 0; i < 6; i++) {
+            verify(spawned.get(i), times(i < 3 ? 0 : 1)).remove();
+        }
+    }
+
+    @Test
+    void testUnboundSpawnIsRejected() {
+        DisplayEntityEmitter<BlockDisplay> emitter = new DisplayEntityEmitter<>(plugin, BlockDisplay.class, display -> {
+        }, 1f, 3);
+
+        assertThrows(IllegalStateException.class, () -> emitter.spawn(context(0, 0), 0, 0, 0, 0, 0, 0, 0, 0, 0));
+    }
+
+    private void render(long tick, double originX, Player... viewers) {
+        effect.render(context(tick, originX, viewers), state);
+    }
+
+    private EffectContext context(long tick, double originX, Player... viewers) {
+        Location origin = new Location(world, originX, 64, 0);
+        return new EffectContext(world, origin, null, List.of(viewers), (int) tick, tick, tick / 20.0);
+    }
+}
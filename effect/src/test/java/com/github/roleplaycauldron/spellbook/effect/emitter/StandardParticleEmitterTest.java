@@ -1,6 +1,7 @@
 package com.github.roleplaycauldron.spellbook.effect.emitter;
 
 import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ParticleBudget;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.World;
@@ -9,7 +10,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.util.List;
+import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -49,4 +52,22 @@ class StandardParticleEmitterTest {
                 isNull()
         );
     }
+
+    @Test
+    void testViewerOverBudgetIsSkipped() {
+        Player limited = Mockito.mock(Player.class);
+        Player other = Mockito.mock(Player.class);
+        Mockito.when(limited.getUniqueId()).thenReturn(UUID.randomUUID());
+        Mockito.when(other.getUniqueId()).thenReturn(UUID.randomUUID());
+        World world = Mockito.mock(World.class);
+        ParticleBudget budget = new ParticleBudget(2, 2, () -> 0L);
+        budget.tryAcquire(limited, 2);
+        EffectContext context = new EffectContext(world, new Location(world, 0, 0, 0), null, List.of(limited, other), 0, 0, 0, budget);
+
+        StandardParticleEmitter.of(Particle.FLAME, 2).spawn(context, 0, 0, 0, 1, 2, 3, 0, 0, 0);
+
+        verify(limited, never()).spawnParticle(any(), any(Location.class), anyInt(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), any());
+        verify(other).spawnParticle(eq(Particle.FLAME), any(Location.class), eq(2), anyDouble(), anyDouble(), anyDouble(), anyDouble(), isNull());
+        assertEquals(1L, budget.dropped(limited.getUniqueId()));
+    }
 }
@@ -6,15 +6,27 @@ import com.github.roleplaycauldron.spellbook.effect.EffectRenderState;
 import com.github.roleplaycauldron.spellbook.effect.emitter.ParticleEmitter;
 import com.github.roleplaycauldron.spellbook.effect.location.EffectAnchor;
 import com.github.roleplaycauldron.spellbook.effect.shape.Shape;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ParticleBudget;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ViewerCategory;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ViewerPreferences;
+import com.github.roleplaycauldron.spellbook.effect.viewer.VisibleViewers;
 import org.bukkit.Location;
+import org.bukkit.Server;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -192,6 +204,192 @@ class EffectExecutorTest {
         assertTrue(emitter.context.viewers().isEmpty());
     }
 
+    @Test
+    void testReplacedEffectRendersFromNextFrameAndKeepsRunIndex() {
+        World world = Mockito.mock(World.class);
+        CapturingEmitter firstEmitter = new CapturingEmitter();
+        CapturingEmitter secondEmitter = new CapturingEmitter();
+        EffectExecutionConfig config = baseConfig(() -> new Location(world, 0, 0, 0))
+                .skipEmptyViewerFrames(false)
+                .build();
+        EffectExecutor.EffectTask task = new EffectExecutor.EffectTask(pointEffect(firstEmitter), config);
+
+        task.run();
+        task.run();
+        EffectInstance replacement = pointEffect(secondEmitter);
+        task.replaceEffect(replacement);
+        task.run();
+
+        assertSame(replacement, task.effect());
+        assertEquals(1, firstEmitter.context.step());
+        assertEquals(2, secondEmitter.context.step());
+    }
+
+    @Test
+    void testCancelReleasesStateKeptByEmitters() {
+        AtomicInteger releases = new AtomicInteger();
+        EffectExecutor.EffectTask task = releasingTask(releases, () -> true, () -> {
+        });
+        RunningEffect runningEffect = new RunningEffect(Mockito.mock(BukkitTask.class), task);
+
+        task.run();
+        task.run();
+        assertEquals(0, releases.get());
+
+        runningEffect.cancel();
+        assertEquals(1, releases.get());
+    }
+
+    @Test
+    void testReplacedEffectReleasesStateItNoLongerUses() {
+        AtomicInteger releases = new AtomicInteger();
+        EffectExecutor.EffectTask task = releasingTask(releases, () -> true, () -> {
+        });
+        task.run();
+        task.run();
+
+        task.replaceEffect(pointEffect(new CapturingEmitter()));
+        assertEquals(0, releases.get());
+        task.run();
+        assertEquals(1, releases.get());
+    }
+
+    @Test
+    void testCancelOffTheMainThreadReleasesStateOnTheMainThread() {
+        AtomicInteger releases = new AtomicInteger();
+        EffectExecutor.EffectTask task = releasingTask(releases, () -> false, () -> {
+        });
+        Plugin plugin = Mockito.mock(Plugin.class);
+        Server server = Mockito.mock(Server.class);
+        BukkitScheduler scheduler = Mockito.mock(BukkitScheduler.class);
+        BukkitTask bukkitTask = Mockito.mock(BukkitTask.class);
+        Mockito.when(bukkitTask.getOwner()).thenReturn(plugin);
+        Mockito.when(plugin.getServer()).thenReturn(server);
+        Mockito.when(server.getScheduler()).thenReturn(scheduler);
+        RunningEffect runningEffect = new RunningEffect(bukkitTask, task);
+        task.run();
+
+        runningEffect.cancel();
+        assertEquals(0, releases.get());
+
+        ArgumentCaptor<Runnable> release = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(scheduler).runTask(Mockito.eq(plugin), release.capture());
+        release.getValue().run();
+        assertEquals(1, releases.get());
+    }
+
+    @Test
+    void testCancelWithinAFrameReleasesStateOnceTheFrameIsDone() {
+        AtomicInteger releases = new AtomicInteger();
+        RunningEffect[] runningEffect = new RunningEffect[1];
+        EffectExecutor.EffectTask task = releasingTask(releases, () -> true, () -> runningEffect[0].cancel());
+        runningEffect[0] = new RunningEffect(Mockito.mock(BukkitTask.class), task);
+
+        task.run();
+        assertEquals(1, releases.get());
+
+        task.run();
+        assertEquals(1, releases.get());
+    }
+
+    @Test
+    void testInstancedFrameSamplesOnceAndEmitsAtAnchorsNearViewers() {
+        World world = Mockito.mock(World.class);
+        Player viewer = Mockito.mock(Player.class);
+        Mockito.when(viewer.getLocation(Mockito.any(Location.class))).thenAnswer(invocation -> {
+            Location destination = invocation.getArgument(0);
+            destination.setWorld(world);
+            destination.set(0, 0, 0);
+            return destination;
+        });
+        AtomicInteger samples = new AtomicInteger();
+        List<Double> emittedX = new ArrayList<>();
+        Shape shape = (context, points) -> {
+            samples.incrementAndGet();
+            points.add(0, 1, 0);
+        };
+        EffectInstance effect = new EffectInstance(
+                shape,
+                List.of(),
+                List.of(),
+                (context, localX, localY, localZ, worldX, worldY, worldZ, directionX, directionY, directionZ) -> {
+                    assertEquals(List.of(viewer), context.viewers());
+                    emittedX.add(worldX);
+                },
+                (localX, localY, localZ, context, destination) -> destination.set(0, 0, 0)
+        );
+        EffectExecutionConfig config = baseConfig(() -> new Location(world, 0, 0, 0))
+                .viewerSource(() -> List.of(viewer))
+                .build();
+        InstancedEmission instances = new InstancedEmission(List.of(
+                () -> new Location(world, 5, 0, 0),
+                () -> new Location(world, 100, 0, 0),
+                () -> null,
+                () -> new Location(world, -8, 0, 0)
+        ), 16);
+
+        EffectExecutor.FrameResult result = EffectExecutor.renderFrame(
+                effect, config, 0, new EffectRenderState(), ParticleBudget.unlimited(), instances);
+
+        assertTrue(result.advance());
+        assertEquals(1, samples.get());
+        assertEquals(List.of(5.0, -8.0), emittedX);
+    }
+
+    @Test
+    void testCategorizedEffectsSkipViewersWhoOptedOut() {
+        World world = Mockito.mock(World.class);
+        Location origin = new Location(world, 1, 2, 3);
+        Player visible = Mockito.mock(Player.class);
+        Player optedOut = Mockito.mock(Player.class);
+        Mockito.when(visible.getUniqueId()).thenReturn(UUID.randomUUID());
+        Mockito.when(optedOut.getUniqueId()).thenReturn(UUID.randomUUID());
+        ViewerPreferences preferences = new ViewerPreferences();
+        preferences.setVisible(optedOut.getUniqueId(), ViewerCategory.COSMETIC, false);
+        CapturingEmitter emitter = new CapturingEmitter();
+
+        EffectExecutionConfig config = baseConfig(() -> origin)
+                .viewerSource(() -> List.of(visible, optedOut))
+                .viewerCategory(ViewerCategory.COSMETIC)
+                .build();
+
+        EffectExecutor.FrameResult result = EffectExecutor.renderFrame(
+                pointEffect(emitter),
+                config,
+                0,
+                new EffectRenderState(),
+                ParticleBudget.unlimited(),
+                null,
+                new VisibleViewers(preferences)
+        );
+
+        assertTrue(result.advance());
+        assertEquals(List.of(visible), List.copyOf(emitter.context.viewers()));
+
+        // Frames whose viewers all opted out are skipped like frames without viewers
+        emitter.context = null;
+        EffectExecutionConfig optedOutOnly = baseConfig(() -> origin)
+                .viewerSource(() -> List.of(optedOut))
+                .viewerCategory(ViewerCategory.COSMETIC)
+                .build();
+        EffectExecutor.renderFrame(
+                pointEffect(emitter),
+                optedOutOnly,
+                0,
+                new EffectRenderState(),
+                ParticleBudget.unlimited(),
+                null,
+                new VisibleViewers(preferences)
+        );
+        assertNull(emitter.context);
+    }
+
+    @Test
+    void testInstancedEmissionRequiresAnchorsAndViewDistance() {
+        assertThrows(IllegalArgumentException.class, () -> new InstancedEmission(List.of(), 16));
+        assertThrows(IllegalArgumentException.class, () -> new InstancedEmission(List.of(() -> null), 0));
+    }
+
     private static EffectExecutionConfig.Builder baseConfig(EffectAnchor originAnchor) {
         return EffectExecutionConfig.builder()
                 .originAnchor(originAnchor)
@@ -209,6 +407,30 @@ class EffectExecutorTest {
         );
     }
 
+    private static EffectExecutor.EffectTask releasingTask(AtomicInteger releases,
+                                                          BooleanSupplier primaryThread,
+                                                          Runnable onBind) {
+        World world = Mockito.mock(World.class);
+        ParticleEmitter emitter = new ParticleEmitter() {
+            @Override
+            public ParticleEmitter bind(EffectContext context, EffectRenderState state) {
+                state.state(this, () -> (AutoCloseable) releases::incrementAndGet);
+                onBind.run();
+                return this;
+            }
+
+            @Override
+            public void spawn(EffectContext context, float localX, float localY, float localZ,
+                              double worldX, double worldY, double worldZ,
+                              float directionX, float directionY, float directionZ) {
+            }
+        };
+        EffectExecutionConfig config = baseConfig(() -> new Location(world, 0, 0, 0))
+                .skipEmptyViewerFrames(false)
+                .build();
+        return new EffectExecutor.EffectTask(pointEffect(emitter), config, ParticleBudget.unlimited(), null, null, primaryThread);
+    }
+
     private static final class CapturingEmitter implements ParticleEmitter {
         private EffectContext context;
 
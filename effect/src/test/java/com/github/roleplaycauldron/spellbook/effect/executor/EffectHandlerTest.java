@@ -0,0 +1,70 @@
+package com.github.roleplaycauldron.spellbook.effect.executor;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the default methods of the EffectHandler interface.
+ */
+class EffectHandlerTest {
+
+    private final EffectHandler handler = Mockito.mock(EffectHandler.class, Mockito.CALLS_REAL_METHODS);
+
+    private final EffectInstance effect = Mockito.mock(EffectInstance.class);
+
+    private final EffectExecutionConfig config = Mockito.mock(EffectExecutionConfig.class);
+
+    private final World world = Mockito.mock(World.class);
+
+    @Test
+    void testInstancedEffectsFallBackToOneExecutionPerPosition() {
+        List<BukkitTask> tasks = new ArrayList<>();
+        when(handler.playAt(eq(effect), any(), any(), eq(config))).thenAnswer(invocation -> {
+            BukkitTask task = Mockito.mock(BukkitTask.class);
+            tasks.add(task);
+            return new RunningEffect(task);
+        });
+        Location first = new Location(world, 0, 64, 0);
+        Location second = new Location(world, 32, 64, 0);
+        List<Player> viewers = List.of(Mockito.mock(Player.class));
+
+        RunningEffect running = handler.playInstanced(effect, List.of(first, second), viewers, 16, config);
+
+        verify(handler).playAt(effect, first, viewers, config);
+        verify(handler).playAt(effect, second, viewers, config);
+        assertEquals(2, tasks.size());
+
+        when(tasks.getFirst().isCancelled()).thenReturn(true);
+        assertFalse(running.isCancelled());
+        when(tasks.getLast().isCancelled()).thenReturn(true);
+        assertTrue(running.isCancelled());
+
+        running.cancel();
+        for (BukkitTask task : tasks) {
+            verify(task).cancel();
+        }
+    }
+
+    @Test
+    void testInstancedEffectsRequirePositionsAndViewDistance() {
+        List<Player> viewers = List.of();
+        List<Location> positions = List.of(new Location(world, 0, 64, 0));
+
+        assertThrows(IllegalArgumentException.class, () -> handler.playInstanced(effect, List.of(), viewers, 16, config));
+        assertThrows(IllegalArgumentException.class, () -> handler.playInstanced(effect, positions, viewers, 0, config));
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.roleplaycauldron.spellbook.effect.executor;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
+import com.github.roleplaycauldron.spellbook.effect.emitter.ParticleEmitter;
+import com.github.roleplaycauldron.spellbook.effect.shape.Shape;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ParticleBudget;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ViewerCategory;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the PaperEffectHandler class.
+ */
+class PaperEffectHandlerTest {
+
+    private final JavaPlugin plugin = Mockito.mock(JavaPlugin.class);
+
+    private final BukkitScheduler scheduler = Mockito.mock(BukkitScheduler.class);
+
+    private final World world = Mockito.mock(World.class);
+
+    private final List<List<Player>> emittedViewers = new ArrayList<>();
+
+    private final EffectInstance effect = new EffectInstance(
+            (Shape) (context, points) -> points.add(0, 0, 0),
+            List.of(),
+            List.of(),
+            new ParticleEmitter() {
+                @Override
+                public void spawn(EffectContext context,
+                                  float localX,
+                                  float localY,
+                                  float localZ,
+                                  double worldX,
+                                  double worldY,
+                                  double worldZ,
+                                  float directionX,
+                                  float directionY,
+                                  float directionZ) {
+                    emittedViewers.add(List.copyOf(context.viewers()));
+                }
+            },
+            (localX, localY, localZ, context, destination) -> destination.set(0, 0, 0)
+    );
+
+    private MockedStatic<Bukkit> bukkit;
+
+    @BeforeEach
+    void mockScheduler() {
+        bukkit = Mockito.mockStatic(Bukkit.class);
+        bukkit.when(Bukkit::getScheduler).thenReturn(scheduler);
+        when(scheduler.runTaskTimer(eq(plugin), any(Runnable.class), anyLong(), anyLong()))
+                .thenReturn(Mockito.mock(BukkitTask.class));
+    }
+
+    @AfterEach
+    void closeScheduler() {
+        bukkit.close();
+    }
+
+    @Test
+    void testPlayedEffectsKeepTheirCategoryAndSkipViewersWhoOptedOut() {
+        EffectExecutor executor = new EffectExecutor(plugin, ParticleBudget.unlimited());
+        Player visible = viewer();
+        Player optedOut = viewer();
+        executor.preferences().setVisible(optedOut.getUniqueId(), ViewerCategory.COSMETIC, false);
+        EffectExecutionConfig config = EffectExecutionConfig.builder()
+                .originAnchor(() -> null)
+                .viewerSource(List::of)
+                .viewerCategory(ViewerCategory.COSMETIC)
+                .build();
+
+        new PaperEffectHandler(executor).playAt(effect, new Location(world, 0, 64, 0), List.of(visible, optedOut), config);
+        runFrame();
+
+        assertEquals(List.of(List.of(visible)), emittedViewers);
+    }
+
+    private void runFrame() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).runTaskTimer(eq(plugin), task.capture(), eq(0L), eq(1L));
+        task.getValue().run();
+    }
+
+    private static Player viewer() {
+        Player viewer = Mockito.mock(Player.class);
+        when(viewer.getUniqueId()).thenReturn(UUID.randomUUID());
+        return viewer;
+    }
+}
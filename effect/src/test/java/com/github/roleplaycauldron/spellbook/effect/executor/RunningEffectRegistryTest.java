@@ -0,0 +1,200 @@
+package com.github.roleplaycauldron.spellbook.effect.executor;
+
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
+import com.github.roleplaycauldron.spellbook.effect.emitter.ParticleEmitter;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ParticleBudget;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ViewerCategory;
+import com.github.roleplaycauldron.spellbook.effect.viewer.ViewerPreferences;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class RunningEffectRegistryTest {
+
+    private final RunningEffectRegistry registry = new RunningEffectRegistry();
+
+    private final ParticleBudget budget = new ParticleBudget(1, 1, () -> 0L);
+
+    private final ViewerPreferences preferences = new ViewerPreferences();
+
+    @Test
+    void testCancelsByOwnerEntityAndWorld() {
+        UUID entity = UUID.randomUUID();
+        UUID world = UUID.randomUUID();
+        RunningEffect owned = register("spell-1", Set.of(), null);
+        RunningEffect anchored = register(null, Set.of(entity), world);
+        RunningEffect other = register("spell-2", Set.of(), world);
+
+        assertEquals(3, registry.size());
+        assertEquals(Set.of(owned), registry.byOwner("spell-1"));
+
+        assertEquals(1, registry.cancelOwner("spell-1"));
+        assertTrue(owned.isCancelled());
+        assertEquals(2, registry.size());
+
+        assertEquals(1, registry.cancelEntity(entity));
+        assertTrue(anchored.isCancelled());
+        // Cancelled effects leave every index they were registered in
+        assertEquals(Set.of(other), registry.byWorld(world));
+
+        assertEquals(0, registry.cancelOwner("spell-1"));
+        assertEquals(1, registry.cancelAll());
+        assertTrue(other.isCancelled());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testUnregistersEffectsCancelledDirectly() {
+        RunningEffect effect = register("spell", Set.of(UUID.randomUUID()), UUID.randomUUID());
+
+        effect.cancel();
+
+        assertEquals(0, registry.size());
+        assertTrue(registry.byOwner("spell").isEmpty());
+    }
+
+    @Test
+    void testUnregistersEffectsFinishingOnTheirOwn() {
+        EffectExecutionConfig config = EffectExecutionConfig.builder()
+                .originAnchor(() -> null)
+                .viewerSource(List::of)
+                .maxRuns(1)
+                .ownerKey("spell")
+                .build();
+        EffectExecutor.EffectTask effectTask = new EffectExecutor.EffectTask(
+                new EffectInstance((context, points) -> points.add(0, 0, 0), List.of(), List.of(),
+                        Mockito.mock(ParticleEmitter.class),
+                        (localX, localY, localZ, context, destination) -> destination.set(0, 0, 0)),
+                config
+        );
+        FakeTask task = new FakeTask();
+        RunningEffect effect = new RunningEffect(task, effectTask, registry, "spell", Set.of(), null);
+        effectTask.attach(effect);
+        registry.register(effect);
+
+        // The origin is unavailable, so the first frame cancels the execution
+        effectTask.run();
+
+        assertTrue(task.isCancelled());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testListenerCancelsOnEntityRemovalAndWorldUnload() {
+        Entity entity = Mockito.mock(Entity.class);
+        when(entity.getUniqueId()).thenReturn(UUID.randomUUID());
+        World world = Mockito.mock(World.class);
+        when(world.getUID()).thenReturn(UUID.randomUUID());
+        RunningEffect anchored = register(null, Set.of(entity.getUniqueId()), null);
+        RunningEffect placed = register(null, Set.of(), world.getUID());
+        RunningEffectListener listener = listener();
+
+        listener.onEntityRemove(new EntityRemoveFromWorldEvent(entity));
+        assertTrue(anchored.isCancelled());
+        assertFalse(placed.isCancelled());
+
+        listener.onWorldUnload(new WorldUnloadEvent(world));
+        assertTrue(placed.isCancelled());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testListenerKeepsEffectsOfPlayersChangingWorlds() {
+        Player player = Mockito.mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(player.isOnline()).thenReturn(true);
+        Entity teleported = Mockito.mock(Entity.class);
+        when(teleported.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(teleported.isValid()).thenReturn(true);
+        RunningEffect playerEffect = register(null, Set.of(player.getUniqueId()), null);
+        RunningEffect entityEffect = register(null, Set.of(teleported.getUniqueId()), null);
+        RunningEffectListener listener = listener();
+
+        listener.onEntityRemove(new EntityRemoveFromWorldEvent(player));
+        listener.onEntityRemove(new EntityRemoveFromWorldEvent(teleported));
+        assertFalse(playerEffect.isCancelled());
+        assertFalse(entityEffect.isCancelled());
+
+        listener.onPlayerQuit(new PlayerQuitEvent(player));
+        assertTrue(playerEffect.isCancelled());
+        assertFalse(entityEffect.isCancelled());
+    }
+
+    @Test
+    void testListenerForgetsBudgetAndPreferencesOfPlayersQuitting() {
+        Player player = Mockito.mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        preferences.setVisible(player.getUniqueId(), ViewerCategory.COSMETIC, false);
+        assertFalse(budget.tryAcquire(player, 5));
+        assertEquals(1, budget.dropped(player.getUniqueId()));
+
+        listener().onPlayerQuit(new PlayerQuitEvent(player));
+
+        assertEquals(0, budget.dropped(player.getUniqueId()));
+        assertTrue(preferences.isVisible(player.getUniqueId(), ViewerCategory.COSMETIC));
+    }
+
+    @Test
+    void testListenerAssignsPreferenceIndicesToPlayersJoining() {
+        Player player = Mockito.mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+
+        listener().onPlayerJoin(new PlayerJoinEvent(player));
+
+        assertEquals(0, preferences.index(player.getUniqueId()));
+    }
+
+    private RunningEffectListener listener() {
+        return new RunningEffectListener(registry, budget, preferences);
+    }
+
+    private RunningEffect register(String owner, Set<UUID> entities, UUID world) {
+        RunningEffect effect = new RunningEffect(new FakeTask(), null, registry, owner, entities, world);
+        registry.register(effect);
+        return effect;
+    }
+
+    private static final class FakeTask implements BukkitTask {
+        private boolean cancelled;
+
+        @Override
+        public int getTaskId() {
+            return 1;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public Plugin getOwner() {
+            return null;
+        }
+
+        @Override
+        public boolean isSync() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.roleplaycauldron.spellbook.effect.expression;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpressionTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void respectsOperatorPrecedenceAndAssociativity() {
+        assertEquals(7, evaluate("1 + 2 * 3"), EPSILON);
+        assertEquals(9, evaluate("(1 + 2) * 3"), EPSILON);
+        assertEquals(-4, evaluate("-2 ^ 2"), EPSILON);
+        assertEquals(512, evaluate("2 ^ 3 ^ 2"), EPSILON);
+        assertEquals(0.25, evaluate("2 ^ -2"), EPSILON);
+        assertEquals(1, evaluate("10 - 4 - 5"), EPSILON);
+        assertEquals(2.5e-3, evaluate("2.5e-3"), EPSILON);
+    }
+
+    @Test
+    void moduloIsFloored() {
+        assertEquals(1, evaluate("-3 % 2"), EPSILON);
+        assertEquals(1, evaluate("7 % 3"), EPSILON);
+        assertEquals(-1, evaluate("3 % -2"), EPSILON);
+    }
+
+    @Test
+    void evaluatesFunctionsAndConstants() {
+        assertEquals(0, evaluate("sin(pi)"), EPSILON);
+        assertEquals(2, evaluate("max(1, 2)"), EPSILON);
+        assertEquals(1, evaluate("clamp(5, 0, 1)"), EPSILON);
+        assertEquals(5, evaluate("lerp(0, 10, 0.5)"), EPSILON);
+        assertEquals(Math.E, evaluate("exp(1)"), EPSILON);
+        assertEquals(Math.PI / 4, evaluate("atan2(1, 1)"), EPSILON);
+        assertEquals(2, evaluate("ROUND(1.6)"), EPSILON);
+    }
+
+    @Test
+    void evaluatesVariables() {
+        Expression expression = Expression.parse("step + time * 10 + distance * 100 + index * 1000");
+
+        assertEquals(4321, expression.evaluate(1, 2, 3, 4), EPSILON);
+        assertTrue(expression.uses(Expression.Variable.STEP));
+        assertTrue(expression.isPerPoint());
+        assertFalse(expression.isConstant());
+    }
+
+    @Test
+    void foldsConstantSubExpressions() {
+        Expression constant = Expression.parse("2 * pi + sqrt(16)");
+        assertInstanceOf(ExpressionNodes.Constant.class, constant);
+        assertTrue(constant.isConstant());
+
+        Expression perFrame = Expression.parse("sin(time) * (1 + 1)");
+        assertFalse(perFrame.isConstant());
+        assertFalse(perFrame.isPerPoint());
+        ExpressionNodes.Multiply multiply = assertInstanceOf(ExpressionNodes.Multiply.class, perFrame);
+        assertEquals(new ExpressionNodes.Constant(2), multiply.right());
+    }
+
+    @Test
+    void rejectsInvalidExpressions() {
+        assertEquals(
+                "Unknown variable 'speed' at position 2 in '1+speed'",
+                assertThrows(IllegalArgumentException.class, () -> Expression.parse("1+speed")).getMessage()
+        );
+        assertEquals(
+                "Function 'sin' expects 1 argument(s), got 2 at position 0 in 'sin(1, 2)'",
+                assertThrows(IllegalArgumentException.class, () -> Expression.parse("sin(1, 2)")).getMessage()
+        );
+        assertThrows(IllegalArgumentException.class, () -> Expression.parse("unknown(1)"));
+        assertThrows(IllegalArgumentException.class, () -> Expression.parse("(1 + 2"));
+        assertThrows(IllegalArgumentException.class, () -> Expression.parse("1 +"));
+        assertThrows(IllegalArgumentException.class, () -> Expression.parse("1 2"));
+        assertThrows(IllegalArgumentException.class, () -> Expression.parse("1..2"));
+        assertThrows(IllegalArgumentException.class, () -> Expression.parse(" "));
+    }
+
+    private static double evaluate(String source) {
+        return Expression.parse(source).evaluate(0, 0, 0, 0);
+    }
+}
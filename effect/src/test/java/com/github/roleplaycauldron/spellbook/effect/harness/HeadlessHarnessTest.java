@@ -0,0 +1,220 @@
+package com.github.roleplaycauldron.spellbook.effect.harness;
+
+import com.github.roleplaycauldron.spellbook.effect.DirectionProviders;
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
+import com.github.roleplaycauldron.spellbook.effect.EffectLayer;
+import com.github.roleplaycauldron.spellbook.effect.EffectRenderState;
+import com.github.roleplaycauldron.spellbook.effect.emitter.ParticleEmitter;
+import com.github.roleplaycauldron.spellbook.effect.emitter.StandardParticleEmitter;
+import com.github.roleplaycauldron.spellbook.effect.location.FixedAnchor;
+import com.github.roleplaycauldron.spellbook.effect.shape.LineShape;
+import com.github.roleplaycauldron.spellbook.effect.shape.Shape;
+import com.github.roleplaycauldron.spellbook.effect.shape.SphereShape;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeadlessHarnessTest {
+
+    @Test
+    void renderRecordsLocalAndWorldCoordinatesForAllViewers() {
+        HeadlessHarness harness = HeadlessHarness.builder()
+                .origin(10, 64, -5)
+                .target(10, 64, 5)
+                .viewers(2)
+                .build();
+
+        FrameTrace trace = harness.render(effect(new LineShape(11)), 4);
+
+        assertEquals(4, trace.frameCount());
+        assertEquals(44, trace.pointCount());
+        assertEquals(11.0, trace.pointsPerFrame());
+        for (int point = 0; point < trace.pointCount(); point++) {
+            assertEquals(10 + trace.localX(point), trace.worldX(point), 1e-6);
+            assertEquals(64 + trace.localY(point), trace.worldY(point), 1e-6);
+            assertEquals(-5 + trace.localZ(point), trace.worldZ(point), 1e-6);
+            assertEquals(0b11L, trace.viewerMask(point));
+            assertEquals(0, trace.layer(point));
+        }
+        assertEquals(10f, trace.localZ(trace.firstPoint(0) + 10), 1e-5);
+        assertEquals(44, harness.viewers().get(0).spawnCalls());
+        assertEquals(44, harness.viewers().get(1).particles());
+    }
+
+    @Test
+    void recordingForwardsBindingToStatefulEmitters() {
+        HeadlessHarness harness = HeadlessHarness.builder().viewers(1).build();
+        AtomicInteger spawned = new AtomicInteger();
+        ParticleEmitter bound = (context, localX, localY, localZ, worldX, worldY, worldZ, directionX, directionY, directionZ) ->
+                spawned.incrementAndGet();
+        ParticleEmitter emitter = new ParticleEmitter() {
+            @Override
+            public ParticleEmitter bind(EffectContext context, EffectRenderState state) {
+                return bound;
+            }
+
+            @Override
+            public void spawn(EffectContext context, float localX, float localY, float localZ,
+                              double worldX, double worldY, double worldZ,
+                              float directionX, float directionY, float directionZ) {
+                throw new IllegalStateException("unbound");
+            }
+        };
+
+        Shape shape = (context, points) -> {
+            for (int i = 0; i < 5; i++) {
+                points.add(i, 0, 0);
+            }
+        };
+        FrameTrace trace = harness.render(new EffectInstance(
+                shape,
+                List.of(),
+                List.of(),
+                emitter,
+                DirectionProviders.none()
+        ), 2);
+
+        assertEquals(10, trace.pointCount());
+        assertEquals(10, spawned.get());
+    }
+
+    @Test
+    void executeStopsAtTheRunLimitOfTheConfig() {
+        HeadlessHarness harness = HeadlessHarness.builder().viewers(1).build();
+
+        FrameTrace trace = harness.execute(
+                effect(new SphereShape(1f, 16)),
+                harness.config().maxRuns(3).build(),
+                10
+        );
+
+        assertEquals(3, trace.frameCount());
+        assertEquals(48, trace.pointCount());
+        assertEquals(16, trace.pointCount(2));
+    }
+
+    @Test
+    void executeRecordsSkippedFramesWithoutPoints() {
+        HeadlessHarness harness = HeadlessHarness.builder().build();
+
+        FrameTrace trace = harness.execute(
+                effect(new SphereShape(1f, 16)),
+                harness.config().skipEmptyViewerFrames(true).build(),
+                5
+        );
+
+        assertEquals(5, trace.frameCount());
+        assertEquals(0, trace.pointCount());
+    }
+
+    @Test
+    void executeInstancedOnlyEmitsToViewersInRange() {
+        HeadlessHarness harness = HeadlessHarness.builder()
+                .viewer(0, 64, 0)
+                .viewer(100, 64, 0)
+                .build();
+        List<FixedAnchor> anchors = List.of(
+                new FixedAnchor(new Location(harness.world(), 0, 64, 0)),
+                new FixedAnchor(new Location(harness.world(), 100, 64, 0))
+        );
+
+        FrameTrace trace = harness.executeInstanced(
+                effect(new SphereShape(1f, 8)),
+                anchors,
+                16,
+                harness.config().build(),
+                2
+        );
+
+        assertEquals(2, trace.frameCount());
+        assertEquals(16, trace.pointCount(0));
+        assertEquals(0b01L, trace.viewerMask(trace.firstPoint(0)));
+        assertEquals(0b10L, trace.viewerMask(trace.firstPoint(0) + 8));
+        assertEquals(100 + trace.localX(8), trace.worldX(8), 1e-6);
+        assertEquals(16, harness.viewers().get(0).spawnCalls());
+    }
+
+    @Test
+    void recordsLayerIndicesOfLayeredEffects() {
+        HeadlessHarness harness = HeadlessHarness.builder().viewers(1).build();
+        EffectInstance effect = new EffectInstance(List.of(
+                layer(new SphereShape(1f, 4)),
+                layer(new SphereShape(2f, 6))
+        ));
+
+        FrameTrace trace = harness.render(effect, 1);
+
+        assertEquals(10, trace.pointCount());
+        assertEquals(0, trace.layer(3));
+        assertEquals(1, trace.layer(4));
+    }
+
+    @Test
+    void tracesSurviveBinaryRoundTrip() throws IOException {
+        HeadlessHarness harness = HeadlessHarness.builder().viewers(3).target(0, 70, 0).build();
+        FrameTrace trace = harness.render(effect(new LineShape(20)), 5);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        trace.write(new DataOutputStream(bytes));
+        FrameTrace read = FrameTrace.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(trace.frameCount(), read.frameCount());
+        assertEquals(trace.frameNanos(4), read.frameNanos(4));
+        assertEquals(Optional.empty(), trace.difference(read, 0));
+    }
+
+    @Test
+    void differenceReportsTheFirstMismatch() {
+        HeadlessHarness harness = HeadlessHarness.builder().viewers(1).target(0, 70, 0).build();
+        FrameTrace line = harness.render(effect(new LineShape(20)), 3);
+        FrameTrace shorterLine = harness.render(effect(new LineShape(19)), 3);
+        FrameTrace fewerFrames = harness.render(effect(new LineShape(20)), 2);
+
+        FrameTrace.Difference difference = line.difference(shorterLine, 1e-4).orElseThrow();
+        assertEquals(0, difference.frame());
+        assertEquals(1, difference.point());
+        assertTrue(difference.detail().startsWith("local y"), difference.detail());
+
+        FrameTrace.Difference missingFrame = line.difference(fewerFrames, 1e-4).orElseThrow();
+        assertEquals(2, missingFrame.frame());
+        assertTrue(missingFrame.detail().startsWith("frame count"), missingFrame.detail());
+    }
+
+    @Test
+    void standInWorldRejectsUnsupportedCalls() {
+        HeadlessHarness harness = HeadlessHarness.builder().worldName("arena").viewers(1).build();
+
+        assertEquals("arena", harness.world().getName());
+        assertEquals(harness.players(), harness.world().getPlayers());
+        assertThrows(UnsupportedOperationException.class, () -> harness.world().getBlockAt(0, 0, 0));
+        assertThrows(UnsupportedOperationException.class, () -> harness.players().getFirst().remove());
+    }
+
+    private static EffectInstance effect(Shape shape) {
+        return new EffectInstance(List.of(layer(shape)));
+    }
+
+    private static EffectLayer layer(Shape shape) {
+        return new EffectLayer(
+                shape,
+                List.of(),
+                List.of(),
+                StandardParticleEmitter.of(Particle.FLAME),
+                (localX, localY, localZ, context, destination) -> destination.set(0, 0, 0)
+        );
+    }
+}
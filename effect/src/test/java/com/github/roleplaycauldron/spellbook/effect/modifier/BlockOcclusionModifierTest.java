@@ -0,0 +1,58 @@
+package com.github.roleplaycauldron.spellbook.effect.modifier;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.block.BlockSnapshotCache;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the BlockOcclusionModifier class.
+ */
+class BlockOcclusionModifierTest {
+
+    @Test
+    void testDropsPointsInsideSolidBlocksInOrder() {
+        World world = Mockito.mock(World.class);
+        when(world.getUID()).thenReturn(UUID.randomUUID());
+        when(world.getMinHeight()).thenReturn(-64);
+        when(world.getMaxHeight()).thenReturn(320);
+        when(world.isChunkLoaded(anyInt(), anyInt())).thenReturn(true);
+        ChunkSnapshot snapshot = Mockito.mock(ChunkSnapshot.class);
+        // Stone below y = 64, air above
+        when(snapshot.getBlockType(anyInt(), anyInt(), anyInt())).thenAnswer(block ->
+                (int) block.getArgument(1) < 64 ? Material.STONE : Material.AIR);
+        Chunk chunk = Mockito.mock(Chunk.class);
+        when(chunk.getChunkSnapshot(false, false, false)).thenReturn(snapshot);
+        when(world.getChunkAt(anyInt(), anyInt())).thenReturn(chunk);
+
+        PointBuffer points = new PointBuffer();
+        points.add(0f, 1f, 0f);
+        points.add(0f, -0.5f, 0f);
+        points.add(20f, 0.5f, 0f);
+        points.add(0f, -2f, 0f);
+        points.add(-20f, 3f, 0f);
+
+        new BlockOcclusionModifier(new BlockSnapshotCache(20, () -> 0L, () -> true))
+                .apply(points, new EffectContext(world, new Location(world, 0.5, 64, 0.5), null, List.of(), 0, 0, 0.0));
+
+        assertEquals(List.of(
+                new Vector3f(0f, 1f, 0f),
+                new Vector3f(20f, 0.5f, 0f),
+                new Vector3f(-20f, 3f, 0f)
+        ), points.toVectorList());
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.roleplaycauldron.spellbook.effect.modifier;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the JitterModifier class.
+ */
+class JitterModifierTest {
+
+    @Test
+    void testRejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new JitterModifier(-1f, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new JitterModifier(1f, 0, 0));
+    }
+
+    @Test
+    void testHoldsJitterForInterval() {
+        JitterModifier modifier = new JitterModifier(0.5f, 4, 9);
+
+        List<Vector3f> first = apply(modifier, 4);
+        assertEquals(first, apply(modifier, 7));
+        assertNotEquals(first, apply(modifier, 8));
+    }
+
+    @Test
+    void testJittersPointsIndependentlyWithinAmplitude() {
+        List<Vector3f> points = apply(new JitterModifier(0.1f, 1, 3), 0);
+
+        assertNotEquals(points.get(0), points.get(1));
+        for (Vector3f point : points) {
+            assertTrue(Math.abs(point.x - 1f) <= 0.1f);
+            assertTrue(Math.abs(point.y - 2f) <= 0.1f);
+            assertTrue(Math.abs(point.z - 3f) <= 0.1f);
+        }
+    }
+
+    private List<Vector3f> apply(JitterModifier modifier, int step) {
+        PointBuffer points = new PointBuffer();
+        for (int i = 0; i < 16; i++) {
+            points.add(1f, 2f, 3f);
+        }
+        modifier.apply(points, new EffectContext(null, null, null, List.of(), step, step, 0.0));
+        return points.toVectorList();
+    }
+}
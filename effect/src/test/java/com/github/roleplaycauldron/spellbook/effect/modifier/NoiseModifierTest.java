@@ -0,0 +1,74 @@
+package com.github.roleplaycauldron.spellbook.effect.modifier;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the NoiseModifier class.
+ */
+class NoiseModifierTest {
+
+    @Test
+    void testRejectsNegativeParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new NoiseModifier(-1f, 0.1f, 0.1f, 0));
+        assertThrows(IllegalArgumentException.class, () -> new NoiseModifier(1f, -0.1f, 0.1f, 0));
+        assertThrows(IllegalArgumentException.class, () -> new NoiseModifier(1f, 0.1f, -0.1f, 0));
+    }
+
+    @Test
+    void testProducesSameFrameForSameStep() {
+        NoiseModifier modifier = new NoiseModifier(0.5f, 0.1f, 0.2f, 42);
+
+        assertArrayEquals(apply(modifier, 7, 16), apply(modifier, 7, 16));
+        assertFalse(Arrays.equals(apply(modifier, 7, 16), apply(modifier, 30, 16)));
+        assertFalse(Arrays.equals(apply(modifier, 7, 16), apply(new NoiseModifier(0.5f, 0.1f, 0.2f, 43), 7, 16)));
+    }
+
+    @Test
+    void testStaysWithinAmplitude() {
+        NoiseModifier modifier = new NoiseModifier(0.25f, 0.37f, 0.53f, 1);
+
+        for (int step = 0; step < 50; step++) {
+            for (float offset : apply(modifier, step, 32)) {
+                assertTrue(Math.abs(offset) <= 0.25f);
+            }
+        }
+    }
+
+    @Test
+    void testMovesSmoothlyBetweenSteps() {
+        NoiseModifier modifier = new NoiseModifier(1f, 0.01f, 0.1f, 5);
+
+        float[] previous = apply(modifier, 0, 8);
+        for (int step = 1; step < 200; step++) {
+            float[] current = apply(modifier, step, 8);
+            for (int i = 0; i < current.length; i++) {
+                // Smoothstep value noise changes at most 1.5 * 2 * amplitude per noise cycle
+                assertEquals(previous[i], current[i], 0.031f);
+            }
+            previous = current;
+        }
+    }
+
+    private float[] apply(NoiseModifier modifier, int step, int pointCount) {
+        PointBuffer points = new PointBuffer();
+        for (int i = 0; i < pointCount; i++) {
+            points.add(0f, 0f, 0f);
+        }
+        modifier.apply(points, new EffectContext(null, null, null, List.of(), step, step, 0.0));
+
+        float[] offsets = new float[pointCount * 3];
+        for (int i = 0; i < pointCount; i++) {
+            offsets[i * 3] = points.x(i);
+            offsets[i * 3 + 1] = points.y(i);
+            offsets[i * 3 + 2] = points.z(i);
+        }
+        return offsets;
+    }
+}
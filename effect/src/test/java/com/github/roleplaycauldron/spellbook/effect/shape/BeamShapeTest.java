@@ -0,0 +1,101 @@
+package com.github.roleplaycauldron.spellbook.effect.shape;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
+import com.github.roleplaycauldron.spellbook.effect.block.BlockSnapshotCache;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the BeamShape class.
+ */
+class BeamShapeTest {
+
+    private final BlockSnapshotCache cache = new BlockSnapshotCache(20, () -> 0L, () -> true);
+
+    @Test
+    void testRejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new BeamShape(0f, 1f, cache));
+        assertThrows(IllegalArgumentException.class, () -> new BeamShape(10f, 0f, cache));
+    }
+
+    @Test
+    void testReachesTargetWithoutObstacles() {
+        World world = wallWorld(100);
+        List<Vector3f> points = sample(new BeamShape(20f, 1f, cache), world, 0.5, 72, 0.5);
+
+        assertEquals(9, points.size());
+        assertEquals(new Vector3f(0, 0, 0), points.getFirst());
+        assertEquals(8f, points.getLast().y, 1e-5f);
+    }
+
+    @Test
+    void testStopsBeforeFirstSolidBlock() {
+        World world = wallWorld(5);
+        List<Vector3f> points = sample(new BeamShape(20f, 0.5f, cache), world, 10.5, 64, 0.5);
+
+        // The wall starts 4.5 blocks away from the origin at x = 0.5
+        assertEquals(9, points.size());
+        assertTrue(points.getLast().x < 4.5f);
+        assertEquals(4f, points.getLast().x, 1e-5f);
+    }
+
+    @Test
+    void testStopsAtRange() {
+        World world = wallWorld(100);
+        List<Vector3f> points = sample(new BeamShape(3f, 1f, cache), world, 50.5, 64, 0.5);
+
+        assertEquals(4, points.size());
+        assertEquals(3f, points.getLast().x, 1e-5f);
+    }
+
+    @Test
+    void testReturnsEmptyWithoutTarget() {
+        PointBuffer buffer = new PointBuffer();
+        new BeamShape(3f, 1f, cache).sample(new ShapeContext(0, 0.0, new Location(wallWorld(5), 0, 0, 0), null), buffer);
+
+        assertEquals(0, buffer.size());
+    }
+
+    private List<Vector3f> sample(Shape shape, World world, double targetX, double targetY, double targetZ) {
+        PointBuffer buffer = new PointBuffer();
+        shape.sample(new ShapeContext(
+                0,
+                0.0,
+                new Location(world, 0.5, 64, 0.5),
+                new Location(world, targetX, targetY, targetZ)
+        ), buffer);
+        return buffer.toVectorList();
+    }
+
+    private static World wallWorld(int wallX) {
+        World world = Mockito.mock(World.class);
+        when(world.getUID()).thenReturn(UUID.randomUUID());
+        when(world.getMinHeight()).thenReturn(-64);
+        when(world.getMaxHeight()).thenReturn(320);
+        when(world.isChunkLoaded(anyInt(), anyInt())).thenReturn(true);
+        when(world.getChunkAt(anyInt(), anyInt())).thenAnswer(invocation -> {
+            int chunkX = invocation.getArgument(0);
+            ChunkSnapshot snapshot = Mockito.mock(ChunkSnapshot.class);
+            when(snapshot.getBlockType(anyInt(), anyInt(), anyInt())).thenAnswer(block ->
+                    chunkX * 16 + (int) block.getArgument(0) == wallX ? Material.STONE : Material.AIR);
+            Chunk chunk = Mockito.mock(Chunk.class);
+            when(chunk.getChunkSnapshot(false, false, false)).thenReturn(snapshot);
+            return chunk;
+        });
+        return world;
+    }
+}
@@ -63,6 +63,12 @@ class CubeShapeTest {
         assertTrue(containsPoint(points, -1f, -1f, -1f));
     }
 
+    @Test
+    void testSpacingDerivesPointsPerEdgeFromSize() {
+        assertEquals(12 * 5, sample(new CubeShape(2f, new PointSpacing(0.5f, 2, 16)), createContext(0)).size());
+        assertEquals(12 * 2, sample(new CubeShape(0.2f, new PointSpacing(0.5f, 1, 16)), createContext(0)).size());
+    }
+
     private boolean containsPoint(List<Vector3f> points, float x, float y, float z) {
         for (Vector3f point : points) {
             if (Math.abs(point.x - x) < 1e-6f
@@ -52,6 +52,27 @@ class LineShapeTest {
         assertEquals(0f, points.getFirst().z, 1e-6f);
     }
 
+    @Test
+    void testSpacingScalesPointCountWithDistance() {
+        LineShape shape = new LineShape(new PointSpacing(0.5f, 2, 64));
+
+        List<Vector3f> shortLine = sample(shape, createContext(0, 0, 0, 0, 3, 0, 0));
+        assertEquals(7, shortLine.size());
+        assertEquals(0.5f, shortLine.get(1).x, 1e-6f);
+        assertEquals(3f, shortLine.getLast().x, 1e-6f);
+
+        assertEquals(41, sample(shape, createContext(0, 0, 0, 0, 0, 0, 20)).size());
+        assertEquals(64, sample(shape, createContext(0, 0, 0, 0, 60, 0, 0)).size());
+        assertEquals(2, sample(shape, createContext(0, 0, 0, 0, 0.1, 0, 0)).size());
+    }
+
+    @Test
+    void testRejectsInvalidSpacing() {
+        assertThrows(IllegalArgumentException.class, () -> new PointSpacing(0f, 2, 8));
+        assertThrows(IllegalArgumentException.class, () -> new PointSpacing(0.5f, 0, 8));
+        assertThrows(IllegalArgumentException.class, () -> new PointSpacing(0.5f, 4, 3));
+    }
+
     private ShapeContext createContext(int step, double x1, double y1, double z1, double x2, double y2, double z2) {
         World world = Mockito.mock(World.class);
         Location origin = new Location(world, x1, y1, z1);
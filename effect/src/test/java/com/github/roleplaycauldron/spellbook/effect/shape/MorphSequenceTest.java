@@ -0,0 +1,89 @@
+package com.github.roleplaycauldron.spellbook.effect.shape;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
+import com.github.roleplaycauldron.spellbook.effect.shape.morph.MorphEasing;
+import com.github.roleplaycauldron.spellbook.effect.shape.morph.MorphSequence;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MorphSequenceTest {
+
+    private static Shape point(float x, int[] samples) {
+        return (context, points) -> {
+            samples[0]++;
+            points.add(x, 0, 0);
+        };
+    }
+
+    private static float sampleX(Shape shape, int step, double timeSeconds) {
+        PointBuffer buffer = new PointBuffer();
+        shape.sample(new ShapeContext(step, timeSeconds, null, null), buffer);
+        assertEquals(1, buffer.size());
+        return buffer.x(0);
+    }
+
+    @Test
+    void testSegmentsInterpolateBetweenConsecutiveKeyframes() {
+        int[] ignored = new int[1];
+        Shape shape = MorphSequence.startingWith(point(0, ignored))
+                .then(point(10, ignored), 10)
+                .then(point(30, ignored), 20)
+                .build();
+
+        assertEquals(0f, sampleX(shape, -5, 0), 1e-5f);
+        assertEquals(5f, sampleX(shape, 5, 0), 1e-5f);
+        assertEquals(10f, sampleX(shape, 10, 0), 1e-5f);
+        assertEquals(20f, sampleX(shape, 20, 0), 1e-5f);
+        assertEquals(30f, sampleX(shape, 100, 0), 1e-5f);
+    }
+
+    @Test
+    void testOnlyActiveKeyframesAreSampled() {
+        int[] first = new int[1];
+        int[] second = new int[1];
+        int[] third = new int[1];
+        Shape shape = MorphSequence.startingWith(point(0, first))
+                .then(point(10, second), 10)
+                .then(point(20, third), 10)
+                .build();
+
+        sampleX(shape, 15, 0);
+
+        assertEquals(0, first[0]);
+        assertEquals(1, second[0]);
+        assertEquals(1, third[0]);
+    }
+
+    @Test
+    void testEasingSecondsAndLoop() {
+        int[] ignored = new int[1];
+        Shape shape = MorphSequence.startingWith(point(0, ignored))
+                .then(point(8, ignored), 2, MorphEasing.EASE_IN)
+                .inSeconds()
+                .loop(true)
+                .build();
+
+        assertEquals(1f, sampleX(shape, 0, 1.0), 1e-3f);
+        assertEquals(1f, sampleX(shape, 0, 3.0), 1e-3f);
+    }
+
+    @Test
+    void testEasingTablesMatchCurveEndpoints() {
+        for (MorphEasing easing : MorphEasing.values()) {
+            assertEquals(0f, easing.ease(-1f), 1e-6f);
+            assertEquals(1f, easing.ease(2f), 1e-6f);
+        }
+        assertEquals(0.5f, MorphEasing.EASE_IN_OUT.ease(0.5f), 1e-4f);
+    }
+
+    @Test
+    void testInvalidSequencesAreRejected() {
+        int[] ignored = new int[1];
+        MorphSequence.Builder builder = MorphSequence.startingWith(point(0, ignored));
+
+        assertThrows(IllegalStateException.class, builder::build);
+        assertThrows(IllegalArgumentException.class, () -> builder.then(point(1, ignored), 0));
+    }
+}
@@ -211,6 +211,53 @@ class MorphShapeTest {
         assertEquals(21.0, emitter.worldY, 1e-6);
     }
 
+    @Test
+    void testStaticChildrenAreSampledOnce() {
+        int[] samples = new int[]{0};
+        Shape staticSource = new Shape() {
+            @Override
+            public void sample(ShapeContext context, PointBuffer points) {
+                samples[0]++;
+                points.add(0, 0, 0);
+                points.add(2, 0, 0);
+            }
+
+            @Override
+            public boolean isStatic() {
+                return true;
+            }
+        };
+        Shape shape = MorphShape.between(staticSource, new CubeShape(2f, 2))
+                .overSteps(10)
+                .strategy(MorphPointStrategies.resampleToMax())
+                .build();
+
+        List<Vector3f> first = sample(shape, context(5, 0));
+        List<Vector3f> second = sample(shape, context(10, 0));
+
+        assertEquals(1, samples[0]);
+        assertEquals(24, first.size());
+        assertEquals(sample(new CubeShape(2f, 2), context(0, 0)), second);
+    }
+
+    @Test
+    void testCachedMappingFollowsChangingChildSizes() {
+        Shape growing = (context, points) -> {
+            for (int i = 0; i <= context.step(); i++) {
+                points.add(i, 0, 0);
+            }
+        };
+        Shape shape = MorphShape.between(growing, points(0, 5, 0, 0, 6, 0))
+                .fixedProgress(0f)
+                .strategy(MorphPointStrategies.resampleToMax())
+                .build();
+
+        assertEquals(2, sample(shape, context(0, 0)).size());
+        assertEquals(4, sample(shape, context(3, 0)).size());
+        assertPoint(sample(shape, context(3, 0)).get(3), 3, 0, 0);
+        assertEquals(2, sample(shape, context(1, 0)).size());
+    }
+
     private static final class RecordingEmitter implements ParticleEmitter {
         private int calls;
 
@@ -91,6 +91,14 @@ class MovingPointShapeTest {
         assertEquals(0f, points.get(1).y, 1e-6f);
     }
 
+    @Test
+    void testSpacingDerivesTrailLengthFromDistance() {
+        MovingPointShape shape = new MovingPointShape(1f, new PointSpacing(2f, 1, 8), false);
+
+        assertEquals(6, sample(shape, createContext(40, 0, 0, 0, 0, 10, 0)).size());
+        assertEquals(8, sample(shape, createContext(40, 0, 0, 0, 0, 30, 0)).size());
+    }
+
     private ShapeContext createContext(int step, double x1, double y1, double z1, double x2, double y2, double z2) {
         return new ShapeContext(step, 0.0, createLocation(x1, y1, z1), createLocation(x2, y2, z2));
     }
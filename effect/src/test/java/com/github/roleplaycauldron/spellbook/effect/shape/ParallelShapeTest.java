@@ -0,0 +1,123 @@
+package com.github.roleplaycauldron.spellbook.effect.shape;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
+import com.github.roleplaycauldron.spellbook.effect.expression.Expression;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelShapeTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void shutDownPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void parallelSamplingMatchesSerialSampling() {
+        List<Vector3f> cloud = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            cloud.add(new Vector3f(i, -i, i * 0.5f));
+        }
+
+        List<RangeSampledShape> shapes = List.of(
+                new SphereShape(2f, 20_000),
+                new SphereShape(2f, 20_000, 0.3f),
+                new SphereShape(Expression.parse("1 + 0.1 * sin(index + time)"), 20_000, 0.1f),
+                new HelixShape(7, 3_001, 1f, 4f, 3f, 0.2f),
+                new HelixShape(3, 5_000, Expression.parse("1 + step * 0.01"), Expression.constant(2), 2f, 0f),
+                new CubeShape(3f, 1_000),
+                new PointCloudShape(cloud)
+        );
+
+        for (RangeSampledShape shape : shapes) {
+            ShapeContext context = context(7);
+            PointBuffer serial = new PointBuffer();
+            serial.add(9, 9, 9);
+            shape.sample(context, serial);
+
+            PointBuffer parallel = new PointBuffer();
+            parallel.add(9, 9, 9);
+            new ParallelShape(shape, pool, 1_000).sample(context, parallel);
+
+            assertEquals(shape.pointCount(context) + 1, parallel.size());
+            assertEquals(serial.toVectorList(), parallel.toVectorList(), shape.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void largeFramesAreSplitIntoRangesOfTheReservedRegion() {
+        Set<Integer> ranges = ConcurrentHashMap.newKeySet();
+        RangeSampledShape shape = new RangeSampledShape() {
+            @Override
+            public int pointCount(ShapeContext context) {
+                return 100_000;
+            }
+
+            @Override
+            public void sampleRange(ShapeContext context, PointBuffer points, int offset, int fromIndex, int toIndex) {
+                ranges.add(fromIndex);
+                for (int i = fromIndex; i < toIndex; i++) {
+                    points.set(offset + i, i, 0, 0);
+                }
+            }
+        };
+
+        PointBuffer points = new PointBuffer();
+        new ParallelShape(shape, pool, 1_000).sample(context(0), points);
+
+        assertEquals(100_000, points.size());
+        for (int i = 0; i < points.size(); i++) {
+            assertEquals(i, points.x(i), 0f);
+        }
+        assertTrue(ranges.size() > 1);
+    }
+
+    @Test
+    void smallFramesAreSampledOnTheCallingThread() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        RangeSampledShape shape = new RangeSampledShape() {
+            @Override
+            public int pointCount(ShapeContext context) {
+                return 999;
+            }
+
+            @Override
+            public void sampleRange(ShapeContext context, PointBuffer points, int offset, int fromIndex, int toIndex) {
+                threads.add(Thread.currentThread());
+            }
+        };
+
+        new ParallelShape(shape, pool, 1_000).sample(context(0), new PointBuffer());
+
+        assertEquals(Set.of(Thread.currentThread()), threads);
+    }
+
+    @Test
+    void rejectsInvalidThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelShape(new CubeShape(1f, 2), pool, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PointCloudShape(new float[]{1, 2}));
+        assertThrows(IllegalArgumentException.class, () -> new PointCloudShape(List.of()));
+    }
+
+    private static ShapeContext context(int step) {
+        World world = Mockito.mock(World.class);
+        return new ShapeContext(step, step * 0.05, new Location(world, 0, 0, 0), new Location(world, 3, 1, 4));
+    }
+}
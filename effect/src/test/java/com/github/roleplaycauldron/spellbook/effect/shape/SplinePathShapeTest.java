@@ -0,0 +1,173 @@
+package com.github.roleplaycauldron.spellbook.effect.shape;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SplinePathShape class.
+ */
+class SplinePathShapeTest {
+
+    @Test
+    void testRejectsTooFewControlPoints() {
+        assertThrows(IllegalStateException.class, () -> SplinePathShape.catmullRom().point(0, 0, 0).uniform(2).build());
+        assertThrows(IllegalStateException.class, () -> SplinePathShape.bezier()
+                .point(0, 0, 0).point(1, 0, 0).point(2, 0, 0).point(3, 0, 0).point(4, 0, 0)
+                .uniform(2)
+                .build());
+    }
+
+    @Test
+    void testRejectsMissingPlacement() {
+        assertThrows(IllegalStateException.class, () -> SplinePathShape.catmullRom().point(0, 0, 0).point(1, 0, 0).build());
+    }
+
+    @Test
+    void testRejectsInvalidPlacement() {
+        assertThrows(IllegalArgumentException.class, () -> SplinePathShape.catmullRom().uniform(0));
+        assertThrows(IllegalArgumentException.class, () -> SplinePathShape.catmullRom().movingHead(0f, 1f, 1, false));
+        assertThrows(IllegalArgumentException.class, () -> SplinePathShape.catmullRom().movingHead(1f, 0f, 1, false));
+        assertThrows(IllegalArgumentException.class, () -> SplinePathShape.catmullRom().movingHead(1f, 1f, 0, false));
+    }
+
+    @Test
+    void testSpacesPointsEvenlyByArcLength() {
+        SplinePathShape shape = SplinePathShape.catmullRom()
+                .point(0, 0, 0)
+                .point(1, 3, 0)
+                .point(8, 0, 0)
+                .uniform(21)
+                .build();
+
+        List<Vector3f> points = sample(shape, createContext(0, null));
+
+        assertEquals(21, points.size());
+        // Chords are slightly shorter than the arc in tight turns
+        float expected = points.get(0).distance(points.get(1));
+        for (int i = 1; i < points.size() - 1; i++) {
+            assertEquals(expected, points.get(i).distance(points.get(i + 1)), expected * 0.05f);
+        }
+        assertTrue(shape.isStatic());
+    }
+
+    @Test
+    void testPassesThroughCatmullRomControlPoints() {
+        SplinePathShape shape = SplinePathShape.catmullRom()
+                .point(0, 0, 0)
+                .point(2, 2, 0)
+                .point(4, 0, 0)
+                .uniform(2)
+                .build();
+
+        List<Vector3f> points = sample(shape, createContext(0, null));
+
+        assertEquals(0f, points.get(0).x, 1e-5f);
+        assertEquals(0f, points.get(0).y, 1e-5f);
+        assertEquals(4f, points.get(1).x, 1e-5f);
+        assertEquals(0f, points.get(1).y, 1e-5f);
+    }
+
+    @Test
+    void testFollowsBezierHandles() {
+        SplinePathShape shape = SplinePathShape.bezier()
+                .point(0, 0, 0)
+                .point(0, 4, 0)
+                .point(4, 4, 0)
+                .point(4, 0, 0)
+                .uniform(21)
+                .build();
+
+        List<Vector3f> points = sample(shape, createContext(0, null));
+
+        // Symmetric curve: the middle point is the curve's apex at t = 0.5
+        Vector3f middle = points.get(10);
+        assertEquals(2f, middle.x, 0.05f);
+        assertEquals(3f, middle.y, 0.05f);
+        assertEquals(4f, points.get(20).x, 1e-4f);
+        assertEquals(0f, points.get(20).y, 1e-4f);
+    }
+
+    @Test
+    void testTargetRelativePointsFollowTarget() {
+        SplinePathShape shape = SplinePathShape.catmullRom()
+                .point(0, 0, 0)
+                .targetPoint(0, 1, 0)
+                .uniform(2)
+                .build();
+
+        Vector3f first = sample(shape, createContext(0, createLocation(5, 0, 0))).get(1);
+        Vector3f second = sample(shape, createContext(0, createLocation(0, 0, 7))).get(1);
+
+        assertFalse(shape.isStatic());
+        assertEquals(5f, first.x, 1e-5f);
+        assertEquals(1f, first.y, 1e-5f);
+        assertEquals(0f, second.x, 1e-5f);
+        assertEquals(1f, second.y, 1e-5f);
+        assertEquals(7f, second.z, 1e-5f);
+    }
+
+    @Test
+    void testReturnsEmptyWithoutTargetForTargetRelativePoints() {
+        SplinePathShape shape = SplinePathShape.catmullRom()
+                .point(0, 0, 0)
+                .targetPoint(0, 0, 0)
+                .uniform(4)
+                .build();
+
+        assertEquals(0, sample(shape, createContext(0, null)).size());
+    }
+
+    @Test
+    void testMovesHeadWithTrailAlongPath() {
+        SplinePathShape shape = SplinePathShape.catmullRom()
+                .point(0, 0, 0)
+                .point(0, 10, 0)
+                .movingHead(1f, 2f, 3, false)
+                .build();
+
+        List<Vector3f> points = sample(shape, createContext(5, null));
+
+        assertEquals(3, points.size());
+        assertEquals(0f, points.get(0).y, 1e-2f);
+        assertEquals(8f, points.get(1).y, 1e-2f);
+        assertEquals(6f, points.get(2).y, 1e-2f);
+        assertFalse(shape.isStatic());
+    }
+
+    @Test
+    void testMovesHeadBackAndForthInPingPongMode() {
+        SplinePathShape shape = SplinePathShape.catmullRom()
+                .point(0, 0, 0)
+                .point(0, 10, 0)
+                .movingHead(1f, 2f, 1, true)
+                .build();
+
+        Vector3f point = sample(shape, createContext(6, null)).getFirst();
+
+        assertEquals(8f, point.y, 1e-2f);
+    }
+
+    private ShapeContext createContext(int step, Location target) {
+        return new ShapeContext(step, 0.0, createLocation(0, 0, 0), target);
+    }
+
+    private Location createLocation(double x, double y, double z) {
+        World world = Mockito.mock(World.class);
+        return new Location(world, x, y, z);
+    }
+
+    private List<Vector3f> sample(Shape shape, ShapeContext context) {
+        PointBuffer buffer = new PointBuffer();
+        shape.sample(context, buffer);
+        return buffer.toVectorList();
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.roleplaycauldron.spellbook.effect.shape;
+
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.ShapeContext;
+import com.github.roleplaycauldron.spellbook.effect.shape.text.BitmapGlyphFont;
+import com.github.roleplaycauldron.spellbook.effect.shape.text.GlyphCache;
+import com.github.roleplaycauldron.spellbook.effect.shape.text.TextShape;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TextShape class.
+ */
+class TextShapeTest {
+
+    // Single 2x2 glyph 'A' with its top-left and bottom-right pixels lit
+    private static final BitmapGlyphFont DIAGONAL_FONT = new BitmapGlyphFont('A', 2, 2, new int[]{0b01, 0b10});
+
+    @Test
+    void testRejectsInvalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> TextShape.of("A").size(0f));
+        assertThrows(IllegalArgumentException.class, () -> TextShape.of("A").density(0));
+        assertThrows(IllegalArgumentException.class, () -> new BitmapGlyphFont('A', 5, 7, new int[4]));
+    }
+
+    @Test
+    void testRasterizesGlyphPixelsAtDensity() {
+        List<Vector3f> single = sample(TextShape.of("A").font(DIAGONAL_FONT).cache(new GlyphCache())
+                .alignment(TextShape.Alignment.LEFT)
+                .size(3f)
+                .build());
+        List<Vector3f> dense = sample(TextShape.of("A").font(DIAGONAL_FONT).cache(new GlyphCache())
+                .density(2)
+                .build());
+
+        // Line height is 3 font units, so one font unit is one block
+        assertEquals(2, single.size());
+        assertEquals(new Vector3f(0.5f, 1.5f, 0f), single.get(0));
+        assertEquals(new Vector3f(1.5f, 0.5f, 0f), single.get(1));
+        assertEquals(8, dense.size());
+    }
+
+    @Test
+    void testAdvancesAndAlignsGlyphs() {
+        TextShape left = TextShape.of("AA").font(DIAGONAL_FONT).size(3f).alignment(TextShape.Alignment.LEFT).build();
+        TextShape center = TextShape.of("AA").font(DIAGONAL_FONT).size(3f).build();
+
+        List<Vector3f> leftPoints = sample(left);
+        List<Vector3f> centerPoints = sample(center);
+
+        // Advance is the lit width plus one column
+        assertEquals(4, leftPoints.size());
+        assertEquals(3.5f, leftPoints.get(2).x, 1e-6f);
+        assertEquals(leftPoints.get(0).x - 3f, centerPoints.get(0).x, 1e-6f);
+    }
+
+    @Test
+    void testStacksLinesUpwardsFromOrigin() {
+        List<Vector3f> points = sample(TextShape.of("A\nA").font(DIAGONAL_FONT).size(3f).build());
+
+        assertEquals(4, points.size());
+        assertEquals(4.5f, points.get(0).y, 1e-6f);
+        assertEquals(0.5f, points.get(3).y, 1e-6f);
+    }
+
+    @Test
+    void testFallsBackForMissingGlyphs() {
+        List<Vector3f> known = sample(TextShape.of("?").build());
+        List<Vector3f> unknown = sample(TextShape.of("é").build());
+
+        assertFalse(known.isEmpty());
+        assertEquals(known, unknown);
+    }
+
+    @Test
+    void testMissingGlyphsShareOneCachedFallback() {
+        GlyphCache cache = new GlyphCache();
+        List<Vector3f> known = sample(TextShape.of("?").cache(cache).build());
+
+        StringBuilder missing = new StringBuilder();
+        for (int codePoint = 0x4E00; codePoint < 0x4E00 + 2048; codePoint++) {
+            missing.setLength(0);
+            missing.appendCodePoint(codePoint);
+            assertEquals(known, sample(TextShape.of(missing.toString()).cache(cache).build()));
+        }
+
+        // Only the '?' glyph is rasterized, missing code points are not cached one by one
+        assertEquals(1, cache.cachedGlyphs());
+    }
+
+    @Test
+    void testCachesGlyphsBeyondAscii() {
+        GlyphCache cache = new GlyphCache();
+        // Two 1x1 glyphs starting at alpha, without a '?' glyph to fall back to
+        BitmapGlyphFont greek = new BitmapGlyphFont(0x3B1, 1, 1, new int[]{0b1, 0b1});
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(2, sample(TextShape.of("\u03B2\u03B1").font(greek).cache(cache).build()).size());
+        }
+        assertTrue(sample(TextShape.of("\u03B3").font(greek).cache(cache).build()).isEmpty());
+        assertEquals(2, cache.cachedGlyphs());
+    }
+
+    @Test
+    void testDynamicTextReusesCachedGlyphs() {
+        GlyphCache cache = new GlyphCache();
+        StringBuilder countdown = new StringBuilder();
+        TextShape shape = TextShape.dynamic(context -> {
+            countdown.setLength(0);
+            return countdown.append(10 - context.step());
+        }).cache(cache).build();
+
+        PointBuffer buffer = new PointBuffer();
+        for (int step = 0; step <= 10; step++) {
+            buffer.clear();
+            shape.sample(new ShapeContext(step, 0.0, null, null), buffer);
+            assertFalse(buffer.size() == 0);
+        }
+
+        assertFalse(shape.isStatic());
+        // Glyphs 0 to 9 are rasterized once each
+        assertEquals(10, cache.cachedGlyphs());
+        assertTrue(TextShape.of("10").build().isStatic());
+    }
+
+    private List<Vector3f> sample(Shape shape) {
+        PointBuffer buffer = new PointBuffer();
+        shape.sample(new ShapeContext(0, 0.0, null, null), buffer);
+        return buffer.toVectorList();
+    }
+}
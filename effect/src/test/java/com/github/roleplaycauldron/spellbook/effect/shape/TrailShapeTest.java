@@ -0,0 +1,145 @@
+package com.github.roleplaycauldron.spellbook.effect.shape;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.EffectInstance;
+import com.github.roleplaycauldron.spellbook.effect.EffectRenderState;
+import com.github.roleplaycauldron.spellbook.effect.emitter.ParticleEmitter;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrailShapeTest {
+
+    private final World world = Mockito.mock(World.class);
+
+    @Test
+    void testRejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new TrailShape(0));
+        assertThrows(IllegalArgumentException.class, () -> new TrailShape(4, 1.5f, 0.5f));
+        assertThrows(IllegalArgumentException.class, () -> new TrailShape(4, 0.5f, -0.1f));
+    }
+
+    @Test
+    void testRecordsPastPositionsRelativeToCurrentOriginNewestFirst() {
+        Trail trail = new Trail(new TrailShape(3));
+
+        for (int step = 0; step < 4; step++) {
+            trail.render(step, step, 64, 0);
+        }
+        List<Vector3f> points = trail.render(4, 4, 64, 0);
+
+        assertEquals(List.of(
+                new Vector3f(0, 0, 0),
+                new Vector3f(-1, 0, 0),
+                new Vector3f(-2, 0, 0)
+        ), points);
+    }
+
+    @Test
+    void testRecordsOnePositionPerStep() {
+        Trail trail = new Trail(new TrailShape(8));
+
+        trail.render(0, 0, 0, 0);
+        List<Vector3f> points = trail.render(0, 5, 0, 0);
+
+        assertEquals(List.of(new Vector3f(-5, 0, 0)), points);
+    }
+
+    @Test
+    void testKeepsOneHistoryPerRenderState() {
+        TrailShape shape = new TrailShape(8);
+        Trail first = new Trail(shape);
+        Trail second = new Trail(shape);
+
+        first.render(0, 0, 0, 0);
+        first.render(1, 0, 0, 1);
+
+        assertEquals(3, first.render(2, 0, 0, 2).size());
+        assertEquals(1, second.render(0, 10, 0, 0).size());
+    }
+
+    @Test
+    void testRestartStartsNewTrail() {
+        Trail trail = new Trail(new TrailShape(8));
+        for (int step = 0; step < 4; step++) {
+            trail.render(step, step, 0, 0);
+        }
+
+        assertEquals(1, trail.render(0, 0, 0, 0).size());
+    }
+
+    @Test
+    void testFadeThinsOnlyOlderPointsAndKeepsThinnedPointsStable() {
+        Trail trail = new Trail(new TrailShape(101, 0.5f, 0f));
+        List<Vector3f> points = List.of();
+        for (int step = 0; step <= 100; step++) {
+            points = trail.render(step, step, 0, 0);
+        }
+
+        int recent = 0;
+        for (Vector3f point : points) {
+            if (point.x >= -50f) {
+                recent++;
+            }
+        }
+        assertEquals(51, recent);
+        assertTrue(points.size() > 60 && points.size() < 90, "kept " + points.size());
+
+        // The newest old point keeps its decision while it ages by one step
+        List<Vector3f> next = trail.render(101, 101, 0, 0);
+        assertEquals(points.contains(new Vector3f(-51, 0, 0)), next.contains(new Vector3f(-52, 0, 0)));
+    }
+
+    /**
+     * Renders a trail as one running effect and records the emitted local points.
+     */
+    private final class Trail implements ParticleEmitter {
+
+        private final EffectInstance effect;
+
+        private final EffectRenderState state = new EffectRenderState();
+
+        private final List<Vector3f> points = new ArrayList<>();
+
+        private Trail(TrailShape shape) {
+            this.effect = new EffectInstance(
+                    shape,
+                    List.of(),
+                    List.of(),
+                    this,
+                    (localX, localY, localZ, context, destination) -> destination.set(0, 0, 0)
+            );
+        }
+
+        private List<Vector3f> render(int step, double x, double y, double z) {
+            points.clear();
+            effect.render(new EffectContext(world, new Location(world, x, y, z), null, List.of(), step, step, 0), state);
+            return List.copyOf(points);
+        }
+
+        @Override
+        public void spawn(
+                EffectContext context,
+                float localX,
+                float localY,
+                float localZ,
+                double worldX,
+                double worldY,
+                double worldZ,
+                float directionX,
+                float directionY,
+                float directionZ
+        ) {
+            points.add(new Vector3f(localX, localY, localZ));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.roleplaycauldron.spellbook.effect.transform;
+
+import com.github.roleplaycauldron.spellbook.effect.EffectContext;
+import com.github.roleplaycauldron.spellbook.effect.PointBuffer;
+import com.github.roleplaycauldron.spellbook.effect.expression.Expression;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the time-animated transforms
+ */
+class AnimatedTransformTest {
+
+    private final World world = Mockito.mock(World.class);
+
+    @Test
+    void testSpinRotatesByElapsedTime() {
+        SpinTransform transform = new SpinTransform(90f);
+
+        assertVector(1, 0, 0, apply(transform, context(0.0), 1, 0, 0));
+        assertVector(0, 0, -1, apply(transform, context(1.0), 1, 0, 0));
+        assertVector(-1, 0, 0, apply(transform, context(2.0), 1, 0, 0));
+    }
+
+    @Test
+    void testSpinMatchesQuaternionRotationAroundAnyAxis() {
+        Vector3f axis = new Vector3f(1, 2, -0.5f);
+        SpinTransform transform = new SpinTransform(axis, 37f, 15f);
+
+        Vector3f expected = new Quaternionf()
+                .fromAxisAngleDeg(new Vector3f(axis).normalize(), 15f + 37f * 1.5f)
+                .transform(new Vector3f(0.3f, -1f, 2f));
+        Vector3f result = apply(transform, context(1.5), 0.3f, -1f, 2f);
+
+        assertVector(expected.x, expected.y, expected.z, result);
+    }
+
+    @Test
+    void testOrbitMovesFrameAlongCircle() {
+        OrbitTransform transform = new OrbitTransform(2f, 90f);
+
+        assertVector(2, 1, 0, apply(transform, context(0.0), 0, 1, 0));
+        assertVector(0, 1, -2, apply(transform, context(1.0), 0, 1, 0));
+
+        OrbitTransform tilted = new OrbitTransform(3f, 45f, new Vector3f(1, 1, 0), 10f);
+        for (double time = 0.0; time < 8.0; time += 0.7) {
+            Vector3f offset = apply(tilted, context(time), 0, 0, 0);
+            assertEquals(3f, offset.length(), 1e-5);
+            assertEquals(0f, offset.dot(new Vector3f(1, 1, 0)), 1e-5);
+        }
+    }
+
+    @Test
+    void testOscillateFollowsSineOverTime() {
+        OscillateTransform transform = new OscillateTransform(new Vector3f(0, 0.5f, 0), 0.5f, 0f);
+
+        assertVector(0, 0, 0, apply(transform, context(0.0), 0, 0, 0));
+        assertVector(0, 0.5f, 0, apply(transform, context(0.5), 0, 0, 0));
+        assertVector(1, -0.5f, 0, apply(transform, context(1.5), 1, 0, 0));
+    }
+
+    @Test
+    void testScaleInterpolatesAndThenHoldsFinalFactor() {
+        ScaleTransform transform = new ScaleTransform(1f, 3f, 2f);
+
+        assertVector(1, 2, 0, apply(transform, context(0.0), 1, 2, 0));
+        assertVector(2, 4, 0, apply(transform, context(1.0), 1, 2, 0));
+        assertVector(3, 6, 0, apply(transform, context(5.0), 1, 2, 0));
+        assertVector(0.5f, 0, 0, apply(new ScaleTransform(0.5f), context(3.0), 1, 0, 0));
+        assertVector(4, 0, 0, apply(new ScaleTransform(Expression.parse("1 + time")), context(3.0), 1, 0, 0));
+    }
+
+    @Test
+    void testConstantScaleSharesPreparedTransform() {
+        ScaleTransform transform = new ScaleTransform(2f);
+
+        assertSame(transform.prepare(context(0.0)), transform.prepare(context(4.0)));
+    }
+
+    @Test
+    void testRejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new SpinTransform(new Vector3f(), 10f, 0f));
+        assertThrows(IllegalArgumentException.class, () -> new OrbitTransform(-1f, 10f));
+        assertThrows(IllegalArgumentException.class, () -> new OscillateTransform(new Vector3f(0, 1, 0), -1f, 0f));
+        assertThrows(IllegalArgumentException.class, () -> new ScaleTransform(1f, 2f, -1f));
+    }
+
+    private EffectContext context(double timeSeconds) {
+        Location origin = new Location(world, 0, 0, 0);
+        return new EffectContext(world, origin, null, null, (int) (timeSeconds * 20), 0, timeSeconds);
+    }
+
+    private static Vector3f apply(Transform transform, EffectContext context, float x, float y, float z) {
+        PointBuffer points = new PointBuffer();
+        points.add(x, y, z);
+        transform.prepare(context).apply(points, 0);
+        return points.get(0, new Vector3f());
+    }
+
+    private static void assertVector(float x, float y, float z, Vector3f actual) {
+        assertEquals(x, actual.x, 1e-5, "x");
+        assertEquals(y, actual.y, 1e-5, "y");
+        assertEquals(z, actual.z, 1e-5, "z");
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.roleplaycauldron.spellbook.effect.viewer;
+
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParticleBudgetTest {
+
+    private long tick;
+
+    @Test
+    void testUnlimitedBudgetAdmitsEverything() {
+        Player viewer = viewer();
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(ParticleBudget.unlimited().tryAcquire(viewer, 100));
+        }
+        assertEquals(0L, ParticleBudget.unlimited().droppedTotal());
+    }
+
+    @Test
+    void testBudgetIsRefilledPerTick() {
+        ParticleBudget budget = new ParticleBudget(10, 10, () -> tick);
+        Player viewer = viewer();
+
+        assertTrue(budget.tryAcquire(viewer, 6));
+        assertTrue(budget.tryAcquire(viewer, 4));
+        assertFalse(budget.tryAcquire(viewer, 1));
+
+        tick++;
+        assertTrue(budget.tryAcquire(viewer, 1));
+        assertEquals(1L, budget.dropped(viewer.getUniqueId()));
+        assertEquals(1L, budget.droppedTotal());
+    }
+
+    @Test
+    void testViewersHaveSeparateBudgets() {
+        ParticleBudget budget = new ParticleBudget(1, 1, () -> tick);
+        Player first = viewer();
+        Player second = viewer();
+
+        assertTrue(budget.tryAcquire(first, 1));
+        assertFalse(budget.tryAcquire(first, 1));
+        assertTrue(budget.tryAcquire(second, 1));
+        assertEquals(0L, budget.dropped(second.getUniqueId()));
+    }
+
+    @Test
+    void testOverloadedViewerDropsFairlyAcrossEffects() {
+        ParticleBudget budget = new ParticleBudget(50, 50, () -> tick);
+        Player viewer = viewer();
+
+        int firstAdmitted = 0;
+        int secondAdmitted = 0;
+        for (int frame = 0; frame < 3; frame++) {
+            firstAdmitted = 0;
+            secondAdmitted = 0;
+            // Two effects emit one after the other, each wanting 100 particles per tick
+            for (int i = 0; i < 100; i++) {
+                firstAdmitted += budget.tryAcquire(viewer, 1) ? 1 : 0;
+            }
+            for (int i = 0; i < 100; i++) {
+                secondAdmitted += budget.tryAcquire(viewer, 1) ? 1 : 0;
+            }
+            tick++;
+        }
+
+        assertEquals(25, firstAdmitted);
+        assertEquals(25, secondAdmitted);
+    }
+
+    @Test
+    void testForgetReleasesViewerState() {
+        ParticleBudget budget = new ParticleBudget(1, 1, () -> tick);
+        Player viewer = viewer();
+        budget.tryAcquire(viewer, 1);
+        budget.tryAcquire(viewer, 1);
+
+        budget.forget(viewer.getUniqueId());
+
+        assertEquals(0L, budget.dropped(viewer.getUniqueId()));
+        assertTrue(budget.tryAcquire(viewer, 1));
+    }
+
+    @Test
+    void testInvalidLimitsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ParticleBudget(0, 0, () -> 0L));
+        assertThrows(IllegalArgumentException.class, () -> new ParticleBudget(10, 5, () -> 0L));
+    }
+
+    private static Player viewer() {
+        Player viewer = Mockito.mock(Player.class);
+        Mockito.when(viewer.getUniqueId()).thenReturn(UUID.randomUUID());
+        return viewer;
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.roleplaycauldron.spellbook.effect.viewer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViewerPreferencesTest {
+
+    @Test
+    void testViewersSeeEveryCategoryByDefault() {
+        ViewerPreferences preferences = new ViewerPreferences();
+        UUID viewer = UUID.randomUUID();
+
+        for (ViewerCategory category : ViewerCategory.values()) {
+            assertTrue(preferences.isVisible(viewer, category));
+            assertFalse(preferences.hasOptOuts(category));
+        }
+        assertEquals(-1, preferences.index(viewer));
+    }
+
+    @Test
+    void testOptOutIsPerCategory() {
+        ViewerPreferences preferences = new ViewerPreferences();
+        UUID viewer = UUID.randomUUID();
+
+        preferences.setVisible(viewer, ViewerCategory.COSMETIC, false);
+
+        int index = preferences.index(viewer);
+        assertFalse(preferences.isVisible(viewer, ViewerCategory.COSMETIC));
+        assertFalse(preferences.isVisible(index, ViewerCategory.COSMETIC));
+        assertTrue(preferences.isVisible(index, ViewerCategory.COMBAT));
+        assertTrue(preferences.hasOptOuts(ViewerCategory.COSMETIC));
+        assertFalse(preferences.hasOptOuts(ViewerCategory.AMBIENT));
+
+        preferences.setVisible(viewer, ViewerCategory.COSMETIC, true);
+        assertTrue(preferences.isVisible(viewer, ViewerCategory.COSMETIC));
+        assertFalse(preferences.hasOptOuts(ViewerCategory.COSMETIC));
+    }
+
+    @Test
+    void testForgottenIndicesAreReused() {
+        ViewerPreferences preferences = new ViewerPreferences();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        preferences.setVisible(first, ViewerCategory.AMBIENT, false);
+        preferences.setVisible(second, ViewerCategory.AMBIENT, false);
+        assertEquals(0, preferences.index(first));
+        assertEquals(1, preferences.index(second));
+
+        preferences.forget(first);
+        preferences.setVisible(third, ViewerCategory.COMBAT, false);
+
+        assertEquals(0, preferences.index(third));
+        assertTrue(preferences.isVisible(third, ViewerCategory.AMBIENT));
+        assertTrue(preferences.isVisible(first, ViewerCategory.AMBIENT));
+    }
+
+    @Test
+    void testJoiningAssignsIndicesBeforePreferencesAreSet() {
+        ViewerPreferences preferences = new ViewerPreferences();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        assertEquals(0, preferences.join(first));
+        assertEquals(1, preferences.join(second));
+        assertEquals(0, preferences.join(first));
+
+        preferences.setVisible(second, ViewerCategory.COSMETIC, false);
+        assertEquals(1, preferences.index(second));
+        assertFalse(preferences.isVisible(1, ViewerCategory.COSMETIC));
+        assertTrue(preferences.isVisible(0, ViewerCategory.COSMETIC));
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.roleplaycauldron.spellbook.effect.viewer;
+
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class VisibleViewersTest {
+
+    private final ViewerPreferences preferences = new ViewerPreferences();
+
+    private final VisibleViewers visibleViewers = new VisibleViewers(preferences);
+
+    @Test
+    void testViewersAreReturnedUnchangedWithoutOptOuts() {
+        List<Player> viewers = List.of(viewer(), viewer());
+
+        assertSame(viewers, visibleViewers.filter(viewers, ViewerCategory.COSMETIC));
+
+        preferences.setVisible(viewers.getFirst().getUniqueId(), ViewerCategory.COSMETIC, false);
+        assertSame(viewers, visibleViewers.filter(viewers, ViewerCategory.COMBAT));
+        assertSame(viewers, visibleViewers.filter(viewers, null));
+    }
+
+    @Test
+    void testOptedOutViewersAreSkipped() {
+        Player visible = viewer();
+        Player optedOut = viewer();
+        Player other = viewer();
+        preferences.setVisible(optedOut.getUniqueId(), ViewerCategory.COSMETIC, false);
+
+        assertEquals(List.of(visible, other), List.copyOf(visibleViewers.filter(List.of(visible, optedOut, other), ViewerCategory.COSMETIC)));
+        assertEquals(List.of(other, visible), List.copyOf(visibleViewers.filter(List.of(optedOut, other, visible), ViewerCategory.COSMETIC)));
+        assertTrue(visibleViewers.filter(List.of(optedOut), ViewerCategory.COSMETIC).isEmpty());
+
+        // Opting in again only flips a bit, the kept index stays valid
+        preferences.setVisible(optedOut.getUniqueId(), ViewerCategory.COSMETIC, true);
+        preferences.setVisible(other.getUniqueId(), ViewerCategory.COSMETIC, false);
+        assertEquals(List.of(optedOut, visible), List.copyOf(visibleViewers.filter(List.of(optedOut, other, visible), ViewerCategory.COSMETIC)));
+    }
+
+    @Test
+    void testIndicesAreOnlyLookedUpWhenViewersOrIndicesChange() {
+        Player visible = viewer();
+        Player optedOut = viewer();
+        preferences.join(visible.getUniqueId());
+        preferences.setVisible(optedOut.getUniqueId(), ViewerCategory.COSMETIC, false);
+        List<Player> viewers = List.of(visible, optedOut);
+
+        for (int frame = 0; frame < 5; frame++) {
+            assertEquals(List.of(visible), List.copyOf(visibleViewers.filter(viewers, ViewerCategory.COSMETIC)));
+        }
+        verify(visible, times(2)).getUniqueId();
+
+        // The forgotten index may be handed to another player, so indices are looked up again
+        preferences.forget(optedOut.getUniqueId());
+        preferences.setVisible(visible.getUniqueId(), ViewerCategory.COSMETIC, false);
+        assertEquals(List.of(optedOut), List.copyOf(visibleViewers.filter(viewers, ViewerCategory.COSMETIC)));
+        verify(visible, times(4)).getUniqueId();
+    }
+
+    private static Player viewer() {
+        Player viewer = Mockito.mock(Player.class);
+        Mockito.when(viewer.getUniqueId()).thenReturn(UUID.randomUUID());
+        return viewer;
+    }
+}